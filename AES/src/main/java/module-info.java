@@ -17,5 +17,8 @@
  */
 
 module AES {
+    requires static jdk.incubator.vector;
+    requires jdk.jfr;
+
     exports org.zespol6.aes;
 }
\ No newline at end of file
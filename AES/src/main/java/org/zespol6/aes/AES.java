@@ -18,9 +18,13 @@
 
 package org.zespol6.aes;
 
+import javax.crypto.BadPaddingException;
 import java.math.BigInteger;
 import java.nio.charset.StandardCharsets;
 import java.security.SecureRandom;
+import java.util.Arrays;
+
+import static org.zespol6.aes.BlockEngine.BLOCK_SIZE;
 
 /**
  * Klasa implementująca algorytm szyfrowania AES (Advanced Encryption Standard).
@@ -28,15 +32,19 @@ import java.security.SecureRandom;
  */
 public class AES {
 
+    // Współdzielona pamięć podręczna harmonogramów kluczy używana przez encrypt i decrypt
+    private static final KeyScheduleCache KEY_SCHEDULE_CACHE = new KeyScheduleCache(64);
+
     private int amountOfRounds = 10;        // Domyślna liczba rund dla klucza 128-bitowego
-    private final int blockSize = 16;       // Rozmiar bloku w bajtach (128 bitów)
     private byte[] data;                    // Dane do szyfrowania/deszyfrowania
     private BigInteger mainKey;             // Główny klucz szyfrowania
     private byte[] expandedKey;             // Rozszerzony klucz dla wszystkich rund
+    private byte[] decryptionKey;           // Rozszerzony klucz odwrotnego szyfru równoważnego
+    private Engine engine = Engine.T_TABLE; // Implementacja transformacji blokowej
 
     // S-BOX - tablica substytucji używana w operacji SubBytes
     // Każdy bajt danych jest zastępowany innym bajtem zgodnie z tabelą SBOX. Konstrukcja tabeli gwarantuje nieliniowość zastępowania.
-    private final int[][] SBOX = {
+    private static final int[][] SBOX = {
             {0x63, 0x7c, 0x77, 0x7b, 0xf2, 0x6b, 0x6f, 0xc5, 0x30, 0x01, 0x67, 0x2b, 0xfe, 0xd7, 0xab, 0x76},
             {0xca, 0x82, 0xc9, 0x7d, 0xfa, 0x59, 0x47, 0xf0, 0xad, 0xd4, 0xa2, 0xaf, 0x9c, 0xa4, 0x72, 0xc0},
             {0xb7, 0xfd, 0x93, 0x26, 0x36, 0x3f, 0xf7, 0xcc, 0x34, 0xa5, 0xe5, 0xf1, 0x71, 0xd8, 0x31, 0x15},
@@ -56,7 +64,7 @@ public class AES {
     };
 
     // Odwrotny S-BOX używany podczas deszyfrowania
-    private final int[][] reverseSBOX = {
+    private static final int[][] reverseSBOX = {
             {0x52, 0x09, 0x6a, 0xd5, 0x30, 0x36, 0xa5, 0x38, 0xbf, 0x40, 0xa3, 0x9e, 0x81, 0xf3, 0xd7, 0xfb},
             {0x7c, 0xe3, 0x39, 0x82, 0x9b, 0x2f, 0xff, 0x87, 0x34, 0x8e, 0x43, 0x44, 0xc4, 0xde, 0xe9, 0xcb},
             {0x54, 0x7b, 0x94, 0x32, 0xa6, 0xc2, 0x23, 0x3d, 0xee, 0x4c, 0x95, 0x0b, 0x42, 0xfa, 0xc3, 0x4e},
@@ -76,7 +84,7 @@ public class AES {
     };
 
     // Stałe RCON - wartości używane w generowaniu kluczy rundy
-    private final int[] RCON = {
+    private static final int[] RCON = {
             0x01, 0x02, 0x04, 0x08,
             0x10, 0x20, 0x40, 0x80,
             0x1B, 0x36, 0x6C, 0xD8,
@@ -84,7 +92,7 @@ public class AES {
     };
 
     // Macierz mnożenia używana w transformacji MixColumns
-    private final int[] MCOL = {
+    private static final int[] MCOL = {
             2, 3, 1, 1,
             1, 2, 3, 1,
             1, 1, 2, 3,
@@ -92,7 +100,7 @@ public class AES {
     };
 
     // Odwrotna macierz mnożenia używana w operacji odwrotnej do MixColumns
-    private final int[] MCOL_INV = {
+    private static final int[] MCOL_INV = {
             14, 11, 13, 9,
             9, 14, 11, 13,
             13, 9, 14, 11,
@@ -117,11 +125,7 @@ public class AES {
      * @return Reprezentacja szesnastkowa w formie ciągu znaków
      */
     public String bytesToHex(byte[] bytes) {
-        StringBuilder sb = new StringBuilder();
-        for (byte b : bytes) {
-            sb.append(String.format("%02X", b));
-        }
-        return sb.toString();
+        return Hex.encode(bytes);
     }
 
     /**
@@ -129,19 +133,10 @@ public class AES {
      *
      * @param hex Ciąg znaków szesnastkowych
      * @return Tablica bajtów
-     * @throws IllegalArgumentException gdy długość ciągu nie jest parzysta
+     * @throws IllegalArgumentException gdy długość ciągu nie jest parzysta lub zawiera on inne znaki
      */
     public byte[] hexToBytes(String hex) {
-        if (hex.length() % 2 != 0) {
-            throw new IllegalArgumentException("Hex string must have an even length");
-        }
-        int len = hex.length();
-        byte[] data = new byte[len / 2];
-        for (int i = 0; i < len; i += 2) {
-            data[i / 2] = (byte) ((Character.digit(hex.charAt(i), 16) << 4)
-                    + Character.digit(hex.charAt(i + 1), 16));
-        }
-        return data;
+        return Hex.decode(hex);
     }
 
 
@@ -181,29 +176,85 @@ public class AES {
      * @return Tablica bajtów z rozszerzonym kluczem
      */
     public byte[] getExpandedKey() {
-        return expandedKey;
+        return expandedKey == null ? null : expandedKey.clone();
+    }
+
+    /**
+     * Zwraca rozszerzony klucz deszyfrowania (odwrotny szyfr równoważny) - klucze rund w kolejności
+     * deszyfrowania, klucze rund pośrednich przekształcone przez InvMixColumns.
+     *
+     * @return Tablica bajtów z rozszerzonym kluczem deszyfrowania
+     */
+    public byte[] getExpandedDecryptionKey() {
+        return decryptionKey == null ? null : decryptionKey.clone();
+    }
+
+    /**
+     * Zwraca implementację transformacji blokowej używaną przez {@link #encrypt} i {@link #decrypt}.
+     *
+     * @return Aktualna implementacja
+     */
+    public Engine getEngine() {
+        return engine;
+    }
+
+    /**
+     * Ustawia implementację transformacji blokowej używaną przez {@link #encrypt} i {@link #decrypt}.
+     *
+     * @param engine Implementacja (REFERENCE, T_TABLE, BITSLICED, VECTOR lub JCE)
+     */
+    public void setEngine(Engine engine) {
+        if (engine == null) {
+            throw new IllegalArgumentException("Engine must not be null");
+        }
+        this.engine = engine;
     }
 
     /**
      * Konwertuje klucz w postaci BigInteger na tablicę bajtów o stałym rozmiarze.
      *
      * @param key Klucz w postaci BigInteger
-     * @return Tablica bajtów o długości blockSize (16 bajtów)
+     * @return Tablica bajtów o długości BLOCK_SIZE (16 bajtów)
+     */
+    public static byte[] toByteKey(BigInteger key) {
+        return toByteKey(key, BLOCK_SIZE);
+    }
+
+    /**
+     * Konwertuje klucz w postaci BigInteger na tablicę bajtów o podanym rozmiarze.
+     *
+     * @param key  Klucz w postaci BigInteger
+     * @param size Rozmiar klucza w bajtach (16, 24 lub 32)
+     * @return Tablica bajtów o długości size
+     * @throws IllegalArgumentException gdy rozmiar klucza jest nieprawidłowy
      */
-    public byte[] toByteKey(BigInteger key) {
+    public static byte[] toByteKey(BigInteger key, int size) {
+        if (size != 16 && size != 24 && size != 32) {
+            throw new IllegalArgumentException("Invalid key size");
+        }
         byte[] keyBytes = key.toByteArray();
-        byte[] fixedKey = new byte[blockSize];
+        byte[] fixedKey = new byte[size];
 
-        if (keyBytes.length > blockSize) {
-            // Jeśli klucz jest za długi, bierzemy ostatnie 16 bajtów
-            System.arraycopy(keyBytes, keyBytes.length - blockSize, fixedKey, 0, blockSize);
+        if (keyBytes.length > size) {
+            // Jeśli klucz jest za długi, bierzemy ostatnie size bajtów
+            System.arraycopy(keyBytes, keyBytes.length - size, fixedKey, 0, size);
         } else {
             // Jeśli klucz jest za krótki, wypełniamy zerami od początku
-            System.arraycopy(keyBytes, 0, fixedKey, blockSize - keyBytes.length, keyBytes.length);
+            System.arraycopy(keyBytes, 0, fixedKey, size - keyBytes.length, keyBytes.length);
         }
         return fixedKey;
     }
 
+    /**
+     * Zwraca współdzieloną pamięć podręczną harmonogramów kluczy, z której korzystają
+     * {@link #encrypt} i {@link #decrypt}.
+     *
+     * @return Pamięć podręczna harmonogramów kluczy
+     */
+    public static KeyScheduleCache keyScheduleCache() {
+        return KEY_SCHEDULE_CACHE;
+    }
+
     /**
      * Generuje rozszerzone klucze dla wszystkich rund szyfrowania.
      *
@@ -211,30 +262,75 @@ public class AES {
      * @throws IllegalArgumentException gdy rozmiar klucza jest nieprawidłowy
      */
     public void keyExpansion(BigInteger mainKey) {
-        final byte[] fixedMainKey = toByteKey(mainKey);
+        useSchedule(expandKey(mainKey));
+    }
+
+    /**
+     * Generuje rozszerzone klucze dla wszystkich rund szyfrowania na podstawie surowego klucza
+     * (10, 12 lub 14 rund w zależności od jego długości).
+     *
+     * @param mainKey Klucz główny (16, 24 lub 32 bajty)
+     * @throws IllegalArgumentException gdy rozmiar klucza jest nieprawidłowy
+     */
+    public void keyExpansion(byte[] mainKey) {
+        useSchedule(KeySchedule.of(mainKey));
+    }
+
+    /**
+     * Ustawia klucze rund z przygotowanego harmonogramu.
+     *
+     * @param schedule Harmonogram kluczy
+     */
+    private void useSchedule(KeySchedule schedule) {
+        this.amountOfRounds = schedule.rounds();
+        this.expandedKey = schedule.expandedKey();
+        this.decryptionKey = schedule.decryptionKey();
+    }
+
+    /**
+     * Wyznacza harmonogram kluczy dla podanego klucza głównego (128 bitów, zob. {@link #toByteKey(BigInteger)}).
+     * Dla kluczy 192- i 256-bitowych należy użyć {@link KeySchedule#of(byte[])}.
+     *
+     * @param mainKey Klucz główny w postaci BigInteger
+     * @return Harmonogram kluczy
+     */
+    public static KeySchedule expandKey(BigInteger mainKey) {
+        return KeySchedule.of(toByteKey(mainKey));
+    }
+
+    /**
+     * Wyznacza harmonogram kluczy bajt po bajcie, bezpośrednio według opisu z FIPS-197 (implementacja
+     * referencyjna, wolniejsza od {@link KeySchedule#of(byte[])}, która działa na słowach 32-bitowych).
+     *
+     * @param fixedMainKey Klucz główny (16, 24 lub 32 bajty)
+     * @return Harmonogram kluczy
+     * @throws IllegalArgumentException gdy rozmiar klucza jest nieprawidłowy
+     */
+    public static KeySchedule referenceKeyExpansion(byte[] fixedMainKey) {
         int keySize = fixedMainKey.length;
 
         // Ustawienie liczby rund w zależności od rozmiaru klucza
+        int rounds;
         if (keySize == 16) {
-            amountOfRounds = 10;      // 128 bitów
+            rounds = 10;      // 128 bitów
         } else if (keySize == 24) {
-            amountOfRounds = 12;      // 192 bity
+            rounds = 12;      // 192 bity
         } else if (keySize == 32) {
-            amountOfRounds = 14;      // 256 bitów
+            rounds = 14;      // 256 bitów
         } else {
             throw new IllegalArgumentException("Invalid key size");
         }
 
         // Bufor na wszystkie podklucze + klucz główny
-        byte[] expandedKey = new byte[16 * (amountOfRounds + 1)];
+        byte[] expandedKey = new byte[16 * (rounds + 1)];
 
         // Kopiowanie klucza głównego na początek
         System.arraycopy(fixedMainKey, 0, expandedKey, 0, keySize);
 
         int currentPos = keySize;
 
-        // Generowanie kolejnych podkluczy
-        for (int i = 1; i <= amountOfRounds; i++) {
+        // Generowanie kolejnych podkluczy (po keySize bajtów na iterację) aż do zapełnienia bufora
+        for (int i = 1; currentPos < expandedKey.length; i++) {
 
             byte[] temp = new byte[4];
             System.arraycopy(expandedKey, currentPos - 4, temp, 0, 4);
@@ -273,6 +369,9 @@ public class AES {
                 System.arraycopy(temp, 0, expandedKey, currentPos, 4);
                 currentPos += 4;
             }
+            if (currentPos == expandedKey.length) {
+                break;
+            }
 
             // Dodatkowe operacje dla kluczy 256-bitowych
             if (keySize == 32) {
@@ -280,7 +379,7 @@ public class AES {
                 subBytes(temp, 4);
 
                 for (int k = 0; k < 4; k++) {
-                    temp[k] ^= expandedKey[currentPos - 4 + k];
+                    temp[k] ^= expandedKey[currentPos - keySize + k];
                 }
 
                 System.arraycopy(temp, 0, expandedKey, currentPos, 4);
@@ -295,7 +394,7 @@ public class AES {
                     System.arraycopy(expandedKey, currentPos - 4, temp, 0, 4);
 
                     for (int k = 0; k < 4; k++) {
-                        temp[k] ^= expandedKey[currentPos - 4 + k];
+                        temp[k] ^= expandedKey[currentPos - keySize + k];
                     }
 
                     System.arraycopy(temp, 0, expandedKey, currentPos, 4);
@@ -304,7 +403,7 @@ public class AES {
             }
         }
 
-        this.expandedKey = expandedKey;
+        return new KeySchedule(rounds, expandedKey);
     }
 
     /**
@@ -315,33 +414,20 @@ public class AES {
      * @return Zaszyfrowane dane
      */
     public byte[] encrypt(byte[] data, BigInteger key) {
+        Instrumentation.Measurement measurement = Instrumentation.CURRENT.start();
         byte[][] blocks = splitIntoBlocks(data);
-        keyExpansion(key);
-
-        for (byte[] block : blocks) {
-            // Runda inicjalizacyjna - dodanie klucza rundy 0
-            addRoundKey(block, 0);
-
-            // Rundy 1 do (amountOfRounds-1)
-            for (int round = 1; round < amountOfRounds; round++) {
-                subBytes(block, blockSize);       // Zastąpienie bajtów
-                shiftRows(block, true);           // Przesunięcie wierszy
-                mixColumns(block, true);          // Mieszanie kolumn
-                addRoundKey(block, round);        // Dodanie klucza rundy
-            }
-
-            // Ostatnia runda (bez mixColumns)
-            subBytes(block, blockSize);
-            shiftRows(block, true);
-            addRoundKey(block, amountOfRounds);
+        byte[] encrypted = new byte[blocks.length * BLOCK_SIZE];
+        joinBlocks(blocks, encrypted);
+
+        // Harmonogram kluczy z pamięci podręcznej - rozszerzanie tylko przy pierwszym użyciu klucza.
+        // Jego tablice należą do pamięci podręcznej (są zerowane przy usunięciu), dlatego nie trafiają do pól obiektu.
+        KeySchedule schedule = KEY_SCHEDULE_CACHE.acquire(key, AES::expandKey);
+        try {
+            schedule.blockEngine(engine).encryptBlocks(encrypted, 0, encrypted, 0, encrypted.length);
+        } finally {
+            Instrumentation.CURRENT.end(CipherOperation.ECB_ENCRYPT, schedule.rounds(), encrypted.length, measurement);
+            KEY_SCHEDULE_CACHE.release(schedule);
         }
-
-        // Łączymy bloki z powrotem w jeden ciąg bajtów
-        byte[] encrypted = new byte[blocks.length * blockSize];
-        for (int i = 0; i < blocks.length; i++) {
-            System.arraycopy(blocks[i], 0, encrypted, i * blockSize, blockSize);
-        }
-
         return encrypted;
     }
 
@@ -353,33 +439,92 @@ public class AES {
      * @return Odszyfrowane dane
      */
     public byte[] decrypt(byte[] encrypted, BigInteger key) {
+        Instrumentation.Measurement measurement = Instrumentation.CURRENT.start();
         byte[][] blocks = splitIntoBlocks(encrypted);
-        keyExpansion(key);
-
-        for (byte[] block : blocks) {
-            // Runda inicjalizacyjna odszyfrowania
-            addRoundKey(block, amountOfRounds);
-
-            // Rundy (amountOfRounds-1) do 1 odszyfrowanie
-            for (int round = amountOfRounds - 1; round > 0; round--) {
-                shiftRows(block, false);          // Odwrotne przesunięcie wierszy
-                reverseSubBytes(block);           // Odwrotne zastąpienie bajtów
-                addRoundKey(block, round);        // Dodanie klucza rundy
-                mixColumns(block, false);         // Odwrotne mieszanie kolumn
-            }
+        byte[] decrypted = new byte[blocks.length * BLOCK_SIZE];
+        joinBlocks(blocks, decrypted);
+
+        KeySchedule schedule = KEY_SCHEDULE_CACHE.acquire(key, AES::expandKey);
+        try {
+            schedule.blockEngine(engine).decryptBlocks(decrypted, 0, decrypted, 0, decrypted.length);
+        } finally {
+            Instrumentation.CURRENT.end(CipherOperation.ECB_DECRYPT, schedule.rounds(), decrypted.length, measurement);
+            KEY_SCHEDULE_CACHE.release(schedule);
+        }
+        return removeZeroPadding(decrypted);
+    }
+
+    /**
+     * Szyfruje dane przy użyciu podanego klucza i dopełnienia. Wynik zapisywany jest od razu do tablicy
+     * o dokładnym rozmiarze ({@link Padding#paddedLength}), bez podziału na bloki.
+     *
+     * @param data    Dane do zaszyfrowania
+     * @param key     Klucz szyfrujący
+     * @param padding Dopełnienie
+     * @return Zaszyfrowane dane
+     * @throws IllegalArgumentException gdy dla {@link Padding#NONE} długość nie jest wielokrotnością 16
+     */
+    public byte[] encrypt(byte[] data, BigInteger key, Padding padding) {
+        Instrumentation.Measurement measurement = Instrumentation.CURRENT.start();
+        byte[] encrypted = new byte[padding.paddedLength(data.length)];
+
+        KeySchedule schedule = KEY_SCHEDULE_CACHE.acquire(key, AES::expandKey);
+        try {
+            schedule.blockEngine(engine).encrypt(data, 0, data.length, encrypted, 0, padding);
+        } finally {
+            Instrumentation.CURRENT.end(CipherOperation.ECB_ENCRYPT, schedule.rounds(), encrypted.length, measurement);
+            KEY_SCHEDULE_CACHE.release(schedule);
+        }
+        return encrypted;
+    }
 
-            // Ostatnia runda odszyfrowania
-            shiftRows(block, false);
-            reverseSubBytes(block);
-            addRoundKey(block, 0);
+    /**
+     * Deszyfruje dane przy użyciu podanego klucza i usuwa dopełnienie. Długość danych wyznaczana jest
+     * z ostatniego bloku, a wynik kopiowany do krótszej tablicy tylko przy niepustym dopełnieniu.
+     *
+     * @param encrypted Zaszyfrowane dane (wielokrotność 16 bajtów)
+     * @param key       Klucz deszyfrujący
+     * @param padding   Dopełnienie
+     * @return Odszyfrowane dane
+     * @throws BadPaddingException gdy dopełnienie jest nieprawidłowe
+     */
+    public byte[] decrypt(byte[] encrypted, BigInteger key, Padding padding) throws BadPaddingException {
+        if (encrypted.length % BLOCK_SIZE != 0) {
+            throw new IllegalArgumentException("Data length must be a multiple of 16");
         }
+        Instrumentation.Measurement measurement = Instrumentation.CURRENT.start();
+        byte[] decrypted = new byte[encrypted.length];
+
+        KeySchedule schedule = KEY_SCHEDULE_CACHE.acquire(key, AES::expandKey);
+        try {
+            schedule.blockEngine(engine).decryptBlocks(encrypted, 0, decrypted, 0, decrypted.length);
+        } finally {
+            Instrumentation.CURRENT.end(CipherOperation.ECB_DECRYPT, schedule.rounds(), decrypted.length, measurement);
+            KEY_SCHEDULE_CACHE.release(schedule);
+        }
+        int n = padding.unpaddedLength(decrypted, 0, decrypted.length);
+        return n == decrypted.length ? decrypted : Arrays.copyOf(decrypted, n);
+    }
 
-        // Łączymy bloki z powrotem w jeden ciąg bajtów
-        byte[] decrypted = new byte[blocks.length * blockSize];
+    /**
+     * Łączy bloki w jeden ciąg bajtów.
+     *
+     * @param blocks Bloki po 16 bajtów
+     * @param out    Tablica wynikowa (16 bajtów na blok)
+     */
+    private static void joinBlocks(byte[][] blocks, byte[] out) {
         for (int i = 0; i < blocks.length; i++) {
-            System.arraycopy(blocks[i], 0, decrypted, i * blockSize, blockSize);
+            System.arraycopy(blocks[i], 0, out, i * BLOCK_SIZE, BLOCK_SIZE);
         }
+    }
 
+    /**
+     * Usuwa zera dopełnienia z końca odszyfrowanych danych (co najwyżej 17 ostatnich bajtów).
+     *
+     * @param decrypted Odszyfrowane dane
+     * @return Dane bez dopełnienia (ta sama tablica, jeśli dopełnienia nie było)
+     */
+    static byte[] removeZeroPadding(byte[] decrypted) {
         // Usuwamy dodatkowe zera z końca odszyfrowanych danych (padding)
         int paddingEnd = decrypted.length;
         for (int i = decrypted.length - 1; i >= Math.max(0, decrypted.length - 17); i--) {
@@ -400,8 +545,92 @@ public class AES {
     }
 
     /**
-     * Dzieli dane na bloki o rozmiarze blockSize (16 bajtów).
-     * Jeśli długość danych nie jest wielokrotnością blockSize,
+     * Tworzy obiekt z kluczami rund z podanego harmonogramu (implementacja referencyjna dla {@link BlockEngine}).
+     *
+     * @param schedule Harmonogram kluczy
+     * @return Obiekt gotowy do szyfrowania bloków
+     */
+    static AES withSchedule(KeySchedule schedule) {
+        AES aes = new AES();
+        aes.useSchedule(schedule);
+        return aes;
+    }
+
+    /**
+     * Szyfruje ciąg bloków implementacją referencyjną, kopiując każdy blok do tablicy stanu.
+     */
+    void encryptBlocks(byte[] in, int inOff, byte[] out, int outOff, int len) {
+        byte[] block = new byte[BLOCK_SIZE];
+        for (int i = 0; i < len; i += BLOCK_SIZE) {
+            System.arraycopy(in, inOff + i, block, 0, BLOCK_SIZE);
+            encryptBlock(block);
+            System.arraycopy(block, 0, out, outOff + i, BLOCK_SIZE);
+        }
+    }
+
+    /**
+     * Deszyfruje ciąg bloków implementacją referencyjną, kopiując każdy blok do tablicy stanu.
+     */
+    void decryptBlocks(byte[] in, int inOff, byte[] out, int outOff, int len) {
+        byte[] block = new byte[BLOCK_SIZE];
+        for (int i = 0; i < len; i += BLOCK_SIZE) {
+            System.arraycopy(in, inOff + i, block, 0, BLOCK_SIZE);
+            decryptBlock(block);
+            System.arraycopy(block, 0, out, outOff + i, BLOCK_SIZE);
+        }
+    }
+
+    /**
+     * Szyfruje pojedynczy blok w miejscu implementacją referencyjną.
+     *
+     * @param block Blok danych (16 bajtów)
+     */
+    private void encryptBlock(byte[] block) {
+        // Runda inicjalizacyjna - dodanie klucza rundy 0
+        addRoundKey(block, 0);
+
+        // Rundy 1 do (amountOfRounds-1)
+        for (int round = 1; round < amountOfRounds; round++) {
+            subBytes(block, BLOCK_SIZE);       // Zastąpienie bajtów
+            shiftRows(block, true);           // Przesunięcie wierszy
+            mixColumns(block, true);          // Mieszanie kolumn
+            addRoundKey(block, round);        // Dodanie klucza rundy
+        }
+
+        // Ostatnia runda (bez mixColumns)
+        subBytes(block, BLOCK_SIZE);
+        shiftRows(block, true);
+        addRoundKey(block, amountOfRounds);
+    }
+
+    /**
+     * Deszyfruje pojedynczy blok w miejscu implementacją referencyjną, jako odwrotny szyfr równoważny:
+     * kolejność operacji w rundzie jest taka sama jak przy szyfrowaniu, a InvMixColumns kluczy rund
+     * wyznaczone zostało raz, przy rozszerzaniu klucza.
+     *
+     * @param block Blok danych (16 bajtów)
+     */
+    private void decryptBlock(byte[] block) {
+        // Runda inicjalizacyjna odszyfrowania - klucz ostatniej rundy szyfrowania
+        addDecryptionRoundKey(block, 0);
+
+        // Rundy 1 do (amountOfRounds-1) odszyfrowania
+        for (int round = 1; round < amountOfRounds; round++) {
+            reverseSubBytes(block);           // Odwrotne zastąpienie bajtów
+            shiftRows(block, false);          // Odwrotne przesunięcie wierszy
+            mixColumns(block, false);         // Odwrotne mieszanie kolumn
+            addDecryptionRoundKey(block, round); // Dodanie przekształconego klucza rundy
+        }
+
+        // Ostatnia runda odszyfrowania (bez mixColumns) - klucz rundy 0 szyfrowania
+        reverseSubBytes(block);
+        shiftRows(block, false);
+        addDecryptionRoundKey(block, amountOfRounds);
+    }
+
+    /**
+     * Dzieli dane na bloki o rozmiarze BLOCK_SIZE (16 bajtów).
+     * Jeśli długość danych nie jest wielokrotnością BLOCK_SIZE,
      * ostatni blok jest uzupełniany zerami.
      *
      * @param data Dane do podziału
@@ -409,16 +638,16 @@ public class AES {
      */
     public byte[][] splitIntoBlocks(byte[] data) {
         // Ilość bloków - musi być cast na double, aby wynik był zmiennoprzecinkowy, zaokrąglamy w górę i rzutujemy na int
-        int numBlocks = (int) Math.ceil(data.length / (double) blockSize);
+        int numBlocks = (int) Math.ceil(data.length / (double) BLOCK_SIZE);
 
         // Tablica bloków
-        byte[][] blocks = new byte[numBlocks][blockSize];
+        byte[][] blocks = new byte[numBlocks][BLOCK_SIZE];
 
         for (int i = 0; i < numBlocks; i++) {
             // Indeks początkowy bloku
-            int start = i * blockSize;
+            int start = i * BLOCK_SIZE;
             // Długość bloku - jeśli ostatni blok, to długość może być mniejsza
-            int length = Math.min(blockSize, data.length - start);
+            int length = Math.min(BLOCK_SIZE, data.length - start);
 
             // Kopiowanie danych do bloku
             System.arraycopy(data, start, blocks[i], 0, length);
@@ -434,7 +663,7 @@ public class AES {
      * @return Wartość RCON jako bajt
      * @throws IllegalArgumentException gdy numer iteracji jest poza zakresem
      */
-    private byte getRconValue(int iteration) {
+    private static byte getRconValue(int iteration) {
         if (iteration > RCON.length) {
             throw new IllegalArgumentException("RCON iteration out of bounds");
         }
@@ -449,8 +678,20 @@ public class AES {
      */
     public void addRoundKey(byte[] block, int numberOfRound) {
         // XORowanie bloku z kluczem
-        for (int i = 0; i < blockSize; i++) {
-            block[i] ^= expandedKey[numberOfRound * blockSize + i];
+        for (int i = 0; i < BLOCK_SIZE; i++) {
+            block[i] ^= expandedKey[numberOfRound * BLOCK_SIZE + i];
+        }
+    }
+
+    /**
+     * XOR bloku z kluczem rundy odwrotnego szyfru równoważnego.
+     *
+     * @param block         Blok danych
+     * @param numberOfRound Numer rundy deszyfrowania (0 - runda inicjalizacyjna)
+     */
+    private void addDecryptionRoundKey(byte[] block, int numberOfRound) {
+        for (int i = 0; i < BLOCK_SIZE; i++) {
+            block[i] ^= decryptionKey[numberOfRound * BLOCK_SIZE + i];
         }
     }
 
@@ -460,7 +701,7 @@ public class AES {
      * @param block Blok danych
      * @param size  Rozmiar bloku
      */
-    public void subBytes(byte[] block, int size) {
+    public static void subBytes(byte[] block, int size) {
         for (int i = 0; i < size; i++) {
             // Wiersz określamy pierwszą cyfrą bajtu, kolumnę drugą
             block[i] = (byte) SBOX[(block[i] & 0xFF) >>> 4][block[i] & 0x0F];
@@ -474,7 +715,7 @@ public class AES {
      * @param block Blok danych do przetworzenia
      */
     private void reverseSubBytes(byte[] block) {
-        for (int i = 0; i < blockSize; i++) {
+        for (int i = 0; i < BLOCK_SIZE; i++) {
             // Pobieramy indeksy dla tablicy reverseSBOX:
             // - pierwsze 4 bity (starsze) bajta określają wiersz
             // - ostatnie 4 bity (młodsze) bajta określają kolumnę
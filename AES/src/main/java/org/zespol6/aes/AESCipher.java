@@ -0,0 +1,494 @@
+/*
+ * Nazwa programu: AES-cipher
+ * Copyright (C) 2025  Mateusz Kosowski Nikodem Nowak
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package org.zespol6.aes;
+
+import javax.crypto.BadPaddingException;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.ReadOnlyBufferException;
+import java.util.Arrays;
+import java.util.Objects;
+
+import static org.zespol6.aes.BlockEngine.BLOCK_SIZE;
+
+/**
+ * Niezmienny szyfr AES przygotowany dla jednego klucza.
+ * Klucze rund szyfrowania i deszyfrowania wyznaczane są raz, przy tworzeniu obiektu,
+ * a tablice transformacji są współdzielone statycznie. Jeden obiekt może być bez blokad
+ * używany jednocześnie przez wiele wątków.
+ *
+ * <p>Transformację blokową wykonuje wybrana implementacja ({@link Engine}); domyślną wskazuje
+ * właściwość systemowa {@value Engine#PROPERTY}.</p>
+ */
+public final class AESCipher {
+
+    private final int rounds;                   // Liczba rund
+    private final BlockEngine engine;           // Transformacja blokowa wybranej implementacji
+
+    private AESCipher(int rounds, BlockEngine engine) {
+        this.rounds = rounds;
+        this.engine = engine;
+    }
+
+    /**
+     * Tworzy szyfr dla podanego klucza głównego z domyślną implementacją ({@link Engine#defaultEngine()}).
+     *
+     * @param key Klucz główny
+     * @return Szyfr przygotowany dla klucza
+     */
+    public static AESCipher of(BigInteger key) {
+        return of(key, Engine.defaultEngine());
+    }
+
+    /**
+     * Tworzy szyfr dla podanego klucza głównego i implementacji.
+     *
+     * @param key    Klucz główny
+     * @param engine Implementacja transformacji blokowej
+     * @return Szyfr przygotowany dla klucza
+     */
+    public static AESCipher of(BigInteger key, Engine engine) {
+        return of(AES.expandKey(key), engine, false);
+    }
+
+    /**
+     * Tworzy szyfr dla surowego klucza głównego z domyślną implementacją. Długość klucza wyznacza
+     * liczbę rund (10, 12 lub 14).
+     *
+     * @param key Klucz główny (16, 24 lub 32 bajty)
+     * @return Szyfr przygotowany dla klucza
+     * @throws IllegalArgumentException gdy długość klucza jest nieprawidłowa
+     */
+    public static AESCipher of(byte[] key) {
+        return of(key, Engine.defaultEngine());
+    }
+
+    /**
+     * Tworzy szyfr dla surowego klucza głównego i implementacji.
+     *
+     * @param key    Klucz główny (16, 24 lub 32 bajty)
+     * @param engine Implementacja transformacji blokowej
+     * @return Szyfr przygotowany dla klucza
+     * @throws IllegalArgumentException gdy długość klucza jest nieprawidłowa
+     */
+    public static AESCipher of(byte[] key, Engine engine) {
+        return of(KeySchedule.of(key), engine, false);
+    }
+
+    /**
+     * Tworzy szyfr dla klucza głównego złożonego z pozostałych bajtów bufora z domyślną implementacją.
+     * Pozycja bufora nie jest zmieniana.
+     *
+     * @param key Bufor z kluczem głównym (16, 24 lub 32 pozostałe bajty)
+     * @return Szyfr przygotowany dla klucza
+     * @throws IllegalArgumentException gdy długość klucza jest nieprawidłowa
+     */
+    public static AESCipher of(ByteBuffer key) {
+        return of(key, Engine.defaultEngine());
+    }
+
+    /**
+     * Tworzy szyfr dla klucza głównego złożonego z pozostałych bajtów bufora i implementacji.
+     * Pozycja bufora nie jest zmieniana.
+     *
+     * @param key    Bufor z kluczem głównym (16, 24 lub 32 pozostałe bajty)
+     * @param engine Implementacja transformacji blokowej
+     * @return Szyfr przygotowany dla klucza
+     * @throws IllegalArgumentException gdy długość klucza jest nieprawidłowa
+     */
+    public static AESCipher of(ByteBuffer key, Engine engine) {
+        return of(KeySchedule.of(key), engine, false);
+    }
+
+    /**
+     * Tworzy szyfr na podstawie przygotowanego harmonogramu kluczy z domyślną implementacją.
+     *
+     * @param schedule Harmonogram kluczy
+     * @return Szyfr przygotowany dla klucza
+     * @throws IllegalStateException gdy materiał harmonogramu został już wyzerowany
+     */
+    public static AESCipher of(KeySchedule schedule) {
+        return of(schedule, Engine.defaultEngine());
+    }
+
+    /**
+     * Tworzy szyfr na podstawie przygotowanego harmonogramu kluczy.
+     * Klucze rund są kopiowane, więc późniejsze wyzerowanie harmonogramu nie wpływa na szyfr.
+     * Implementacja niedostępna w bieżącej maszynie wirtualnej zastępowana jest przez {@link Engine#T_TABLE}.
+     *
+     * @param schedule Harmonogram kluczy
+     * @param engine   Implementacja transformacji blokowej
+     * @return Szyfr przygotowany dla klucza
+     * @throws IllegalStateException gdy materiał harmonogramu został już wyzerowany
+     */
+    public static AESCipher of(KeySchedule schedule, Engine engine) {
+        return of(schedule, engine, true);
+    }
+
+    /**
+     * Tworzy szyfr na podstawie harmonogramu. Harmonogram współdzielony jest kopiowany, a wyznaczony
+     * tylko dla tego szyfru - używany bezpośrednio, bez ponownego przeliczania kluczy rund.
+     */
+    private static AESCipher of(KeySchedule schedule, Engine engine, boolean shared) {
+        if (engine == null) {
+            throw new IllegalArgumentException("Engine must not be null");
+        }
+        if (!shared) {
+            return new AESCipher(schedule.rounds(), schedule.blockEngine(engine));
+        }
+        if (!schedule.retain()) {
+            throw new IllegalStateException("Key schedule has been destroyed");
+        }
+        try {
+            KeySchedule copy = new KeySchedule(schedule.encryptionRoundKeys().clone());
+            return new AESCipher(schedule.rounds(), copy.blockEngine(engine));
+        } finally {
+            schedule.release();
+        }
+    }
+
+    /**
+     * Zwraca liczbę rund.
+     *
+     * @return Liczba rund (10, 12 lub 14)
+     */
+    public int rounds() {
+        return rounds;
+    }
+
+    /**
+     * Zwraca transformację blokową bez sprawdzania zakresów i pomiarów - dla trybów pracy,
+     * które same mierzą swoje operacje.
+     */
+    BlockEngine blockEngine() {
+        return engine;
+    }
+
+    /**
+     * Zwraca implementację wykonującą transformację blokową.
+     *
+     * @return Implementacja (może różnić się od żądanej, jeśli ta nie była dostępna)
+     */
+    public Engine engine() {
+        return engine.engine();
+    }
+
+    /**
+     * Szyfruje pojedynczy blok 16 bajtów. Dla implementacji T_TABLE nie alokuje pamięci.
+     *
+     * @param in     Tablica wejściowa
+     * @param inOff  Przesunięcie bloku w tablicy wejściowej
+     * @param out    Tablica wyjściowa (może być tą samą tablicą co wejściowa)
+     * @param outOff Przesunięcie bloku w tablicy wyjściowej
+     */
+    public void encryptBlock(byte[] in, int inOff, byte[] out, int outOff) {
+        Objects.checkFromIndexSize(inOff, BLOCK_SIZE, in.length);
+        Objects.checkFromIndexSize(outOff, BLOCK_SIZE, out.length);
+        engine.encryptBlocks(in, inOff, out, outOff, BLOCK_SIZE);
+    }
+
+    /**
+     * Deszyfruje pojedynczy blok 16 bajtów. Dla implementacji T_TABLE nie alokuje pamięci.
+     *
+     * @param in     Tablica wejściowa
+     * @param inOff  Przesunięcie bloku w tablicy wejściowej
+     * @param out    Tablica wyjściowa (może być tą samą tablicą co wejściowa)
+     * @param outOff Przesunięcie bloku w tablicy wyjściowej
+     */
+    public void decryptBlock(byte[] in, int inOff, byte[] out, int outOff) {
+        Objects.checkFromIndexSize(inOff, BLOCK_SIZE, in.length);
+        Objects.checkFromIndexSize(outOff, BLOCK_SIZE, out.length);
+        engine.decryptBlocks(in, inOff, out, outOff, BLOCK_SIZE);
+    }
+
+    /**
+     * Szyfruje pojedynczy blok 16 bajtów zapisany w buforze (np. odwzorowanym w pamięci).
+     * Używa indeksów bezwzględnych - pozycje buforów się nie zmieniają. Dla implementacji T_TABLE nie alokuje pamięci.
+     *
+     * @param in       Bufor wejściowy
+     * @param inIndex  Indeks bloku w buforze wejściowym
+     * @param out      Bufor wyjściowy (może być tym samym buforem co wejściowy)
+     * @param outIndex Indeks bloku w buforze wyjściowym
+     */
+    public void encryptBlock(ByteBuffer in, int inIndex, ByteBuffer out, int outIndex) {
+        engine.encryptBlock(in, inIndex, out, outIndex);
+    }
+
+    /**
+     * Deszyfruje pojedynczy blok 16 bajtów zapisany w buforze (np. odwzorowanym w pamięci).
+     * Używa indeksów bezwzględnych - pozycje buforów się nie zmieniają. Dla implementacji T_TABLE nie alokuje pamięci.
+     *
+     * @param in       Bufor wejściowy
+     * @param inIndex  Indeks bloku w buforze wejściowym
+     * @param out      Bufor wyjściowy (może być tym samym buforem co wejściowy)
+     * @param outIndex Indeks bloku w buforze wyjściowym
+     */
+    public void decryptBlock(ByteBuffer in, int inIndex, ByteBuffer out, int outIndex) {
+        engine.decryptBlock(in, inIndex, out, outIndex);
+    }
+
+    /**
+     * Szyfruje ciąg bloków zapisanych w buforach, np. bezpośrednich buforach współdzielonych z kodem natywnym
+     * albo widokach {@code MemorySegment.asByteBuffer()} pamięci poza stertą. Używa indeksów bezwzględnych -
+     * pozycje buforów się nie zmieniają. Zakresy sprawdzane są raz dla całego wywołania.
+     * Implementacja T_TABLE przetwarza bufory bezpośrednio, a pozostałe kopiują dane bezpośrednich buforów
+     * porcjami po 4 KB przez tablicę pomocniczą (bez kopii całych danych na stercie).
+     *
+     * @param in       Bufor wejściowy
+     * @param inIndex  Indeks danych w buforze wejściowym
+     * @param out      Bufor wyjściowy (może być tym samym buforem co wejściowy, z tym samym indeksem)
+     * @param outIndex Indeks wyniku w buforze wyjściowym
+     * @param len      Liczba bajtów (wielokrotność 16)
+     */
+    public void encryptBlocks(ByteBuffer in, int inIndex, ByteBuffer out, int outIndex, int len) {
+        checkBlocks(in, inIndex, out, outIndex, len);
+        Instrumentation.Measurement measurement = Instrumentation.CURRENT.start();
+        try {
+            engine.encryptBlocks(in, inIndex, out, outIndex, len);
+        } finally {
+            Instrumentation.CURRENT.end(CipherOperation.ECB_ENCRYPT, rounds, len, measurement);
+        }
+    }
+
+    /**
+     * Deszyfruje ciąg bloków zapisanych w buforach (indeksy bezwzględne - pozycje buforów się nie zmieniają).
+     * Zakresy sprawdzane są raz dla całego wywołania.
+     *
+     * @param in       Bufor wejściowy
+     * @param inIndex  Indeks danych w buforze wejściowym
+     * @param out      Bufor wyjściowy (może być tym samym buforem co wejściowy, z tym samym indeksem)
+     * @param outIndex Indeks wyniku w buforze wyjściowym
+     * @param len      Liczba bajtów (wielokrotność 16)
+     */
+    public void decryptBlocks(ByteBuffer in, int inIndex, ByteBuffer out, int outIndex, int len) {
+        checkBlocks(in, inIndex, out, outIndex, len);
+        Instrumentation.Measurement measurement = Instrumentation.CURRENT.start();
+        try {
+            engine.decryptBlocks(in, inIndex, out, outIndex, len);
+        } finally {
+            Instrumentation.CURRENT.end(CipherOperation.ECB_DECRYPT, rounds, len, measurement);
+        }
+    }
+
+    /**
+     * Szyfruje wszystkie pozostałe bajty bufora wejściowego (wielokrotność 16) do bufora wyjściowego
+     * i przesuwa pozycje obu buforów, podobnie jak {@link javax.crypto.Cipher#update(ByteBuffer, ByteBuffer)}.
+     *
+     * @param in  Bufor wejściowy
+     * @param out Bufor wyjściowy (co najmniej in.remaining() wolnych bajtów)
+     * @return Liczba przetworzonych bajtów
+     */
+    public int encrypt(ByteBuffer in, ByteBuffer out) {
+        int len = in.remaining();
+        encryptBlocks(in, in.position(), out, out.position(), len);
+        in.position(in.position() + len);
+        out.position(out.position() + len);
+        return len;
+    }
+
+    /**
+     * Deszyfruje wszystkie pozostałe bajty bufora wejściowego (wielokrotność 16) do bufora wyjściowego
+     * i przesuwa pozycje obu buforów.
+     *
+     * @param in  Bufor wejściowy
+     * @param out Bufor wyjściowy (co najmniej in.remaining() wolnych bajtów)
+     * @return Liczba przetworzonych bajtów
+     */
+    public int decrypt(ByteBuffer in, ByteBuffer out) {
+        int len = in.remaining();
+        decryptBlocks(in, in.position(), out, out.position(), len);
+        in.position(in.position() + len);
+        out.position(out.position() + len);
+        return len;
+    }
+
+    /**
+     * Szyfruje ciąg bloków. Dane mogą być przetwarzane w miejscu (in == out, inOff == outOff)
+     * albo do bufora przekazanego przez wywołującego. Dla implementacji T_TABLE metoda nie alokuje pamięci.
+     *
+     * @param in     Tablica wejściowa
+     * @param inOff  Przesunięcie danych w tablicy wejściowej
+     * @param out    Tablica wyjściowa
+     * @param outOff Przesunięcie wyniku w tablicy wyjściowej
+     * @param len    Liczba bajtów (wielokrotność 16)
+     */
+    public void encryptBlocks(byte[] in, int inOff, byte[] out, int outOff, int len) {
+        checkBlocks(in, inOff, out, outOff, len);
+        Instrumentation.Measurement measurement = Instrumentation.CURRENT.start();
+        try {
+            engine.encryptBlocks(in, inOff, out, outOff, len);
+        } finally {
+            Instrumentation.CURRENT.end(CipherOperation.ECB_ENCRYPT, rounds, len, measurement);
+        }
+    }
+
+    /**
+     * Deszyfruje ciąg bloków. Dane mogą być przetwarzane w miejscu (in == out, inOff == outOff)
+     * albo do bufora przekazanego przez wywołującego. Dla implementacji T_TABLE metoda nie alokuje pamięci.
+     *
+     * @param in     Tablica wejściowa
+     * @param inOff  Przesunięcie danych w tablicy wejściowej
+     * @param out    Tablica wyjściowa
+     * @param outOff Przesunięcie wyniku w tablicy wyjściowej
+     * @param len    Liczba bajtów (wielokrotność 16)
+     */
+    public void decryptBlocks(byte[] in, int inOff, byte[] out, int outOff, int len) {
+        checkBlocks(in, inOff, out, outOff, len);
+        Instrumentation.Measurement measurement = Instrumentation.CURRENT.start();
+        try {
+            engine.decryptBlocks(in, inOff, out, outOff, len);
+        } finally {
+            Instrumentation.CURRENT.end(CipherOperation.ECB_DECRYPT, rounds, len, measurement);
+        }
+    }
+
+    /**
+     * Szyfruje dane blok po bloku, uzupełniając ostatni blok zerami.
+     * Wynik jest zgodny z {@link AES#encrypt(byte[], BigInteger)}.
+     *
+     * @param data Dane do zaszyfrowania
+     * @return Zaszyfrowane dane
+     */
+    public byte[] encrypt(byte[] data) {
+        return encrypt(data, Padding.ZERO);
+    }
+
+    /**
+     * Deszyfruje dane blok po bloku i usuwa zera dopełnienia.
+     * Wynik jest zgodny z {@link AES#decrypt(byte[], BigInteger)}.
+     *
+     * @param encrypted Zaszyfrowane dane
+     * @return Odszyfrowane dane
+     */
+    public byte[] decrypt(byte[] encrypted) {
+        int numBlocks = (encrypted.length + BLOCK_SIZE - 1) / BLOCK_SIZE;
+        byte[] decrypted = new byte[numBlocks * BLOCK_SIZE];
+        System.arraycopy(encrypted, 0, decrypted, 0, encrypted.length);
+
+        decryptBlocks(decrypted, 0, decrypted, 0, decrypted.length);
+        return AES.removeZeroPadding(decrypted);
+    }
+
+    /**
+     * Szyfruje dane z podanym dopełnieniem do nowej tablicy o dokładnym rozmiarze wyniku.
+     *
+     * @param data    Dane do zaszyfrowania
+     * @param padding Dopełnienie
+     * @return Zaszyfrowane dane ({@link Padding#paddedLength} bajtów)
+     * @throws IllegalArgumentException gdy dla {@link Padding#NONE} długość nie jest wielokrotnością 16
+     */
+    public byte[] encrypt(byte[] data, Padding padding) {
+        byte[] out = new byte[padding.paddedLength(data.length)];
+        encrypt(data, 0, data.length, out, 0, padding);
+        return out;
+    }
+
+    /**
+     * Deszyfruje dane i usuwa dopełnienie. Wynik jest kopiowany do krótszej tablicy tylko wtedy, gdy
+     * dopełnienie nie jest puste; bez kopiowania działa
+     * {@link #decrypt(byte[], int, int, byte[], int, Padding)}.
+     *
+     * @param encrypted Zaszyfrowane dane (wielokrotność 16 bajtów)
+     * @param padding   Dopełnienie
+     * @return Odszyfrowane dane
+     * @throws BadPaddingException gdy dopełnienie jest nieprawidłowe
+     */
+    public byte[] decrypt(byte[] encrypted, Padding padding) throws BadPaddingException {
+        byte[] out = new byte[encrypted.length];
+        int n = decrypt(encrypted, 0, encrypted.length, out, 0, padding);
+        return n == out.length ? out : Arrays.copyOf(out, n);
+    }
+
+    /**
+     * Szyfruje dane z podanym dopełnieniem do bufora wywołującego. Pełne bloki szyfrowane są bezpośrednio
+     * z tablicy wejściowej, a przez bufor wyjściowy przechodzi tylko dopełniany ostatni blok.
+     * Dane mogą być przetwarzane w miejscu (in == out, inOff == outOff), jeśli za danymi jest miejsce
+     * na dopełnienie.
+     *
+     * @param in      Tablica wejściowa
+     * @param inOff   Przesunięcie danych w tablicy wejściowej
+     * @param len     Liczba bajtów danych
+     * @param out     Tablica wyjściowa (co najmniej {@link Padding#paddedLength} wolnych bajtów)
+     * @param outOff  Przesunięcie wyniku w tablicy wyjściowej
+     * @param padding Dopełnienie
+     * @return Liczba zapisanych bajtów
+     * @throws IllegalArgumentException gdy dla {@link Padding#NONE} długość nie jest wielokrotnością 16
+     */
+    public int encrypt(byte[] in, int inOff, int len, byte[] out, int outOff, Padding padding) {
+        int padded = padding.paddedLength(len);
+        Objects.checkFromIndexSize(inOff, len, in.length);
+        Objects.checkFromIndexSize(outOff, padded, out.length);
+        Instrumentation.Measurement measurement = Instrumentation.CURRENT.start();
+        try {
+            return engine.encrypt(in, inOff, len, out, outOff, padding);
+        } finally {
+            Instrumentation.CURRENT.end(CipherOperation.ECB_ENCRYPT, rounds, padded, measurement);
+        }
+    }
+
+    /**
+     * Deszyfruje dane do bufora wywołującego i zwraca długość danych bez dopełnienia - bajty dopełnienia
+     * pozostają w buforze za danymi, nic nie jest kopiowane. Dane mogą być przetwarzane w miejscu.
+     *
+     * @param in      Tablica wejściowa
+     * @param inOff   Przesunięcie danych w tablicy wejściowej
+     * @param len     Liczba bajtów (wielokrotność 16)
+     * @param out     Tablica wyjściowa (co najmniej len wolnych bajtów)
+     * @param outOff  Przesunięcie wyniku w tablicy wyjściowej
+     * @param padding Dopełnienie
+     * @return Liczba bajtów danych bez dopełnienia
+     * @throws BadPaddingException gdy dopełnienie jest nieprawidłowe
+     */
+    public int decrypt(byte[] in, int inOff, int len, byte[] out, int outOff, Padding padding)
+            throws BadPaddingException {
+        checkBlocks(in, inOff, out, outOff, len);
+        Instrumentation.Measurement measurement = Instrumentation.CURRENT.start();
+        try {
+            engine.decryptBlocks(in, inOff, out, outOff, len);
+        } finally {
+            Instrumentation.CURRENT.end(CipherOperation.ECB_DECRYPT, rounds, len, measurement);
+        }
+        return padding.unpaddedLength(out, outOff, len);
+    }
+
+    /**
+     * Sprawdza zakresy ciągu bloków (raz dla całego wywołania, a nie dla każdego bloku).
+     */
+    private static void checkBlocks(byte[] in, int inOff, byte[] out, int outOff, int len) {
+        if (len % BLOCK_SIZE != 0) {
+            throw new IllegalArgumentException("Data length must be a multiple of 16");
+        }
+        Objects.checkFromIndexSize(inOff, len, in.length);
+        Objects.checkFromIndexSize(outOff, len, out.length);
+    }
+
+    /**
+     * Sprawdza zakresy ciągu bloków w buforach (względem limitu buforów).
+     */
+    private static void checkBlocks(ByteBuffer in, int inIndex, ByteBuffer out, int outIndex, int len) {
+        if (len % BLOCK_SIZE != 0) {
+            throw new IllegalArgumentException("Data length must be a multiple of 16");
+        }
+        if (out.isReadOnly()) {
+            throw new ReadOnlyBufferException();
+        }
+        Objects.checkFromIndexSize(inIndex, len, in.limit());
+        Objects.checkFromIndexSize(outIndex, len, out.limit());
+    }
+}
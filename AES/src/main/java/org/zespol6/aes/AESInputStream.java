@@ -0,0 +1,271 @@
+/*
+ * Nazwa programu: AES-cipher
+ * Copyright (C) 2025  Mateusz Kosowski Nikodem Nowak
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package org.zespol6.aes;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+
+import static org.zespol6.aes.BlockEngine.BLOCK_SIZE;
+
+/**
+ * Strumień wejściowy zwracający zaszyfrowane lub odszyfrowane dane odczytane ze strumienia źródłowego.
+ * Dane przetwarzane są porcjami w buforze o stałym rozmiarze, więc zużycie pamięci nie zależy od
+ * rozmiaru danych.
+ */
+public final class AESInputStream extends FilterInputStream {
+
+    private static final int DEFAULT_BUFFER_SIZE = 64 * 1024;   // Domyślny rozmiar bufora
+
+    private final StreamTransform transform;
+    private final byte[] buffer;    // Bufor danych z zapasem na dopełnienie ostatniego bloku
+    private final int capacity;     // Pojemność bufora bez zapasu
+    private int count;              // Liczba odczytanych, jeszcze nieprzetworzonych bajtów
+    private int tail;               // Początek nieprzetworzonych bajtów w buforze
+    private int pos;                // Pozycja następnego bajtu wyniku
+    private int limit;              // Koniec wyniku w buforze
+    private boolean eof;            // Czy strumień źródłowy się skończył
+    private boolean done;           // Czy ostatnia porcja została przetworzona
+
+    private AESInputStream(InputStream in, StreamTransform transform, int bufferSize) {
+        super(in);
+        if (bufferSize < 4 * BLOCK_SIZE || bufferSize % BLOCK_SIZE != 0) {
+            throw new IllegalArgumentException("Buffer size must be a multiple of 16 and at least 64 bytes");
+        }
+        this.transform = transform;
+        this.capacity = bufferSize;
+        this.buffer = new byte[bufferSize + BLOCK_SIZE];
+    }
+
+    /**
+     * Tworzy strumień szyfrujący blok po bloku z dopełnieniem zerami (wynik zgodny z {@link AES#encrypt}).
+     *
+     * @param in     Strumień źródłowy
+     * @param cipher Szyfr blokowy
+     * @return Strumień szyfrujący
+     */
+    public static AESInputStream encrypting(InputStream in, AESCipher cipher) {
+        return new AESInputStream(in, StreamTransform.encryptBlocks(cipher, Padding.ZERO), DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * Tworzy strumień deszyfrujący blok po bloku z usunięciem zer dopełnienia (wynik zgodny z {@link AES#decrypt}).
+     *
+     * @param in     Strumień źródłowy
+     * @param cipher Szyfr blokowy
+     * @return Strumień deszyfrujący
+     */
+    public static AESInputStream decrypting(InputStream in, AESCipher cipher) {
+        return new AESInputStream(in, StreamTransform.decryptBlocks(cipher, Padding.ZERO), DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * Tworzy strumień szyfrujący blok po bloku z podanym dopełnieniem ostatniego bloku.
+     *
+     * @param in      Strumień źródłowy
+     * @param cipher  Szyfr blokowy
+     * @param padding Dopełnienie
+     * @return Strumień szyfrujący
+     */
+    public static AESInputStream encrypting(InputStream in, AESCipher cipher, Padding padding) {
+        return new AESInputStream(in, StreamTransform.encryptBlocks(cipher, padding), DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * Tworzy strumień deszyfrujący blok po bloku z usunięciem podanego dopełnienia. Nieprawidłowe
+     * dopełnienie zgłaszane jest jako {@link IOException} z przyczyną
+     * {@link javax.crypto.BadPaddingException}.
+     *
+     * @param in      Strumień źródłowy
+     * @param cipher  Szyfr blokowy
+     * @param padding Dopełnienie
+     * @return Strumień deszyfrujący
+     */
+    public static AESInputStream decrypting(InputStream in, AESCipher cipher, Padding padding) {
+        return new AESInputStream(in, StreamTransform.decryptBlocks(cipher, padding), DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * Tworzy strumień przetwarzający dane w trybie licznika (szyfrowanie i deszyfrowanie to ta sama operacja).
+     *
+     * @param in  Strumień źródłowy
+     * @param ctr Tryb CTR
+     * @return Strumień szyfrujący/deszyfrujący
+     */
+    public static AESInputStream counter(InputStream in, CTRMode ctr) {
+        return new AESInputStream(in, StreamTransform.counter(ctr), DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * Tworzy strumień szyfrujący z buforem o podanym rozmiarze.
+     *
+     * @param in         Strumień źródłowy
+     * @param cipher     Szyfr blokowy
+     * @param bufferSize Rozmiar bufora (wielokrotność 16, co najmniej 64 bajty)
+     * @return Strumień szyfrujący
+     */
+    public static AESInputStream encrypting(InputStream in, AESCipher cipher, int bufferSize) {
+        return new AESInputStream(in, StreamTransform.encryptBlocks(cipher, Padding.ZERO), bufferSize);
+    }
+
+    /**
+     * Tworzy strumień deszyfrujący z buforem o podanym rozmiarze.
+     *
+     * @param in         Strumień źródłowy
+     * @param cipher     Szyfr blokowy
+     * @param bufferSize Rozmiar bufora (wielokrotność 16, co najmniej 64 bajty)
+     * @return Strumień deszyfrujący
+     */
+    public static AESInputStream decrypting(InputStream in, AESCipher cipher, int bufferSize) {
+        return new AESInputStream(in, StreamTransform.decryptBlocks(cipher, Padding.ZERO), bufferSize);
+    }
+
+    /**
+     * Tworzy strumień szyfrujący z podanym dopełnieniem i buforem o podanym rozmiarze.
+     *
+     * @param in         Strumień źródłowy
+     * @param cipher     Szyfr blokowy
+     * @param padding    Dopełnienie
+     * @param bufferSize Rozmiar bufora (wielokrotność 16, co najmniej 64 bajty)
+     * @return Strumień szyfrujący
+     */
+    public static AESInputStream encrypting(InputStream in, AESCipher cipher, Padding padding, int bufferSize) {
+        return new AESInputStream(in, StreamTransform.encryptBlocks(cipher, padding), bufferSize);
+    }
+
+    /**
+     * Tworzy strumień deszyfrujący z podanym dopełnieniem i buforem o podanym rozmiarze.
+     *
+     * @param in         Strumień źródłowy
+     * @param cipher     Szyfr blokowy
+     * @param padding    Dopełnienie
+     * @param bufferSize Rozmiar bufora (wielokrotność 16, co najmniej 64 bajty)
+     * @return Strumień deszyfrujący
+     */
+    public static AESInputStream decrypting(InputStream in, AESCipher cipher, Padding padding, int bufferSize) {
+        return new AESInputStream(in, StreamTransform.decryptBlocks(cipher, padding), bufferSize);
+    }
+
+    /**
+     * Tworzy strumień w trybie licznika z buforem o podanym rozmiarze.
+     *
+     * @param in         Strumień źródłowy
+     * @param ctr        Tryb CTR
+     * @param bufferSize Rozmiar bufora (wielokrotność 16, co najmniej 64 bajty)
+     * @return Strumień szyfrujący/deszyfrujący
+     */
+    public static AESInputStream counter(InputStream in, CTRMode ctr, int bufferSize) {
+        return new AESInputStream(in, StreamTransform.counter(ctr), bufferSize);
+    }
+
+    @Override
+    public int read() throws IOException {
+        if (pos == limit && !fill()) {
+            return -1;
+        }
+        return buffer[pos++] & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        if (len == 0) {
+            return 0;
+        }
+        if (pos == limit && !fill()) {
+            return -1;
+        }
+        int n = Math.min(len, limit - pos);
+        System.arraycopy(buffer, pos, b, off, n);
+        pos += n;
+        return n;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        long skipped = 0;
+        while (skipped < n) {
+            if (pos == limit && !fill()) {
+                break;
+            }
+            int step = (int) Math.min(n - skipped, limit - pos);
+            pos += step;
+            skipped += step;
+        }
+        return skipped;
+    }
+
+    @Override
+    public int available() {
+        return limit - pos;
+    }
+
+    @Override
+    public boolean markSupported() {
+        return false;
+    }
+
+    @Override
+    public void close() throws IOException {
+        Arrays.fill(buffer, (byte) 0);
+        pos = limit = count = tail = 0;
+        done = true;
+        in.close();
+    }
+
+    /**
+     * Wczytuje i przetwarza kolejną porcję danych.
+     *
+     * @return false, jeśli nie ma już więcej danych
+     */
+    private boolean fill() throws IOException {
+        while (true) {
+            if (done) {
+                return false;
+            }
+
+            // Przeniesienie nieprzetworzonych bajtów (wstrzymanych lub niepełnego bloku) na początek
+            System.arraycopy(buffer, tail, buffer, 0, count);
+            pos = limit = tail = 0;
+
+            while (!eof && count < capacity) {
+                int n = in.read(buffer, count, capacity - count);
+                if (n < 0) {
+                    eof = true;
+                } else {
+                    count += n;
+                }
+            }
+
+            if (eof) {
+                limit = transform.process(buffer, count, true);
+                count = 0;
+                done = true;
+            } else {
+                int ready = (count - transform.holdBack()) / BLOCK_SIZE * BLOCK_SIZE;
+                limit = transform.process(buffer, ready, false);
+                tail = ready;
+                count -= ready;
+            }
+            if (limit > 0) {
+                return true;
+            }
+        }
+    }
+}
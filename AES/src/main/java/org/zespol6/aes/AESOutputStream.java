@@ -0,0 +1,248 @@
+/*
+ * Nazwa programu: AES-cipher
+ * Copyright (C) 2025  Mateusz Kosowski Nikodem Nowak
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package org.zespol6.aes;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+
+import static org.zespol6.aes.BlockEngine.BLOCK_SIZE;
+
+/**
+ * Strumień wyjściowy szyfrujący lub deszyfrujący dane przed przekazaniem ich do strumienia docelowego.
+ * Dane przetwarzane są porcjami w buforze o stałym rozmiarze, więc zużycie pamięci nie zależy od
+ * rozmiaru danych. Ostatnia porcja (z dopełnieniem) przetwarzana jest przy zamknięciu strumienia.
+ */
+public final class AESOutputStream extends FilterOutputStream {
+
+    private static final int DEFAULT_BUFFER_SIZE = 64 * 1024;   // Domyślny rozmiar bufora
+
+    private final StreamTransform transform;
+    private final byte[] buffer;    // Bufor danych z zapasem na dopełnienie ostatniego bloku
+    private final int capacity;     // Pojemność bufora bez zapasu
+    private int count;              // Liczba bajtów w buforze
+    private boolean closed;
+
+    private AESOutputStream(OutputStream out, StreamTransform transform, int bufferSize) {
+        super(out);
+        if (bufferSize < 4 * BLOCK_SIZE || bufferSize % BLOCK_SIZE != 0) {
+            throw new IllegalArgumentException("Buffer size must be a multiple of 16 and at least 64 bytes");
+        }
+        this.transform = transform;
+        this.capacity = bufferSize;
+        this.buffer = new byte[bufferSize + BLOCK_SIZE];
+    }
+
+    /**
+     * Tworzy strumień szyfrujący blok po bloku z dopełnieniem zerami (wynik zgodny z {@link AES#encrypt}).
+     *
+     * @param out    Strumień docelowy
+     * @param cipher Szyfr blokowy
+     * @return Strumień szyfrujący
+     */
+    public static AESOutputStream encrypting(OutputStream out, AESCipher cipher) {
+        return new AESOutputStream(out, StreamTransform.encryptBlocks(cipher, Padding.ZERO), DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * Tworzy strumień deszyfrujący blok po bloku z usunięciem zer dopełnienia (wynik zgodny z {@link AES#decrypt}).
+     *
+     * @param out    Strumień docelowy
+     * @param cipher Szyfr blokowy
+     * @return Strumień deszyfrujący
+     */
+    public static AESOutputStream decrypting(OutputStream out, AESCipher cipher) {
+        return new AESOutputStream(out, StreamTransform.decryptBlocks(cipher, Padding.ZERO), DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * Tworzy strumień szyfrujący blok po bloku z podanym dopełnieniem ostatniego bloku.
+     *
+     * @param out     Strumień docelowy
+     * @param cipher  Szyfr blokowy
+     * @param padding Dopełnienie
+     * @return Strumień szyfrujący
+     */
+    public static AESOutputStream encrypting(OutputStream out, AESCipher cipher, Padding padding) {
+        return new AESOutputStream(out, StreamTransform.encryptBlocks(cipher, padding), DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * Tworzy strumień deszyfrujący blok po bloku z usunięciem podanego dopełnienia. Nieprawidłowe
+     * dopełnienie zgłaszane jest jako {@link IOException} z przyczyną
+     * {@link javax.crypto.BadPaddingException}.
+     *
+     * @param out     Strumień docelowy
+     * @param cipher  Szyfr blokowy
+     * @param padding Dopełnienie
+     * @return Strumień deszyfrujący
+     */
+    public static AESOutputStream decrypting(OutputStream out, AESCipher cipher, Padding padding) {
+        return new AESOutputStream(out, StreamTransform.decryptBlocks(cipher, padding), DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * Tworzy strumień przetwarzający dane w trybie licznika (szyfrowanie i deszyfrowanie to ta sama operacja).
+     *
+     * @param out Strumień docelowy
+     * @param ctr Tryb CTR
+     * @return Strumień szyfrujący/deszyfrujący
+     */
+    public static AESOutputStream counter(OutputStream out, CTRMode ctr) {
+        return new AESOutputStream(out, StreamTransform.counter(ctr), DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * Tworzy strumień szyfrujący z buforem o podanym rozmiarze.
+     *
+     * @param out        Strumień docelowy
+     * @param cipher     Szyfr blokowy
+     * @param bufferSize Rozmiar bufora (wielokrotność 16, co najmniej 64 bajty)
+     * @return Strumień szyfrujący
+     */
+    public static AESOutputStream encrypting(OutputStream out, AESCipher cipher, int bufferSize) {
+        return new AESOutputStream(out, StreamTransform.encryptBlocks(cipher, Padding.ZERO), bufferSize);
+    }
+
+    /**
+     * Tworzy strumień deszyfrujący z buforem o podanym rozmiarze.
+     *
+     * @param out        Strumień docelowy
+     * @param cipher     Szyfr blokowy
+     * @param bufferSize Rozmiar bufora (wielokrotność 16, co najmniej 64 bajty)
+     * @return Strumień deszyfrujący
+     */
+    public static AESOutputStream decrypting(OutputStream out, AESCipher cipher, int bufferSize) {
+        return new AESOutputStream(out, StreamTransform.decryptBlocks(cipher, Padding.ZERO), bufferSize);
+    }
+
+    /**
+     * Tworzy strumień szyfrujący z podanym dopełnieniem i buforem o podanym rozmiarze.
+     *
+     * @param out        Strumień docelowy
+     * @param cipher     Szyfr blokowy
+     * @param padding    Dopełnienie
+     * @param bufferSize Rozmiar bufora (wielokrotność 16, co najmniej 64 bajty)
+     * @return Strumień szyfrujący
+     */
+    public static AESOutputStream encrypting(OutputStream out, AESCipher cipher, Padding padding, int bufferSize) {
+        return new AESOutputStream(out, StreamTransform.encryptBlocks(cipher, padding), bufferSize);
+    }
+
+    /**
+     * Tworzy strumień deszyfrujący z podanym dopełnieniem i buforem o podanym rozmiarze.
+     *
+     * @param out        Strumień docelowy
+     * @param cipher     Szyfr blokowy
+     * @param padding    Dopełnienie
+     * @param bufferSize Rozmiar bufora (wielokrotność 16, co najmniej 64 bajty)
+     * @return Strumień deszyfrujący
+     */
+    public static AESOutputStream decrypting(OutputStream out, AESCipher cipher, Padding padding, int bufferSize) {
+        return new AESOutputStream(out, StreamTransform.decryptBlocks(cipher, padding), bufferSize);
+    }
+
+    /**
+     * Tworzy strumień w trybie licznika z buforem o podanym rozmiarze.
+     *
+     * @param out        Strumień docelowy
+     * @param ctr        Tryb CTR
+     * @param bufferSize Rozmiar bufora (wielokrotność 16, co najmniej 64 bajty)
+     * @return Strumień szyfrujący/deszyfrujący
+     */
+    public static AESOutputStream counter(OutputStream out, CTRMode ctr, int bufferSize) {
+        return new AESOutputStream(out, StreamTransform.counter(ctr), bufferSize);
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        ensureOpen();
+        if (count == capacity) {
+            drain();
+        }
+        buffer[count++] = (byte) b;
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        ensureOpen();
+        while (len > 0) {
+            if (count == capacity) {
+                drain();
+            }
+            int n = Math.min(len, capacity - count);
+            System.arraycopy(b, off, buffer, count, n);
+            count += n;
+            off += n;
+            len -= n;
+        }
+    }
+
+    /**
+     * Przekazuje do strumienia docelowego wszystkie pełne bloki, które mogą już zostać przetworzone.
+     * Niepełny blok i bloki wstrzymane do końca strumienia pozostają w buforze.
+     */
+    @Override
+    public void flush() throws IOException {
+        ensureOpen();
+        drain();
+        out.flush();
+    }
+
+    /**
+     * Przetwarza ostatnią porcję danych, zapisuje ją i zamyka strumień docelowy.
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            int n = transform.process(buffer, count, true);
+            out.write(buffer, 0, n);
+            Arrays.fill(buffer, (byte) 0);
+            count = 0;
+            out.flush();
+        } finally {
+            out.close();
+        }
+    }
+
+    /**
+     * Przetwarza i zapisuje wyrównaną część bufora, przenosząc resztę na początek.
+     */
+    private void drain() throws IOException {
+        int ready = (count - transform.holdBack()) / BLOCK_SIZE * BLOCK_SIZE;
+        if (ready <= 0) {
+            return;
+        }
+        int n = transform.process(buffer, ready, false);
+        out.write(buffer, 0, n);
+        System.arraycopy(buffer, ready, buffer, 0, count - ready);
+        count -= ready;
+    }
+
+    private void ensureOpen() throws IOException {
+        if (closed) {
+            throw new IOException("Stream closed");
+        }
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * Nazwa programu: AES-cipher
+ * Copyright (C) 2025  Mateusz Kosowski Nikodem Nowak
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package org.zespol6.aes;
+
+/**
+ * Współdzielone tablice wykorzystywane przez szybkie implementacje AES.
+ * Tablice są wyliczane jednorazowo przy ładowaniu klasy na podstawie definicji S-BOX
+ * (odwrotność multiplikatywna w GF(2^8) i przekształcenie afiniczne).
+ */
+final class AESTables {
+
+    // S-BOX i odwrotny S-BOX w postaci jednowymiarowej
+    static final byte[] SBOX = new byte[256];
+    static final byte[] INV_SBOX = new byte[256];
+
+    // Tablice szyfrowania: TE0[x] = S[x] * (02, 01, 01, 03), TE1..TE3 to kolejne rotacje o 8 bitów
+    static final int[] TE0 = new int[256];
+    static final int[] TE1 = new int[256];
+    static final int[] TE2 = new int[256];
+    static final int[] TE3 = new int[256];
+
+    // Tablice deszyfrowania: TD0[x] = S^-1[x] * (0E, 09, 0D, 0B), TD1..TD3 to kolejne rotacje o 8 bitów
+    static final int[] TD0 = new int[256];
+    static final int[] TD1 = new int[256];
+    static final int[] TD2 = new int[256];
+    static final int[] TD3 = new int[256];
+
+    // Logarytmy i potęgi generatora 3 w GF(2^8) - używane do mnożenia i odwracania
+    private static final int[] LOG = new int[256];
+    private static final int[] ALOG = new int[256];
+
+    static {
+        // Wyznaczenie potęg generatora 3 (x * 3 = x ^ xtime(x))
+        int x = 1;
+        for (int i = 0; i < 255; i++) {
+            ALOG[i] = x;
+            LOG[x] = i;
+            x ^= xtime(x);
+        }
+
+        for (int i = 0; i < 256; i++) {
+            // Odwrotność multiplikatywna (0 przechodzi na 0)
+            int inv = (i == 0) ? 0 : ALOG[(255 - LOG[i]) % 255];
+
+            // Przekształcenie afiniczne
+            int s = inv ^ rotl8(inv, 1) ^ rotl8(inv, 2) ^ rotl8(inv, 3) ^ rotl8(inv, 4) ^ 0x63;
+            SBOX[i] = (byte) s;
+            INV_SBOX[s] = (byte) i;
+        }
+
+        for (int i = 0; i < 256; i++) {
+            int s = SBOX[i] & 0xFF;
+            int te = (mul(s, 2) << 24) | (s << 16) | (s << 8) | mul(s, 3);
+            TE0[i] = te;
+            TE1[i] = Integer.rotateRight(te, 8);
+            TE2[i] = Integer.rotateRight(te, 16);
+            TE3[i] = Integer.rotateRight(te, 24);
+
+            int si = INV_SBOX[i] & 0xFF;
+            int td = (mul(si, 14) << 24) | (mul(si, 9) << 16) | (mul(si, 13) << 8) | mul(si, 11);
+            TD0[i] = td;
+            TD1[i] = Integer.rotateRight(td, 8);
+            TD2[i] = Integer.rotateRight(td, 16);
+            TD3[i] = Integer.rotateRight(td, 24);
+        }
+    }
+
+    private AESTables() {
+    }
+
+    /**
+     * Mnożenie przez 2 w ciele GF(2^8) z redukcją modulo x^8 + x^4 + x^3 + x + 1.
+     *
+     * @param b Bajt (0-255)
+     * @return Wynik mnożenia (0-255)
+     */
+    static int xtime(int b) {
+        return ((b << 1) ^ ((b & 0x80) != 0 ? 0x1B : 0)) & 0xFF;
+    }
+
+    /**
+     * Mnożenie dwóch elementów ciała GF(2^8) z wykorzystaniem tablic logarytmów.
+     *
+     * @param a Pierwszy czynnik (0-255)
+     * @param b Drugi czynnik (0-255)
+     * @return Iloczyn w ciele GF(2^8)
+     */
+    static int mul(int a, int b) {
+        if (a == 0 || b == 0) {
+            return 0;
+        }
+        return ALOG[(LOG[a] + LOG[b]) % 255];
+    }
+
+    /**
+     * Rotacja bajtu w lewo.
+     *
+     * @param b     Bajt (0-255)
+     * @param shift Liczba bitów
+     * @return Bajt po rotacji
+     */
+    private static int rotl8(int b, int shift) {
+        return ((b << shift) | (b >>> (8 - shift))) & 0xFF;
+    }
+}
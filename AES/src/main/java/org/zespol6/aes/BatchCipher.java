@@ -0,0 +1,244 @@
+/*
+ * Nazwa programu: AES-cipher
+ * Copyright (C) 2025  Mateusz Kosowski Nikodem Nowak
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package org.zespol6.aes;
+
+import javax.crypto.BadPaddingException;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.zespol6.aes.BlockEngine.BLOCK_SIZE;
+
+/**
+ * Szyfrowanie wielu małych rekordów jednym wywołaniem. Klucz przygotowany jest raz (w {@link AESCipher}),
+ * długości wyników wyznaczane są przed szyfrowaniem, a wszystkie rekordy zapisywane do jednego ciągłego
+ * bufora wynikowego - bez tablic bloków i łączenia wyników dla każdego rekordu osobno.
+ * Każdy rekord szyfrowany jest niezależnie (blok po bloku z podanym dopełnieniem), więc duże zbiory
+ * rekordów mogą być dzielone między wątki puli fork-join.
+ */
+public final class BatchCipher {
+
+    private final AESCipher cipher;             // Szyfr blokowy
+    private final Padding padding;              // Dopełnienie każdego rekordu
+    private int chunkSize = 64 * 1024;          // Przybliżona liczba bajtów przetwarzana przez jedno zadanie
+    private int parallelThreshold = 256 * 1024; // Minimalna łączna długość rekordów dla przetwarzania równoległego
+    private ForkJoinPool pool = ForkJoinPool.commonPool();
+
+    /**
+     * Operacja na jednym rekordzie (źródło rekordu zależy od postaci danych wejściowych).
+     */
+    @FunctionalInterface
+    private interface RecordAction {
+        void run(int index);
+    }
+
+    /**
+     * @param cipher  Szyfr blokowy
+     * @param padding Dopełnienie każdego rekordu ({@link Padding#NONE} wymaga rekordów o długości
+     *                będącej wielokrotnością 16)
+     */
+    public BatchCipher(AESCipher cipher, Padding padding) {
+        if (cipher == null || padding == null) {
+            throw new IllegalArgumentException("Cipher and padding must not be null");
+        }
+        this.cipher = cipher;
+        this.padding = padding;
+    }
+
+    /**
+     * Ustawia przybliżoną liczbę bajtów przetwarzaną przez jedno zadanie.
+     *
+     * @param chunkSize Rozmiar fragmentu w bajtach (dodatni)
+     */
+    public void setChunkSize(int chunkSize) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("Chunk size must be positive");
+        }
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Zwraca przybliżoną liczbę bajtów przetwarzaną przez jedno zadanie.
+     *
+     * @return Rozmiar fragmentu w bajtach
+     */
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    /**
+     * Ustawia minimalną łączną długość rekordów, od której przetwarzanie odbywa się równolegle.
+     *
+     * @param parallelThreshold Próg w bajtach
+     */
+    public void setParallelThreshold(int parallelThreshold) {
+        this.parallelThreshold = parallelThreshold;
+    }
+
+    /**
+     * Zwraca minimalną łączną długość rekordów, od której przetwarzanie odbywa się równolegle.
+     *
+     * @return Próg w bajtach
+     */
+    public int getParallelThreshold() {
+        return parallelThreshold;
+    }
+
+    /**
+     * Ustawia pulę wątków używaną do przetwarzania równoległego.
+     *
+     * @param pool Pula fork-join
+     */
+    public void setPool(ForkJoinPool pool) {
+        if (pool == null) {
+            throw new IllegalArgumentException("Pool must not be null");
+        }
+        this.pool = pool;
+    }
+
+    /**
+     * Szyfruje rekordy podane jako osobne tablice.
+     *
+     * @param records Rekordy
+     * @return Zaszyfrowane rekordy w jednym buforze
+     */
+    public RecordBatch encrypt(List<byte[]> records) {
+        int count = records.size();
+        byte[][] sources = records.toArray(new byte[0][]);
+        int[] lengths = new int[count];
+        for (int i = 0; i < count; i++) {
+            lengths[i] = sources[i].length;
+        }
+        int[] outOffsets = new int[count];
+        int[] outLengths = new int[count];
+        byte[] out = new byte[layout(lengths, count, outOffsets, outLengths)];
+
+        run(count, out.length, i -> cipher.encrypt(sources[i], 0, lengths[i], out, outOffsets[i], padding));
+        return new RecordBatch(out, outOffsets, outLengths, count);
+    }
+
+    /**
+     * Szyfruje rekordy opisane indeksem do wspólnego bufora.
+     *
+     * @param records Rekordy
+     * @return Zaszyfrowane rekordy w jednym buforze (w tej samej kolejności)
+     */
+    public RecordBatch encrypt(RecordBatch records) {
+        int count = records.size();
+        int[] lengths = new int[count];
+        for (int i = 0; i < count; i++) {
+            lengths[i] = records.length(i);
+        }
+        int[] outOffsets = new int[count];
+        int[] outLengths = new int[count];
+        byte[] out = new byte[layout(lengths, count, outOffsets, outLengths)];
+        byte[] in = records.buffer();
+
+        run(count, out.length, i -> cipher.encrypt(in, records.offset(i), lengths[i], out, outOffsets[i], padding));
+        return new RecordBatch(out, outOffsets, outLengths, count);
+    }
+
+    /**
+     * Deszyfruje rekordy opisane indeksem do wspólnego bufora. Rekordy wyniku ułożone są kolejno
+     * w jednym buforze, każdy w miejscu o rozmiarze swojego szyfrogramu; długość rekordu nie obejmuje
+     * dopełnienia (bajty dopełnienia pozostają w buforze za danymi).
+     *
+     * @param records Zaszyfrowane rekordy (długości będące wielokrotnością 16)
+     * @return Odszyfrowane rekordy w jednym buforze
+     * @throws BadPaddingException gdy dopełnienie któregoś rekordu jest nieprawidłowe
+     */
+    public RecordBatch decrypt(RecordBatch records) throws BadPaddingException {
+        int count = records.size();
+        int[] outOffsets = new int[count];
+        int[] outLengths = new int[count];
+        long total = 0;
+        for (int i = 0; i < count; i++) {
+            int len = records.length(i);
+            if (len % BLOCK_SIZE != 0) {
+                throw new IllegalArgumentException("Encrypted record length must be a multiple of 16");
+            }
+            outOffsets[i] = (int) total;
+            total += len;
+            checkTotal(total);
+        }
+        byte[] out = new byte[(int) total];
+        byte[] in = records.buffer();
+
+        run(count, out.length, i -> {
+            try {
+                outLengths[i] = cipher.decrypt(in, records.offset(i), records.length(i), out, outOffsets[i], padding);
+            } catch (BadPaddingException e) {
+                outLengths[i] = -1; // Zgłaszane po zakończeniu wszystkich zadań
+            }
+        });
+        for (int i = 0; i < count; i++) {
+            if (outLengths[i] < 0) {
+                throw new BadPaddingException("Invalid padding in record " + i);
+            }
+        }
+        return new RecordBatch(out, outOffsets, outLengths, count);
+    }
+
+    /**
+     * Wyznacza położenie i długość każdego zaszyfrowanego rekordu w buforze wynikowym.
+     *
+     * @return Łączna długość wyniku
+     */
+    private int layout(int[] lengths, int count, int[] outOffsets, int[] outLengths) {
+        long total = 0;
+        for (int i = 0; i < count; i++) {
+            outLengths[i] = padding.paddedLength(lengths[i]);
+            if (outLengths[i] % BLOCK_SIZE != 0) {
+                throw new IllegalArgumentException("Record length must be a multiple of 16 without padding");
+            }
+            outOffsets[i] = (int) total;
+            total += outLengths[i];
+            checkTotal(total);
+        }
+        return (int) total;
+    }
+
+    private static void checkTotal(long total) {
+        if (total > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Batch too large for a single output buffer");
+        }
+    }
+
+    /**
+     * Wykonuje operację dla wszystkich rekordów, sekwencyjnie lub równolegle (fragmenty o zbliżonej
+     * liczbie bajtów).
+     */
+    private void run(int count, int totalBytes, RecordAction action) {
+        if (count == 0) {
+            return;
+        }
+        if (totalBytes < parallelThreshold) {
+            for (int i = 0; i < count; i++) {
+                action.run(i);
+            }
+            return;
+        }
+        int averageLength = Math.max(1, totalBytes / count);
+        int chunkRecords = Math.max(1, chunkSize / averageLength);
+        ParallelBlocks.run(pool, count, chunkRecords, (from, to) -> {
+            for (int i = from; i < to; i++) {
+                action.run(i);
+            }
+        });
+    }
+}
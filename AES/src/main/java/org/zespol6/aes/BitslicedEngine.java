@@ -0,0 +1,497 @@
+/*
+ * Nazwa programu: AES-cipher
+ * Copyright (C) 2025  Mateusz Kosowski Nikodem Nowak
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package org.zespol6.aes;
+
+import static org.zespol6.aes.BlockEngine.BLOCK_SIZE;
+
+/**
+ * Implementacja bitsliced transformacji blokowej AES, przetwarzająca 8 bloków jednocześnie.
+ *
+ * <p>Stan 8 bloków (1024 bity) przechowywany jest jako 16 słów typu long: dla każdego z 8 bitów bajtu
+ * jedna płaszczyzna 128-bitowa (dwa słowa). Słowo {@code q[h * 8 + i]} zawiera bit {@code i} bajtów
+ * z wierszy {@code 2h} (młodsze 32 bity) i {@code 2h + 1} (starsze 32 bity); w obrębie wiersza kolejne
+ * kolumny zajmują 8-bitowe pola, a bit pola odpowiada numerowi bloku.</p>
+ *
+ * <p>SubBytes realizowany jest obwodem logicznym (Boyar-Peralta), ShiftRows przesunięciami w obrębie
+ * wierszy, a MixColumns przesunięciami między wierszami. Nie ma odczytów tablic indeksowanych danymi
+ * ani rozgałęzień zależnych od danych, więc czas wykonania nie zależy od klucza ani tekstu.</p>
+ */
+final class BitslicedEngine {
+
+    static final int BATCH = 8;                 // Liczba bloków przetwarzanych jednocześnie
+    private static final long LOW32 = 0xFFFFFFFFL;
+
+    private BitslicedEngine() {
+    }
+
+    /**
+     * Przekształca klucze rund na postać bitsliced (każdy bit klucza powielony dla 8 bloków).
+     *
+     * @param rk Klucze rund szyfrowania jako słowa 32-bitowe
+     * @return Klucze rund bitsliced (16 słów na rundę)
+     */
+    static long[] roundKeys(int[] rk) {
+        int rounds = rk.length / 4 - 1;
+        long[] sk = new long[(rounds + 1) * 16];
+        for (int k = 0; k <= rounds; k++) {
+            for (int c = 0; c < 4; c++) {
+                int w = rk[4 * k + c];
+                for (int r = 0; r < 4; r++) {
+                    int b = (w >>> (24 - 8 * r)) & 0xFF;
+                    int shift = ((r & 1) * 4 + c) * 8;
+                    for (int i = 0; i < 8; i++) {
+                        // Maska 0xFF, gdy bit jest ustawiony, bez rozgałęzień
+                        long mask = -(long) ((b >>> i) & 1) & 0xFFL;
+                        sk[k * 16 + (r >> 1) * 8 + i] |= mask << shift;
+                    }
+                }
+            }
+        }
+        return sk;
+    }
+
+    /**
+     * Szyfruje ciąg bloków, po 8 jednocześnie.
+     *
+     * @param sk     Klucze rund bitsliced
+     * @param in     Tablica wejściowa
+     * @param inOff  Przesunięcie danych w tablicy wejściowej
+     * @param out    Tablica wyjściowa (może być tą samą tablicą co wejściowa)
+     * @param outOff Przesunięcie wyniku w tablicy wyjściowej
+     * @param len    Liczba bajtów (wielokrotność 16)
+     */
+    static void encryptBlocks(long[] sk, byte[] in, int inOff, byte[] out, int outOff, int len) {
+        process(sk, in, inOff, out, outOff, len, true);
+    }
+
+    /**
+     * Deszyfruje ciąg bloków, po 8 jednocześnie.
+     *
+     * @param sk     Klucze rund bitsliced (te same co przy szyfrowaniu)
+     * @param in     Tablica wejściowa
+     * @param inOff  Przesunięcie danych w tablicy wejściowej
+     * @param out    Tablica wyjściowa (może być tą samą tablicą co wejściowa)
+     * @param outOff Przesunięcie wyniku w tablicy wyjściowej
+     * @param len    Liczba bajtów (wielokrotność 16)
+     */
+    static void decryptBlocks(long[] sk, byte[] in, int inOff, byte[] out, int outOff, int len) {
+        process(sk, in, inOff, out, outOff, len, false);
+    }
+
+    private static void process(long[] sk, byte[] in, int inOff, byte[] out, int outOff, int len, boolean encrypt) {
+        long[] q = new long[16];
+        int full = len / (BATCH * BLOCK_SIZE) * (BATCH * BLOCK_SIZE);
+
+        for (int off = 0; off < full; off += BATCH * BLOCK_SIZE) {
+            load(q, in, inOff + off);
+            if (encrypt) {
+                encrypt(sk, q);
+            } else {
+                decrypt(sk, q);
+            }
+            store(q, out, outOff + off);
+        }
+
+        // Ostatnia niepełna grupa - uzupełniona zerami w buforze pomocniczym
+        if (full < len) {
+            byte[] batch = new byte[BATCH * BLOCK_SIZE];
+            System.arraycopy(in, inOff + full, batch, 0, len - full);
+            load(q, batch, 0);
+            if (encrypt) {
+                encrypt(sk, q);
+            } else {
+                decrypt(sk, q);
+            }
+            store(q, batch, 0);
+            System.arraycopy(batch, 0, out, outOff + full, len - full);
+        }
+    }
+
+    private static void encrypt(long[] sk, long[] q) {
+        int rounds = sk.length / 16 - 1;
+        addRoundKey(q, sk, 0);
+        for (int round = 1; round < rounds; round++) {
+            subBytes(q, 0);
+            subBytes(q, 8);
+            shiftRows(q);
+            mixColumns(q);
+            addRoundKey(q, sk, round);
+        }
+        subBytes(q, 0);
+        subBytes(q, 8);
+        shiftRows(q);
+        addRoundKey(q, sk, rounds);
+    }
+
+    private static void decrypt(long[] sk, long[] q) {
+        int rounds = sk.length / 16 - 1;
+        addRoundKey(q, sk, rounds);
+        for (int round = rounds - 1; round > 0; round--) {
+            invShiftRows(q);
+            invSubBytes(q, 0);
+            invSubBytes(q, 8);
+            addRoundKey(q, sk, round);
+            invMixColumns(q);
+        }
+        invShiftRows(q);
+        invSubBytes(q, 0);
+        invSubBytes(q, 8);
+        addRoundKey(q, sk, 0);
+    }
+
+    /**
+     * Wczytuje 8 bloków i przekształca je do postaci bitsliced.
+     */
+    private static void load(long[] q, byte[] in, int off) {
+        for (int i = 0; i < 16; i++) {
+            q[i] = 0;
+        }
+        for (int p = 0; p < BLOCK_SIZE; p++) {
+            // Bajt p wszystkich bloków jako macierz 8x8 bitów (wiersz = blok)
+            long g = 0;
+            for (int b = 0; b < BATCH; b++) {
+                g |= (in[off + b * BLOCK_SIZE + p] & 0xFFL) << (8 * b);
+            }
+            long t = transpose(g);
+            int r = p & 3;
+            int c = p >> 2;
+            int h = (r >> 1) * 8;
+            int shift = ((r & 1) * 4 + c) * 8;
+            for (int i = 0; i < 8; i++) {
+                q[h + i] |= ((t >>> (8 * i)) & 0xFFL) << shift;
+            }
+        }
+    }
+
+    /**
+     * Przekształca stan bitsliced z powrotem na 8 bloków i zapisuje je.
+     */
+    private static void store(long[] q, byte[] out, int off) {
+        for (int p = 0; p < BLOCK_SIZE; p++) {
+            int r = p & 3;
+            int c = p >> 2;
+            int h = (r >> 1) * 8;
+            int shift = ((r & 1) * 4 + c) * 8;
+            long t = 0;
+            for (int i = 0; i < 8; i++) {
+                t |= ((q[h + i] >>> shift) & 0xFFL) << (8 * i);
+            }
+            long g = transpose(t);
+            for (int b = 0; b < BATCH; b++) {
+                out[off + b * BLOCK_SIZE + p] = (byte) (g >>> (8 * b));
+            }
+        }
+    }
+
+    /**
+     * Transpozycja macierzy 8x8 bitów: bit (8 * wiersz + kolumna) przechodzi na (8 * kolumna + wiersz).
+     */
+    static long transpose(long x) {
+        long t = (x ^ (x >>> 7)) & 0x00AA00AA00AA00AAL;
+        x = x ^ t ^ (t << 7);
+        t = (x ^ (x >>> 14)) & 0x0000CCCC0000CCCCL;
+        x = x ^ t ^ (t << 14);
+        t = (x ^ (x >>> 28)) & 0x00000000F0F0F0F0L;
+        x = x ^ t ^ (t << 28);
+        return x;
+    }
+
+    private static void addRoundKey(long[] q, long[] sk, int round) {
+        int k = round * 16;
+        for (int i = 0; i < 16; i++) {
+            q[i] ^= sk[k + i];
+        }
+    }
+
+    /**
+     * Obraca 32-bitowy wiersz w prawo (kolumna c otrzymuje kolumnę c + s / 8).
+     */
+    private static long rotr32(long row, int s) {
+        return ((row >>> s) | (row << (32 - s))) & LOW32;
+    }
+
+    private static void shiftRows(long[] q) {
+        for (int i = 0; i < 8; i++) {
+            long a = q[i];
+            long b = q[8 + i];
+            q[i] = (a & LOW32) | (rotr32(a >>> 32, 8) << 32);
+            q[8 + i] = rotr32(b & LOW32, 16) | (rotr32(b >>> 32, 24) << 32);
+        }
+    }
+
+    private static void invShiftRows(long[] q) {
+        for (int i = 0; i < 8; i++) {
+            long a = q[i];
+            long b = q[8 + i];
+            q[i] = (a & LOW32) | (rotr32(a >>> 32, 24) << 32);
+            q[8 + i] = rotr32(b & LOW32, 16) | (rotr32(b >>> 32, 8) << 32);
+        }
+    }
+
+    /**
+     * MixColumns: wynik = 02 * (a ^ a1) ^ a1 ^ a2 ^ a3, gdzie ak to stan z wierszami przesuniętymi o k.
+     * Mnożenie przez 02 (xtime) przesuwa płaszczyzny bitów, z redukcją przez bit 7.
+     */
+    private static void mixColumns(long[] q) {
+        long t7lo = q[7] ^ ((q[7] >>> 32) | (q[15] << 32));
+        long t7hi = q[15] ^ ((q[15] >>> 32) | (q[7] << 32));
+
+        // Od najstarszej płaszczyzny, bo płaszczyzna i korzysta z niezmienionej płaszczyzny i - 1
+        for (int i = 7; i >= 0; i--) {
+            long lo = q[i];
+            long hi = q[8 + i];
+            long r1lo = (lo >>> 32) | (hi << 32);
+            long r1hi = (hi >>> 32) | (lo << 32);
+
+            long xlo;
+            long xhi;
+            if (i == 0) {
+                xlo = t7lo;
+                xhi = t7hi;
+            } else {
+                long plo = q[i - 1];
+                long phi = q[7 + i];
+                xlo = plo ^ ((plo >>> 32) | (phi << 32));
+                xhi = phi ^ ((phi >>> 32) | (plo << 32));
+                if (i == 1 || i == 3 || i == 4) {
+                    xlo ^= t7lo;
+                    xhi ^= t7hi;
+                }
+            }
+            q[i] = xlo ^ r1lo ^ hi ^ r1hi;
+            q[8 + i] = xhi ^ r1hi ^ lo ^ r1lo;
+        }
+    }
+
+    /**
+     * InvMixColumns jako MixColumns poprzedzone mnożeniem: a ^= 04 * (a ^ a2).
+     */
+    private static void invMixColumns(long[] q) {
+        long u0 = q[0] ^ q[8];
+        long u1 = q[1] ^ q[9];
+        long u2 = q[2] ^ q[10];
+        long u3 = q[3] ^ q[11];
+        long u4 = q[4] ^ q[12];
+        long u5 = q[5] ^ q[13];
+        long u6 = q[6] ^ q[14];
+        long u7 = q[7] ^ q[15];
+
+        // 04 * u - dwukrotne xtime; wartość u jest taka sama w obu słowach płaszczyzny
+        long m0 = u6;
+        long m1 = u7 ^ u6;
+        long m2 = u0 ^ u7;
+        long m3 = u1 ^ u6;
+        long m4 = u2 ^ u7 ^ u6;
+        long m5 = u3 ^ u7;
+        q[0] ^= m0;
+        q[8] ^= m0;
+        q[1] ^= m1;
+        q[9] ^= m1;
+        q[2] ^= m2;
+        q[10] ^= m2;
+        q[3] ^= m3;
+        q[11] ^= m3;
+        q[4] ^= m4;
+        q[12] ^= m4;
+        q[5] ^= m5;
+        q[13] ^= m5;
+        q[6] ^= u4;
+        q[14] ^= u4;
+        q[7] ^= u5;
+        q[15] ^= u5;
+        mixColumns(q);
+    }
+
+    /**
+     * InvSubBytes: S^-1(x) = T(S(T(x))), gdzie T(x) = A^-1(x) ^ 05 to odwrotne przekształcenie afiniczne
+     * (odwrotność w GF(2^8) jest inwolucją, więc wystarcza obwód S-BOX).
+     */
+    private static void invSubBytes(long[] q, int off) {
+        invAffine(q, off);
+        subBytes(q, off);
+        invAffine(q, off);
+    }
+
+    private static void invAffine(long[] q, int off) {
+        long q0 = q[off];
+        long q1 = q[off + 1];
+        long q2 = q[off + 2];
+        long q3 = q[off + 3];
+        long q4 = q[off + 4];
+        long q5 = q[off + 5];
+        long q6 = q[off + 6];
+        long q7 = q[off + 7];
+        // Bit i wyniku = x(i+2) ^ x(i+5) ^ x(i+7); negacje bitów 0 i 2 dodają stałą 05
+        q[off] = ~(q2 ^ q5 ^ q7);
+        q[off + 1] = q3 ^ q6 ^ q0;
+        q[off + 2] = ~(q4 ^ q7 ^ q1);
+        q[off + 3] = q5 ^ q0 ^ q2;
+        q[off + 4] = q6 ^ q1 ^ q3;
+        q[off + 5] = q7 ^ q2 ^ q4;
+        q[off + 6] = q0 ^ q3 ^ q5;
+        q[off + 7] = q1 ^ q4 ^ q6;
+    }
+
+    /**
+     * SubBytes na 8 płaszczyznach zaczynających się od off - obwód Boyara-Peralty
+     * (32 bramki AND, 83 bramki XOR/XNOR).
+     */
+    private static void subBytes(long[] q, int off) {
+        long x0 = q[off + 7];
+        long x1 = q[off + 6];
+        long x2 = q[off + 5];
+        long x3 = q[off + 4];
+        long x4 = q[off + 3];
+        long x5 = q[off + 2];
+        long x6 = q[off + 1];
+        long x7 = q[off];
+
+        // Górna warstwa liniowa
+        long y14 = x3 ^ x5;
+        long y13 = x0 ^ x6;
+        long y9 = x0 ^ x3;
+        long y8 = x0 ^ x5;
+        long t0 = x1 ^ x2;
+        long y1 = t0 ^ x7;
+        long y4 = y1 ^ x3;
+        long y12 = y13 ^ y14;
+        long y2 = y1 ^ x0;
+        long y5 = y1 ^ x6;
+        long y3 = y5 ^ y8;
+        long t1 = x4 ^ y12;
+        long y15 = t1 ^ x5;
+        long y20 = t1 ^ x1;
+        long y6 = y15 ^ x7;
+        long y10 = y15 ^ t0;
+        long y11 = y20 ^ y9;
+        long y7 = x7 ^ y11;
+        long y17 = y10 ^ y11;
+        long y19 = y10 ^ y8;
+        long y16 = t0 ^ y11;
+        long y21 = y13 ^ y16;
+        long y18 = x0 ^ y16;
+
+        // Warstwa nieliniowa (odwrotność w GF(2^8))
+        long t2 = y12 & y15;
+        long t3 = y3 & y6;
+        long t4 = t3 ^ t2;
+        long t5 = y4 & x7;
+        long t6 = t5 ^ t2;
+        long t7 = y13 & y16;
+        long t8 = y5 & y1;
+        long t9 = t8 ^ t7;
+        long t10 = y2 & y7;
+        long t11 = t10 ^ t7;
+        long t12 = y9 & y11;
+        long t13 = y14 & y17;
+        long t14 = t13 ^ t12;
+        long t15 = y8 & y10;
+        long t16 = t15 ^ t12;
+        long t17 = t4 ^ t14;
+        long t18 = t6 ^ t16;
+        long t19 = t9 ^ t14;
+        long t20 = t11 ^ t16;
+        long t21 = t17 ^ y20;
+        long t22 = t18 ^ y19;
+        long t23 = t19 ^ y21;
+        long t24 = t20 ^ y18;
+
+        long t25 = t21 ^ t22;
+        long t26 = t21 & t23;
+        long t27 = t24 ^ t26;
+        long t28 = t25 & t27;
+        long t29 = t28 ^ t22;
+        long t30 = t23 ^ t24;
+        long t31 = t22 ^ t26;
+        long t32 = t31 & t30;
+        long t33 = t32 ^ t24;
+        long t34 = t23 ^ t33;
+        long t35 = t27 ^ t33;
+        long t36 = t24 & t35;
+        long t37 = t36 ^ t34;
+        long t38 = t27 ^ t36;
+        long t39 = t29 & t38;
+        long t40 = t25 ^ t39;
+
+        long t41 = t40 ^ t37;
+        long t42 = t29 ^ t33;
+        long t43 = t29 ^ t40;
+        long t44 = t33 ^ t37;
+        long t45 = t42 ^ t41;
+        long z0 = t44 & y15;
+        long z1 = t37 & y6;
+        long z2 = t33 & x7;
+        long z3 = t43 & y16;
+        long z4 = t40 & y1;
+        long z5 = t29 & y7;
+        long z6 = t42 & y11;
+        long z7 = t45 & y17;
+        long z8 = t41 & y10;
+        long z9 = t44 & y12;
+        long z10 = t37 & y3;
+        long z11 = t33 & y4;
+        long z12 = t43 & y13;
+        long z13 = t40 & y5;
+        long z14 = t29 & y2;
+        long z15 = t42 & y9;
+        long z16 = t45 & y14;
+        long z17 = t41 & y8;
+
+        // Dolna warstwa liniowa (z przekształceniem afinicznym)
+        long t46 = z15 ^ z16;
+        long t47 = z10 ^ z11;
+        long t48 = z5 ^ z13;
+        long t49 = z9 ^ z10;
+        long t50 = z2 ^ z12;
+        long t51 = z2 ^ z5;
+        long t52 = z7 ^ z8;
+        long t53 = z0 ^ z3;
+        long t54 = z6 ^ z7;
+        long t55 = z16 ^ z17;
+        long t56 = z12 ^ t48;
+        long t57 = t50 ^ t53;
+        long t58 = z4 ^ t46;
+        long t59 = z3 ^ t54;
+        long t60 = t46 ^ t57;
+        long t61 = z14 ^ t57;
+        long t62 = t52 ^ t58;
+        long t63 = t49 ^ t58;
+        long t64 = z4 ^ t59;
+        long t65 = t61 ^ t62;
+        long t66 = z1 ^ t63;
+        long s0 = t59 ^ t63;
+        long s6 = t56 ^ ~t62;
+        long s7 = t48 ^ ~t60;
+        long t67 = t64 ^ t65;
+        long s3 = t53 ^ t66;
+        long s4 = t51 ^ t66;
+        long s5 = t47 ^ t65;
+        long s1 = t64 ^ ~s3;
+        long s2 = t55 ^ ~t67;
+
+        q[off + 7] = s0;
+        q[off + 6] = s1;
+        q[off + 5] = s2;
+        q[off + 4] = s3;
+        q[off + 3] = s4;
+        q[off + 2] = s5;
+        q[off + 1] = s6;
+        q[off] = s7;
+    }
+}
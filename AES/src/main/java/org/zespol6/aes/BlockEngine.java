@@ -0,0 +1,163 @@
+/*
+ * Nazwa programu: AES-cipher
+ * Copyright (C) 2025  Mateusz Kosowski Nikodem Nowak
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package org.zespol6.aes;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Transformacja blokowa przygotowana dla jednego klucza - wspólny interfejs implementacji wybieranych
+ * przez {@link Engine}. Tryby pracy, strumienie i {@link AESCipher} korzystają wyłącznie z tego interfejsu,
+ * więc mogą działać zarówno na implementacjach projektu ({@link JavaBlockEngine}), jak i na
+ * implementacji JDK ({@link JceBlockEngine}).
+ *
+ * <p>Zakresy danych sprawdza wywołujący; długość jest zawsze wielokrotnością 16.</p>
+ */
+interface BlockEngine {
+
+    int BLOCK_SIZE = 16;        // Rozmiar bloku w bajtach (128 bitów)
+    int STAGING_SIZE = 4096;    // Rozmiar porcji przy przetwarzaniu buforów bez tablicy przez tablicę pomocniczą
+
+    /**
+     * Tworzy transformację dla podanej implementacji i harmonogramu kluczy.
+     * Implementacja niedostępna w bieżącej maszynie wirtualnej zastępowana jest przez {@link Engine#T_TABLE}.
+     *
+     * @param engine   Implementacja
+     * @param schedule Harmonogram kluczy (musi pozostać ważny przez cały czas używania transformacji)
+     * @return Transformacja blokowa
+     */
+    static BlockEngine of(Engine engine, KeySchedule schedule) {
+        if (!engine.isAvailable()) {
+            engine = Engine.T_TABLE;
+        }
+        if (engine == Engine.JCE) {
+            return new JceBlockEngine(schedule);
+        }
+        return new JavaBlockEngine(engine, schedule);
+    }
+
+    /**
+     * Zwraca implementację wykonującą transformację.
+     *
+     * @return Implementacja
+     */
+    Engine engine();
+
+    /**
+     * Zwalnia materiał klucza przechowywany przez transformację poza harmonogramem kluczy. Wywoływane
+     * przy zerowaniu harmonogramu; transformacja nie nadaje się później do użycia. Domyślnie nic nie robi -
+     * implementacje projektu korzystają bezpośrednio z tablic harmonogramu.
+     */
+    default void destroy() {
+    }
+
+    /**
+     * Szyfruje ciąg bloków. Tablica wyjściowa może być tą samą tablicą co wejściowa.
+     */
+    void encryptBlocks(byte[] in, int inOff, byte[] out, int outOff, int len);
+
+    /**
+     * Deszyfruje ciąg bloków. Tablica wyjściowa może być tą samą tablicą co wejściowa.
+     */
+    void decryptBlocks(byte[] in, int inOff, byte[] out, int outOff, int len);
+
+    /**
+     * Szyfruje dane z dopełnieniem: pełne bloki bezpośrednio z tablicy wejściowej, a ostatni blok
+     * po dopełnieniu w tablicy wyjściowej.
+     *
+     * @return Liczba zapisanych bajtów ({@link Padding#paddedLength})
+     * @throws IllegalArgumentException gdy dla {@link Padding#NONE} długość nie jest wielokrotnością 16
+     */
+    default int encrypt(byte[] in, int inOff, int len, byte[] out, int outOff, Padding padding) {
+        int padded = padding.paddedLength(len);
+        if (padded % BLOCK_SIZE != 0) {
+            throw new IllegalArgumentException("Data length must be a multiple of 16");
+        }
+        int full = len / BLOCK_SIZE * BLOCK_SIZE;
+        encryptBlocks(in, inOff, out, outOff, full);
+        if (padded > full) {
+            System.arraycopy(in, inOff + full, out, outOff + full, len - full);
+            padding.pad(out, outOff + full, len - full);
+            encryptBlocks(out, outOff + full, out, outOff + full, padded - full);
+        }
+        return padded;
+    }
+
+    /**
+     * Szyfruje ciąg bloków zapisanych w buforach (indeksy bezwzględne). Domyślnie bufory z tablicą
+     * przetwarzane są bezpośrednio na tej tablicy, a pozostałe (bezpośrednie, tylko do odczytu)
+     * porcjami przez tablicę pomocniczą.
+     */
+    default void encryptBlocks(ByteBuffer in, int inIndex, ByteBuffer out, int outIndex, int len) {
+        if (in.hasArray() && out.hasArray()) {
+            encryptBlocks(in.array(), in.arrayOffset() + inIndex, out.array(), out.arrayOffset() + outIndex, len);
+            return;
+        }
+        // Osobne tablice wejścia i wyjścia - przetwarzanie w miejscu wymusza w JCE kopię danych
+        byte[] source = new byte[Math.min(len, STAGING_SIZE)];
+        byte[] target = new byte[source.length];
+        for (int off = 0; off < len; off += source.length) {
+            int n = Math.min(source.length, len - off);
+            in.get(inIndex + off, source, 0, n);
+            encryptBlocks(source, 0, target, 0, n);
+            out.put(outIndex + off, target, 0, n);
+        }
+    }
+
+    /**
+     * Deszyfruje ciąg bloków zapisanych w buforach (indeksy bezwzględne), jak
+     * {@link #encryptBlocks(ByteBuffer, int, ByteBuffer, int, int)}.
+     */
+    default void decryptBlocks(ByteBuffer in, int inIndex, ByteBuffer out, int outIndex, int len) {
+        if (in.hasArray() && out.hasArray()) {
+            decryptBlocks(in.array(), in.arrayOffset() + inIndex, out.array(), out.arrayOffset() + outIndex, len);
+            return;
+        }
+        // Osobne tablice wejścia i wyjścia - przetwarzanie w miejscu wymusza w JCE kopię danych
+        byte[] source = new byte[Math.min(len, STAGING_SIZE)];
+        byte[] target = new byte[source.length];
+        for (int off = 0; off < len; off += source.length) {
+            int n = Math.min(source.length, len - off);
+            in.get(inIndex + off, source, 0, n);
+            decryptBlocks(source, 0, target, 0, n);
+            out.put(outIndex + off, target, 0, n);
+        }
+    }
+
+    /**
+     * Szyfruje pojedynczy blok zapisany w buforze (indeksy bezwzględne). Domyślnie blok kopiowany jest
+     * przez tablicę pomocniczą.
+     */
+    default void encryptBlock(ByteBuffer in, int inIndex, ByteBuffer out, int outIndex) {
+        byte[] block = new byte[BLOCK_SIZE];
+        in.get(inIndex, block);
+        encryptBlocks(block, 0, block, 0, BLOCK_SIZE);
+        out.put(outIndex, block);
+    }
+
+    /**
+     * Deszyfruje pojedynczy blok zapisany w buforze (indeksy bezwzględne). Domyślnie blok kopiowany jest
+     * przez tablicę pomocniczą.
+     */
+    default void decryptBlock(ByteBuffer in, int inIndex, ByteBuffer out, int outIndex) {
+        byte[] block = new byte[BLOCK_SIZE];
+        in.get(inIndex, block);
+        decryptBlocks(block, 0, block, 0, BLOCK_SIZE);
+        out.put(outIndex, block);
+    }
+}
@@ -0,0 +1,261 @@
+/*
+ * Nazwa programu: AES-cipher
+ * Copyright (C) 2025  Mateusz Kosowski Nikodem Nowak
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package org.zespol6.aes;
+
+import javax.crypto.BadPaddingException;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.zespol6.aes.BlockEngine.BLOCK_SIZE;
+
+/**
+ * Tryb wiązania bloków zaszyfrowanych (CBC). Każdy blok danych przed zaszyfrowaniem jest XORowany
+ * z poprzednim blokiem szyfrogramu (pierwszy - z wektorem inicjalizującym).
+ *
+ * <p>Szyfrowanie jest z natury sekwencyjne. Odszyfrowanie bloku i zależy tylko od bloków szyfrogramu
+ * i oraz i-1, dlatego dane dłuższe niż próg równoległości deszyfrowane są fragmentami w puli fork-join.
+ * Długość danych musi być wielokrotnością 16 bajtów.</p>
+ */
+public final class CBCMode {
+
+    private final AESCipher cipher;             // Szyfr blokowy
+    private final byte[] iv;                    // Wektor inicjalizujący
+    private int chunkSize = 64 * 1024;          // Rozmiar fragmentu deszyfrowanego przez jedno zadanie
+    private int parallelThreshold = 256 * 1024; // Minimalna długość danych dla deszyfrowania równoległego
+    private ForkJoinPool pool = ForkJoinPool.commonPool();
+
+    /**
+     * Tworzy tryb CBC.
+     *
+     * @param cipher Szyfr blokowy
+     * @param iv     Wektor inicjalizujący (16 bajtów)
+     * @throws IllegalArgumentException gdy wektor nie ma 16 bajtów
+     */
+    public CBCMode(AESCipher cipher, byte[] iv) {
+        if (iv.length != BLOCK_SIZE) {
+            throw new IllegalArgumentException("IV must be 16 bytes long");
+        }
+        this.cipher = cipher;
+        this.iv = iv.clone();
+    }
+
+    /**
+     * Ustawia rozmiar fragmentu deszyfrowanego przez jedno zadanie.
+     *
+     * @param chunkSize Rozmiar fragmentu w bajtach (dodatnia wielokrotność 16)
+     * @throws IllegalArgumentException gdy rozmiar nie jest dodatnią wielokrotnością 16
+     */
+    public void setChunkSize(int chunkSize) {
+        if (chunkSize <= 0 || chunkSize % BLOCK_SIZE != 0) {
+            throw new IllegalArgumentException("Chunk size must be a positive multiple of 16");
+        }
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Zwraca rozmiar fragmentu deszyfrowanego przez jedno zadanie.
+     *
+     * @return Rozmiar fragmentu w bajtach
+     */
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    /**
+     * Ustawia minimalną długość danych, od której deszyfrowanie odbywa się równolegle.
+     *
+     * @param parallelThreshold Próg w bajtach
+     */
+    public void setParallelThreshold(int parallelThreshold) {
+        this.parallelThreshold = parallelThreshold;
+    }
+
+    /**
+     * Zwraca minimalną długość danych, od której deszyfrowanie odbywa się równolegle.
+     *
+     * @return Próg w bajtach
+     */
+    public int getParallelThreshold() {
+        return parallelThreshold;
+    }
+
+    /**
+     * Ustawia pulę wątków używaną do deszyfrowania równoległego.
+     *
+     * @param pool Pula fork-join
+     */
+    public void setPool(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * Szyfruje dane.
+     *
+     * @param data Dane do zaszyfrowania (wielokrotność 16 bajtów)
+     * @return Zaszyfrowane dane
+     */
+    public byte[] encrypt(byte[] data) {
+        byte[] out = new byte[data.length];
+        encrypt(data, 0, out, 0, data.length);
+        return out;
+    }
+
+    /**
+     * Deszyfruje dane.
+     *
+     * @param encrypted Zaszyfrowane dane (wielokrotność 16 bajtów)
+     * @return Odszyfrowane dane
+     */
+    public byte[] decrypt(byte[] encrypted) {
+        byte[] out = new byte[encrypted.length];
+        decrypt(encrypted, 0, out, 0, encrypted.length);
+        return out;
+    }
+
+    /**
+     * Szyfruje dane z podanym dopełnieniem do nowej tablicy o dokładnym rozmiarze wyniku.
+     *
+     * @param data    Dane do zaszyfrowania
+     * @param padding Dopełnienie
+     * @return Zaszyfrowane dane ({@link Padding#paddedLength} bajtów)
+     * @throws IllegalArgumentException gdy dla {@link Padding#NONE} długość nie jest wielokrotnością 16
+     */
+    public byte[] encrypt(byte[] data, Padding padding) {
+        byte[] out = Arrays.copyOf(data, padding.paddedLength(data.length));
+        padding.pad(out, 0, data.length);
+        encrypt(out, 0, out, 0, out.length);
+        return out;
+    }
+
+    /**
+     * Deszyfruje dane i usuwa dopełnienie (kopia do krótszej tablicy tylko przy niepustym dopełnieniu).
+     *
+     * @param encrypted Zaszyfrowane dane (wielokrotność 16 bajtów)
+     * @param padding   Dopełnienie
+     * @return Odszyfrowane dane
+     * @throws BadPaddingException gdy dopełnienie jest nieprawidłowe
+     */
+    public byte[] decrypt(byte[] encrypted, Padding padding) throws BadPaddingException {
+        byte[] out = decrypt(encrypted);
+        int n = padding.unpaddedLength(out, 0, out.length);
+        return n == out.length ? out : Arrays.copyOf(out, n);
+    }
+
+    /**
+     * Szyfruje dane. Tablica wyjściowa może być tą samą tablicą co wejściowa.
+     *
+     * @param in     Tablica wejściowa
+     * @param inOff  Przesunięcie w tablicy wejściowej
+     * @param out    Tablica wyjściowa
+     * @param outOff Przesunięcie w tablicy wyjściowej
+     * @param len    Liczba bajtów (wielokrotność 16)
+     * @throws IllegalArgumentException gdy długość nie jest wielokrotnością 16
+     */
+    public void encrypt(byte[] in, int inOff, byte[] out, int outOff, int len) {
+        checkLength(len);
+        Instrumentation.Measurement measurement = Instrumentation.CURRENT.start();
+        try {
+            byte[] chain = iv.clone();
+
+            for (int off = 0; off < len; off += BLOCK_SIZE) {
+                // XOR z poprzednim blokiem szyfrogramu, a następnie szyfrowanie
+                for (int i = 0; i < BLOCK_SIZE; i++) {
+                    chain[i] ^= in[inOff + off + i];
+                }
+                cipher.encryptBlock(chain, 0, chain, 0);
+                System.arraycopy(chain, 0, out, outOff + off, BLOCK_SIZE);
+            }
+        } finally {
+            Instrumentation.CURRENT.end(CipherOperation.CBC_ENCRYPT, cipher.rounds(), len, measurement);
+        }
+    }
+
+    /**
+     * Deszyfruje dane. Tablica wyjściowa może być tą samą tablicą co wejściowa.
+     *
+     * @param in     Tablica wejściowa
+     * @param inOff  Przesunięcie w tablicy wejściowej
+     * @param out    Tablica wyjściowa
+     * @param outOff Przesunięcie w tablicy wyjściowej
+     * @param len    Liczba bajtów (wielokrotność 16)
+     * @throws IllegalArgumentException gdy długość nie jest wielokrotnością 16
+     */
+    public void decrypt(byte[] in, int inOff, byte[] out, int outOff, int len) {
+        checkLength(len);
+        Instrumentation.Measurement measurement = Instrumentation.CURRENT.start();
+        try {
+            if (len < parallelThreshold || len <= chunkSize) {
+                decryptRange(in, inOff, out, outOff, len, iv, 0);
+            } else {
+                decryptParallel(in, inOff, out, outOff, len);
+            }
+        } finally {
+            Instrumentation.CURRENT.end(CipherOperation.CBC_DECRYPT, cipher.rounds(), len, measurement);
+        }
+    }
+
+    /**
+     * Deszyfruje dane równolegle, fragmentami po {@code chunkSize} bajtów.
+     */
+    private void decryptParallel(byte[] in, int inOff, byte[] out, int outOff, int len) {
+        // Bloki szyfrogramu poprzedzające każdy fragment zapamiętujemy przed startem zadań,
+        // bo przy deszyfrowaniu w miejscu mogłyby zostać nadpisane przez sąsiedni fragment
+        int chunkBlocks = chunkSize / BLOCK_SIZE;
+        int blocks = len / BLOCK_SIZE;
+        int chunks = (blocks + chunkBlocks - 1) / chunkBlocks;
+        byte[] chainValues = new byte[chunks * BLOCK_SIZE];
+        System.arraycopy(iv, 0, chainValues, 0, BLOCK_SIZE);
+        for (int c = 1; c < chunks; c++) {
+            System.arraycopy(in, inOff + (c * chunkBlocks - 1) * BLOCK_SIZE, chainValues, c * BLOCK_SIZE, BLOCK_SIZE);
+        }
+
+        ParallelBlocks.run(pool, blocks, chunkBlocks, (from, to) -> {
+            int begin = from * BLOCK_SIZE;
+            decryptRange(in, inOff + begin, out, outOff + begin, (to - from) * BLOCK_SIZE,
+                    chainValues, (from / chunkBlocks) * BLOCK_SIZE);
+        });
+    }
+
+    /**
+     * Deszyfruje sekwencyjnie fragment danych, zaczynając od podanej wartości łańcucha.
+     */
+    private void decryptRange(byte[] in, int inOff, byte[] out, int outOff, int len, byte[] chainSource, int chainOff) {
+        byte[] chain = new byte[BLOCK_SIZE];
+        byte[] saved = new byte[BLOCK_SIZE];
+        System.arraycopy(chainSource, chainOff, chain, 0, BLOCK_SIZE);
+
+        for (int off = 0; off < len; off += BLOCK_SIZE) {
+            // Zachowanie bloku szyfrogramu przed ewentualnym nadpisaniem
+            System.arraycopy(in, inOff + off, saved, 0, BLOCK_SIZE);
+            cipher.decryptBlock(in, inOff + off, out, outOff + off);
+            for (int i = 0; i < BLOCK_SIZE; i++) {
+                out[outOff + off + i] ^= chain[i];
+            }
+            byte[] tmp = chain;
+            chain = saved;
+            saved = tmp;
+        }
+    }
+
+    private static void checkLength(int len) {
+        if (len % BLOCK_SIZE != 0) {
+            throw new IllegalArgumentException("CBC data length must be a multiple of 16");
+        }
+    }
+}
@@ -0,0 +1,340 @@
+/*
+ * Nazwa programu: AES-cipher
+ * Copyright (C) 2025  Mateusz Kosowski Nikodem Nowak
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package org.zespol6.aes;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.zespol6.aes.BlockEngine.BLOCK_SIZE;
+
+/**
+ * Tryb licznika (CTR). Blok strumienia klucza i-tego bloku danych to zaszyfrowana wartość
+ * licznika początkowego powiększona o i (arytmetyka 128-bitowa, big-endian), dlatego bloki
+ * mogą być przetwarzane niezależnie i równolegle. Szyfrowanie i deszyfrowanie to ta sama operacja.
+ *
+ * <p>Dane dłuższe niż próg równoległości dzielone są na fragmenty przetwarzane w puli fork-join;
+ * krótsze przetwarzane są w wątku wywołującym.</p>
+ */
+public final class CTRMode {
+
+    static final int KEY_STREAM_BLOCKS = 32;    // Bloki strumienia klucza wyznaczane jednym wywołaniem
+
+    private final AESCipher cipher;             // Szyfr blokowy
+    private final byte[] initialCounter;        // Początkowa wartość licznika (nonce + licznik)
+    private int chunkSize = 64 * 1024;          // Rozmiar fragmentu przetwarzanego przez jedno zadanie
+    private int parallelThreshold = 256 * 1024; // Minimalna długość danych dla przetwarzania równoległego
+    private ForkJoinPool pool = ForkJoinPool.commonPool();
+
+    /**
+     * Tworzy tryb CTR.
+     *
+     * @param cipher         Szyfr blokowy
+     * @param initialCounter Początkowa wartość licznika (16 bajtów)
+     * @throws IllegalArgumentException gdy licznik nie ma 16 bajtów
+     */
+    public CTRMode(AESCipher cipher, byte[] initialCounter) {
+        if (initialCounter.length != BLOCK_SIZE) {
+            throw new IllegalArgumentException("Initial counter must be 16 bytes long");
+        }
+        this.cipher = cipher;
+        this.initialCounter = initialCounter.clone();
+    }
+
+    /**
+     * Ustawia rozmiar fragmentu przetwarzanego przez jedno zadanie.
+     *
+     * @param chunkSize Rozmiar fragmentu w bajtach (dodatnia wielokrotność 16)
+     * @throws IllegalArgumentException gdy rozmiar nie jest dodatnią wielokrotnością 16
+     */
+    public void setChunkSize(int chunkSize) {
+        if (chunkSize <= 0 || chunkSize % BLOCK_SIZE != 0) {
+            throw new IllegalArgumentException("Chunk size must be a positive multiple of 16");
+        }
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Zwraca rozmiar fragmentu przetwarzanego przez jedno zadanie.
+     *
+     * @return Rozmiar fragmentu w bajtach
+     */
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    /**
+     * Ustawia minimalną długość danych, od której przetwarzanie odbywa się równolegle.
+     *
+     * @param parallelThreshold Próg w bajtach
+     */
+    public void setParallelThreshold(int parallelThreshold) {
+        this.parallelThreshold = parallelThreshold;
+    }
+
+    /**
+     * Zwraca minimalną długość danych, od której przetwarzanie odbywa się równolegle.
+     *
+     * @return Próg w bajtach
+     */
+    public int getParallelThreshold() {
+        return parallelThreshold;
+    }
+
+    /**
+     * Ustawia pulę wątków używaną do przetwarzania równoległego.
+     *
+     * @param pool Pula fork-join
+     */
+    public void setPool(ForkJoinPool pool) {
+        if (pool == null) {
+            throw new IllegalArgumentException("Pool must not be null");
+        }
+        this.pool = pool;
+    }
+
+    /**
+     * Szyfruje dane.
+     *
+     * @param data Dane do zaszyfrowania
+     * @return Zaszyfrowane dane (tej samej długości)
+     */
+    public byte[] encrypt(byte[] data) {
+        byte[] out = new byte[data.length];
+        process(data, 0, out, 0, data.length);
+        return out;
+    }
+
+    /**
+     * Deszyfruje dane.
+     *
+     * @param encrypted Zaszyfrowane dane
+     * @return Odszyfrowane dane (tej samej długości)
+     */
+    public byte[] decrypt(byte[] encrypted) {
+        return encrypt(encrypted);
+    }
+
+    /**
+     * Nakłada strumień klucza na dane, zaczynając od licznika początkowego.
+     * Tablica wyjściowa może być tą samą tablicą co wejściowa.
+     *
+     * @param in     Tablica wejściowa
+     * @param inOff  Przesunięcie w tablicy wejściowej
+     * @param out    Tablica wyjściowa
+     * @param outOff Przesunięcie w tablicy wyjściowej
+     * @param len    Liczba bajtów
+     */
+    public void process(byte[] in, int inOff, byte[] out, int outOff, int len) {
+        process(in, inOff, out, outOff, len, 0);
+    }
+
+    /**
+     * Nakłada strumień klucza na dane, zaczynając od bloku o podanym numerze. Pozwala przetwarzać
+     * dane porcjami (kolejne porcje wyrównane do 16 bajtów) lub odszyfrować dowolny fragment.
+     * Tablica wyjściowa może być tą samą tablicą co wejściowa.
+     *
+     * @param in         Tablica wejściowa
+     * @param inOff      Przesunięcie w tablicy wejściowej
+     * @param out        Tablica wyjściowa
+     * @param outOff     Przesunięcie w tablicy wyjściowej
+     * @param len        Liczba bajtów
+     * @param firstBlock Numer bloku strumienia klucza odpowiadającego pierwszemu bajtowi (od 0)
+     * @throws IllegalArgumentException gdy numer bloku jest ujemny
+     */
+    public void process(byte[] in, int inOff, byte[] out, int outOff, int len, long firstBlock) {
+        checkFirstBlock(firstBlock);
+        Objects.checkFromIndexSize(inOff, len, in.length);
+        Objects.checkFromIndexSize(outOff, len, out.length);
+        Instrumentation.Measurement measurement = Instrumentation.CURRENT.start();
+        try {
+            if (len < parallelThreshold || len <= chunkSize) {
+                processRange(in, inOff, out, outOff, firstBlock, len);
+            } else {
+                int blocks = (len + BLOCK_SIZE - 1) / BLOCK_SIZE;
+                ParallelBlocks.run(pool, blocks, chunkSize / BLOCK_SIZE, (from, to) -> {
+                    int begin = from * BLOCK_SIZE;
+                    int end = Math.min(len, to * BLOCK_SIZE);
+                    processRange(in, inOff + begin, out, outOff + begin, firstBlock + from, end - begin);
+                });
+            }
+        } finally {
+            Instrumentation.CURRENT.end(CipherOperation.CTR, cipher.rounds(), len, measurement);
+        }
+    }
+
+    /**
+     * Nakłada strumień klucza na wszystkie pozostałe bajty bufora wejściowego, zapisując wynik do bufora
+     * wyjściowego (np. odwzorowanych w pamięci). Przetwarzanie jest sekwencyjne; pozycje obu buforów
+     * są przesuwane o liczbę przetworzonych bajtów.
+     *
+     * @param in         Bufor wejściowy
+     * @param out        Bufor wyjściowy (co najmniej in.remaining() wolnych bajtów)
+     * @param firstBlock Numer bloku strumienia klucza odpowiadającego pierwszemu bajtowi (od 0)
+     * @throws IllegalArgumentException gdy numer bloku jest ujemny
+     */
+    public void process(ByteBuffer in, ByteBuffer out, long firstBlock) {
+        checkFirstBlock(firstBlock);
+        int len = in.remaining();
+        Objects.checkFromIndexSize(out.position(), len, out.limit());
+        Instrumentation.Measurement measurement = Instrumentation.CURRENT.start();
+        try {
+            byte[] counter = initialCounter.clone();
+            addToCounter(counter, firstBlock);
+            int blocks = (len + BLOCK_SIZE - 1) / BLOCK_SIZE;
+            byte[] keyStream = new byte[Math.max(1, Math.min(blocks, KEY_STREAM_BLOCKS)) * BLOCK_SIZE];
+
+            apply(cipher.blockEngine(), counter, keyStream, in, in.position(), out, out.position(), len);
+            in.position(in.position() + len);
+            out.position(out.position() + len);
+        } finally {
+            Instrumentation.CURRENT.end(CipherOperation.CTR, cipher.rounds(), len, measurement);
+        }
+    }
+
+    /**
+     * Nakłada strumień klucza na fragment bufora (indeksy bezwzględne - pozycje buforów się nie zmieniają)
+     * bez tworzenia obiektu trybu. Licznik i tablica robocza należą do wywołującego (np. jedne na połączenie),
+     * dlatego wywołanie nie alokuje pamięci. Bufor wyjściowy może być buforem wejściowym z tym samym indeksem.
+     *
+     * @param cipher    Szyfr blokowy
+     * @param counter   Licznik pierwszego bloku (16 bajtów); po wywołaniu wskazuje blok za ostatnim użytym
+     * @param keyStream Tablica robocza na strumień klucza (dodatnia wielokrotność 16 bajtów)
+     * @param in        Bufor wejściowy
+     * @param inIndex   Indeks danych w buforze wejściowym
+     * @param out       Bufor wyjściowy
+     * @param outIndex  Indeks wyniku w buforze wyjściowym
+     * @param len       Liczba bajtów
+     * @throws IllegalArgumentException gdy licznik nie ma 16 bajtów lub tablica robocza ma nieprawidłowy rozmiar
+     */
+    public static void process(AESCipher cipher, byte[] counter, byte[] keyStream,
+                               ByteBuffer in, int inIndex, ByteBuffer out, int outIndex, int len) {
+        if (counter.length != BLOCK_SIZE) {
+            throw new IllegalArgumentException("Counter must be 16 bytes long");
+        }
+        if (keyStream.length == 0 || keyStream.length % BLOCK_SIZE != 0) {
+            throw new IllegalArgumentException("Key stream buffer length must be a positive multiple of 16");
+        }
+        Objects.checkFromIndexSize(inIndex, len, in.limit());
+        Objects.checkFromIndexSize(outIndex, len, out.limit());
+        Instrumentation.Measurement measurement = Instrumentation.CURRENT.start();
+        try {
+            apply(cipher.blockEngine(), counter, keyStream, in, inIndex, out, outIndex, len);
+        } finally {
+            Instrumentation.CURRENT.end(CipherOperation.CTR, cipher.rounds(), len, measurement);
+        }
+    }
+
+    /**
+     * Przetwarza sekwencyjnie fragment danych zaczynający się od bloku o numerze firstBlock.
+     */
+    private void processRange(byte[] in, int inOff, byte[] out, int outOff, long firstBlock, int len) {
+        byte[] counter = initialCounter.clone();
+        addToCounter(counter, firstBlock);
+        int blocks = (len + BLOCK_SIZE - 1) / BLOCK_SIZE;
+        byte[] keyStream = new byte[Math.min(blocks, KEY_STREAM_BLOCKS) * BLOCK_SIZE];
+        BlockEngine engine = cipher.blockEngine();
+
+        int done = 0;
+        while (done < len) {
+            int m = Math.min(nextKeyStream(engine, counter, keyStream, len - done), len - done);
+            for (int i = 0; i < m; i++) {
+                out[outOff + done + i] = (byte) (in[inOff + done + i] ^ keyStream[i]);
+            }
+            done += m;
+        }
+    }
+
+    /**
+     * Nakłada strumień klucza na fragment bufora (indeksy bezwzględne). Pełne słowa łączone są
+     * operacją XOR na wartościach 64-bitowych, gdy kolejność bajtów obu buforów jest zgodna.
+     *
+     * @param engine    Transformacja blokowa
+     * @param counter   Licznik pierwszego bloku (przesuwany za ostatni użyty blok)
+     * @param keyStream Tablica robocza na strumień klucza (wielokrotność 16 bajtów)
+     */
+    static void apply(BlockEngine engine, byte[] counter, byte[] keyStream,
+                      ByteBuffer in, int inIndex, ByteBuffer out, int outIndex, int len) {
+        boolean words = in.order() == out.order();
+        boolean reverse = in.order() != ByteOrder.BIG_ENDIAN;
+        int done = 0;
+        while (done < len) {
+            int m = Math.min(nextKeyStream(engine, counter, keyStream, len - done), len - done);
+            int i = 0;
+            if (words) {
+                for (; i + 8 <= m; i += 8) {
+                    long k = GHASH.getLong(keyStream, i);
+                    long data = in.getLong(inIndex + done + i);
+                    out.putLong(outIndex + done + i, data ^ (reverse ? Long.reverseBytes(k) : k));
+                }
+            }
+            for (; i < m; i++) {
+                out.put(outIndex + done + i, (byte) (in.get(inIndex + done + i) ^ keyStream[i]));
+            }
+            done += m;
+        }
+    }
+
+    /**
+     * Wyznacza kolejną porcję strumienia klucza: zapisuje kolejne wartości licznika (tyle bloków, ile
+     * mieści tablica, ale nie więcej niż potrzeba dla remaining bajtów) i szyfruje je jednym wywołaniem,
+     * dzięki czemu implementacje przetwarzające wiele bloków naraz działają na pełnych grupach.
+     *
+     * @return Liczba wyznaczonych bajtów strumienia klucza (wielokrotność 16)
+     */
+    private static int nextKeyStream(BlockEngine engine, byte[] counter, byte[] keyStream, int remaining) {
+        int n = Math.min(keyStream.length, (remaining + BLOCK_SIZE - 1) / BLOCK_SIZE * BLOCK_SIZE);
+        for (int off = 0; off < n; off += BLOCK_SIZE) {
+            System.arraycopy(counter, 0, keyStream, off, BLOCK_SIZE);
+            incrementCounter(counter);
+        }
+        engine.encryptBlocks(keyStream, 0, keyStream, 0, n);
+        return n;
+    }
+
+    private static void checkFirstBlock(long firstBlock) {
+        if (firstBlock < 0) {
+            throw new IllegalArgumentException("First block must not be negative");
+        }
+    }
+
+    /**
+     * Zwiększa 128-bitowy licznik (big-endian) o 1.
+     */
+    static void incrementCounter(byte[] counter) {
+        for (int i = BLOCK_SIZE - 1; i >= 0; i--) {
+            if (++counter[i] != 0) {
+                break;
+            }
+        }
+    }
+
+    /**
+     * Dodaje nieujemną wartość do 128-bitowego licznika (big-endian).
+     */
+    static void addToCounter(byte[] counter, long value) {
+        long carry = value;
+        for (int i = BLOCK_SIZE - 1; i >= 0 && carry != 0; i--) {
+            long sum = (counter[i] & 0xFF) + (carry & 0xFF);
+            counter[i] = (byte) sum;
+            carry = (carry >>> 8) + (sum >>> 8);
+        }
+    }
+}
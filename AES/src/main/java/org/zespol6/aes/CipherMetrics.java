@@ -0,0 +1,214 @@
+/*
+ * Nazwa programu: AES-cipher
+ * Copyright (C) 2025  Mateusz Kosowski Nikodem Nowak
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package org.zespol6.aes;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.zespol6.aes.BlockEngine.BLOCK_SIZE;
+
+/**
+ * Liczniki i histogramy czasów operacji modułu AES, zbierane osobno dla każdej operacji
+ * ({@link CipherOperation}) i długości klucza (128, 192, 256 bitów).
+ *
+ * <p>Rejestrowane są wywołania operacji wieloblokowych (tablice i bufory), trybów CBC, CTR i GCM
+ * oraz wyznaczanie harmonogramów kluczy; pojedyncze bloki nie są mierzone. Liczniki oparte są
+ * na {@link LongAdder}, więc zapis z wielu wątków nie wymaga blokad. Dodatkowo emitowane są zdarzenia
+ * JDK Flight Recorder ({@code org.zespol6.aes.CipherOperation} i {@code org.zespol6.aes.KeyExpansion}),
+ * jeśli są włączone w nagraniu.</p>
+ *
+ * <p>Pomiary włącza właściwość systemowa {@code -Dorg.zespol6.aes.metrics=true}. Domyślnie są wyłączone -
+ * miejsca pomiaru wywołują wtedy pustą implementację, którą kompilator JIT całkowicie usuwa. Włączone
+ * pomiary kosztują dwa odczyty zegara i kilka zwiększeń liczników na wywołanie, co przy operacjach
+ * na pojedynczych blokach podwaja czas wywołania.</p>
+ */
+public final class CipherMetrics {
+
+    /**
+     * Nazwa właściwości systemowej włączającej pomiary (domyślnie wyłączone).
+     */
+    public static final String PROPERTY = "org.zespol6.aes.metrics";
+
+    private static final int KEY_SIZES = 3;     // 128, 192 i 256 bitów
+
+    private static final boolean ENABLED = Boolean.getBoolean(PROPERTY);
+    private static final CipherMetrics GLOBAL = new CipherMetrics();
+
+    private final LongAdder[] bytes;
+    private final LongAdder[] blocks;
+    private final LatencyHistogram[] latency;
+
+    private CipherMetrics() {
+        int n = CipherOperation.values().length * KEY_SIZES;
+        bytes = new LongAdder[n];
+        blocks = new LongAdder[n];
+        latency = new LatencyHistogram[n];
+        for (int i = 0; i < n; i++) {
+            bytes[i] = new LongAdder();
+            blocks[i] = new LongAdder();
+            latency[i] = new LatencyHistogram();
+        }
+    }
+
+    /**
+     * Zwraca pomiary całego modułu.
+     *
+     * @return Wspólny obiekt pomiarów (przy wyłączonych pomiarach wszystkie wartości pozostają zerowe)
+     */
+    public static CipherMetrics global() {
+        return GLOBAL;
+    }
+
+    /**
+     * Sprawdza, czy pomiary są włączone (właściwość {@value #PROPERTY} odczytywana raz, przy starcie).
+     *
+     * @return true, jeśli operacje są mierzone
+     */
+    public static boolean isEnabled() {
+        return ENABLED;
+    }
+
+    /**
+     * Zwraca liczbę wywołań operacji.
+     *
+     * @param operation Operacja
+     * @param keySize   Długość klucza w bitach (128, 192 lub 256)
+     * @return Liczba wywołań
+     */
+    public long calls(CipherOperation operation, int keySize) {
+        return latency[index(operation, keySize)].count();
+    }
+
+    /**
+     * Zwraca liczbę bajtów przetworzonych przez operację.
+     *
+     * @param operation Operacja
+     * @param keySize   Długość klucza w bitach (128, 192 lub 256)
+     * @return Liczba bajtów
+     */
+    public long bytes(CipherOperation operation, int keySize) {
+        return bytes[index(operation, keySize)].sum();
+    }
+
+    /**
+     * Zwraca liczbę bloków przetworzonych przez operację (niepełne bloki liczone są jako pełne).
+     *
+     * @param operation Operacja
+     * @param keySize   Długość klucza w bitach (128, 192 lub 256)
+     * @return Liczba bloków
+     */
+    public long blocks(CipherOperation operation, int keySize) {
+        return blocks[index(operation, keySize)].sum();
+    }
+
+    /**
+     * Zwraca histogram czasów trwania operacji.
+     *
+     * @param operation Operacja
+     * @param keySize   Długość klucza w bitach (128, 192 lub 256)
+     * @return Histogram (aktualizowany na bieżąco)
+     */
+    public LatencyHistogram latency(CipherOperation operation, int keySize) {
+        return latency[index(operation, keySize)];
+    }
+
+    /**
+     * Zwraca liczbę trafień we wspólnej pamięci podręcznej harmonogramów ({@link AES#keyScheduleCache()}).
+     *
+     * @return Liczba trafień
+     */
+    public long cacheHits() {
+        return AES.keyScheduleCache().hitCount();
+    }
+
+    /**
+     * Zwraca liczbę chybień we wspólnej pamięci podręcznej harmonogramów ({@link AES#keyScheduleCache()}).
+     *
+     * @return Liczba chybień
+     */
+    public long cacheMisses() {
+        return AES.keyScheduleCache().missCount();
+    }
+
+    /**
+     * Zeruje liczniki i histogramy (statystyki pamięci podręcznej harmonogramów pozostają bez zmian).
+     */
+    public void reset() {
+        for (int i = 0; i < latency.length; i++) {
+            bytes[i].reset();
+            blocks[i].reset();
+            latency[i].reset();
+        }
+    }
+
+    /**
+     * Rejestruje zakończoną operację.
+     *
+     * @param operation Operacja
+     * @param rounds    Liczba rund (10, 12 lub 14)
+     * @param len       Liczba przetworzonych bajtów
+     * @param nanos     Czas trwania w nanosekundach
+     */
+    void record(CipherOperation operation, int rounds, long len, long nanos) {
+        int i = operation.ordinal() * KEY_SIZES + (rounds - 10) / 2;
+        if (len > 0) {
+            bytes[i].add(len);
+            blocks[i].add((len + BLOCK_SIZE - 1) / BLOCK_SIZE);
+        }
+        latency[i].record(nanos);
+    }
+
+    private static int index(CipherOperation operation, int keySize) {
+        int k = switch (keySize) {
+            case 128 -> 0;
+            case 192 -> 1;
+            case 256 -> 2;
+            default -> throw new IllegalArgumentException("Invalid key size");
+        };
+        return operation.ordinal() * KEY_SIZES + k;
+    }
+
+    /**
+     * Zwraca zestawienie operacji, które zostały wykonane co najmniej raz: liczbę wywołań, bajtów
+     * i bloków oraz średni czas i percentyle 50 i 99.
+     *
+     * @return Zestawienie tekstowe (jeden wiersz na operację i długość klucza)
+     */
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format(Locale.ROOT, "%-14s %5s %12s %16s %14s %12s %12s %12s%n",
+                "operation", "key", "calls", "bytes", "blocks", "mean [ns]", "p50 [ns]", "p99 [ns]"));
+        for (CipherOperation operation : CipherOperation.values()) {
+            for (int k = 0; k < KEY_SIZES; k++) {
+                int i = operation.ordinal() * KEY_SIZES + k;
+                LatencyHistogram h = latency[i];
+                long n = h.count();
+                if (n == 0) {
+                    continue;
+                }
+                sb.append(String.format(Locale.ROOT, "%-14s %5d %12d %16d %14d %12.0f %12d %12d%n",
+                        operation, 128 + 64 * k, n, bytes[i].sum(), blocks[i].sum(),
+                        h.meanNanos(), h.percentile(50), h.percentile(99)));
+            }
+        }
+        sb.append(String.format(Locale.ROOT, "key schedule cache: %d hits, %d misses%n", cacheHits(), cacheMisses()));
+        return sb.toString();
+    }
+}
@@ -0,0 +1,50 @@
+/*
+ * Nazwa programu: AES-cipher
+ * Copyright (C) 2025  Mateusz Kosowski Nikodem Nowak
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package org.zespol6.aes;
+
+/**
+ * Rodzaj operacji rejestrowanej przez {@link CipherMetrics}: tryb pracy i kierunek przetwarzania
+ * albo rozszerzanie klucza.
+ */
+public enum CipherOperation {
+
+    /** Szyfrowanie blok po bloku ({@link AES#encrypt}, operacje wieloblokowe {@link AESCipher}). */
+    ECB_ENCRYPT,
+
+    /** Deszyfrowanie blok po bloku ({@link AES#decrypt}, operacje wieloblokowe {@link AESCipher}). */
+    ECB_DECRYPT,
+
+    /** Szyfrowanie w trybie {@link CBCMode}. */
+    CBC_ENCRYPT,
+
+    /** Deszyfrowanie w trybie {@link CBCMode}. */
+    CBC_DECRYPT,
+
+    /** Przetwarzanie w trybie {@link CTRMode} (szyfrowanie i deszyfrowanie to ta sama operacja). */
+    CTR,
+
+    /** Szyfrowanie w trybie {@link GCMMode}. */
+    GCM_ENCRYPT,
+
+    /** Deszyfrowanie w trybie {@link GCMMode}. */
+    GCM_DECRYPT,
+
+    /** Wyznaczenie harmonogramu kluczy ({@link KeySchedule#of(byte[])}). */
+    KEY_EXPANSION
+}
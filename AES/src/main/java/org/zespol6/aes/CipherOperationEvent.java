@@ -0,0 +1,49 @@
+/*
+ * Nazwa programu: AES-cipher
+ * Copyright (C) 2025  Mateusz Kosowski Nikodem Nowak
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package org.zespol6.aes;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Zdarzenie JDK Flight Recorder dla operacji wieloblokowej lub trybu pracy.
+ * Zdarzenie rozpoczynane jest razem z operacją, więc jego czas trwania obejmuje całą operację.
+ */
+@Name("org.zespol6.aes.CipherOperation")
+@Label("AES Cipher Operation")
+@Category("AES")
+@Description("Bulk encryption or decryption performed by the AES module")
+@StackTrace(false)
+final class CipherOperationEvent extends Event {
+
+    @Label("Operation")
+    String operation;
+
+    @Label("Key Size")
+    int keySize;
+
+    @Label("Bytes")
+    @DataAmount
+    long bytes;
+}
@@ -0,0 +1,186 @@
+/*
+ * Nazwa programu: AES-cipher
+ * Copyright (C) 2025  Mateusz Kosowski Nikodem Nowak
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package org.zespol6.aes;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+import static org.zespol6.aes.BlockEngine.BLOCK_SIZE;
+
+/**
+ * Nagłówek pliku kontenera. Wszystkie liczby zapisywane są w kolejności big-endian.
+ *
+ * <pre>
+ * 0   4  znacznik "AESC"
+ * 4   1  wersja formatu (1)
+ * 5   1  tryb ({@link ContainerMode})
+ * 6   2  długość klucza w bitach
+ * 8   4  rozmiar fragmentu w bajtach (wielokrotność 16)
+ * 12  8  długość danych w bajtach
+ * 20  4  liczba fragmentów
+ * 24     indeks: dla każdego fragmentu 12 bajtów nonce i 16 bajtów znacznika
+ *        fragmenty szyfrogramu: fragment i pod przesunięciem (długość nagłówka + i * rozmiar fragmentu)
+ * </pre>
+ */
+final class ContainerHeader {
+
+    static final byte[] MAGIC = {'A', 'E', 'S', 'C'};
+    static final byte VERSION = 1;
+    static final int FIXED_LENGTH = 24;         // Część nagłówka przed indeksem
+    static final int NONCE_LENGTH = 12;         // Nonce fragmentu
+    static final int TAG_LENGTH = 16;           // Znacznik fragmentu
+    static final int ENTRY_LENGTH = NONCE_LENGTH + TAG_LENGTH;
+
+    final ContainerMode mode;
+    final int keySize;          // Długość klucza w bitach
+    final int chunkSize;        // Rozmiar fragmentu w bajtach
+    final long length;          // Długość danych w bajtach
+    final int chunkCount;       // Liczba fragmentów
+    final byte[] nonces;        // Nonce kolejnych fragmentów
+    final byte[] tags;          // Znaczniki kolejnych fragmentów (zera w trybie CTR)
+
+    private ContainerHeader(ContainerMode mode, int keySize, int chunkSize, long length, int chunkCount) {
+        this.mode = mode;
+        this.keySize = keySize;
+        this.chunkSize = chunkSize;
+        this.length = length;
+        this.chunkCount = chunkCount;
+        this.nonces = new byte[chunkCount * NONCE_LENGTH];
+        this.tags = new byte[chunkCount * TAG_LENGTH];
+    }
+
+    /**
+     * Tworzy nagłówek nowego kontenera z pustym indeksem.
+     *
+     * @throws IllegalArgumentException gdy indeks fragmentów nie zmieściłby się w nagłówku
+     */
+    static ContainerHeader create(ContainerMode mode, int keySize, int chunkSize, long length) {
+        long chunks = (length + chunkSize - 1) / chunkSize;
+        if (chunks > (Integer.MAX_VALUE - FIXED_LENGTH) / ENTRY_LENGTH) {
+            throw new IllegalArgumentException("Too many chunks, use a larger chunk size");
+        }
+        return new ContainerHeader(mode, keySize, chunkSize, length, (int) chunks);
+    }
+
+    /**
+     * Odczytuje stałą część nagłówka i przygotowuje miejsce na indeks (wczytywany przez {@link #readIndex}).
+     *
+     * @param fixed Pierwsze {@value #FIXED_LENGTH} bajtów pliku
+     * @throws IOException gdy dane nie są nagłówkiem kontenera w obsługiwanej wersji
+     */
+    static ContainerHeader parse(ByteBuffer fixed) throws IOException {
+        for (int i = 0; i < MAGIC.length; i++) {
+            if (fixed.get(i) != MAGIC[i]) {
+                throw new IOException("Not an AES container");
+            }
+        }
+        if (fixed.get(4) != VERSION) {
+            throw new IOException("Unsupported container version: " + fixed.get(4));
+        }
+        ContainerMode mode = ContainerMode.of(fixed.get(5));
+        int keySize = fixed.getShort(6);
+        int chunkSize = fixed.getInt(8);
+        long length = fixed.getLong(12);
+        int chunkCount = fixed.getInt(20);
+        if (mode == null || (keySize != 128 && keySize != 192 && keySize != 256)
+                || chunkSize <= 0 || chunkSize % BLOCK_SIZE != 0 || length < 0
+                || chunkCount != (length + chunkSize - 1) / chunkSize
+                || chunkCount > (Integer.MAX_VALUE - FIXED_LENGTH) / ENTRY_LENGTH) {
+            throw new IOException("Corrupted container header");
+        }
+        return new ContainerHeader(mode, keySize, chunkSize, length, chunkCount);
+    }
+
+    /**
+     * Wczytuje indeks fragmentów zapisany za stałą częścią nagłówka.
+     *
+     * @param index Bufor z {@code chunkCount * ENTRY_LENGTH} bajtami indeksu
+     */
+    void readIndex(ByteBuffer index) {
+        for (int i = 0; i < chunkCount; i++) {
+            index.get(nonces, i * NONCE_LENGTH, NONCE_LENGTH);
+            index.get(tags, i * TAG_LENGTH, TAG_LENGTH);
+        }
+    }
+
+    /**
+     * Zapisuje cały nagłówek (z indeksem).
+     *
+     * @return Nagłówek o długości {@link #headerLength()}
+     */
+    byte[] encode() {
+        ByteBuffer out = ByteBuffer.allocate(headerLength());
+        writeFixed(out);
+        for (int i = 0; i < chunkCount; i++) {
+            out.put(nonces, i * NONCE_LENGTH, NONCE_LENGTH);
+            out.put(tags, i * TAG_LENGTH, TAG_LENGTH);
+        }
+        return out.array();
+    }
+
+    private void writeFixed(ByteBuffer out) {
+        out.put(MAGIC)
+                .put(VERSION)
+                .put(mode.code())
+                .putShort((short) keySize)
+                .putInt(chunkSize)
+                .putLong(length)
+                .putInt(chunkCount);
+    }
+
+    int headerLength() {
+        return FIXED_LENGTH + chunkCount * ENTRY_LENGTH;
+    }
+
+    long chunkOffset(int chunk) {
+        return headerLength() + (long) chunk * chunkSize;
+    }
+
+    int chunkLength(int chunk) {
+        return (int) Math.min(chunkSize, length - (long) chunk * chunkSize);
+    }
+
+    /**
+     * Zwraca dane dodatkowe GCM fragmentu: stała część nagłówka i numer fragmentu. Wiąże to znacznik
+     * fragmentu z parametrami kontenera i z położeniem fragmentu.
+     */
+    byte[] aad(int chunk) {
+        ByteBuffer aad = ByteBuffer.allocate(FIXED_LENGTH + 4);
+        writeFixed(aad);
+        return aad.putInt(chunk).array();
+    }
+
+    /**
+     * Zwraca nonce fragmentu (IV trybu GCM).
+     */
+    byte[] nonce(int chunk) {
+        byte[] nonce = new byte[NONCE_LENGTH];
+        System.arraycopy(nonces, chunk * NONCE_LENGTH, nonce, 0, NONCE_LENGTH);
+        return nonce;
+    }
+
+    /**
+     * Zwraca licznik początkowy fragmentu w trybie CTR: nonce || 0^32.
+     */
+    byte[] counter(int chunk) {
+        byte[] counter = new byte[BLOCK_SIZE];
+        System.arraycopy(nonces, chunk * NONCE_LENGTH, counter, 0, NONCE_LENGTH);
+        return counter;
+    }
+}
@@ -0,0 +1,62 @@
+/*
+ * Nazwa programu: AES-cipher
+ * Copyright (C) 2025  Mateusz Kosowski Nikodem Nowak
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package org.zespol6.aes;
+
+/**
+ * Tryb szyfrowania fragmentów pliku kontenera ({@link ContainerWriter}, {@link ContainerReader}).
+ * W obu trybach szyfrogram fragmentu ma długość fragmentu danych, więc położenie każdego fragmentu
+ * w pliku wynika wprost z jego numeru.
+ */
+public enum ContainerMode {
+
+    /**
+     * GCM - każdy fragment ma własny 12-bajtowy nonce i 16-bajtowy znacznik uwierzytelniający. Znacznik obejmuje
+     * też nagłówek i numer fragmentu, więc wykrywana jest zmiana danych, zamiana kolejności i obcięcie fragmentów.
+     */
+    GCM(1),
+
+    /**
+     * CTR - każdy fragment ma własny nonce (licznik początkowy: nonce || 0^32); znaczniki w indeksie są zerowe,
+     * a dane nie są uwierzytelniane. Odczyt zakresu odszyfrowuje tylko potrzebne bloki fragmentu.
+     */
+    CTR(2);
+
+    private final byte code;    // Kod trybu w nagłówku kontenera
+
+    ContainerMode(int code) {
+        this.code = (byte) code;
+    }
+
+    byte code() {
+        return code;
+    }
+
+    /**
+     * Zwraca tryb o podanym kodzie.
+     *
+     * @return Tryb lub null dla nieznanego kodu
+     */
+    static ContainerMode of(byte code) {
+        return switch (code) {
+            case 1 -> GCM;
+            case 2 -> CTR;
+            default -> null;
+        };
+    }
+}
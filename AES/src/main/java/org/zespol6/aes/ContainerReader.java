@@ -0,0 +1,420 @@
+/*
+ * Nazwa programu: AES-cipher
+ * Copyright (C) 2025  Mateusz Kosowski Nikodem Nowak
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package org.zespol6.aes;
+
+import javax.crypto.AEADBadTagException;
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.Serial;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.zespol6.aes.BlockEngine.BLOCK_SIZE;
+
+/**
+ * Odczyt pliku kontenera zapisanego przez {@link ContainerWriter}. Fragmenty szyfrogramu są od siebie
+ * niezależne, więc dowolny zakres danych odczytywany jest przez odszyfrowanie tylko fragmentów, które
+ * go obejmują, a cały kontener - przez równoległe odszyfrowanie wszystkich fragmentów.
+ *
+ * <p>W trybie {@link ContainerMode#GCM} każdy odczytany fragment jest w całości uwierzytelniany, zanim jego
+ * dane trafią do wywołującego. Metody odczytu mogą być wywoływane współbieżnie.</p>
+ */
+public final class ContainerReader implements Closeable {
+
+    /**
+     * Źródło bajtów kontenera z odczytem pod podanym przesunięciem.
+     */
+    @FunctionalInterface
+    private interface Source {
+        /**
+         * Wczytuje bajty do zapełnienia bufora.
+         */
+        void read(ByteBuffer buffer, long position) throws IOException;
+    }
+
+    /**
+     * Wyjątek przenoszący błąd fragmentu przez zadania puli fork-join.
+     */
+    private static final class ChunkFailure extends RuntimeException {
+        @Serial
+        private static final long serialVersionUID = 1L;
+
+        ChunkFailure(Exception cause) {
+            super(cause);
+        }
+    }
+
+    private final AESCipher cipher;             // Szyfr blokowy
+    private final GCMMode gcm;                  // Tryb GCM (dla kontenerów GCM)
+    private final ContainerHeader header;       // Nagłówek z indeksem fragmentów
+    private final Source source;                // Bajty kontenera
+    private final FileChannel channel;          // Otwarty plik (null dla kontenera w pamięci)
+    private final LongAdder chunksDecrypted = new LongAdder();
+    private boolean parallel = true;            // Czy odszyfrowywać fragmenty równolegle
+    private ForkJoinPool pool = ForkJoinPool.commonPool();
+
+    private ContainerReader(AESCipher cipher, Source source, long size, FileChannel channel) throws IOException {
+        if (cipher == null) {
+            throw new IllegalArgumentException("Cipher must not be null");
+        }
+        if (size < ContainerHeader.FIXED_LENGTH) {
+            throw new IOException("Not an AES container");
+        }
+        ByteBuffer fixed = ByteBuffer.allocate(ContainerHeader.FIXED_LENGTH);
+        source.read(fixed, 0);
+        ContainerHeader parsed = ContainerHeader.parse(fixed);
+        if (parsed.keySize != 32 * (cipher.rounds() - 6)) {
+            throw new IllegalArgumentException("Container was written with a " + parsed.keySize + "-bit key");
+        }
+        if (size != parsed.headerLength() + parsed.length) {
+            throw new IOException("Container size does not match its header");
+        }
+        ByteBuffer index = ByteBuffer.allocate(parsed.headerLength() - ContainerHeader.FIXED_LENGTH);
+        source.read(index, ContainerHeader.FIXED_LENGTH);
+        parsed.readIndex(index.flip());
+
+        this.cipher = cipher;
+        this.gcm = parsed.mode == ContainerMode.GCM ? new GCMMode(cipher) : null;
+        this.header = parsed;
+        this.source = source;
+        this.channel = channel;
+    }
+
+    /**
+     * Otwiera plik kontenera. Odczytywany jest tylko nagłówek; fragmenty czytane są przy odczycie danych.
+     *
+     * @param file   Plik kontenera
+     * @param cipher Szyfr z kluczem, którym zapisano kontener
+     * @return Czytnik, który należy zamknąć
+     * @throws IOException              Błąd odczytu lub plik nie jest poprawnym kontenerem
+     * @throws IllegalArgumentException gdy długość klucza szyfru nie zgadza się z nagłówkiem
+     */
+    public static ContainerReader open(Path file, AESCipher cipher) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            return new ContainerReader(cipher, (buffer, position) -> ContainerWriter.readFully(channel, buffer, position),
+                    channel.size(), channel);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Tworzy czytnik kontenera zapisanego w pamięci (np. wyniku {@link ContainerWriter#encrypt(byte[])}).
+     *
+     * @param container Bajty kontenera
+     * @param cipher    Szyfr z kluczem, którym zapisano kontener
+     * @return Czytnik
+     * @throws IOException              gdy dane nie są poprawnym kontenerem
+     * @throws IllegalArgumentException gdy długość klucza szyfru nie zgadza się z nagłówkiem
+     */
+    public static ContainerReader of(byte[] container, AESCipher cipher) throws IOException {
+        return new ContainerReader(cipher, (buffer, position) -> {
+            if (position + buffer.remaining() > container.length) {
+                throw new EOFException("Unexpected end of container");
+            }
+            buffer.put(container, (int) position, buffer.remaining());
+        }, container.length, null);
+    }
+
+    /**
+     * Sprawdza, czy dane zaczynają się znacznikiem kontenera (bez sprawdzania reszty nagłówka).
+     *
+     * @param data Dane
+     * @return true, gdy dane wyglądają na kontener
+     */
+    public static boolean isContainer(byte[] data) {
+        return data.length >= ContainerHeader.FIXED_LENGTH
+                && Arrays.equals(data, 0, ContainerHeader.MAGIC.length,
+                ContainerHeader.MAGIC, 0, ContainerHeader.MAGIC.length);
+    }
+
+    /**
+     * Włącza lub wyłącza równoległe odszyfrowywanie fragmentów w {@link #readAll()} i {@link #decrypt(Path)}.
+     *
+     * @param parallel Czy odszyfrowywać fragmenty równolegle
+     */
+    public void setParallel(boolean parallel) {
+        this.parallel = parallel;
+    }
+
+    /**
+     * Sprawdza, czy fragmenty odszyfrowywane są równolegle.
+     *
+     * @return true, jeśli {@link #readAll()} i {@link #decrypt(Path)} odszyfrowują fragmenty równolegle
+     */
+    public boolean isParallel() {
+        return parallel;
+    }
+
+    /**
+     * Ustawia pulę wątków używaną przy przetwarzaniu równoległym.
+     *
+     * @param pool Pula wątków
+     */
+    public void setPool(ForkJoinPool pool) {
+        if (pool == null) {
+            throw new IllegalArgumentException("Pool must not be null");
+        }
+        this.pool = pool;
+    }
+
+    /**
+     * Zwraca tryb szyfrowania fragmentów zapisany w nagłówku.
+     *
+     * @return Tryb kontenera
+     */
+    public ContainerMode mode() {
+        return header.mode;
+    }
+
+    /**
+     * Zwraca długość klucza zapisaną w nagłówku.
+     *
+     * @return Długość klucza w bitach
+     */
+    public int keySize() {
+        return header.keySize;
+    }
+
+    /**
+     * Zwraca rozmiar fragmentu zapisany w nagłówku (ostatni fragment może być krótszy).
+     *
+     * @return Rozmiar fragmentu w bajtach
+     */
+    public int chunkSize() {
+        return header.chunkSize;
+    }
+
+    /**
+     * Zwraca liczbę fragmentów kontenera.
+     *
+     * @return Liczba fragmentów
+     */
+    public int chunkCount() {
+        return header.chunkCount;
+    }
+
+    /**
+     * Zwraca długość danych (bez nagłówka).
+     *
+     * @return Długość w bajtach
+     */
+    public long length() {
+        return header.length;
+    }
+
+    /**
+     * Zwraca łączną liczbę fragmentów odszyfrowanych przez ten czytnik (także częściowo, w trybie CTR).
+     *
+     * @return Liczba odszyfrowanych fragmentów
+     */
+    public long chunksDecrypted() {
+        return chunksDecrypted.sum();
+    }
+
+    /**
+     * Odczytuje zakres danych, odszyfrowując tylko fragmenty, które go obejmują.
+     *
+     * @param position Przesunięcie w danych (nieujemne)
+     * @param out      Tablica wyjściowa
+     * @param off      Przesunięcie w tablicy wyjściowej
+     * @param len      Maksymalna liczba bajtów
+     * @return Liczba odczytanych bajtów (mniejsza od len tylko na końcu danych, 0 za końcem)
+     * @throws IOException         Błąd odczytu
+     * @throws AEADBadTagException gdy znacznik któregoś z odczytanych fragmentów jest niepoprawny
+     */
+    public int read(long position, byte[] out, int off, int len) throws IOException, AEADBadTagException {
+        Objects.checkFromIndexSize(off, len, out.length);
+        if (position < 0) {
+            throw new IllegalArgumentException("Position must not be negative");
+        }
+        int n = (int) Math.max(0, Math.min(len, header.length - position));
+        if (n == 0) {
+            return 0;
+        }
+        long end = position + n;
+        int chunkSize = header.chunkSize;
+        byte[] buf = new byte[(int) Math.min(chunkSize, header.length)];
+        for (int i = (int) (position / chunkSize); i <= (int) ((end - 1) / chunkSize); i++) {
+            long chunkStart = (long) i * chunkSize;
+            int from = (int) (Math.max(position, chunkStart) - chunkStart);
+            int to = (int) (Math.min(end, chunkStart + header.chunkLength(i)) - chunkStart);
+            int start;
+            if (header.mode == ContainerMode.GCM) {
+                // Znacznik obejmuje cały fragment - fragment jest odszyfrowywany w całości
+                int chunkLength = header.chunkLength(i);
+                source.read(ByteBuffer.wrap(buf, 0, chunkLength), header.chunkOffset(i));
+                decryptGcm(i, buf, 0, chunkLength);
+                start = from;
+            } else {
+                // Tylko bloki obejmujące zakres, od granicy bloku
+                int aligned = from - from % BLOCK_SIZE;
+                source.read(ByteBuffer.wrap(buf, 0, to - aligned), header.chunkOffset(i) + aligned);
+                ContainerWriter.counterMode(cipher, header, i).process(buf, 0, buf, 0, to - aligned,
+                        aligned / BLOCK_SIZE);
+                start = from - aligned;
+            }
+            chunksDecrypted.increment();
+            System.arraycopy(buf, start, out, off + (int) (chunkStart + from - position), to - from);
+        }
+        return n;
+    }
+
+    /**
+     * Odczytuje zakres danych.
+     *
+     * @param position Przesunięcie w danych (nieujemne)
+     * @param len      Maksymalna liczba bajtów
+     * @return Odczytane dane (krótsze od len tylko na końcu danych)
+     * @throws IOException         Błąd odczytu
+     * @throws AEADBadTagException gdy znacznik któregoś z odczytanych fragmentów jest niepoprawny
+     */
+    public byte[] read(long position, int len) throws IOException, AEADBadTagException {
+        byte[] out = new byte[(int) Math.max(0, Math.min(len, header.length - position))];
+        read(position, out, 0, out.length);
+        return out;
+    }
+
+    /**
+     * Odszyfrowuje wszystkie dane (fragmenty równolegle).
+     *
+     * @return Odszyfrowane dane
+     * @throws IOException         Błąd odczytu
+     * @throws AEADBadTagException gdy znacznik któregoś fragmentu jest niepoprawny
+     */
+    public byte[] readAll() throws IOException, AEADBadTagException {
+        if (header.length > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Container too large for an array, use decrypt(Path)");
+        }
+        byte[] out = new byte[(int) header.length];
+        // Szyfrogram fragmentu wczytywany jest na jego miejsce w wyniku i odszyfrowywany w miejscu
+        forEachChunk((from, to) -> {
+            for (int i = from; i < to; i++) {
+                int off = i * header.chunkSize;
+                int len = header.chunkLength(i);
+                try {
+                    source.read(ByteBuffer.wrap(out, off, len), header.chunkOffset(i));
+                    decryptChunk(i, out, off, len);
+                } catch (IOException | AEADBadTagException e) {
+                    throw new ChunkFailure(e);
+                }
+            }
+        });
+        return out;
+    }
+
+    /**
+     * Odszyfrowuje wszystkie dane do pliku (fragmenty równolegle, każdy zapisywany pod swoim przesunięciem).
+     * Przy niepoprawnym znaczniku plik docelowy jest usuwany.
+     *
+     * @param target Plik docelowy (nadpisywany)
+     * @throws IOException         Błąd odczytu lub zapisu
+     * @throws AEADBadTagException gdy znacznik któregoś fragmentu jest niepoprawny
+     */
+    public void decrypt(Path target) throws IOException, AEADBadTagException {
+        try (FileChannel out = FileChannel.open(target, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            forEachChunk((from, to) -> {
+                byte[] buf = new byte[header.chunkSize];
+                for (int i = from; i < to; i++) {
+                    int len = header.chunkLength(i);
+                    try {
+                        source.read(ByteBuffer.wrap(buf, 0, len), header.chunkOffset(i));
+                        decryptChunk(i, buf, 0, len);
+                        ContainerWriter.writeFully(out, ByteBuffer.wrap(buf, 0, len), (long) i * header.chunkSize);
+                    } catch (IOException | AEADBadTagException e) {
+                        throw new ChunkFailure(e);
+                    }
+                }
+            });
+        } catch (AEADBadTagException e) {
+            // Nie pozostawiamy częściowo odszyfrowanych, nieuwierzytelnionych danych
+            Files.deleteIfExists(target);
+            throw e;
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (channel != null) {
+            channel.close();
+        }
+    }
+
+    /**
+     * Odszyfrowuje fragment w miejscu.
+     */
+    private void decryptChunk(int chunk, byte[] buf, int off, int len) throws AEADBadTagException {
+        if (header.mode == ContainerMode.GCM) {
+            decryptGcm(chunk, buf, off, len);
+        } else {
+            ContainerWriter.counterMode(cipher, header, chunk).process(buf, off, buf, off, len);
+        }
+        chunksDecrypted.increment();
+    }
+
+    /**
+     * Odszyfrowuje fragment GCM w miejscu i weryfikuje jego znacznik; przy błędzie dane fragmentu są zerowane.
+     */
+    private void decryptGcm(int chunk, byte[] buf, int off, int len) throws AEADBadTagException {
+        GCMMode.Operation operation = gcm.startDecryption(header.nonce(chunk));
+        byte[] aad = header.aad(chunk);
+        operation.updateAAD(aad, 0, aad.length);
+        operation.update(buf, off, len, buf, off);
+        try {
+            operation.verify(header.tags, chunk * ContainerHeader.TAG_LENGTH);
+        } catch (AEADBadTagException e) {
+            Arrays.fill(buf, off, off + len, (byte) 0);
+            throw new AEADBadTagException("Chunk " + chunk + ": tag mismatch");
+        }
+    }
+
+    /**
+     * Wykonuje operację dla wszystkich fragmentów (równolegle lub sekwencyjnie) i przekazuje dalej
+     * pierwszy błąd fragmentu.
+     */
+    private void forEachChunk(ParallelBlocks.RangeAction action) throws IOException, AEADBadTagException {
+        try {
+            if (parallel && header.chunkCount > 1) {
+                ParallelBlocks.run(pool, header.chunkCount, 1, action);
+            } else {
+                action.run(0, header.chunkCount);
+            }
+        } catch (ChunkFailure e) {
+            Throwable cause = e.getCause();
+            while (cause instanceof ChunkFailure) {
+                cause = cause.getCause();
+            }
+            if (cause instanceof AEADBadTagException bad) {
+                throw bad;
+            }
+            throw (IOException) cause;
+        }
+    }
+}
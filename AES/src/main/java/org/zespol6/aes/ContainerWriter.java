@@ -0,0 +1,244 @@
+/*
+ * Nazwa programu: AES-cipher
+ * Copyright (C) 2025  Mateusz Kosowski Nikodem Nowak
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package org.zespol6.aes;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.SecureRandom;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.zespol6.aes.BlockEngine.BLOCK_SIZE;
+
+/**
+ * Zapis danych w pliku kontenera: nagłówek z wersją, trybem, długością klucza, rozmiarem fragmentu
+ * i indeksem (nonce i znacznik każdego fragmentu), a za nim fragmenty szyfrogramu, z których każdy
+ * można odszyfrować niezależnie (zob. {@link ContainerReader}). Format opisany jest w {@link ContainerHeader}.
+ *
+ * <p>Fragmenty szyfrowane są równolegle w puli fork-join. Nagłówek zapisywany jest na końcu, gdy znane są
+ * już wszystkie znaczniki - plik przerwany w trakcie zapisu nie ma poprawnego nagłówka i nie zostanie odczytany.</p>
+ */
+public final class ContainerWriter {
+
+    private final AESCipher cipher;             // Szyfr blokowy
+    private final GCMMode gcm;                  // Tryb GCM (tablice GHASH wspólne dla wszystkich fragmentów)
+    private final SecureRandom random = new SecureRandom();
+    private ContainerMode mode = ContainerMode.GCM;
+    private int chunkSize = 64 * 1024;          // Rozmiar fragmentu w bajtach
+    private boolean parallel = true;            // Czy szyfrować fragmenty równolegle
+    private ForkJoinPool pool = ForkJoinPool.commonPool();
+
+    /**
+     * @param cipher Szyfr blokowy
+     */
+    public ContainerWriter(AESCipher cipher) {
+        if (cipher == null) {
+            throw new IllegalArgumentException("Cipher must not be null");
+        }
+        this.cipher = cipher;
+        this.gcm = new GCMMode(cipher);
+    }
+
+    /**
+     * Ustawia tryb szyfrowania fragmentów.
+     *
+     * @param mode Tryb
+     */
+    public void setMode(ContainerMode mode) {
+        if (mode == null) {
+            throw new IllegalArgumentException("Mode must not be null");
+        }
+        this.mode = mode;
+    }
+
+    /**
+     * Zwraca tryb szyfrowania fragmentów.
+     *
+     * @return Tryb kontenera
+     */
+    public ContainerMode getMode() {
+        return mode;
+    }
+
+    /**
+     * Ustawia rozmiar fragmentu - najmniejszej porcji danych odszyfrowywanej przy odczycie dowolnego zakresu.
+     *
+     * @param chunkSize Rozmiar fragmentu w bajtach (dodatnia wielokrotność 16)
+     */
+    public void setChunkSize(int chunkSize) {
+        if (chunkSize <= 0 || chunkSize % BLOCK_SIZE != 0) {
+            throw new IllegalArgumentException("Chunk size must be a positive multiple of 16");
+        }
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Zwraca rozmiar fragmentu.
+     *
+     * @return Rozmiar fragmentu w bajtach
+     */
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    /**
+     * Włącza lub wyłącza równoległe szyfrowanie fragmentów.
+     *
+     * @param parallel Czy szyfrować fragmenty równolegle
+     */
+    public void setParallel(boolean parallel) {
+        this.parallel = parallel;
+    }
+
+    /**
+     * Sprawdza, czy fragmenty szyfrowane są równolegle.
+     *
+     * @return true, jeśli fragmenty szyfrowane są równolegle
+     */
+    public boolean isParallel() {
+        return parallel;
+    }
+
+    /**
+     * Ustawia pulę wątków używaną przy przetwarzaniu równoległym.
+     *
+     * @param pool Pula wątków
+     */
+    public void setPool(ForkJoinPool pool) {
+        if (pool == null) {
+            throw new IllegalArgumentException("Pool must not be null");
+        }
+        this.pool = pool;
+    }
+
+    /**
+     * Szyfruje dane do kontenera w pamięci.
+     *
+     * @param data Dane do zaszyfrowania
+     * @return Kontener (nagłówek i fragmenty szyfrogramu)
+     */
+    public byte[] encrypt(byte[] data) {
+        ContainerHeader header = newHeader(data.length);
+        int headerLength = header.headerLength();
+        byte[] out = new byte[headerLength + data.length];
+        // Fragmenty szyfrowane bezpośrednio na swoje miejsce w tablicy wynikowej
+        forEachChunk(header, (from, to) -> {
+            for (int i = from; i < to; i++) {
+                int off = i * chunkSize;
+                encryptChunk(header, i, data, off, out, headerLength + off, header.chunkLength(i));
+            }
+        });
+        byte[] encoded = header.encode();
+        System.arraycopy(encoded, 0, out, 0, headerLength);
+        return out;
+    }
+
+    /**
+     * Szyfruje plik do kontenera. Fragmenty odczytywane i zapisywane są pod swoimi przesunięciami,
+     * więc wątki nie muszą czekać na siebie nawzajem.
+     *
+     * @param source Plik źródłowy
+     * @param target Plik kontenera (nadpisywany)
+     * @throws IOException Błąd odczytu lub zapisu
+     */
+    public void encrypt(Path source, Path target) throws IOException {
+        try (FileChannel in = FileChannel.open(source, StandardOpenOption.READ);
+             FileChannel out = FileChannel.open(target, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                     StandardOpenOption.TRUNCATE_EXISTING)) {
+            ContainerHeader header = newHeader(in.size());
+            try {
+                forEachChunk(header, (from, to) -> {
+                    byte[] buf = new byte[chunkSize];
+                    for (int i = from; i < to; i++) {
+                        int len = header.chunkLength(i);
+                        try {
+                            readFully(in, ByteBuffer.wrap(buf, 0, len), (long) i * chunkSize);
+                            encryptChunk(header, i, buf, 0, buf, 0, len);
+                            writeFully(out, ByteBuffer.wrap(buf, 0, len), header.chunkOffset(i));
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            writeFully(out, ByteBuffer.wrap(header.encode()), 0);
+        }
+    }
+
+    private ContainerHeader newHeader(long length) {
+        ContainerHeader header = ContainerHeader.create(mode, 32 * (cipher.rounds() - 6), chunkSize, length);
+        // Losowe nonce - niepowtarzalne dla klucza także między różnymi kontenerami
+        random.nextBytes(header.nonces);
+        return header;
+    }
+
+    /**
+     * Szyfruje jeden fragment i zapisuje jego znacznik w indeksie nagłówka.
+     */
+    private void encryptChunk(ContainerHeader header, int chunk, byte[] in, int inOff, byte[] out, int outOff,
+                              int len) {
+        if (header.mode == ContainerMode.GCM) {
+            GCMMode.Operation operation = gcm.startEncryption(header.nonce(chunk));
+            byte[] aad = header.aad(chunk);
+            operation.updateAAD(aad, 0, aad.length);
+            operation.update(in, inOff, len, out, outOff);
+            operation.finish(header.tags, chunk * ContainerHeader.TAG_LENGTH);
+        } else {
+            counterMode(cipher, header, chunk).process(in, inOff, out, outOff, len);
+        }
+    }
+
+    private void forEachChunk(ContainerHeader header, ParallelBlocks.RangeAction action) {
+        if (parallel && header.chunkCount > 1) {
+            ParallelBlocks.run(pool, header.chunkCount, 1, action);
+        } else {
+            action.run(0, header.chunkCount);
+        }
+    }
+
+    /**
+     * Tworzy tryb CTR fragmentu. Fragmenty przetwarzane są równolegle, więc sam fragment - sekwencyjnie.
+     */
+    static CTRMode counterMode(AESCipher cipher, ContainerHeader header, int chunk) {
+        CTRMode ctr = new CTRMode(cipher, header.counter(chunk));
+        ctr.setParallelThreshold(Integer.MAX_VALUE);
+        return ctr;
+    }
+
+    static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            int n = channel.read(buffer, position);
+            if (n < 0) {
+                throw new IOException("Unexpected end of file");
+            }
+            position += n;
+        }
+    }
+
+    static void writeFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            position += channel.write(buffer, position);
+        }
+    }
+}
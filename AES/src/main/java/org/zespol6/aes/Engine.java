@@ -0,0 +1,94 @@
+/*
+ * Nazwa programu: AES-cipher
+ * Copyright (C) 2025  Mateusz Kosowski Nikodem Nowak
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package org.zespol6.aes;
+
+import java.util.Locale;
+
+/**
+ * Implementacja transformacji blokowej wykorzystywana przez klasę {@link AES}.
+ * Wszystkie implementacje dają identyczne wyniki dla tego samego klucza i danych.
+ */
+public enum Engine {
+
+    /**
+     * Implementacja referencyjna - każda runda wykonuje kolejno SubBytes, ShiftRows,
+     * MixColumns i AddRoundKey na 16-bajtowej tablicy stanu.
+     */
+    REFERENCE,
+
+    /**
+     * Implementacja tablicowa (T-table) - operacje SubBytes, ShiftRows i MixColumns są połączone
+     * w cztery tablice słów 32-bitowych, a stan przechowywany jest w czterech zmiennych typu int.
+     */
+    T_TABLE,
+
+    /**
+     * Implementacja bitsliced - 8 bloków przetwarzanych jednocześnie wyłącznie operacjami logicznymi
+     * na słowach typu long. Brak odczytów tablic indeksowanych tajnymi danymi (odporność na ataki
+     * czasowe wykorzystujące pamięć podręczną procesora).
+     */
+    BITSLICED,
+
+    /**
+     * Implementacja wektorowa (Vector API) - kilka bloków w jednym wektorze bajtów, ShiftRows jako permutacja
+     * bajtów, a MixColumns i AddRoundKey jako operacje na całym wektorze. Wymaga uruchomienia z opcją
+     * {@code --add-modules jdk.incubator.vector}; bez niej używana jest implementacja {@link #T_TABLE}.
+     */
+    VECTOR,
+
+    /**
+     * Implementacja JDK - bloki przekazywane są do {@link javax.crypto.Cipher} ("AES/ECB/NoPadding"), którą
+     * HotSpot wykonuje instrukcjami procesora (np. AES-NI). Implementacje projektu pozostają dostępne
+     * i są z nią porównywane w testach.
+     */
+    JCE;
+
+    /**
+     * Nazwa właściwości systemowej wybierającej domyślną implementację, np. {@code -Dorg.zespol6.aes.engine=JCE}.
+     */
+    public static final String PROPERTY = "org.zespol6.aes.engine";
+
+    /**
+     * Zwraca implementację wskazaną przez właściwość systemową {@value #PROPERTY}
+     * (domyślnie {@link #T_TABLE}).
+     *
+     * @return Domyślna implementacja
+     * @throws IllegalArgumentException gdy właściwość zawiera nieznaną nazwę implementacji
+     */
+    public static Engine defaultEngine() {
+        String name = System.getProperty(PROPERTY);
+        if (name == null || name.isBlank()) {
+            return T_TABLE;
+        }
+        try {
+            return valueOf(name.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown engine: " + name);
+        }
+    }
+
+    /**
+     * Sprawdza, czy implementacja może zostać użyta w bieżącej maszynie wirtualnej.
+     *
+     * @return false tylko dla {@link #VECTOR} uruchomionego bez modułu {@code jdk.incubator.vector}
+     */
+    public boolean isAvailable() {
+        return this != VECTOR || VectorSupport.AVAILABLE;
+    }
+}
@@ -0,0 +1,393 @@
+/*
+ * Nazwa programu: AES-cipher
+ * Copyright (C) 2025  Mateusz Kosowski Nikodem Nowak
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package org.zespol6.aes;
+
+import javax.crypto.AEADBadTagException;
+import java.security.MessageDigest;
+import java.util.Arrays;
+
+import static org.zespol6.aes.BlockEngine.BLOCK_SIZE;
+
+/**
+ * Tryb GCM (Galois/Counter Mode, NIST SP 800-38D) - szyfrowanie z uwierzytelnieniem.
+ * Dane szyfrowane są w trybie licznika, a znacznik uwierzytelniający wyznaczany jest funkcją GHASH
+ * z danych dodatkowych (AAD) i szyfrogramu.
+ *
+ * <p>Obiekt przechowuje tablice GHASH wyznaczone raz dla klucza i może być współdzielony przez wiele
+ * wątków. Pojedyncza operacja (z możliwością przekazywania danych porcjami) reprezentowana jest przez
+ * {@link Operation}, tworzoną metodami {@link #startEncryption(byte[])} i {@link #startDecryption(byte[])}.</p>
+ */
+public final class GCMMode {
+
+    private static final int TAG_LENGTH = 16;       // Długość znacznika uwierzytelniającego w bajtach
+    private static final long MAX_DATA_LENGTH = (1L << 36) - 32;   // Limit danych dla jednego IV
+
+    private final AESCipher cipher;     // Szyfr blokowy
+    private final GHASH ghash;          // Tablice mnożenia przez klucz skrótu H
+
+    /**
+     * Tworzy tryb GCM dla podanego szyfru.
+     *
+     * @param cipher Szyfr blokowy
+     */
+    public GCMMode(AESCipher cipher) {
+        this.cipher = cipher;
+        byte[] h = new byte[BLOCK_SIZE];
+        cipher.encryptBlock(h, 0, h, 0);
+        this.ghash = new GHASH(h);
+        Arrays.fill(h, (byte) 0);
+    }
+
+    /**
+     * Szyfruje dane i dołącza znacznik uwierzytelniający.
+     *
+     * @param iv   Wektor inicjalizujący (zalecane 12 bajtów, niepowtarzalny dla klucza)
+     * @param aad  Dane dodatkowe uwierzytelniane, ale nieszyfrowane (może być null)
+     * @param data Dane do zaszyfrowania
+     * @return Szyfrogram z dołączonym 16-bajtowym znacznikiem
+     */
+    public byte[] encrypt(byte[] iv, byte[] aad, byte[] data) {
+        Operation operation = startEncryption(iv);
+        if (aad != null) {
+            operation.updateAAD(aad, 0, aad.length);
+        }
+        byte[] out = new byte[data.length + TAG_LENGTH];
+        operation.update(data, 0, data.length, out, 0);
+        operation.finish(out, data.length);
+        return out;
+    }
+
+    /**
+     * Weryfikuje znacznik i deszyfruje dane. Odszyfrowane dane zwracane są tylko po poprawnej weryfikacji.
+     *
+     * @param iv        Wektor inicjalizujący użyty przy szyfrowaniu
+     * @param aad       Dane dodatkowe (może być null)
+     * @param encrypted Szyfrogram z dołączonym 16-bajtowym znacznikiem
+     * @return Odszyfrowane dane
+     * @throws AEADBadTagException gdy znacznik jest niepoprawny
+     */
+    public byte[] decrypt(byte[] iv, byte[] aad, byte[] encrypted) throws AEADBadTagException {
+        if (encrypted.length < TAG_LENGTH) {
+            throw new AEADBadTagException("Ciphertext is shorter than the authentication tag");
+        }
+        int dataLength = encrypted.length - TAG_LENGTH;
+        Operation operation = startDecryption(iv);
+        if (aad != null) {
+            operation.updateAAD(aad, 0, aad.length);
+        }
+        byte[] out = new byte[dataLength];
+        operation.update(encrypted, 0, dataLength, out, 0);
+        try {
+            operation.verify(encrypted, dataLength);
+        } catch (AEADBadTagException e) {
+            Arrays.fill(out, (byte) 0);
+            throw e;
+        }
+        return out;
+    }
+
+    /**
+     * Rozpoczyna szyfrowanie porcjami.
+     *
+     * @param iv Wektor inicjalizujący (niepusty, zalecane 12 bajtów)
+     * @return Nowa operacja szyfrowania
+     */
+    public Operation startEncryption(byte[] iv) {
+        return new Operation(iv, true);
+    }
+
+    /**
+     * Rozpoczyna deszyfrowanie porcjami. Odszyfrowane dane zwracane przez
+     * {@link Operation#update} nie są uwierzytelnione, dopóki {@link Operation#verify} nie zakończy się sukcesem.
+     *
+     * @param iv Wektor inicjalizujący użyty przy szyfrowaniu
+     * @return Nowa operacja deszyfrowania
+     */
+    public Operation startDecryption(byte[] iv) {
+        return new Operation(iv, false);
+    }
+
+    /**
+     * Pojedyncza operacja szyfrowania lub deszyfrowania GCM. Dane dodatkowe muszą zostać przekazane
+     * przed danymi. Obiekt nie jest bezpieczny wątkowo.
+     */
+    public final class Operation {
+
+        private final boolean encryption;
+        private final byte[] j0 = new byte[BLOCK_SIZE];         // Blok licznika J0 (do znacznika)
+        private final byte[] counter = new byte[BLOCK_SIZE];    // Bieżący blok licznika
+        // Porcja strumienia klucza wyznaczana jednym wywołaniem transformacji blokowej
+        private final byte[] keyStream = new byte[CTRMode.KEY_STREAM_BLOCKS * BLOCK_SIZE];
+        private int keyStreamLen;                               // Liczba wyznaczonych bajtów strumienia klucza
+        private int keyStreamPos;                               // Pozycja w strumieniu klucza
+
+        private final long[] hashState = new long[2];           // Stan GHASH
+        private final byte[] hashBuffer = new byte[BLOCK_SIZE]; // Niepełny blok oczekujący na GHASH
+        private int hashBufferLen;
+
+        private long aadLength;     // Długość danych dodatkowych w bajtach
+        private long dataLength;    // Długość danych w bajtach
+        private boolean dataStarted;
+        private boolean finished;
+
+        private Operation(byte[] iv, boolean encryption) {
+            if (iv == null || iv.length == 0) {
+                throw new IllegalArgumentException("IV must not be empty");
+            }
+            this.encryption = encryption;
+
+            if (iv.length == 12) {
+                // J0 = IV || 0^31 || 1
+                System.arraycopy(iv, 0, j0, 0, 12);
+                j0[15] = 1;
+            } else {
+                // J0 = GHASH(IV || dopełnienie || 0^64 || [długość IV w bitach]64)
+                long[] y = new long[2];
+                byte[] block = new byte[BLOCK_SIZE];
+                for (int off = 0; off < iv.length; off += BLOCK_SIZE) {
+                    int n = Math.min(BLOCK_SIZE, iv.length - off);
+                    Arrays.fill(block, (byte) 0);
+                    System.arraycopy(iv, off, block, 0, n);
+                    ghash.update(y, block, 0);
+                }
+                y[1] ^= (long) iv.length * 8;
+                ghash.multiply(y);
+                GHASH.putLong(j0, 0, y[0]);
+                GHASH.putLong(j0, 8, y[1]);
+            }
+
+            System.arraycopy(j0, 0, counter, 0, BLOCK_SIZE);
+        }
+
+        /**
+         * Dołącza dane dodatkowe (uwierzytelniane, nieszyfrowane).
+         *
+         * @param aad Tablica z danymi
+         * @param off Przesunięcie
+         * @param len Liczba bajtów
+         * @throws IllegalStateException gdy przetwarzanie danych już się rozpoczęło
+         */
+        public void updateAAD(byte[] aad, int off, int len) {
+            checkNotFinished();
+            if (dataStarted) {
+                throw new IllegalStateException("AAD must be supplied before data");
+            }
+            hash(aad, off, len);
+            aadLength += len;
+        }
+
+        /**
+         * Przetwarza kolejną porcję danych. Wynik ma tę samą długość co wejście.
+         * Tablica wyjściowa może być tą samą tablicą co wejściowa.
+         *
+         * @param in     Tablica wejściowa
+         * @param inOff  Przesunięcie w tablicy wejściowej
+         * @param len    Liczba bajtów
+         * @param out    Tablica wyjściowa
+         * @param outOff Przesunięcie w tablicy wyjściowej
+         * @return Liczba bajtów zapisanych do tablicy wyjściowej (równa len)
+         * @throws IllegalStateException gdy przekroczono limit danych dla jednego IV
+         */
+        public int update(byte[] in, int inOff, int len, byte[] out, int outOff) {
+            checkNotFinished();
+            if (!dataStarted) {
+                // Zakończenie danych dodatkowych dopełnieniem zerami do pełnego bloku
+                flushHashBuffer();
+                dataStarted = true;
+            }
+            if (len > MAX_DATA_LENGTH - dataLength) {
+                throw new IllegalStateException("Too much data for a single GCM invocation");
+            }
+            dataLength += len;
+            Instrumentation.Measurement measurement = Instrumentation.CURRENT.start();
+            try {
+                // Przy deszyfrowaniu GHASH liczony jest z szyfrogramu przed jego nadpisaniem
+                if (!encryption) {
+                    hash(in, inOff, len);
+                }
+                int done = 0;
+                while (done < len) {
+                    if (keyStreamPos == keyStreamLen) {
+                        nextKeyStream(len - done);
+                    }
+                    // Niewykorzystana część porcji przechodzi do kolejnego wywołania
+                    int n = Math.min(len - done, keyStreamLen - keyStreamPos);
+                    xor(in, inOff + done, keyStream, keyStreamPos, out, outOff + done, n);
+                    keyStreamPos += n;
+                    done += n;
+                }
+                if (encryption) {
+                    hash(out, outOff, len);
+                }
+            } finally {
+                Instrumentation.CURRENT.end(encryption ? CipherOperation.GCM_ENCRYPT : CipherOperation.GCM_DECRYPT,
+                        cipher.rounds(), len, measurement);
+            }
+            return len;
+        }
+
+        /**
+         * Kończy szyfrowanie i zapisuje 16-bajtowy znacznik uwierzytelniający.
+         *
+         * @param out    Tablica wyjściowa
+         * @param outOff Przesunięcie znacznika
+         * @throws IllegalStateException gdy operacja jest deszyfrowaniem lub już została zakończona
+         */
+        public void finish(byte[] out, int outOff) {
+            if (!encryption) {
+                throw new IllegalStateException("Use verify() to finish decryption");
+            }
+            byte[] tag = computeTag();
+            System.arraycopy(tag, 0, out, outOff, TAG_LENGTH);
+        }
+
+        /**
+         * Kończy szyfrowanie i zwraca znacznik uwierzytelniający.
+         *
+         * @return Znacznik (16 bajtów)
+         */
+        public byte[] finish() {
+            byte[] tag = new byte[TAG_LENGTH];
+            finish(tag, 0);
+            return tag;
+        }
+
+        /**
+         * Kończy deszyfrowanie i weryfikuje znacznik uwierzytelniający (porównanie w stałym czasie).
+         *
+         * @param tag    Tablica ze znacznikiem
+         * @param tagOff Przesunięcie znacznika (16 bajtów)
+         * @throws AEADBadTagException   gdy znacznik jest niepoprawny
+         * @throws IllegalStateException gdy operacja jest szyfrowaniem lub już została zakończona
+         */
+        public void verify(byte[] tag, int tagOff) throws AEADBadTagException {
+            if (encryption) {
+                throw new IllegalStateException("Use finish() to finish encryption");
+            }
+            byte[] expected = computeTag();
+            byte[] actual = Arrays.copyOfRange(tag, tagOff, tagOff + TAG_LENGTH);
+            if (!MessageDigest.isEqual(expected, actual)) {
+                throw new AEADBadTagException("Tag mismatch");
+            }
+        }
+
+        /**
+         * Wyznacza znacznik: E(K, J0) xor GHASH(A, C, długości).
+         */
+        /**
+         * Wyznacza kolejną porcję strumienia klucza - tyle bloków licznika, ile mieści tablica, ale nie
+         * więcej niż potrzeba dla remaining bajtów - szyfrując je jednym wywołaniem transformacji blokowej.
+         */
+        private void nextKeyStream(int remaining) {
+            int n = Math.min(keyStream.length, (remaining + BLOCK_SIZE - 1) / BLOCK_SIZE * BLOCK_SIZE);
+            for (int off = 0; off < n; off += BLOCK_SIZE) {
+                increment32(counter);
+                System.arraycopy(counter, 0, keyStream, off, BLOCK_SIZE);
+            }
+            cipher.blockEngine().encryptBlocks(keyStream, 0, keyStream, 0, n);
+            keyStreamLen = n;
+            keyStreamPos = 0;
+        }
+
+        private byte[] computeTag() {
+            checkNotFinished();
+            finished = true;
+            flushHashBuffer();
+
+            // Blok długości: [len(A)]64 || [len(C)]64 w bitach
+            hashState[0] ^= aadLength * 8;
+            hashState[1] ^= dataLength * 8;
+            ghash.multiply(hashState);
+
+            byte[] tag = new byte[BLOCK_SIZE];
+            cipher.encryptBlock(j0, 0, tag, 0);
+            GHASH.putLong(tag, 0, GHASH.getLong(tag, 0) ^ hashState[0]);
+            GHASH.putLong(tag, 8, GHASH.getLong(tag, 8) ^ hashState[1]);
+            return tag;
+        }
+
+        /**
+         * Dołącza dane do GHASH, buforując niepełny blok.
+         */
+        private void hash(byte[] buf, int off, int len) {
+            if (hashBufferLen > 0) {
+                int n = Math.min(len, BLOCK_SIZE - hashBufferLen);
+                System.arraycopy(buf, off, hashBuffer, hashBufferLen, n);
+                hashBufferLen += n;
+                off += n;
+                len -= n;
+                if (hashBufferLen < BLOCK_SIZE) {
+                    return;
+                }
+                ghash.update(hashState, hashBuffer, 0);
+                hashBufferLen = 0;
+            }
+            while (len >= BLOCK_SIZE) {
+                ghash.update(hashState, buf, off);
+                off += BLOCK_SIZE;
+                len -= BLOCK_SIZE;
+            }
+            if (len > 0) {
+                System.arraycopy(buf, off, hashBuffer, 0, len);
+                hashBufferLen = len;
+            }
+        }
+
+        /**
+         * Dopełnia zerami i dołącza do GHASH niepełny blok z bufora.
+         */
+        private void flushHashBuffer() {
+            if (hashBufferLen > 0) {
+                Arrays.fill(hashBuffer, hashBufferLen, BLOCK_SIZE, (byte) 0);
+                ghash.update(hashState, hashBuffer, 0);
+                hashBufferLen = 0;
+            }
+        }
+
+        private void checkNotFinished() {
+            if (finished) {
+                throw new IllegalStateException("GCM operation already finished");
+            }
+        }
+    }
+
+    /**
+     * Łączy dane ze strumieniem klucza operacją XOR, słowami 64-bitowymi, a pozostałe bajty pojedynczo.
+     */
+    private static void xor(byte[] in, int inOff, byte[] keyStream, int keyOff, byte[] out, int outOff, int len) {
+        int i = 0;
+        for (; i + 8 <= len; i += 8) {
+            GHASH.putLong(out, outOff + i, GHASH.getLong(in, inOff + i) ^ GHASH.getLong(keyStream, keyOff + i));
+        }
+        for (; i < len; i++) {
+            out[outOff + i] = (byte) (in[inOff + i] ^ keyStream[keyOff + i]);
+        }
+    }
+
+    /**
+     * Zwiększa o 1 ostatnie 32 bity bloku licznika (funkcja inc32 z SP 800-38D).
+     */
+    private static void increment32(byte[] counter) {
+        for (int i = BLOCK_SIZE - 1; i >= BLOCK_SIZE - 4; i--) {
+            if (++counter[i] != 0) {
+                break;
+            }
+        }
+    }
+}
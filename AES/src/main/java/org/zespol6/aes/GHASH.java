@@ -0,0 +1,133 @@
+/*
+ * Nazwa programu: AES-cipher
+ * Copyright (C) 2025  Mateusz Kosowski Nikodem Nowak
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package org.zespol6.aes;
+
+/**
+ * Mnożenie przez klucz skrótu H w ciele GF(2^128) używane przez funkcję GHASH trybu GCM.
+ * Zamiast mnożenia bit po bicie wykorzystuje 4-bitowe tablice (metoda Shoupa):
+ * 16 wielokrotności H wyznaczanych raz dla klucza i stałą tablicę redukcji.
+ * Obiekt jest niezmienny i może być współdzielony przez wiele wątków.
+ */
+final class GHASH {
+
+    // Redukcja modulo x^128 + x^7 + x^2 + x + 1 dla 4 bitów wysuniętych przy przesunięciu
+    private static final long[] LAST4 = {
+            0x0000, 0x1c20, 0x3840, 0x2460, 0x7080, 0x6ca0, 0x48c0, 0x54e0,
+            0xe100, 0xfd20, 0xd940, 0xc560, 0x9180, 0x8da0, 0xa9c0, 0xb5e0
+    };
+
+    // Wielokrotności H dla wszystkich wartości 4-bitowych (starsza i młodsza połowa)
+    private final long[] hh = new long[16];
+    private final long[] hl = new long[16];
+
+    /**
+     * Wyznacza tablice dla klucza skrótu.
+     *
+     * @param h Klucz skrótu H = E(K, 0^128) (16 bajtów)
+     */
+    GHASH(byte[] h) {
+        long vh = getLong(h, 0);
+        long vl = getLong(h, 8);
+
+        // Indeks 8 odpowiada H, kolejne potęgi dwójki to H podzielone przez x
+        hh[8] = vh;
+        hl[8] = vl;
+        for (int i = 4; i > 0; i >>= 1) {
+            long t = (vl & 1) * 0xe1000000L;
+            vl = (vh << 63) | (vl >>> 1);
+            vh = (vh >>> 1) ^ (t << 32);
+            hh[i] = vh;
+            hl[i] = vl;
+        }
+
+        // Pozostałe indeksy jako sumy (XOR) potęg dwójki
+        for (int i = 2; i <= 8; i *= 2) {
+            for (int j = 1; j < i; j++) {
+                hh[i + j] = hh[i] ^ hh[j];
+                hl[i + j] = hl[i] ^ hl[j];
+            }
+        }
+    }
+
+    /**
+     * Mnoży stan (dwa słowa 64-bitowe, big-endian) przez H w miejscu.
+     *
+     * @param y Stan: y[0] - starsze 64 bity, y[1] - młodsze 64 bity
+     */
+    void multiply(long[] y) {
+        long xh = y[0];
+        long xl = y[1];
+
+        int lo = (int) (xl & 0x0F);
+        long zh = hh[lo];
+        long zl = hl[lo];
+
+        // Przetwarzanie bajtów od ostatniego do pierwszego, po 4 bity
+        for (int i = 15; i >= 0; i--) {
+            int b = (int) ((i < 8 ? xh >>> (56 - 8 * i) : xl >>> (120 - 8 * i)) & 0xFF);
+            lo = b & 0x0F;
+            int hi = b >>> 4;
+
+            if (i != 15) {
+                int rem = (int) (zl & 0x0F);
+                zl = (zh << 60) | (zl >>> 4);
+                zh = (zh >>> 4) ^ (LAST4[rem] << 48);
+                zh ^= hh[lo];
+                zl ^= hl[lo];
+            }
+
+            int rem = (int) (zl & 0x0F);
+            zl = (zh << 60) | (zl >>> 4);
+            zh = (zh >>> 4) ^ (LAST4[rem] << 48);
+            zh ^= hh[hi];
+            zl ^= hl[hi];
+        }
+
+        y[0] = zh;
+        y[1] = zl;
+    }
+
+    /**
+     * Dołącza do stanu pełny blok 16 bajtów: Y = (Y xor X) * H.
+     *
+     * @param y   Stan
+     * @param buf Tablica z blokiem
+     * @param off Przesunięcie bloku
+     */
+    void update(long[] y, byte[] buf, int off) {
+        y[0] ^= getLong(buf, off);
+        y[1] ^= getLong(buf, off + 8);
+        multiply(y);
+    }
+
+    /**
+     * Odczytuje słowo 64-bitowe w kolejności big-endian.
+     */
+    static long getLong(byte[] b, int off) {
+        return ((long) TTableEngine.getInt(b, off) << 32) | (TTableEngine.getInt(b, off + 4) & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Zapisuje słowo 64-bitowe w kolejności big-endian.
+     */
+    static void putLong(byte[] b, int off, long v) {
+        TTableEngine.putInt(b, off, (int) (v >>> 32));
+        TTableEngine.putInt(b, off + 4, (int) v);
+    }
+}
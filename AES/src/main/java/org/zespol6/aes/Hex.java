@@ -0,0 +1,281 @@
+/*
+ * Nazwa programu: AES-cipher
+ * Copyright (C) 2025  Mateusz Kosowski Nikodem Nowak
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package org.zespol6.aes;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Kodowanie i dekodowanie szesnastkowe oparte na tablicach.
+ * Operacje blokowe zapisują wynik do buforów przekazanych przez wywołującego i nie alokują pamięci,
+ * a wersje strumieniowe przetwarzają dane porcjami, więc nadają się do plików większych niż pamięć.
+ * Kodowanie używa wielkich liter, dekodowanie akceptuje obie wielkości liter.
+ */
+public final class Hex {
+
+    private static final int BUFFER_SIZE = 64 * 1024;   // Rozmiar bufora w wersjach strumieniowych
+
+    private static final char[] DIGITS = "0123456789ABCDEF".toCharArray();
+    private static final char[] HIGH = new char[256];   // Pierwsza cyfra zapisu bajtu
+    private static final char[] LOW = new char[256];    // Druga cyfra zapisu bajtu
+    private static final byte[] VALUES = new byte[128]; // Wartości cyfr (-1 dla znaków spoza alfabetu)
+
+    static {
+        for (int i = 0; i < 256; i++) {
+            HIGH[i] = DIGITS[i >>> 4];
+            LOW[i] = DIGITS[i & 0xF];
+        }
+        Arrays.fill(VALUES, (byte) -1);
+        for (int i = 0; i < 16; i++) {
+            VALUES[DIGITS[i]] = (byte) i;
+            VALUES[Character.toLowerCase(DIGITS[i])] = (byte) i;
+        }
+    }
+
+    private Hex() {
+    }
+
+    /**
+     * Koduje bajty jako ciąg znaków szesnastkowych.
+     *
+     * @param bytes Dane
+     * @return Ciąg znaków szesnastkowych (dwa znaki na bajt)
+     */
+    public static String encode(byte[] bytes) {
+        char[] chars = new char[bytes.length * 2];
+        encode(bytes, 0, bytes.length, chars, 0);
+        return new String(chars);
+    }
+
+    /**
+     * Koduje fragment tablicy bajtów do tablicy znaków.
+     *
+     * @param in     Dane
+     * @param inOff  Przesunięcie danych
+     * @param len    Liczba bajtów
+     * @param out    Tablica wynikowa (co najmniej 2 * len znaków od outOff)
+     * @param outOff Przesunięcie wyniku
+     */
+    public static void encode(byte[] in, int inOff, int len, char[] out, int outOff) {
+        Objects.checkFromIndexSize(inOff, len, in.length);
+        Objects.checkFromIndexSize(outOff, 2 * len, out.length);
+        for (int i = 0; i < len; i++) {
+            int b = in[inOff + i] & 0xFF;
+            out[outOff++] = HIGH[b];
+            out[outOff++] = LOW[b];
+        }
+    }
+
+    /**
+     * Koduje fragment tablicy bajtów do tablicy bajtów ze znakami ASCII.
+     *
+     * @param in     Dane
+     * @param inOff  Przesunięcie danych
+     * @param len    Liczba bajtów
+     * @param out    Tablica wynikowa (co najmniej 2 * len bajtów od outOff)
+     * @param outOff Przesunięcie wyniku
+     */
+    public static void encode(byte[] in, int inOff, int len, byte[] out, int outOff) {
+        Objects.checkFromIndexSize(inOff, len, in.length);
+        Objects.checkFromIndexSize(outOff, 2 * len, out.length);
+        for (int i = 0; i < len; i++) {
+            int b = in[inOff + i] & 0xFF;
+            out[outOff++] = (byte) HIGH[b];
+            out[outOff++] = (byte) LOW[b];
+        }
+    }
+
+    /**
+     * Koduje pozostałe bajty bufora wejściowego jako znaki ASCII w buforze wyjściowym.
+     * Pozycje obu buforów są przesuwane.
+     *
+     * @param in  Dane
+     * @param out Bufor wynikowy (co najmniej 2 * in.remaining() wolnych bajtów)
+     */
+    public static void encode(ByteBuffer in, ByteBuffer out) {
+        if (out.remaining() < 2 * in.remaining()) {
+            throw new IllegalArgumentException("Output buffer too small");
+        }
+        while (in.hasRemaining()) {
+            int b = in.get() & 0xFF;
+            out.put((byte) HIGH[b]);
+            out.put((byte) LOW[b]);
+        }
+    }
+
+    /**
+     * Dekoduje ciąg znaków szesnastkowych.
+     *
+     * @param hex Ciąg znaków szesnastkowych
+     * @return Tablica bajtów
+     * @throws IllegalArgumentException gdy długość ciągu nie jest parzysta lub zawiera on inne znaki
+     */
+    public static byte[] decode(CharSequence hex) {
+        if (hex.length() % 2 != 0) {
+            throw new IllegalArgumentException("Hex string must have an even length");
+        }
+        byte[] out = new byte[hex.length() / 2];
+        for (int i = 0; i < out.length; i++) {
+            out[i] = (byte) (digit(hex.charAt(2 * i)) << 4 | digit(hex.charAt(2 * i + 1)));
+        }
+        return out;
+    }
+
+    /**
+     * Dekoduje fragment tablicy znaków do tablicy bajtów.
+     *
+     * @param in     Znaki szesnastkowe
+     * @param inOff  Przesunięcie znaków
+     * @param len    Liczba znaków (parzysta)
+     * @param out    Tablica wynikowa (co najmniej len / 2 bajtów od outOff)
+     * @param outOff Przesunięcie wyniku
+     */
+    public static void decode(char[] in, int inOff, int len, byte[] out, int outOff) {
+        if (len % 2 != 0) {
+            throw new IllegalArgumentException("Hex string must have an even length");
+        }
+        Objects.checkFromIndexSize(inOff, len, in.length);
+        Objects.checkFromIndexSize(outOff, len / 2, out.length);
+        for (int i = 0; i < len; i += 2) {
+            out[outOff++] = (byte) (digit(in[inOff + i]) << 4 | digit(in[inOff + i + 1]));
+        }
+    }
+
+    /**
+     * Dekoduje fragment tablicy bajtów ze znakami ASCII do tablicy bajtów (może to być ta sama tablica,
+     * jeśli outOff &lt;= inOff).
+     *
+     * @param in     Znaki szesnastkowe w ASCII
+     * @param inOff  Przesunięcie znaków
+     * @param len    Liczba znaków (parzysta)
+     * @param out    Tablica wynikowa (co najmniej len / 2 bajtów od outOff)
+     * @param outOff Przesunięcie wyniku
+     */
+    public static void decode(byte[] in, int inOff, int len, byte[] out, int outOff) {
+        if (len % 2 != 0) {
+            throw new IllegalArgumentException("Hex string must have an even length");
+        }
+        Objects.checkFromIndexSize(inOff, len, in.length);
+        Objects.checkFromIndexSize(outOff, len / 2, out.length);
+        for (int i = 0; i < len; i += 2) {
+            out[outOff++] = (byte) (digit(in[inOff + i]) << 4 | digit(in[inOff + i + 1]));
+        }
+    }
+
+    /**
+     * Dekoduje pozostałe znaki ASCII bufora wejściowego do bufora wyjściowego.
+     * Pozycje obu buforów są przesuwane.
+     *
+     * @param in  Znaki szesnastkowe w ASCII (parzysta liczba)
+     * @param out Bufor wynikowy (co najmniej in.remaining() / 2 wolnych bajtów)
+     */
+    public static void decode(ByteBuffer in, ByteBuffer out) {
+        if (in.remaining() % 2 != 0) {
+            throw new IllegalArgumentException("Hex string must have an even length");
+        }
+        if (out.remaining() < in.remaining() / 2) {
+            throw new IllegalArgumentException("Output buffer too small");
+        }
+        while (in.hasRemaining()) {
+            int high = digit(in.get());
+            out.put((byte) (high << 4 | digit(in.get())));
+        }
+    }
+
+    /**
+     * Koduje strumień danych jako znaki szesnastkowe ASCII, porcjami o stałym rozmiarze.
+     * Strumienie nie są zamykane.
+     *
+     * @param in  Strumień danych
+     * @param out Strumień znaków szesnastkowych
+     * @return Liczba zakodowanych bajtów
+     * @throws IOException Błąd odczytu lub zapisu
+     */
+    public static long encode(InputStream in, OutputStream out) throws IOException {
+        byte[] buffer = new byte[BUFFER_SIZE];
+        byte[] chars = new byte[2 * BUFFER_SIZE];
+        long total = 0;
+        int n;
+        while ((n = in.read(buffer)) >= 0) {
+            encode(buffer, 0, n, chars, 0);
+            out.write(chars, 0, 2 * n);
+            total += n;
+        }
+        return total;
+    }
+
+    /**
+     * Dekoduje strumień znaków szesnastkowych ASCII, porcjami o stałym rozmiarze.
+     * Białe znaki (np. końce wierszy) są pomijane. Strumienie nie są zamykane.
+     *
+     * @param in  Strumień znaków szesnastkowych
+     * @param out Strumień zdekodowanych danych
+     * @return Liczba zdekodowanych bajtów
+     * @throws IOException              Błąd odczytu lub zapisu
+     * @throws IllegalArgumentException gdy strumień zawiera inne znaki lub nieparzystą liczbę cyfr
+     */
+    public static long decode(InputStream in, OutputStream out) throws IOException {
+        byte[] buffer = new byte[BUFFER_SIZE];
+        long total = 0;
+        int pending = -1;   // Pierwsza cyfra bajtu rozdzielonego między porcjami
+        int n;
+        while ((n = in.read(buffer)) >= 0) {
+            int count = 0;
+            for (int i = 0; i < n; i++) {
+                byte c = buffer[i];
+                if (c == ' ' || c == '\n' || c == '\r' || c == '\t') {
+                    continue;
+                }
+                if (pending < 0) {
+                    pending = digit(c);
+                } else {
+                    // Wynik zapisywany w miejscu - zawsze za odczytanymi już znakami
+                    buffer[count++] = (byte) (pending << 4 | digit(c));
+                    pending = -1;
+                }
+            }
+            out.write(buffer, 0, count);
+            total += count;
+        }
+        if (pending >= 0) {
+            throw new IllegalArgumentException("Hex string must have an even length");
+        }
+        return total;
+    }
+
+    /**
+     * Zwraca wartość cyfry szesnastkowej.
+     *
+     * @param c Znak
+     * @return Wartość 0-15
+     * @throws IllegalArgumentException gdy znak nie jest cyfrą szesnastkową
+     */
+    private static int digit(int c) {
+        int v = c >= 0 && c < VALUES.length ? VALUES[c] : -1;
+        if (v < 0) {
+            throw new IllegalArgumentException("Invalid hex character: " + (char) (c & 0xFFFF));
+        }
+        return v;
+    }
+}
@@ -0,0 +1,151 @@
+/*
+ * Nazwa programu: AES-cipher
+ * Copyright (C) 2025  Mateusz Kosowski Nikodem Nowak
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package org.zespol6.aes;
+
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+
+/**
+ * Miejsce pomiaru operacji modułu. Wywołujący rozpoczyna pomiar przed operacją ({@link #start()})
+ * i przekazuje zwrócony uchwyt do {@link #end} w bloku {@code finally}.
+ *
+ * <p>Implementacja wybierana jest raz, przy ładowaniu klasy, i przechowywana w stałej {@link #CURRENT}.
+ * Dla wyłączonych pomiarów jest to {@link NoOp} - zwraca stały uchwyt, a wywołania jej pustych metod
+ * kompilator JIT wstawia w miejscu wywołania i usuwa, bez odczytu zegara.</p>
+ */
+interface Instrumentation {
+
+    /**
+     * Implementacja używana przez moduł (zależna od {@link CipherMetrics#isEnabled()}).
+     */
+    Instrumentation CURRENT = CipherMetrics.isEnabled() ? new Recording(CipherMetrics.global()) : new NoOp();
+
+    /**
+     * Rozpoczyna pomiar operacji szyfrowania lub deszyfrowania.
+     *
+     * @return Uchwyt pomiaru przekazywany do {@link #end}
+     */
+    Measurement start();
+
+    /**
+     * Rozpoczyna pomiar wyznaczania harmonogramu kluczy ({@link CipherOperation#KEY_EXPANSION}).
+     *
+     * @return Uchwyt pomiaru przekazywany do {@link #end}
+     */
+    Measurement startKeyExpansion();
+
+    /**
+     * Kończy pomiar operacji.
+     *
+     * @param operation   Operacja
+     * @param rounds      Liczba rund (wyznacza długość klucza)
+     * @param len         Liczba przetworzonych bajtów
+     * @param measurement Uchwyt zwrócony przez {@link #start()} lub {@link #startKeyExpansion()}
+     */
+    void end(CipherOperation operation, int rounds, long len, Measurement measurement);
+
+    /**
+     * Rozpoczęty pomiar: znacznik czasu i rozpoczęte zdarzenie JFR (null, gdy typ zdarzenia
+     * nie jest włączony w nagraniu).
+     */
+    final class Measurement {
+
+        static final Measurement NONE = new Measurement(0, null);
+
+        private final long start;       // Znacznik czasu System.nanoTime()
+        private final Event event;      // Zdarzenie JFR lub null
+
+        private Measurement(long start, Event event) {
+            this.start = start;
+            this.event = event;
+        }
+    }
+
+    /**
+     * Pusta implementacja - pomiary wyłączone.
+     */
+    final class NoOp implements Instrumentation {
+
+        @Override
+        public Measurement start() {
+            return Measurement.NONE;
+        }
+
+        @Override
+        public Measurement startKeyExpansion() {
+            return Measurement.NONE;
+        }
+
+        @Override
+        public void end(CipherOperation operation, int rounds, long len, Measurement measurement) {
+        }
+    }
+
+    /**
+     * Implementacja zapisująca pomiary w {@link CipherMetrics} i emitująca zdarzenia JFR.
+     *
+     * <p>Zdarzenie JFR rozpoczynane jest ({@link Event#begin()}) w {@link #start()} i przekazywane do {@link #end}
+     * w uchwycie pomiaru, więc jego czas trwania obejmuje całą operację. Gdy typ zdarzenia nie jest włączony
+     * w nagraniu, obiekt zdarzenia nie jest tworzony.</p>
+     */
+    final class Recording implements Instrumentation {
+
+        // Typy zdarzeń JFR - obiekt zdarzenia tworzony jest tylko wtedy, gdy typ jest włączony w nagraniu
+        private static final EventType OPERATION_EVENT = EventType.getEventType(CipherOperationEvent.class);
+        private static final EventType KEY_EXPANSION_EVENT = EventType.getEventType(KeyExpansionEvent.class);
+
+        private final CipherMetrics metrics;
+
+        Recording(CipherMetrics metrics) {
+            this.metrics = metrics;
+        }
+
+        @Override
+        public Measurement start() {
+            Event event = OPERATION_EVENT.isEnabled() ? begin(new CipherOperationEvent()) : null;
+            return new Measurement(System.nanoTime(), event);
+        }
+
+        @Override
+        public Measurement startKeyExpansion() {
+            Event event = KEY_EXPANSION_EVENT.isEnabled() ? begin(new KeyExpansionEvent()) : null;
+            return new Measurement(System.nanoTime(), event);
+        }
+
+        private static Event begin(Event event) {
+            event.begin();
+            return event;
+        }
+
+        @Override
+        public void end(CipherOperation operation, int rounds, long len, Measurement measurement) {
+            metrics.record(operation, rounds, len, System.nanoTime() - measurement.start);
+
+            if (measurement.event instanceof KeyExpansionEvent event) {
+                event.keySize = 32 * (rounds - 6);
+                event.commit();
+            } else if (measurement.event instanceof CipherOperationEvent event) {
+                event.operation = operation.name();
+                event.keySize = 32 * (rounds - 6);
+                event.bytes = len;
+                event.commit();
+            }
+        }
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * Nazwa programu: AES-cipher
+ * Copyright (C) 2025  Mateusz Kosowski Nikodem Nowak
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package org.zespol6.aes;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Transformacja blokowa wykonywana przez implementacje projektu: referencyjną ({@link AES}),
+ * tablicową ({@link TTableEngine}), bitsliced ({@link BitslicedEngine}) i wektorową ({@link VectorEngine}).
+ */
+final class JavaBlockEngine implements BlockEngine {
+
+    private final Engine engine;                // Implementacja
+    private final KeySchedule schedule;         // Harmonogram kluczy
+    private final AES reference;                // Obiekt z kluczami rund dla implementacji referencyjnej
+
+    /**
+     * @param engine   Implementacja projektu (inna niż {@link Engine#JCE}, dostępna w bieżącej maszynie wirtualnej)
+     * @param schedule Harmonogram kluczy
+     */
+    JavaBlockEngine(Engine engine, KeySchedule schedule) {
+        this.engine = engine;
+        this.schedule = schedule;
+        this.reference = (engine == Engine.REFERENCE) ? AES.withSchedule(schedule) : null;
+    }
+
+    @Override
+    public Engine engine() {
+        return engine;
+    }
+
+    @Override
+    public void encryptBlocks(byte[] in, int inOff, byte[] out, int outOff, int len) {
+        switch (engine) {
+            case REFERENCE -> reference.encryptBlocks(in, inOff, out, outOff, len);
+            case BITSLICED -> BitslicedEngine.encryptBlocks(schedule.bitslicedRoundKeys(), in, inOff, out, outOff, len);
+            case VECTOR -> VectorSupport.encryptBlocks(schedule.vectorRoundKeys(), in, inOff, out, outOff, len);
+            default -> {
+                int[] roundKeys = schedule.encryptionRoundKeys();
+                for (int i = 0; i < len; i += BLOCK_SIZE) {
+                    TTableEngine.encryptBlock(roundKeys, in, inOff + i, out, outOff + i);
+                }
+            }
+        }
+    }
+
+    @Override
+    public void decryptBlocks(byte[] in, int inOff, byte[] out, int outOff, int len) {
+        switch (engine) {
+            case REFERENCE -> reference.decryptBlocks(in, inOff, out, outOff, len);
+            case BITSLICED -> BitslicedEngine.decryptBlocks(schedule.bitslicedRoundKeys(), in, inOff, out, outOff, len);
+            case VECTOR -> VectorSupport.decryptBlocks(schedule.vectorRoundKeys(), in, inOff, out, outOff, len);
+            default -> {
+                int[] roundKeys = schedule.decryptionRoundKeys();
+                for (int i = 0; i < len; i += BLOCK_SIZE) {
+                    TTableEngine.decryptBlock(roundKeys, in, inOff + i, out, outOff + i);
+                }
+            }
+        }
+    }
+
+    @Override
+    public void encryptBlocks(ByteBuffer in, int inIndex, ByteBuffer out, int outIndex, int len) {
+        if (engine == Engine.T_TABLE) {
+            // Bezpośrednio na buforach (także poza stertą), bez kopiowania do tablic
+            int[] roundKeys = schedule.encryptionRoundKeys();
+            for (int i = 0; i < len; i += BLOCK_SIZE) {
+                TTableEngine.encryptBlock(roundKeys, in, inIndex + i, out, outIndex + i);
+            }
+        } else {
+            BlockEngine.super.encryptBlocks(in, inIndex, out, outIndex, len);
+        }
+    }
+
+    @Override
+    public void decryptBlocks(ByteBuffer in, int inIndex, ByteBuffer out, int outIndex, int len) {
+        if (engine == Engine.T_TABLE) {
+            int[] roundKeys = schedule.decryptionRoundKeys();
+            for (int i = 0; i < len; i += BLOCK_SIZE) {
+                TTableEngine.decryptBlock(roundKeys, in, inIndex + i, out, outIndex + i);
+            }
+        } else {
+            BlockEngine.super.decryptBlocks(in, inIndex, out, outIndex, len);
+        }
+    }
+
+    @Override
+    public void encryptBlock(ByteBuffer in, int inIndex, ByteBuffer out, int outIndex) {
+        if (engine == Engine.T_TABLE) {
+            // Bez kopiowania przez tablicę pomocniczą
+            TTableEngine.encryptBlock(schedule.encryptionRoundKeys(), in, inIndex, out, outIndex);
+        } else {
+            BlockEngine.super.encryptBlock(in, inIndex, out, outIndex);
+        }
+    }
+
+    @Override
+    public void decryptBlock(ByteBuffer in, int inIndex, ByteBuffer out, int outIndex) {
+        if (engine == Engine.T_TABLE) {
+            TTableEngine.decryptBlock(schedule.decryptionRoundKeys(), in, inIndex, out, outIndex);
+        } else {
+            BlockEngine.super.decryptBlock(in, inIndex, out, outIndex);
+        }
+    }
+}
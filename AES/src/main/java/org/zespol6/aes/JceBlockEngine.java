@@ -0,0 +1,118 @@
+/*
+ * Nazwa programu: AES-cipher
+ * Copyright (C) 2025  Mateusz Kosowski Nikodem Nowak
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package org.zespol6.aes;
+
+import javax.crypto.Cipher;
+import javax.crypto.ShortBufferException;
+import javax.crypto.spec.SecretKeySpec;
+import java.security.GeneralSecurityException;
+import java.util.Arrays;
+
+/**
+ * Transformacja blokowa wykonywana przez {@link Cipher} JDK ("AES/ECB/NoPadding").
+ * HotSpot zastępuje implementację dostawcy SunJCE instrukcjami procesora (np. AES-NI na x86),
+ * więc jest to najszybsza dostępna implementacja.
+ *
+ * <p>Obiekt {@link Cipher} nie jest bezpieczny wątkowo, dlatego każdy wątek otrzymuje własną, raz
+ * zainicjowaną kopię dla szyfrowania i dla deszyfrowania.</p>
+ *
+ * <p>Klucz główny przechowywany jest w {@link SecretKeySpec} i w rozszerzonej postaci wewnątrz obiektów
+ * {@link Cipher}. Żadnego z nich nie da się wyzerować - {@code SecretKeySpec.destroy()} zgłasza
+ * {@code DestroyFailedException}, a {@code Cipher} nie udostępnia swojego stanu. Dlatego {@link #destroy()}
+ * jedynie usuwa referencje i blokuje dalsze użycie; kopie klucza pozostają w pamięci do odśmiecenia.</p>
+ */
+final class JceBlockEngine implements BlockEngine {
+
+    private static final String TRANSFORMATION = "AES/ECB/NoPadding";
+
+    private volatile SecretKeySpec key;     // null po zwolnieniu transformacji
+    private final ThreadLocal<Cipher> encryptor = ThreadLocal.withInitial(() -> cipher(Cipher.ENCRYPT_MODE));
+    private final ThreadLocal<Cipher> decryptor = ThreadLocal.withInitial(() -> cipher(Cipher.DECRYPT_MODE));
+
+    /**
+     * @param schedule Harmonogram kluczy - klucz główny to pierwsze 4 * (rounds - 6) bajtów rozszerzonego klucza
+     */
+    JceBlockEngine(KeySchedule schedule) {
+        byte[] mainKey = Arrays.copyOf(schedule.expandedKey(), 4 * (schedule.rounds() - 6));
+        this.key = new SecretKeySpec(mainKey, "AES");
+        Arrays.fill(mainKey, (byte) 0);
+    }
+
+    @Override
+    public Engine engine() {
+        return Engine.JCE;
+    }
+
+    @Override
+    public void encryptBlocks(byte[] in, int inOff, byte[] out, int outOff, int len) {
+        checkNotDestroyed();
+        update(encryptor.get(), in, inOff, out, outOff, len);
+    }
+
+    @Override
+    public void decryptBlocks(byte[] in, int inOff, byte[] out, int outOff, int len) {
+        checkNotDestroyed();
+        update(decryptor.get(), in, inOff, out, outOff, len);
+    }
+
+    /**
+     * Usuwa referencję do klucza i obiekty {@link Cipher} bieżącego wątku. Obiekty pozostałych wątków
+     * zwalniane są razem z transformacją, ale nie mogą już zostać użyte.
+     */
+    @Override
+    public void destroy() {
+        key = null;
+        encryptor.remove();
+        decryptor.remove();
+    }
+
+    /**
+     * Sprawdza, czy transformacja została zwolniona.
+     *
+     * @return true po wywołaniu {@link #destroy()}
+     */
+    boolean isDestroyed() {
+        return key == null;
+    }
+
+    private void checkNotDestroyed() {
+        if (key == null) {
+            throw new IllegalStateException("Key schedule has been destroyed");
+        }
+    }
+
+    private static void update(Cipher cipher, byte[] in, int inOff, byte[] out, int outOff, int len) {
+        try {
+            // Tryb ECB bez dopełnienia nie buforuje danych - pełne bloki są przetwarzane od razu
+            cipher.update(in, inOff, len, out, outOff);
+        } catch (ShortBufferException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private Cipher cipher(int mode) {
+        try {
+            Cipher cipher = Cipher.getInstance(TRANSFORMATION);
+            cipher.init(mode, key);
+            return cipher;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("AES is not available in the JDK security providers", e);
+        }
+    }
+}
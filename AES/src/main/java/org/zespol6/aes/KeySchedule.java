@@ -0,0 +1,333 @@
+/*
+ * Nazwa programu: AES-cipher
+ * Copyright (C) 2025  Mateusz Kosowski Nikodem Nowak
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package org.zespol6.aes;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Przygotowane klucze rund dla jednego klucza głównego.
+ * Obiekt przechowuje rozszerzony klucz bajtowy szyfrowania i deszyfrowania, klucze rund w postaci
+ * słów 32-bitowych dla szyfrowania i deszyfrowania oraz klucze rund w postaci bitsliced.
+ *
+ * <p>Metody {@link #of(byte[])} rozszerzają surowy klucz 128-, 192- lub 256-bitowy bezpośrednio do słów
+ * kluczy rund; pozostałe postacie wyprowadzane są z tych słów.</p>
+ *
+ * <p>Klucze deszyfrowania przygotowane są dla odwrotnego szyfru równoważnego (equivalent inverse cipher,
+ * FIPS-197 5.3.5): ułożone w kolejności rund deszyfrowania, a klucze rund pośrednich przekształcone raz
+ * przez InvMixColumns. Dzięki temu runda deszyfrowania ma taką samą budowę jak runda szyfrowania
+ * (InvSubBytes, InvShiftRows, InvMixColumns, AddRoundKey).</p>
+ *
+ * <p>Materiał klucza jest zerowany po wycofaniu z {@link KeyScheduleCache}, ale dopiero wtedy,
+ * gdy żaden wątek już z niego nie korzysta (licznik użyć zwiększany przez {@link #retain()}).
+ * Transformacje blokowe utworzone dla harmonogramu są wtedy zwalniane ({@link BlockEngine#destroy()}).</p>
+ */
+public final class KeySchedule {
+
+    private final int rounds;                   // Liczba rund
+    private final byte[] expandedKey;           // Rozszerzony klucz bajtowy
+    private final byte[] decryptionKey;         // Rozszerzony klucz odwrotnego szyfru równoważnego
+    private final int[] encryptionRoundKeys;    // Klucze rund szyfrowania
+    private final int[] decryptionRoundKeys;    // Klucze rund deszyfrowania
+    private volatile long[] bitslicedRoundKeys; // Klucze rund w postaci bitsliced (wyznaczane przy pierwszym użyciu)
+    private volatile Object vectorRoundKeys;    // Klucze rund dla Engine.VECTOR (ByteVector[], przy pierwszym użyciu)
+
+    // Transformacje blokowe dla kolejnych implementacji (indeks - Engine.ordinal(), tworzone przy pierwszym użyciu)
+    private final AtomicReferenceArray<BlockEngine> blockEngines = new AtomicReferenceArray<>(Engine.values().length);
+
+    // Liczba aktywnych użyć; -1 oznacza, że materiał klucza został wyzerowany
+    private final AtomicInteger users = new AtomicInteger();
+    private volatile boolean retired;
+
+    /**
+     * Tworzy harmonogram kluczy na podstawie rozszerzonego klucza bajtowego.
+     *
+     * @param rounds      Liczba rund
+     * @param expandedKey Rozszerzony klucz (16 * (rounds + 1) bajtów)
+     */
+    KeySchedule(int rounds, byte[] expandedKey) {
+        this(rounds, expandedKey, TTableEngine.encryptionRoundKeys(expandedKey));
+    }
+
+    /**
+     * Tworzy harmonogram kluczy na podstawie słów kluczy rund szyfrowania.
+     *
+     * @param encryptionRoundKeys Klucze rund szyfrowania (4 * (liczba rund + 1) słów)
+     */
+    KeySchedule(int[] encryptionRoundKeys) {
+        this(encryptionRoundKeys.length / 4 - 1, new byte[encryptionRoundKeys.length * 4], encryptionRoundKeys);
+        for (int i = 0; i < encryptionRoundKeys.length; i++) {
+            TTableEngine.putInt(expandedKey, i * 4, encryptionRoundKeys[i]);
+        }
+    }
+
+    private KeySchedule(int rounds, byte[] expandedKey, int[] encryptionRoundKeys) {
+        this.rounds = rounds;
+        this.expandedKey = expandedKey;
+        this.encryptionRoundKeys = encryptionRoundKeys;
+        this.decryptionRoundKeys = TTableEngine.decryptionRoundKeys(encryptionRoundKeys);
+        this.decryptionKey = new byte[expandedKey.length];
+        for (int i = 0; i < decryptionRoundKeys.length; i++) {
+            TTableEngine.putInt(decryptionKey, i * 4, decryptionRoundKeys[i]);
+        }
+    }
+
+    /**
+     * Wyznacza harmonogram dla surowego klucza głównego. Długość klucza wyznacza liczbę rund:
+     * 16 bajtów - 10 rund, 24 bajty - 12 rund, 32 bajty - 14 rund.
+     *
+     * @param key Klucz główny (16, 24 lub 32 bajty)
+     * @return Harmonogram kluczy
+     * @throws IllegalArgumentException gdy długość klucza jest nieprawidłowa
+     */
+    public static KeySchedule of(byte[] key) {
+        return of(key, 0, key.length);
+    }
+
+    /**
+     * Wyznacza harmonogram dla klucza głównego zapisanego we fragmencie tablicy.
+     *
+     * @param key Tablica z kluczem głównym
+     * @param off Przesunięcie klucza w tablicy
+     * @param len Długość klucza w bajtach (16, 24 lub 32)
+     * @return Harmonogram kluczy
+     * @throws IllegalArgumentException gdy długość klucza jest nieprawidłowa
+     */
+    public static KeySchedule of(byte[] key, int off, int len) {
+        Objects.checkFromIndexSize(off, len, key.length);
+        int rounds = TTableEngine.keyWords(len) + 6;
+        Instrumentation.Measurement measurement = Instrumentation.CURRENT.startKeyExpansion();
+        try {
+            return new KeySchedule(TTableEngine.expandKey(key, off, len));
+        } finally {
+            Instrumentation.CURRENT.end(CipherOperation.KEY_EXPANSION, rounds, 0, measurement);
+        }
+    }
+
+    /**
+     * Wyznacza harmonogram dla klucza głównego złożonego z pozostałych bajtów bufora
+     * (od pozycji do limitu). Pozycja bufora nie jest zmieniana.
+     *
+     * @param key Bufor z kluczem głównym (16, 24 lub 32 pozostałe bajty)
+     * @return Harmonogram kluczy
+     * @throws IllegalArgumentException gdy długość klucza jest nieprawidłowa
+     */
+    public static KeySchedule of(ByteBuffer key) {
+        int rounds = TTableEngine.keyWords(key.remaining()) + 6;
+        Instrumentation.Measurement measurement = Instrumentation.CURRENT.startKeyExpansion();
+        try {
+            return new KeySchedule(TTableEngine.expandKey(key, key.position(), key.remaining()));
+        } finally {
+            Instrumentation.CURRENT.end(CipherOperation.KEY_EXPANSION, rounds, 0, measurement);
+        }
+    }
+
+    /**
+     * Zwraca liczbę rund.
+     *
+     * @return Liczba rund (10, 12 lub 14)
+     */
+    public int rounds() {
+        return rounds;
+    }
+
+    /**
+     * Sprawdza, czy materiał klucza został już wyzerowany.
+     *
+     * @return true, jeśli harmonogram nie nadaje się już do użycia
+     */
+    public boolean isDestroyed() {
+        return users.get() < 0;
+    }
+
+    byte[] expandedKey() {
+        return expandedKey;
+    }
+
+    byte[] decryptionKey() {
+        return decryptionKey;
+    }
+
+    /**
+     * Zwraca kopię rozszerzonego klucza szyfrowania (klucz rundy i to bajty 16 * i do 16 * i + 15).
+     *
+     * @return Rozszerzony klucz (16 * (rounds + 1) bajtów)
+     * @throws IllegalStateException gdy materiał klucza został już wyzerowany
+     */
+    public byte[] encryptionSchedule() {
+        return copy(expandedKey);
+    }
+
+    /**
+     * Zwraca kopię rozszerzonego klucza odwrotnego szyfru równoważnego. Klucz i-tej rundy deszyfrowania
+     * to bajty 16 * i do 16 * i + 15; dla rund pośrednich jest to InvMixColumns klucza rundy
+     * szyfrowania o numerze rounds - i.
+     *
+     * @return Rozszerzony klucz deszyfrowania (16 * (rounds + 1) bajtów)
+     * @throws IllegalStateException gdy materiał klucza został już wyzerowany
+     */
+    public byte[] decryptionSchedule() {
+        return copy(decryptionKey);
+    }
+
+    private byte[] copy(byte[] key) {
+        if (!retain()) {
+            throw new IllegalStateException("Key schedule has been destroyed");
+        }
+        try {
+            return key.clone();
+        } finally {
+            release();
+        }
+    }
+
+    int[] encryptionRoundKeys() {
+        return encryptionRoundKeys;
+    }
+
+    int[] decryptionRoundKeys() {
+        return decryptionRoundKeys;
+    }
+
+    /**
+     * Zwraca klucze rund w postaci bitsliced, wyznaczając je przy pierwszym wywołaniu - ich przygotowanie
+     * jest najdroższą częścią tworzenia harmonogramu, a potrzebuje ich tylko {@link Engine#BITSLICED}.
+     */
+    long[] bitslicedRoundKeys() {
+        long[] keys = bitslicedRoundKeys;
+        if (keys == null) {
+            synchronized (this) {
+                keys = bitslicedRoundKeys;
+                if (keys == null) {
+                    keys = BitslicedEngine.roundKeys(encryptionRoundKeys);
+                    bitslicedRoundKeys = keys;
+                }
+            }
+        }
+        return keys;
+    }
+
+    /**
+     * Zwraca klucze rund dla {@link Engine#VECTOR}, wyznaczając je przy pierwszym wywołaniu. Typ
+     * {@code Object} (w rzeczywistości {@code ByteVector[]}) pozwala nie zależeć od opcjonalnego modułu
+     * {@code jdk.incubator.vector}; metoda wywoływana jest tylko, gdy moduł jest dostępny.
+     */
+    Object vectorRoundKeys() {
+        Object keys = vectorRoundKeys;
+        if (keys == null) {
+            synchronized (this) {
+                keys = vectorRoundKeys;
+                if (keys == null) {
+                    keys = VectorSupport.roundKeys(expandedKey);
+                    vectorRoundKeys = keys;
+                }
+            }
+        }
+        return keys;
+    }
+
+    /**
+     * Zwraca transformację blokową dla podanej implementacji, tworząc ją przy pierwszym wywołaniu
+     * (dla {@link Engine#JCE} oznacza to utworzenie i inicjalizację obiektów {@link javax.crypto.Cipher}).
+     * Implementacja niedostępna w bieżącej maszynie wirtualnej zastępowana jest przez {@link Engine#T_TABLE}.
+     *
+     * @param engine Implementacja
+     * @return Transformacja blokowa ważna do wyzerowania harmonogramu
+     * @throws IllegalStateException gdy materiał klucza został już wyzerowany
+     */
+    BlockEngine blockEngine(Engine engine) {
+        if (!engine.isAvailable()) {
+            engine = Engine.T_TABLE;
+        }
+        BlockEngine blockEngine = blockEngines.get(engine.ordinal());
+        if (blockEngine == null) {
+            synchronized (this) {
+                blockEngine = blockEngines.get(engine.ordinal());
+                if (blockEngine == null) {
+                    if (isDestroyed()) {
+                        throw new IllegalStateException("Key schedule has been destroyed");
+                    }
+                    blockEngine = BlockEngine.of(engine, this);
+                    blockEngines.set(engine.ordinal(), blockEngine);
+                }
+            }
+        }
+        return blockEngine;
+    }
+
+    /**
+     * Rejestruje użycie harmonogramu.
+     *
+     * @return false, jeśli materiał klucza został już wyzerowany
+     */
+    boolean retain() {
+        while (true) {
+            int current = users.get();
+            if (current < 0) {
+                return false;
+            }
+            if (users.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Kończy użycie harmonogramu. Jeśli harmonogram został wycofany, a było to ostatnie użycie,
+     * materiał klucza jest zerowany.
+     */
+    void release() {
+        if (users.decrementAndGet() == 0 && retired) {
+            destroyIfUnused();
+        }
+    }
+
+    /**
+     * Wycofuje harmonogram - materiał klucza zostanie wyzerowany po zakończeniu ostatniego użycia.
+     */
+    public void destroy() {
+        retired = true;
+        destroyIfUnused();
+    }
+
+    private void destroyIfUnused() {
+        if (users.compareAndSet(0, -1)) {
+            Arrays.fill(expandedKey, (byte) 0);
+            Arrays.fill(decryptionKey, (byte) 0);
+            Arrays.fill(encryptionRoundKeys, 0);
+            Arrays.fill(decryptionRoundKeys, 0);
+            synchronized (this) {
+                if (bitslicedRoundKeys != null) {
+                    Arrays.fill(bitslicedRoundKeys, 0);
+                }
+                // Wektorów nie da się wyzerować - usuwana jest tylko referencja
+                vectorRoundKeys = null;
+                for (int i = 0; i < blockEngines.length(); i++) {
+                    BlockEngine blockEngine = blockEngines.getAndSet(i, null);
+                    if (blockEngine != null) {
+                        blockEngine.destroy();
+                    }
+                }
+            }
+        }
+    }
+}
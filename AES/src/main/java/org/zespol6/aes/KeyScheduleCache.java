@@ -0,0 +1,182 @@
+/*
+ * Nazwa programu: AES-cipher
+ * Copyright (C) 2025  Mateusz Kosowski Nikodem Nowak
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package org.zespol6.aes;
+
+import java.math.BigInteger;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Ograniczona pamięć podręczna harmonogramów kluczy (LRU), indeksowana kluczem głównym.
+ * Pozwala pominąć rozszerzanie klucza przy wielokrotnym szyfrowaniu tym samym kluczem.
+ * Klasa jest bezpieczna wątkowo.
+ *
+ * <p>Harmonogramy usunięte z pamięci (przez wyparcie lub jawne unieważnienie) są zerowane,
+ * gdy tylko ostatni korzystający z nich wątek wywoła {@link #release(KeySchedule)}.</p>
+ */
+public final class KeyScheduleCache {
+
+    private final int maxSize;
+    private final Map<BigInteger, KeySchedule> entries;
+
+    // Statystyki
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * Tworzy pamięć podręczną o podanym rozmiarze.
+     *
+     * @param maxSize Maksymalna liczba przechowywanych harmonogramów
+     * @throws IllegalArgumentException gdy rozmiar nie jest dodatni
+     */
+    public KeyScheduleCache(int maxSize) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("Cache size must be positive");
+        }
+        this.maxSize = maxSize;
+        // Kolejność dostępu - najdawniej używany wpis jest pierwszy do wyparcia
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<BigInteger, KeySchedule> eldest) {
+                if (size() > KeyScheduleCache.this.maxSize) {
+                    eldest.getValue().destroy();
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Zwraca harmonogram dla podanego klucza, wyznaczając go w razie braku w pamięci.
+     * Każde wywołanie musi zostać zakończone wywołaniem {@link #release(KeySchedule)}.
+     *
+     * @param key      Klucz główny
+     * @param expander Funkcja wyznaczająca harmonogram dla klucza
+     * @return Harmonogram kluczy zarezerwowany dla wywołującego
+     */
+    public KeySchedule acquire(BigInteger key, Function<BigInteger, KeySchedule> expander) {
+        synchronized (entries) {
+            KeySchedule schedule = entries.get(key);
+            if (schedule != null && schedule.retain()) {
+                hits.increment();
+                return schedule;
+            }
+        }
+
+        // Rozszerzanie klucza poza blokadą
+        misses.increment();
+        KeySchedule created = expander.apply(key);
+        created.retain();
+
+        synchronized (entries) {
+            KeySchedule previous = entries.put(key, created);
+            if (previous != null) {
+                previous.destroy();
+            }
+        }
+        return created;
+    }
+
+    /**
+     * Kończy użycie harmonogramu zwróconego przez {@link #acquire}.
+     *
+     * @param schedule Harmonogram kluczy
+     */
+    public void release(KeySchedule schedule) {
+        schedule.release();
+    }
+
+    /**
+     * Usuwa harmonogram podanego klucza i zeruje jego materiał.
+     *
+     * @param key Klucz główny
+     */
+    public void invalidate(BigInteger key) {
+        synchronized (entries) {
+            KeySchedule removed = entries.remove(key);
+            if (removed != null) {
+                removed.destroy();
+            }
+        }
+    }
+
+    /**
+     * Usuwa wszystkie harmonogramy i zeruje ich materiał.
+     */
+    public void invalidateAll() {
+        synchronized (entries) {
+            for (KeySchedule schedule : entries.values()) {
+                schedule.destroy();
+            }
+            entries.clear();
+        }
+    }
+
+    /**
+     * Zwraca liczbę przechowywanych harmonogramów.
+     *
+     * @return Liczba przechowywanych harmonogramów
+     */
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    /**
+     * Zwraca limit rozmiaru pamięci podręcznej.
+     *
+     * @return Maksymalna liczba przechowywanych harmonogramów
+     */
+    public int maxSize() {
+        return maxSize;
+    }
+
+    /**
+     * Zwraca liczbę wywołań, w których harmonogram był już w pamięci.
+     *
+     * @return Liczba trafień
+     */
+    public long hitCount() {
+        return hits.sum();
+    }
+
+    /**
+     * Zwraca liczbę wywołań, w których harmonogram trzeba było wyznaczyć.
+     *
+     * @return Liczba chybień
+     */
+    public long missCount() {
+        return misses.sum();
+    }
+
+    /**
+     * Zwraca liczbę harmonogramów wypartych z powodu limitu rozmiaru.
+     *
+     * @return Liczba wyparć
+     */
+    public long evictionCount() {
+        return evictions.sum();
+    }
+}
@@ -0,0 +1,161 @@
+/*
+ * Nazwa programu: AES-cipher
+ * Copyright (C) 2025  Mateusz Kosowski Nikodem Nowak
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package org.zespol6.aes;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Histogram czasów trwania o przedziałach logarytmicznych: przedział i obejmuje czasy od 2^(i-1)
+ * do 2^i - 1 nanosekund (przedział 0 - czas zerowy). Zapis to jedno zwiększenie licznika {@link LongAdder},
+ * więc histogram może być bez blokad aktualizowany jednocześnie przez wiele wątków. Percentyle
+ * wyznaczane są z dokładnością do przedziału (co najwyżej dwukrotne zawyżenie).
+ */
+public final class LatencyHistogram {
+
+    /**
+     * Liczba przedziałów (pokrywa cały zakres wartości typu long).
+     */
+    public static final int BUCKETS = 64;
+
+    private final LongAdder[] buckets = new LongAdder[BUCKETS];
+    private final LongAdder totalNanos = new LongAdder();
+
+    /**
+     * Tworzy pusty histogram.
+     */
+    public LatencyHistogram() {
+        for (int i = 0; i < BUCKETS; i++) {
+            buckets[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * Rejestruje jeden pomiar.
+     *
+     * @param nanos Czas trwania w nanosekundach (wartości ujemne traktowane są jak 0)
+     */
+    public void record(long nanos) {
+        long value = Math.max(nanos, 0);
+        buckets[bucket(value)].increment();
+        totalNanos.add(value);
+    }
+
+    /**
+     * Zwraca numer przedziału dla podanego czasu.
+     *
+     * @param nanos Czas w nanosekundach (nieujemny)
+     * @return Numer przedziału (0 - 63)
+     */
+    public static int bucket(long nanos) {
+        return Math.min(64 - Long.numberOfLeadingZeros(nanos), BUCKETS - 1);
+    }
+
+    /**
+     * Zwraca górną granicę przedziału.
+     *
+     * @param bucket Numer przedziału
+     * @return Największy czas w nanosekundach należący do przedziału
+     */
+    public static long upperBound(int bucket) {
+        return bucket >= BUCKETS - 1 ? Long.MAX_VALUE : (1L << bucket) - 1;
+    }
+
+    /**
+     * Zwraca liczbę pomiarów w przedziale.
+     *
+     * @param bucket Numer przedziału
+     * @return Liczba pomiarów
+     */
+    public long count(int bucket) {
+        return buckets[bucket].sum();
+    }
+
+    /**
+     * Zwraca liczbę wszystkich pomiarów.
+     *
+     * @return Liczba pomiarów
+     */
+    public long count() {
+        long n = 0;
+        for (LongAdder b : buckets) {
+            n += b.sum();
+        }
+        return n;
+    }
+
+    /**
+     * Zwraca sumę zarejestrowanych czasów.
+     *
+     * @return Suma w nanosekundach
+     */
+    public long totalNanos() {
+        return totalNanos.sum();
+    }
+
+    /**
+     * Zwraca średni czas.
+     *
+     * @return Średnia w nanosekundach (0, gdy brak pomiarów)
+     */
+    public double meanNanos() {
+        long n = count();
+        return n == 0 ? 0 : (double) totalNanos() / n;
+    }
+
+    /**
+     * Wyznacza percentyl jako górną granicę przedziału, w którym się znajduje.
+     *
+     * @param percentile Percentyl (0 - 100), np. 50 lub 99
+     * @return Górna granica przedziału w nanosekundach (0, gdy brak pomiarów)
+     * @throws IllegalArgumentException gdy percentyl jest poza zakresem
+     */
+    public long percentile(double percentile) {
+        if (!(percentile >= 0 && percentile <= 100)) {
+            throw new IllegalArgumentException("Percentile must be between 0 and 100");
+        }
+        long[] counts = new long[BUCKETS];
+        long n = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] = buckets[i].sum();
+            n += counts[i];
+        }
+        if (n == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100 * n));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return upperBound(i);
+            }
+        }
+        return upperBound(BUCKETS - 1);
+    }
+
+    /**
+     * Zeruje histogram. Pomiary rejestrowane w trakcie zerowania mogą zostać częściowo zachowane.
+     */
+    public void reset() {
+        for (LongAdder b : buckets) {
+            b.reset();
+        }
+        totalNanos.reset();
+    }
+}
@@ -0,0 +1,300 @@
+/*
+ * Nazwa programu: AES-cipher
+ * Copyright (C) 2025  Mateusz Kosowski Nikodem Nowak
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package org.zespol6.aes;
+
+import javax.crypto.BadPaddingException;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.LongUnaryOperator;
+
+import static org.zespol6.aes.BlockEngine.BLOCK_SIZE;
+
+/**
+ * Szyfrowanie plików odwzorowanych w pamięci ({@link FileChannel#map}).
+ * Plik dzielony jest na okna (każde mniejsze niż 2 GB), które przetwarzane są bezpośrednio na buforach
+ * odwzorowanych - dane nie są kopiowane do tablic na stercie Javy. Okna są od siebie niezależne,
+ * więc mogą być przetwarzane równolegle.
+ */
+public final class MappedFileCipher {
+
+    private final AESCipher cipher;             // Szyfr blokowy
+    private int windowSize = 64 * 1024 * 1024;  // Rozmiar okna odwzorowania w bajtach
+    private boolean parallel = true;            // Czy przetwarzać okna równolegle
+    private ForkJoinPool pool = ForkJoinPool.commonPool();
+
+    /**
+     * Operacja wykonywana na jednym oknie pliku.
+     */
+    private interface WindowAction {
+        /**
+         * @param in     Okno pliku źródłowego
+         * @param out    Okno pliku docelowego
+         * @param offset Przesunięcie okna w pliku (wielokrotność 16)
+         */
+        void process(MappedByteBuffer in, MappedByteBuffer out, long offset);
+    }
+
+    /**
+     * @param cipher Szyfr blokowy
+     */
+    public MappedFileCipher(AESCipher cipher) {
+        if (cipher == null) {
+            throw new IllegalArgumentException("Cipher must not be null");
+        }
+        this.cipher = cipher;
+    }
+
+    /**
+     * Ustawia rozmiar okna odwzorowania.
+     *
+     * @param windowSize Rozmiar okna w bajtach (dodatnia wielokrotność 16)
+     */
+    public void setWindowSize(int windowSize) {
+        if (windowSize <= 0 || windowSize % BLOCK_SIZE != 0) {
+            throw new IllegalArgumentException("Window size must be a positive multiple of 16");
+        }
+        this.windowSize = windowSize;
+    }
+
+    /**
+     * Zwraca rozmiar okna odwzorowania.
+     *
+     * @return Rozmiar okna w bajtach
+     */
+    public int getWindowSize() {
+        return windowSize;
+    }
+
+    /**
+     * Włącza lub wyłącza równoległe przetwarzanie okien.
+     *
+     * @param parallel Czy przetwarzać okna równolegle
+     */
+    public void setParallel(boolean parallel) {
+        this.parallel = parallel;
+    }
+
+    /**
+     * Sprawdza, czy okna przetwarzane są równolegle.
+     *
+     * @return true, jeśli okna przetwarzane są równolegle
+     */
+    public boolean isParallel() {
+        return parallel;
+    }
+
+    /**
+     * Ustawia pulę wątków używaną przy przetwarzaniu równoległym.
+     *
+     * @param pool Pula wątków
+     */
+    public void setPool(ForkJoinPool pool) {
+        if (pool == null) {
+            throw new IllegalArgumentException("Pool must not be null");
+        }
+        this.pool = pool;
+    }
+
+    /**
+     * Szyfruje plik blok po bloku z dopełnieniem zerami (wynik zgodny z {@link AES#encrypt}).
+     *
+     * @param source Plik źródłowy
+     * @param target Plik docelowy (nadpisywany)
+     * @throws IOException Błąd odczytu lub zapisu
+     */
+    public void encrypt(Path source, Path target) throws IOException {
+        encrypt(source, target, Padding.ZERO);
+    }
+
+    /**
+     * Szyfruje plik blok po bloku z podanym dopełnieniem. Pełne bloki przetwarzane są w oknach odwzorowanych,
+     * a ostatni niepełny blok (lub blok samego dopełnienia PKCS#7) dopisywany jest na końcu.
+     *
+     * @param source  Plik źródłowy
+     * @param target  Plik docelowy (nadpisywany)
+     * @param padding Dopełnienie
+     * @throws IOException              Błąd odczytu lub zapisu
+     * @throws IllegalArgumentException gdy dla {@link Padding#NONE} rozmiar pliku nie jest wielokrotnością 16
+     */
+    public void encrypt(Path source, Path target, Padding padding) throws IOException {
+        transform(source, target, size -> paddedSize(size, padding), (in, out, offset) -> {
+            int full = in.limit() / BLOCK_SIZE * BLOCK_SIZE;
+            cipher.encryptBlocks(in, 0, out, 0, full);
+        });
+
+        // Ostatni niepełny blok pliku dopełniany w małej tablicy pomocniczej
+        try (FileChannel in = FileChannel.open(source, StandardOpenOption.READ);
+             FileChannel out = FileChannel.open(target, StandardOpenOption.WRITE)) {
+            long size = in.size();
+            int rest = (int) (size % BLOCK_SIZE);
+            byte[] block = new byte[BLOCK_SIZE];
+            readFully(in, ByteBuffer.wrap(block, 0, rest), size - rest);
+            if (padding.pad(block, 0, rest) > 0) {
+                cipher.encryptBlock(block, 0, block, 0);
+                out.write(ByteBuffer.wrap(block), size - rest);
+            }
+        }
+    }
+
+    /**
+     * Deszyfruje plik blok po bloku i usuwa zera dopełnienia (wynik zgodny z {@link AES#decrypt}).
+     *
+     * @param source Plik źródłowy
+     * @param target Plik docelowy (nadpisywany)
+     * @throws IOException Błąd odczytu lub zapisu
+     */
+    public void decrypt(Path source, Path target) throws IOException {
+        try {
+            decrypt(source, target, Padding.ZERO);
+        } catch (BadPaddingException e) {
+            // Dopełnienie zerami nie jest sprawdzane
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Deszyfruje plik blok po bloku i usuwa podane dopełnienie - plik docelowy jest obcinany do długości
+     * wyznaczonej przez {@link Padding#unpaddedLength} z dwóch ostatnich bloków.
+     *
+     * @param source  Plik źródłowy
+     * @param target  Plik docelowy (nadpisywany)
+     * @param padding Dopełnienie
+     * @throws IOException              Błąd odczytu lub zapisu
+     * @throws BadPaddingException      gdy dopełnienie jest nieprawidłowe
+     * @throws IllegalArgumentException gdy rozmiar pliku nie jest wielokrotnością 16 (poza {@link Padding#ZERO})
+     */
+    public void decrypt(Path source, Path target, Padding padding) throws IOException, BadPaddingException {
+        // Niepełny ostatni blok dopuszczalny tylko dla dopełnienia zerami (zgodność z AES#decrypt)
+        if (padding != Padding.ZERO && Files.size(source) % BLOCK_SIZE != 0) {
+            throw new IllegalArgumentException("Data length must be a multiple of 16");
+        }
+        transform(source, target, size -> paddedSize(size, Padding.ZERO), (in, out, offset) -> {
+            int len = in.limit();
+            int full = len / BLOCK_SIZE * BLOCK_SIZE;
+            cipher.decryptBlocks(in, 0, out, 0, full);
+            if (full < len) {
+                ByteBuffer block = ByteBuffer.allocate(BLOCK_SIZE);
+                block.put(0, in, full, len - full);
+                cipher.decryptBlock(block, 0, out, full);
+            }
+        });
+
+        try (FileChannel channel = FileChannel.open(target, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            long size = channel.size();
+            int n = (int) Math.min(size, 2 * BLOCK_SIZE);
+            byte[] last = new byte[n];
+            readFully(channel, ByteBuffer.wrap(last), size - n);
+            channel.truncate(size - n + padding.unpaddedLength(last, 0, n));
+        }
+    }
+
+    /**
+     * Szyfruje lub deszyfruje plik w trybie licznika. Rozmiar pliku docelowego jest równy rozmiarowi źródła.
+     *
+     * @param source         Plik źródłowy
+     * @param target         Plik docelowy (nadpisywany)
+     * @param initialCounter Początkowa wartość licznika (16 bajtów)
+     * @throws IOException Błąd odczytu lub zapisu
+     */
+    public void counter(Path source, Path target, byte[] initialCounter) throws IOException {
+        CTRMode ctr = new CTRMode(cipher, initialCounter);
+        transform(source, target, size -> size, (in, out, offset) -> ctr.process(in, out, offset / BLOCK_SIZE));
+    }
+
+    /**
+     * Zwraca rozmiar pliku po dopełnieniu.
+     */
+    private static long paddedSize(long size, Padding padding) {
+        int rest = (int) (size % BLOCK_SIZE);
+        if (padding == Padding.NONE && rest != 0) {
+            throw new IllegalArgumentException("Data length must be a multiple of 16");
+        }
+        return size - rest + padding.paddedLength(rest);
+    }
+
+    /**
+     * Wczytuje bajty od podanej pozycji pliku do zapełnienia bufora (o pozycji początkowej 0).
+     */
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new EOFException("Unexpected end of file");
+            }
+        }
+    }
+
+    /**
+     * Dzieli plik na okna, odwzorowuje je w pamięci i przetwarza (sekwencyjnie lub równolegle).
+     *
+     * @param resultSize Rozmiar pliku docelowego dla danego rozmiaru źródła
+     */
+    private void transform(Path source, Path target, LongUnaryOperator resultSize, WindowAction action)
+            throws IOException {
+        try (FileChannel in = FileChannel.open(source, StandardOpenOption.READ);
+             FileChannel out = FileChannel.open(target, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                     StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            long size = in.size();
+            long outSize = resultSize.applyAsLong(size);
+            if (outSize == 0) {
+                return;
+            }
+            // Ustalenie rozmiaru pliku docelowego przed odwzorowaniem okien
+            out.write(ByteBuffer.allocate(1), outSize - 1);
+
+            long windows = (size + windowSize - 1) / windowSize;
+            if (windows > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("File too large for the configured window size");
+            }
+
+            ParallelBlocks.RangeAction range = (from, to) -> {
+                for (int w = from; w < to; w++) {
+                    long offset = (long) w * windowSize;
+                    long inLen = Math.min(windowSize, size - offset);
+                    long outLen = Math.min(windowSize, outSize - offset);
+                    try {
+                        MappedByteBuffer inWindow = in.map(FileChannel.MapMode.READ_ONLY, offset, inLen);
+                        MappedByteBuffer outWindow = out.map(FileChannel.MapMode.READ_WRITE, offset, outLen);
+                        action.process(inWindow, outWindow, offset);
+                        outWindow.force();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }
+            };
+
+            try {
+                if (parallel && windows > 1) {
+                    ParallelBlocks.run(pool, (int) windows, 1, range);
+                } else {
+                    range.run(0, (int) windows);
+                }
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}
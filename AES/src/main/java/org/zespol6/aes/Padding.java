@@ -0,0 +1,202 @@
+/*
+ * Nazwa programu: AES-cipher
+ * Copyright (C) 2025  Mateusz Kosowski Nikodem Nowak
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package org.zespol6.aes;
+
+import javax.crypto.BadPaddingException;
+import java.nio.ByteBuffer;
+import java.util.Objects;
+
+import static org.zespol6.aes.BlockEngine.BLOCK_SIZE;
+
+/**
+ * Sposób dopełniania danych do wielokrotności rozmiaru bloku.
+ * Długość wyniku znana jest przed szyfrowaniem ({@link #paddedLength}), więc wynik zapisywany jest do jednego
+ * bufora o dokładnym rozmiarze, a usunięcie dopełnienia ({@link #unpaddedLength}) jedynie wyznacza długość
+ * danych - bajty nie są kopiowane.
+ */
+public enum Padding {
+
+    /**
+     * Brak dopełnienia - dla trybów strumieniowych (CTR, GCM) albo danych o długości będącej
+     * wielokrotnością 16 bajtów.
+     */
+    NONE,
+
+    /**
+     * Dopełnienie zerami, zgodne z {@link AES#encrypt} i {@link AES#decrypt}. Przy usuwaniu obcinane są
+     * wszystkie zera z 17 ostatnich bajtów, więc dane kończące się bajtami 0x00 tracą je.
+     */
+    ZERO,
+
+    /**
+     * Dopełnienie PKCS#7 (RFC 5652): zawsze od 1 do 16 bajtów o wartości równej ich liczbie.
+     * Usunięcie odczytuje tylko ostatni blok i zachowuje dane kończące się dowolnymi bajtami.
+     */
+    PKCS7;
+
+    /**
+     * Zwraca długość danych po dopełnieniu.
+     *
+     * @param length Długość danych
+     * @return Długość po dopełnieniu
+     */
+    public int paddedLength(int length) {
+        if (length < 0) {
+            throw new IllegalArgumentException("Length must not be negative");
+        }
+        return switch (this) {
+            case NONE -> length;
+            case ZERO -> (length + BLOCK_SIZE - 1) / BLOCK_SIZE * BLOCK_SIZE;
+            case PKCS7 -> (length / BLOCK_SIZE + 1) * BLOCK_SIZE;
+        };
+    }
+
+    /**
+     * Zapisuje bajty dopełnienia za danymi.
+     *
+     * @param buf    Bufor z danymi (z miejscem na dopełnienie)
+     * @param off    Początek danych w buforze
+     * @param length Długość danych
+     * @return Długość po dopełnieniu ({@link #paddedLength})
+     */
+    public int pad(byte[] buf, int off, int length) {
+        int padded = paddedLength(length);
+        Objects.checkFromIndexSize(off, padded, buf.length);
+        byte value = (this == PKCS7) ? (byte) (padded - length) : 0;
+        for (int i = off + length; i < off + padded; i++) {
+            buf[i] = value;
+        }
+        return padded;
+    }
+
+    /**
+     * Zapisuje bajty dopełnienia za danymi w buforze (indeksy bezwzględne - pozycja bufora się nie zmienia).
+     *
+     * @param buf    Bufor z danymi (z miejscem na dopełnienie przed limitem)
+     * @param index  Indeks początku danych w buforze
+     * @param length Długość danych
+     * @return Długość po dopełnieniu ({@link #paddedLength})
+     */
+    public int pad(ByteBuffer buf, int index, int length) {
+        int padded = paddedLength(length);
+        Objects.checkFromIndexSize(index, padded, buf.limit());
+        byte value = (this == PKCS7) ? (byte) (padded - length) : 0;
+        for (int i = index + length; i < index + padded; i++) {
+            buf.put(i, value);
+        }
+        return padded;
+    }
+
+    /**
+     * Wyznacza długość danych bez dopełnienia. Bufor nie jest modyfikowany.
+     *
+     * @param buf Bufor z odszyfrowanymi danymi
+     * @param off Początek danych w buforze
+     * @param len Długość danych z dopełnieniem
+     * @return Długość danych bez dopełnienia
+     * @throws BadPaddingException gdy dopełnienie PKCS#7 jest nieprawidłowe
+     */
+    public int unpaddedLength(byte[] buf, int off, int len) throws BadPaddingException {
+        Objects.checkFromIndexSize(off, len, buf.length);
+        return switch (this) {
+            case NONE -> len;
+            case ZERO -> zeroUnpaddedLength(buf, off, len);
+            case PKCS7 -> pkcs7UnpaddedLength(buf, off, len);
+        };
+    }
+
+    /**
+     * Wyznacza długość danych bez dopełnienia zapisanych w buforze (indeksy bezwzględne). Bufor
+     * ani jego pozycja nie są modyfikowane; dopełnienie PKCS#7 sprawdzane jest w stałym czasie.
+     *
+     * @param buf   Bufor z odszyfrowanymi danymi
+     * @param index Indeks początku danych w buforze
+     * @param len   Długość danych z dopełnieniem
+     * @return Długość danych bez dopełnienia
+     * @throws BadPaddingException gdy dopełnienie PKCS#7 jest nieprawidłowe
+     */
+    public int unpaddedLength(ByteBuffer buf, int index, int len) throws BadPaddingException {
+        Objects.checkFromIndexSize(index, len, buf.limit());
+        return switch (this) {
+            case NONE -> len;
+            case ZERO -> zeroUnpaddedLength(buf, index, len);
+            case PKCS7 -> pkcs7UnpaddedLength(buf, index, len);
+        };
+    }
+
+    /**
+     * Pomija zera z co najwyżej 17 ostatnich bajtów (jak {@link AES#decrypt}).
+     */
+    private static int zeroUnpaddedLength(byte[] buf, int off, int len) {
+        int end = len;
+        while (end > Math.max(0, len - 17) && buf[off + end - 1] == 0) {
+            end--;
+        }
+        return end;
+    }
+
+    /**
+     * Pomija zera z co najwyżej 17 ostatnich bajtów bufora.
+     */
+    private static int zeroUnpaddedLength(ByteBuffer buf, int index, int len) {
+        int end = len;
+        while (end > Math.max(0, len - 17) && buf.get(index + end - 1) == 0) {
+            end--;
+        }
+        return end;
+    }
+
+    /**
+     * Odczytuje liczbę bajtów dopełnienia z ostatniego bajtu i sprawdza cały ostatni blok bez wczesnego wyjścia.
+     */
+    private static int pkcs7UnpaddedLength(byte[] buf, int off, int len) throws BadPaddingException {
+        if (len == 0 || len % BLOCK_SIZE != 0) {
+            throw new BadPaddingException("PKCS#7 data length must be a positive multiple of 16");
+        }
+        int n = buf[off + len - 1] & 0xFF;
+        int diff = (n == 0 || n > BLOCK_SIZE) ? 1 : 0;
+        for (int i = 1; i <= BLOCK_SIZE; i++) {
+            int mask = (i <= n) ? 0xFF : 0;
+            diff |= ((buf[off + len - i] & 0xFF) ^ n) & mask;
+        }
+        if (diff != 0) {
+            throw new BadPaddingException("Invalid PKCS#7 padding");
+        }
+        return len - n;
+    }
+
+    /**
+     * Sprawdza dopełnienie PKCS#7 w buforze, podobnie jak wersja dla tablicy - bez wczesnego wyjścia.
+     */
+    private static int pkcs7UnpaddedLength(ByteBuffer buf, int index, int len) throws BadPaddingException {
+        if (len == 0 || len % BLOCK_SIZE != 0) {
+            throw new BadPaddingException("PKCS#7 data length must be a positive multiple of 16");
+        }
+        int n = buf.get(index + len - 1) & 0xFF;
+        int diff = (n == 0 || n > BLOCK_SIZE) ? 1 : 0;
+        for (int i = 1; i <= BLOCK_SIZE; i++) {
+            int mask = (i <= n) ? 0xFF : 0;
+            diff |= ((buf.get(index + len - i) & 0xFF) ^ n) & mask;
+        }
+        if (diff != 0) {
+            throw new BadPaddingException("Invalid PKCS#7 padding");
+        }
+        return len - n;
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * Nazwa programu: AES-cipher
+ * Copyright (C) 2025  Mateusz Kosowski Nikodem Nowak
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package org.zespol6.aes;
+
+import java.io.Serial;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Rozdziela przetwarzanie zakresu bloków na fragmenty wykonywane w puli fork-join.
+ * Używane przez tryby, w których bloki (lub fragmenty) mogą być przetwarzane niezależnie.
+ */
+final class ParallelBlocks {
+
+    /**
+     * Operacja wykonywana na zakresie bloków [fromBlock, toBlock).
+     */
+    @FunctionalInterface
+    interface RangeAction {
+        void run(int fromBlock, int toBlock);
+    }
+
+    private ParallelBlocks() {
+    }
+
+    /**
+     * Wykonuje operację na wszystkich blokach, dzieląc je rekurencyjnie na fragmenty
+     * o co najwyżej chunkBlocks blokach.
+     *
+     * @param pool        Pula wątków
+     * @param blocks      Liczba bloków
+     * @param chunkBlocks Maksymalna liczba bloków przetwarzana przez jedno zadanie
+     * @param action      Operacja na zakresie bloków
+     */
+    static void run(ForkJoinPool pool, int blocks, int chunkBlocks, RangeAction action) {
+        pool.invoke(new RangeTask(0, blocks, chunkBlocks, action));
+    }
+
+    /**
+     * Zadanie dzielące zakres na połowy, dopóki nie jest mniejszy od rozmiaru fragmentu.
+     */
+    private static final class RangeTask extends RecursiveAction {
+        @Serial
+        private static final long serialVersionUID = 1L;
+
+        private final int from;
+        private final int to;
+        private final int chunkBlocks;
+        private final transient RangeAction action;
+
+        RangeTask(int from, int to, int chunkBlocks, RangeAction action) {
+            this.from = from;
+            this.to = to;
+            this.chunkBlocks = chunkBlocks;
+            this.action = action;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= chunkBlocks) {
+                action.run(from, to);
+                return;
+            }
+            // Podział na granicy fragmentu, aby zadania odpowiadały pełnym fragmentom
+            int half = (to - from) / 2;
+            int mid = from + Math.max(chunkBlocks, half - half % chunkBlocks);
+            invokeAll(new RangeTask(from, mid, chunkBlocks, action),
+                    new RangeTask(mid, to, chunkBlocks, action));
+        }
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * Nazwa programu: AES-cipher
+ * Copyright (C) 2025  Mateusz Kosowski Nikodem Nowak
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package org.zespol6.aes;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Zbiór rekordów zapisanych w jednym wspólnym buforze: rekord i zajmuje bajty od offset(i)
+ * do offset(i) + length(i) - 1. Tablice przekazane do konstruktora nie są kopiowane.
+ */
+public final class RecordBatch {
+
+    private final byte[] buffer;    // Wspólny bufor danych
+    private final int[] offsets;    // Początki rekordów w buforze
+    private final int[] lengths;    // Długości rekordów
+    private final int count;        // Liczba rekordów
+
+    /**
+     * Tworzy zbiór rekordów opisanych indeksem do wspólnego bufora. Zakresy sprawdzane są raz, tutaj.
+     *
+     * @param buffer  Wspólny bufor danych
+     * @param offsets Początki rekordów (co najmniej count elementów)
+     * @param lengths Długości rekordów (co najmniej count elementów)
+     * @param count   Liczba rekordów
+     * @throws IndexOutOfBoundsException gdy rekord wykracza poza bufor
+     */
+    public RecordBatch(byte[] buffer, int[] offsets, int[] lengths, int count) {
+        if (count < 0 || count > offsets.length || count > lengths.length) {
+            throw new IllegalArgumentException("Record count does not match the index arrays");
+        }
+        for (int i = 0; i < count; i++) {
+            Objects.checkFromIndexSize(offsets[i], lengths[i], buffer.length);
+        }
+        this.buffer = buffer;
+        this.offsets = offsets;
+        this.lengths = lengths;
+        this.count = count;
+    }
+
+    /**
+     * Zwraca liczbę rekordów.
+     *
+     * @return Liczba rekordów
+     */
+    public int size() {
+        return count;
+    }
+
+    /**
+     * Zwraca wspólny bufor danych (bez kopiowania).
+     *
+     * @return Bufor danych
+     */
+    public byte[] buffer() {
+        return buffer;
+    }
+
+    /**
+     * Zwraca początek rekordu w buforze.
+     *
+     * @param index Numer rekordu
+     * @return Przesunięcie rekordu
+     */
+    public int offset(int index) {
+        return offsets[Objects.checkIndex(index, count)];
+    }
+
+    /**
+     * Zwraca długość rekordu.
+     *
+     * @param index Numer rekordu
+     * @return Długość rekordu w bajtach
+     */
+    public int length(int index) {
+        return lengths[Objects.checkIndex(index, count)];
+    }
+
+    /**
+     * Zwraca kopię rekordu.
+     *
+     * @param index Numer rekordu
+     * @return Bajty rekordu
+     */
+    public byte[] record(int index) {
+        int offset = offset(index);
+        return Arrays.copyOfRange(buffer, offset, offset + lengths[index]);
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * Nazwa programu: AES-cipher
+ * Copyright (C) 2025  Mateusz Kosowski Nikodem Nowak
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package org.zespol6.aes;
+
+import javax.crypto.BadPaddingException;
+import java.io.IOException;
+
+import static org.zespol6.aes.BlockEngine.BLOCK_SIZE;
+
+/**
+ * Przekształcenie danych wykonywane porcjami przez {@link AESInputStream} i {@link AESOutputStream}.
+ * Porcje przekazywane są w kolejności, a wszystkie poza ostatnią mają długość będącą wielokrotnością 16 bajtów.
+ */
+interface StreamTransform {
+
+    /**
+     * Przekształca porcję danych w miejscu.
+     *
+     * @param buf  Bufor z danymi (z co najmniej 16 bajtami wolnego miejsca za danymi)
+     * @param len  Liczba bajtów danych
+     * @param last Czy to ostatnia porcja strumienia
+     * @return Liczba bajtów wyniku (może różnić się od len tylko dla ostatniej porcji)
+     * @throws IOException gdy danych nie da się przetworzyć (np. nieprawidłowe dopełnienie)
+     */
+    int process(byte[] buf, int len, boolean last) throws IOException;
+
+    /**
+     * Zwraca liczbę końcowych bajtów, których nie wolno przetworzyć przed końcem strumienia.
+     *
+     * @return Liczba wstrzymywanych bajtów (wielokrotność 16)
+     */
+    default int holdBack() {
+        return 0;
+    }
+
+    /**
+     * Szyfrowanie blok po bloku z podanym dopełnieniem ostatniej porcji ({@link Padding#ZERO} - zgodne
+     * z {@link AES#encrypt}).
+     */
+    static StreamTransform encryptBlocks(AESCipher cipher, Padding padding) {
+        return (buf, len, last) -> {
+            int padded = last ? padding.pad(buf, 0, len) : len;
+            cipher.encryptBlocks(buf, 0, buf, 0, padded);
+            return padded;
+        };
+    }
+
+    /**
+     * Deszyfrowanie blok po bloku z usunięciem podanego dopełnienia ({@link Padding#ZERO} - zgodne
+     * z {@link AES#decrypt}). Nieprawidłowe dopełnienie zgłaszane jest jako {@link IOException}
+     * z przyczyną {@link BadPaddingException}.
+     */
+    static StreamTransform decryptBlocks(AESCipher cipher, Padding padding) {
+        return new StreamTransform() {
+            @Override
+            public int process(byte[] buf, int len, boolean last) throws IOException {
+                if (len % BLOCK_SIZE != 0 && padding != Padding.ZERO) {
+                    throw new IOException("Encrypted data length must be a multiple of 16");
+                }
+                // Niepełny ostatni blok uzupełniany zerami (zgodność z AES#decrypt)
+                int padded = Padding.ZERO.pad(buf, 0, len);
+                cipher.decryptBlocks(buf, 0, buf, 0, padded);
+                if (!last) {
+                    return padded;
+                }
+                try {
+                    return padding.unpaddedLength(buf, 0, padded);
+                } catch (BadPaddingException e) {
+                    throw new IOException(e);
+                }
+            }
+
+            @Override
+            public int holdBack() {
+                // Dopełnienie zerami może obejmować 17 bajtów (dwa ostatnie bloki), PKCS#7 - ostatni blok
+                return switch (padding) {
+                    case NONE -> 0;
+                    case ZERO -> 2 * BLOCK_SIZE;
+                    case PKCS7 -> BLOCK_SIZE;
+                };
+            }
+        };
+    }
+
+    /**
+     * Tryb licznika - strumień klucza kontynuowany między porcjami.
+     */
+    static StreamTransform counter(CTRMode ctr) {
+        return new StreamTransform() {
+            private long block;     // Numer bloku strumienia klucza dla kolejnej porcji
+
+            @Override
+            public int process(byte[] buf, int len, boolean last) {
+                ctr.process(buf, 0, buf, 0, len, block);
+                block += len / BLOCK_SIZE;
+                return len;
+            }
+        };
+    }
+}
@@ -0,0 +1,356 @@
+/*
+ * Nazwa programu: AES-cipher
+ * Copyright (C) 2025  Mateusz Kosowski Nikodem Nowak
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package org.zespol6.aes;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+import static org.zespol6.aes.AESTables.*;
+
+/**
+ * Tablicowa (T-table) implementacja transformacji blokowej AES.
+ * Stan bloku przechowywany jest jako cztery słowa 32-bitowe (kolumny w kolejności big-endian),
+ * a każda runda sprowadza się do 16 odczytów z tablic TE/TD i operacji XOR.
+ */
+final class TTableEngine {
+
+    private TTableEngine() {
+    }
+
+    /**
+     * Rozszerza klucz główny bezpośrednio do słów kluczy rund szyfrowania (FIPS-197 5.2).
+     * Jedyną alokacją jest tablica wynikowa - RotWord, SubWord i Rcon wykonywane są na słowach 32-bitowych.
+     *
+     * @param key Tablica z kluczem głównym
+     * @param off Przesunięcie klucza w tablicy
+     * @param len Długość klucza w bajtach (16, 24 lub 32)
+     * @return Klucze rund jako słowa 32-bitowe (4 * (liczba rund + 1) słów)
+     * @throws IllegalArgumentException gdy długość klucza jest nieprawidłowa
+     */
+    static int[] expandKey(byte[] key, int off, int len) {
+        int nk = keyWords(len);
+        int[] w = new int[4 * (nk + 7)];
+        for (int i = 0; i < nk; i++) {
+            w[i] = getInt(key, off + 4 * i);
+        }
+        expandKey(w, nk);
+        return w;
+    }
+
+    /**
+     * Rozszerza klucz główny zapisany w buforze bezpośrednio do słów kluczy rund szyfrowania.
+     * Pozycja bufora nie jest zmieniana.
+     *
+     * @param key   Bufor z kluczem głównym
+     * @param index Indeks pierwszego bajtu klucza w buforze
+     * @param len   Długość klucza w bajtach (16, 24 lub 32)
+     * @return Klucze rund jako słowa 32-bitowe (4 * (liczba rund + 1) słów)
+     * @throws IllegalArgumentException gdy długość klucza jest nieprawidłowa
+     */
+    static int[] expandKey(ByteBuffer key, int index, int len) {
+        int nk = keyWords(len);
+        int[] w = new int[4 * (nk + 7)];
+        for (int i = 0; i < nk; i++) {
+            w[i] = getInt(key, index + 4 * i);
+        }
+        expandKey(w, nk);
+        return w;
+    }
+
+    /**
+     * Wyznacza kolejne słowa kluczy rund na podstawie nk pierwszych słów (klucza głównego).
+     */
+    private static void expandKey(int[] w, int nk) {
+        int rcon = 1;
+        int j = 0;      // Pozycja słowa w obrębie bieżącej grupy nk słów
+        for (int i = nk; i < w.length; i++) {
+            int t = w[i - 1];
+            if (j == 0) {
+                // RotWord, SubWord i XOR z Rcon
+                t = subWord(Integer.rotateLeft(t, 8)) ^ (rcon << 24);
+                rcon = xtime(rcon);
+            } else if (nk == 8 && j == 4) {
+                // Dodatkowy SubWord w połowie grupy dla kluczy 256-bitowych
+                t = subWord(t);
+            }
+            w[i] = w[i - nk] ^ t;
+            if (++j == nk) {
+                j = 0;
+            }
+        }
+    }
+
+    /**
+     * Zwraca liczbę słów klucza głównego o podanej długości (liczba rund to liczba słów + 6).
+     *
+     * @throws IllegalArgumentException gdy długość klucza jest nieprawidłowa
+     */
+    static int keyWords(int len) {
+        return switch (len) {
+            case 16 -> 4;   // 128 bitów, 10 rund
+            case 24 -> 6;   // 192 bity, 12 rund
+            case 32 -> 8;   // 256 bitów, 14 rund
+            default -> throw new IllegalArgumentException("Invalid key size");
+        };
+    }
+
+    /**
+     * Zastępuje każdy bajt słowa wartością z S-BOX.
+     */
+    private static int subWord(int w) {
+        return ((SBOX[w >>> 24] & 0xFF) << 24)
+                | ((SBOX[(w >>> 16) & 0xFF] & 0xFF) << 16)
+                | ((SBOX[(w >>> 8) & 0xFF] & 0xFF) << 8)
+                | (SBOX[w & 0xFF] & 0xFF);
+    }
+
+    /**
+     * Przekształca rozszerzony klucz bajtowy na słowa kluczy rund używane przy szyfrowaniu.
+     *
+     * @param expandedKey Rozszerzony klucz (16 * (liczba rund + 1) bajtów)
+     * @return Klucze rund jako słowa 32-bitowe
+     */
+    static int[] encryptionRoundKeys(byte[] expandedKey) {
+        int[] rk = new int[expandedKey.length / 4];
+        for (int i = 0; i < rk.length; i++) {
+            rk[i] = getInt(expandedKey, i * 4);
+        }
+        return rk;
+    }
+
+    /**
+     * Wyznacza klucze rund dla odwrotnego szyfru równoważnego (equivalent inverse cipher):
+     * klucze ułożone są w odwrotnej kolejności, a klucze rund pośrednich przekształcone przez InvMixColumns.
+     *
+     * @param rk Klucze rund szyfrowania
+     * @return Klucze rund deszyfrowania
+     */
+    static int[] decryptionRoundKeys(int[] rk) {
+        int rounds = rk.length / 4 - 1;
+        int[] drk = new int[rk.length];
+
+        for (int round = 0; round <= rounds; round++) {
+            int src = (rounds - round) * 4;
+            int dst = round * 4;
+            for (int j = 0; j < 4; j++) {
+                int w = rk[src + j];
+                if (round > 0 && round < rounds) {
+                    // InvMixColumns na słowie klucza: TD(S(x)) daje InvMixColumns(x)
+                    w = TD0[SBOX[w >>> 24] & 0xFF]
+                            ^ TD1[SBOX[(w >>> 16) & 0xFF] & 0xFF]
+                            ^ TD2[SBOX[(w >>> 8) & 0xFF] & 0xFF]
+                            ^ TD3[SBOX[w & 0xFF] & 0xFF];
+                }
+                drk[dst + j] = w;
+            }
+        }
+        return drk;
+    }
+
+    /**
+     * Szyfruje pojedynczy blok 16 bajtów.
+     *
+     * @param rk     Klucze rund szyfrowania
+     * @param in     Tablica wejściowa
+     * @param inOff  Przesunięcie bloku w tablicy wejściowej
+     * @param out    Tablica wyjściowa (może być tą samą tablicą co wejściowa)
+     * @param outOff Przesunięcie bloku w tablicy wyjściowej
+     */
+    static void encryptBlock(int[] rk, byte[] in, int inOff, byte[] out, int outOff) {
+        int rounds = rk.length / 4 - 1;
+
+        // Runda inicjalizacyjna - dodanie klucza rundy 0
+        int s0 = getInt(in, inOff) ^ rk[0];
+        int s1 = getInt(in, inOff + 4) ^ rk[1];
+        int s2 = getInt(in, inOff + 8) ^ rk[2];
+        int s3 = getInt(in, inOff + 12) ^ rk[3];
+
+        // Rundy 1 do (rounds-1) - SubBytes, ShiftRows i MixColumns połączone w tablicach TE
+        int k = 4;
+        for (int round = 1; round < rounds; round++) {
+            int t0 = TE0[s0 >>> 24] ^ TE1[(s1 >>> 16) & 0xFF] ^ TE2[(s2 >>> 8) & 0xFF] ^ TE3[s3 & 0xFF] ^ rk[k];
+            int t1 = TE0[s1 >>> 24] ^ TE1[(s2 >>> 16) & 0xFF] ^ TE2[(s3 >>> 8) & 0xFF] ^ TE3[s0 & 0xFF] ^ rk[k + 1];
+            int t2 = TE0[s2 >>> 24] ^ TE1[(s3 >>> 16) & 0xFF] ^ TE2[(s0 >>> 8) & 0xFF] ^ TE3[s1 & 0xFF] ^ rk[k + 2];
+            int t3 = TE0[s3 >>> 24] ^ TE1[(s0 >>> 16) & 0xFF] ^ TE2[(s1 >>> 8) & 0xFF] ^ TE3[s2 & 0xFF] ^ rk[k + 3];
+            s0 = t0;
+            s1 = t1;
+            s2 = t2;
+            s3 = t3;
+            k += 4;
+        }
+
+        // Ostatnia runda (bez MixColumns) - bezpośrednio z S-BOX
+        putInt(out, outOff, finalRound(SBOX, s0, s1, s2, s3) ^ rk[k]);
+        putInt(out, outOff + 4, finalRound(SBOX, s1, s2, s3, s0) ^ rk[k + 1]);
+        putInt(out, outOff + 8, finalRound(SBOX, s2, s3, s0, s1) ^ rk[k + 2]);
+        putInt(out, outOff + 12, finalRound(SBOX, s3, s0, s1, s2) ^ rk[k + 3]);
+    }
+
+    /**
+     * Deszyfruje pojedynczy blok 16 bajtów.
+     *
+     * @param drk    Klucze rund deszyfrowania (wynik {@link #decryptionRoundKeys(int[])})
+     * @param in     Tablica wejściowa
+     * @param inOff  Przesunięcie bloku w tablicy wejściowej
+     * @param out    Tablica wyjściowa (może być tą samą tablicą co wejściowa)
+     * @param outOff Przesunięcie bloku w tablicy wyjściowej
+     */
+    static void decryptBlock(int[] drk, byte[] in, int inOff, byte[] out, int outOff) {
+        int rounds = drk.length / 4 - 1;
+
+        int s0 = getInt(in, inOff) ^ drk[0];
+        int s1 = getInt(in, inOff + 4) ^ drk[1];
+        int s2 = getInt(in, inOff + 8) ^ drk[2];
+        int s3 = getInt(in, inOff + 12) ^ drk[3];
+
+        // Rundy pośrednie - InvSubBytes, InvShiftRows i InvMixColumns połączone w tablicach TD
+        int k = 4;
+        for (int round = 1; round < rounds; round++) {
+            int t0 = TD0[s0 >>> 24] ^ TD1[(s3 >>> 16) & 0xFF] ^ TD2[(s2 >>> 8) & 0xFF] ^ TD3[s1 & 0xFF] ^ drk[k];
+            int t1 = TD0[s1 >>> 24] ^ TD1[(s0 >>> 16) & 0xFF] ^ TD2[(s3 >>> 8) & 0xFF] ^ TD3[s2 & 0xFF] ^ drk[k + 1];
+            int t2 = TD0[s2 >>> 24] ^ TD1[(s1 >>> 16) & 0xFF] ^ TD2[(s0 >>> 8) & 0xFF] ^ TD3[s3 & 0xFF] ^ drk[k + 2];
+            int t3 = TD0[s3 >>> 24] ^ TD1[(s2 >>> 16) & 0xFF] ^ TD2[(s1 >>> 8) & 0xFF] ^ TD3[s0 & 0xFF] ^ drk[k + 3];
+            s0 = t0;
+            s1 = t1;
+            s2 = t2;
+            s3 = t3;
+            k += 4;
+        }
+
+        // Ostatnia runda (bez InvMixColumns) - bezpośrednio z odwrotnego S-BOX
+        putInt(out, outOff, finalRound(INV_SBOX, s0, s3, s2, s1) ^ drk[k]);
+        putInt(out, outOff + 4, finalRound(INV_SBOX, s1, s0, s3, s2) ^ drk[k + 1]);
+        putInt(out, outOff + 8, finalRound(INV_SBOX, s2, s1, s0, s3) ^ drk[k + 2]);
+        putInt(out, outOff + 12, finalRound(INV_SBOX, s3, s2, s1, s0) ^ drk[k + 3]);
+    }
+
+    /**
+     * Szyfruje pojedynczy blok 16 bajtów zapisany w buforze (indeksy bezwzględne, pozycje buforów się nie zmieniają).
+     *
+     * @param rk       Klucze rund szyfrowania
+     * @param in       Bufor wejściowy
+     * @param inIndex  Indeks bloku w buforze wejściowym
+     * @param out      Bufor wyjściowy (może być tym samym buforem co wejściowy)
+     * @param outIndex Indeks bloku w buforze wyjściowym
+     */
+    static void encryptBlock(int[] rk, ByteBuffer in, int inIndex, ByteBuffer out, int outIndex) {
+        int rounds = rk.length / 4 - 1;
+
+        int s0 = getInt(in, inIndex) ^ rk[0];
+        int s1 = getInt(in, inIndex + 4) ^ rk[1];
+        int s2 = getInt(in, inIndex + 8) ^ rk[2];
+        int s3 = getInt(in, inIndex + 12) ^ rk[3];
+
+        int k = 4;
+        for (int round = 1; round < rounds; round++) {
+            int t0 = TE0[s0 >>> 24] ^ TE1[(s1 >>> 16) & 0xFF] ^ TE2[(s2 >>> 8) & 0xFF] ^ TE3[s3 & 0xFF] ^ rk[k];
+            int t1 = TE0[s1 >>> 24] ^ TE1[(s2 >>> 16) & 0xFF] ^ TE2[(s3 >>> 8) & 0xFF] ^ TE3[s0 & 0xFF] ^ rk[k + 1];
+            int t2 = TE0[s2 >>> 24] ^ TE1[(s3 >>> 16) & 0xFF] ^ TE2[(s0 >>> 8) & 0xFF] ^ TE3[s1 & 0xFF] ^ rk[k + 2];
+            int t3 = TE0[s3 >>> 24] ^ TE1[(s0 >>> 16) & 0xFF] ^ TE2[(s1 >>> 8) & 0xFF] ^ TE3[s2 & 0xFF] ^ rk[k + 3];
+            s0 = t0;
+            s1 = t1;
+            s2 = t2;
+            s3 = t3;
+            k += 4;
+        }
+
+        putInt(out, outIndex, finalRound(SBOX, s0, s1, s2, s3) ^ rk[k]);
+        putInt(out, outIndex + 4, finalRound(SBOX, s1, s2, s3, s0) ^ rk[k + 1]);
+        putInt(out, outIndex + 8, finalRound(SBOX, s2, s3, s0, s1) ^ rk[k + 2]);
+        putInt(out, outIndex + 12, finalRound(SBOX, s3, s0, s1, s2) ^ rk[k + 3]);
+    }
+
+    /**
+     * Deszyfruje pojedynczy blok 16 bajtów zapisany w buforze (indeksy bezwzględne, pozycje buforów się nie zmieniają).
+     *
+     * @param drk      Klucze rund deszyfrowania
+     * @param in       Bufor wejściowy
+     * @param inIndex  Indeks bloku w buforze wejściowym
+     * @param out      Bufor wyjściowy (może być tym samym buforem co wejściowy)
+     * @param outIndex Indeks bloku w buforze wyjściowym
+     */
+    static void decryptBlock(int[] drk, ByteBuffer in, int inIndex, ByteBuffer out, int outIndex) {
+        int rounds = drk.length / 4 - 1;
+
+        int s0 = getInt(in, inIndex) ^ drk[0];
+        int s1 = getInt(in, inIndex + 4) ^ drk[1];
+        int s2 = getInt(in, inIndex + 8) ^ drk[2];
+        int s3 = getInt(in, inIndex + 12) ^ drk[3];
+
+        int k = 4;
+        for (int round = 1; round < rounds; round++) {
+            int t0 = TD0[s0 >>> 24] ^ TD1[(s3 >>> 16) & 0xFF] ^ TD2[(s2 >>> 8) & 0xFF] ^ TD3[s1 & 0xFF] ^ drk[k];
+            int t1 = TD0[s1 >>> 24] ^ TD1[(s0 >>> 16) & 0xFF] ^ TD2[(s3 >>> 8) & 0xFF] ^ TD3[s2 & 0xFF] ^ drk[k + 1];
+            int t2 = TD0[s2 >>> 24] ^ TD1[(s1 >>> 16) & 0xFF] ^ TD2[(s0 >>> 8) & 0xFF] ^ TD3[s3 & 0xFF] ^ drk[k + 2];
+            int t3 = TD0[s3 >>> 24] ^ TD1[(s2 >>> 16) & 0xFF] ^ TD2[(s1 >>> 8) & 0xFF] ^ TD3[s0 & 0xFF] ^ drk[k + 3];
+            s0 = t0;
+            s1 = t1;
+            s2 = t2;
+            s3 = t3;
+            k += 4;
+        }
+
+        putInt(out, outIndex, finalRound(INV_SBOX, s0, s3, s2, s1) ^ drk[k]);
+        putInt(out, outIndex + 4, finalRound(INV_SBOX, s1, s0, s3, s2) ^ drk[k + 1]);
+        putInt(out, outIndex + 8, finalRound(INV_SBOX, s2, s1, s0, s3) ^ drk[k + 2]);
+        putInt(out, outIndex + 12, finalRound(INV_SBOX, s3, s2, s1, s0) ^ drk[k + 3]);
+    }
+
+    /**
+     * Składa słowo ostatniej rundy z czterech bajtów podstawionych przez podany S-BOX.
+     */
+    private static int finalRound(byte[] box, int a, int b, int c, int d) {
+        return ((box[a >>> 24] & 0xFF) << 24)
+                | ((box[(b >>> 16) & 0xFF] & 0xFF) << 16)
+                | ((box[(c >>> 8) & 0xFF] & 0xFF) << 8)
+                | (box[d & 0xFF] & 0xFF);
+    }
+
+    /**
+     * Odczytuje słowo 32-bitowe w kolejności big-endian.
+     */
+    static int getInt(byte[] b, int off) {
+        return (b[off] << 24) | ((b[off + 1] & 0xFF) << 16) | ((b[off + 2] & 0xFF) << 8) | (b[off + 3] & 0xFF);
+    }
+
+    /**
+     * Zapisuje słowo 32-bitowe w kolejności big-endian.
+     */
+    static void putInt(byte[] b, int off, int v) {
+        b[off] = (byte) (v >>> 24);
+        b[off + 1] = (byte) (v >>> 16);
+        b[off + 2] = (byte) (v >>> 8);
+        b[off + 3] = (byte) v;
+    }
+
+    /**
+     * Odczytuje słowo 32-bitowe w kolejności big-endian niezależnie od ustawionej kolejności bufora.
+     */
+    static int getInt(ByteBuffer b, int index) {
+        int v = b.getInt(index);
+        return b.order() == ByteOrder.BIG_ENDIAN ? v : Integer.reverseBytes(v);
+    }
+
+    /**
+     * Zapisuje słowo 32-bitowe w kolejności big-endian niezależnie od ustawionej kolejności bufora.
+     */
+    static void putInt(ByteBuffer b, int index, int v) {
+        b.putInt(index, b.order() == ByteOrder.BIG_ENDIAN ? v : Integer.reverseBytes(v));
+    }
+}
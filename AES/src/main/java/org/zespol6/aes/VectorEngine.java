@@ -0,0 +1,225 @@
+/*
+ * Nazwa programu: AES-cipher
+ * Copyright (C) 2025  Mateusz Kosowski Nikodem Nowak
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package org.zespol6.aes;
+
+import jdk.incubator.vector.ByteVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorShuffle;
+import jdk.incubator.vector.VectorSpecies;
+
+import java.util.Arrays;
+
+import static org.zespol6.aes.AESTables.INV_SBOX;
+import static org.zespol6.aes.AESTables.SBOX;
+import static org.zespol6.aes.BlockEngine.BLOCK_SIZE;
+
+/**
+ * Implementacja transformacji blokowej AES na wektorach bajtów (Vector API, {@code jdk.incubator.vector}).
+ * Jeden wektor zawiera kilka bloków (16 bajtów na blok, np. 2 bloki dla wektorów 256-bitowych).
+ * ShiftRows i obroty wierszy w MixColumns to stałe permutacje bajtów, xtime i AddRoundKey to operacje
+ * na wszystkich bajtach naraz, a SubBytes składa wynik z fragmentów S-BOX o długości wektora.
+ *
+ * <p>Klasa jest ładowana wyłącznie przez {@link VectorSupport}, gdy moduł jest dostępny w czasie działania.</p>
+ */
+final class VectorEngine {
+
+    private static final VectorSpecies<Byte> SPECIES = ByteVector.SPECIES_PREFERRED;
+    private static final int LANES = SPECIES.length();                         // Bajty w wektorze
+    private static final int CHUNK_BITS = Integer.numberOfTrailingZeros(LANES); // log2(LANES)
+
+    private static final VectorShuffle<Byte> SHIFT_ROWS = shuffle(0, 1);
+    private static final VectorShuffle<Byte> INV_SHIFT_ROWS = shuffle(0, -1);
+    private static final VectorShuffle<Byte> ROTATE_1 = shuffle(1, 0);
+    private static final VectorShuffle<Byte> ROTATE_2 = shuffle(2, 0);
+
+    // S-BOX i odwrotny S-BOX podzielone na fragmenty o długości wektora
+    private static final ByteVector[] SBOX_CHUNKS = chunks(SBOX);
+    private static final ByteVector[] INV_SBOX_CHUNKS = chunks(INV_SBOX);
+
+    private VectorEngine() {
+    }
+
+    /**
+     * Zwraca liczbę bajtów w wektorze (wielokrotność 16).
+     */
+    static int lanes() {
+        return LANES;
+    }
+
+    /**
+     * Szyfruje ciąg bloków.
+     *
+     * @param roundKeys Klucze rund wyznaczone przez {@link #roundKeys(byte[])}
+     * @param in        Tablica wejściowa
+     * @param inOff     Przesunięcie danych w tablicy wejściowej
+     * @param out       Tablica wyjściowa (może być tą samą tablicą co wejściowa)
+     * @param outOff    Przesunięcie wyniku w tablicy wyjściowej
+     * @param len       Liczba bajtów (wielokrotność 16)
+     */
+    static void encryptBlocks(Object roundKeys, byte[] in, int inOff, byte[] out, int outOff, int len) {
+        ByteVector[] keys = (ByteVector[]) roundKeys;
+        int rounds = keys.length - 1;
+        int full = len / LANES * LANES;
+
+        for (int off = 0; off < full; off += LANES) {
+            ByteVector state = ByteVector.fromArray(SPECIES, in, inOff + off);
+            encrypt(keys, rounds, state).intoArray(out, outOff + off);
+        }
+        if (full < len) {
+            // Ostatnie bloki nie wypełniają wektora - przetwarzane z maską
+            VectorMask<Byte> mask = SPECIES.indexInRange(0, len - full);
+            ByteVector state = ByteVector.fromArray(SPECIES, in, inOff + full, mask);
+            encrypt(keys, rounds, state).intoArray(out, outOff + full, mask);
+        }
+    }
+
+    /**
+     * Deszyfruje ciąg bloków.
+     *
+     * @param roundKeys Klucze rund wyznaczone przez {@link #roundKeys(byte[])}
+     * @param in        Tablica wejściowa
+     * @param inOff     Przesunięcie danych w tablicy wejściowej
+     * @param out       Tablica wyjściowa (może być tą samą tablicą co wejściowa)
+     * @param outOff    Przesunięcie wyniku w tablicy wyjściowej
+     * @param len       Liczba bajtów (wielokrotność 16)
+     */
+    static void decryptBlocks(Object roundKeys, byte[] in, int inOff, byte[] out, int outOff, int len) {
+        ByteVector[] keys = (ByteVector[]) roundKeys;
+        int rounds = keys.length - 1;
+        int full = len / LANES * LANES;
+
+        for (int off = 0; off < full; off += LANES) {
+            ByteVector state = ByteVector.fromArray(SPECIES, in, inOff + off);
+            decrypt(keys, rounds, state).intoArray(out, outOff + off);
+        }
+        if (full < len) {
+            VectorMask<Byte> mask = SPECIES.indexInRange(0, len - full);
+            ByteVector state = ByteVector.fromArray(SPECIES, in, inOff + full, mask);
+            decrypt(keys, rounds, state).intoArray(out, outOff + full, mask);
+        }
+    }
+
+    private static ByteVector encrypt(ByteVector[] keys, int rounds, ByteVector state) {
+        state = state.lanewise(VectorOperators.XOR, keys[0]);
+        for (int round = 1; round < rounds; round++) {
+            state = subBytes(state, SBOX_CHUNKS).rearrange(SHIFT_ROWS);
+            state = mixColumns(state).lanewise(VectorOperators.XOR, keys[round]);
+        }
+        state = subBytes(state, SBOX_CHUNKS).rearrange(SHIFT_ROWS);
+        return state.lanewise(VectorOperators.XOR, keys[rounds]);
+    }
+
+    private static ByteVector decrypt(ByteVector[] keys, int rounds, ByteVector state) {
+        state = state.lanewise(VectorOperators.XOR, keys[rounds]);
+        for (int round = rounds - 1; round > 0; round--) {
+            state = subBytes(state.rearrange(INV_SHIFT_ROWS), INV_SBOX_CHUNKS);
+            state = invMixColumns(state.lanewise(VectorOperators.XOR, keys[round]));
+        }
+        state = subBytes(state.rearrange(INV_SHIFT_ROWS), INV_SBOX_CHUNKS);
+        return state.lanewise(VectorOperators.XOR, keys[0]);
+    }
+
+    /**
+     * Podstawienie bajtów: każdy fragment tablicy przeszukiwany jest permutacją według młodszych bitów
+     * bajtu, a wynik wybierany maską według starszych bitów. Odczytywane są zawsze wszystkie fragmenty.
+     */
+    private static ByteVector subBytes(ByteVector state, ByteVector[] table) {
+        VectorShuffle<Byte> index = state.lanewise(VectorOperators.AND, (byte) (LANES - 1)).toShuffle();
+        ByteVector chunk = state.lanewise(VectorOperators.LSHR, CHUNK_BITS);
+        ByteVector result = table[0].rearrange(index);
+        for (int j = 1; j < table.length; j++) {
+            result = result.blend(table[j].rearrange(index), chunk.compare(VectorOperators.EQ, (byte) j));
+        }
+        return result;
+    }
+
+    /**
+     * MixColumns: wynik = 02 * (a ^ a1) ^ a1 ^ a2 ^ a3, gdzie ak to kolumna obrócona o k wierszy.
+     */
+    private static ByteVector mixColumns(ByteVector a) {
+        ByteVector a1 = a.rearrange(ROTATE_1);
+        ByteVector a2 = a.rearrange(ROTATE_2);
+        ByteVector a3 = a1.rearrange(ROTATE_2);
+        return xtime(a.lanewise(VectorOperators.XOR, a1))
+                .lanewise(VectorOperators.XOR, a1)
+                .lanewise(VectorOperators.XOR, a2)
+                .lanewise(VectorOperators.XOR, a3);
+    }
+
+    /**
+     * InvMixColumns jako MixColumns poprzedzone mnożeniem: a ^= 04 * (a ^ a2).
+     */
+    private static ByteVector invMixColumns(ByteVector a) {
+        ByteVector u = xtime(xtime(a.lanewise(VectorOperators.XOR, a.rearrange(ROTATE_2))));
+        return mixColumns(a.lanewise(VectorOperators.XOR, u));
+    }
+
+    /**
+     * Mnożenie wszystkich bajtów przez 02 w GF(2^8): przesunięcie w lewo i redukcja maską z najstarszego bitu.
+     */
+    private static ByteVector xtime(ByteVector v) {
+        ByteVector reduce = v.lanewise(VectorOperators.ASHR, 7).lanewise(VectorOperators.AND, (byte) 0x1B);
+        return v.lanewise(VectorOperators.LSHL, 1).lanewise(VectorOperators.XOR, reduce);
+    }
+
+    /**
+     * Wyznacza klucze rund powielone dla wszystkich bloków w wektorze. Wynik zwracany jest jako
+     * {@code Object}, aby klasy przechowujące go nie zależały od opcjonalnego modułu.
+     *
+     * @param expandedKey Rozszerzony klucz bajtowy
+     * @return Tablica {@code ByteVector[]} z kluczami kolejnych rund
+     */
+    static Object roundKeys(byte[] expandedKey) {
+        int rounds = expandedKey.length / BLOCK_SIZE - 1;
+        ByteVector[] keys = new ByteVector[rounds + 1];
+        byte[] replicated = new byte[LANES];
+        for (int k = 0; k <= rounds; k++) {
+            for (int off = 0; off < LANES; off += BLOCK_SIZE) {
+                System.arraycopy(expandedKey, k * BLOCK_SIZE, replicated, off, BLOCK_SIZE);
+            }
+            keys[k] = ByteVector.fromArray(SPECIES, replicated, 0);
+        }
+        Arrays.fill(replicated, (byte) 0);
+        return keys;
+    }
+
+    /**
+     * Buduje permutację bajtów działającą niezależnie w każdym bloku: bajt (wiersz r, kolumna c)
+     * otrzymuje bajt z wiersza r + rowStep i kolumny c + r * columnStep.
+     */
+    private static VectorShuffle<Byte> shuffle(int rowStep, int columnStep) {
+        int[] source = new int[LANES];
+        for (int j = 0; j < LANES; j++) {
+            int base = j & ~15;
+            int r = j & 3;
+            int c = (j & 15) >> 2;
+            source[j] = base + 4 * ((c + r * columnStep) & 3) + ((r + rowStep) & 3);
+        }
+        return VectorShuffle.fromArray(SPECIES, source, 0);
+    }
+
+    private static ByteVector[] chunks(byte[] table) {
+        ByteVector[] chunks = new ByteVector[256 / LANES];
+        for (int j = 0; j < chunks.length; j++) {
+            chunks[j] = ByteVector.fromArray(SPECIES, table, j * LANES);
+        }
+        return chunks;
+    }
+}
@@ -0,0 +1,60 @@
+/*
+ * Nazwa programu: AES-cipher
+ * Copyright (C) 2025  Mateusz Kosowski Nikodem Nowak
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package org.zespol6.aes;
+
+/**
+ * Wykrywanie w czasie działania, czy można użyć {@link VectorEngine}.
+ * Moduł {@code jdk.incubator.vector} jest opcjonalny (wymaga {@code --add-modules jdk.incubator.vector});
+ * bez niego klasa {@link VectorEngine} nie jest ładowana, a {@link Engine#VECTOR} korzysta z implementacji
+ * tablicowej.
+ */
+final class VectorSupport {
+
+    static final boolean AVAILABLE = detect();
+
+    private VectorSupport() {
+    }
+
+    private static boolean detect() {
+        if (ModuleLayer.boot().findModule("jdk.incubator.vector").isEmpty()) {
+            return false;
+        }
+        try {
+            // Wektory krótsze niż blok (np. 64-bitowe) nie dają korzyści
+            return VectorEngine.lanes() >= 16;
+        } catch (LinkageError e) {
+            return false;
+        }
+    }
+
+    /**
+     * Wyznacza klucze rund dla {@link VectorEngine} (zob. {@link VectorEngine#roundKeys(byte[])}).
+     */
+    static Object roundKeys(byte[] expandedKey) {
+        return VectorEngine.roundKeys(expandedKey);
+    }
+
+    static void encryptBlocks(Object roundKeys, byte[] in, int inOff, byte[] out, int outOff, int len) {
+        VectorEngine.encryptBlocks(roundKeys, in, inOff, out, outOff, len);
+    }
+
+    static void decryptBlocks(Object roundKeys, byte[] in, int inOff, byte[] out, int outOff, int len) {
+        VectorEngine.decryptBlocks(roundKeys, in, inOff, out, outOff, len);
+    }
+}
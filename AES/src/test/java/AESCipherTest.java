@@ -0,0 +1,205 @@
+import org.junit.jupiter.api.Test;
+import org.zespol6.aes.AES;
+import org.zespol6.aes.AESCipher;
+import org.zespol6.aes.CTRMode;
+import org.zespol6.aes.Engine;
+import org.zespol6.aes.Hex;
+import org.zespol6.aes.KeySchedule;
+
+import java.lang.management.ManagementFactory;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.ReadOnlyBufferException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+public class AESCipherTest {
+
+    @Test
+    public void testMatchesAES() {
+        Random random = new Random(42);
+        AES aes = new AES();
+
+        for (int i = 0; i < 20; i++) {
+            BigInteger key = new BigInteger(128, random);
+            byte[] data = new byte[random.nextInt(100)];
+            random.nextBytes(data);
+
+            AESCipher cipher = AESCipher.of(key);
+            byte[] encrypted = cipher.encrypt(data);
+            assertArrayEquals(aes.encrypt(data, key), encrypted);
+            assertArrayEquals(aes.decrypt(encrypted, key), cipher.decrypt(encrypted));
+        }
+    }
+
+    @Test
+    public void testEnginesMatchJce() {
+        Random random = new Random(16);
+        BigInteger fipsKey = new BigInteger("000102030405060708090a0b0c0d0e0f", 16);
+        byte[] fipsBlock = new byte[16];
+        AESCipher.of(fipsKey, Engine.JCE).encryptBlock(Hex.decode("00112233445566778899AABBCCDDEEFF"), 0, fipsBlock, 0);
+        assertEquals("69C4E0D86A7B0430D8CDB78070B4C55A", Hex.encode(fipsBlock));
+
+        for (int i = 0; i < 20; i++) {
+            BigInteger key = new BigInteger(128, random);
+            byte[] data = new byte[16 * (1 + random.nextInt(40))];
+            random.nextBytes(data);
+            AESCipher jce = AESCipher.of(key, Engine.JCE);
+            assertEquals(Engine.JCE, jce.engine());
+            byte[] expected = new byte[data.length];
+            jce.encryptBlocks(data, 0, expected, 0, data.length);
+
+            for (Engine engine : Engine.values()) {
+                AESCipher cipher = AESCipher.of(key, engine);
+                byte[] encrypted = data.clone();
+                cipher.encryptBlocks(encrypted, 0, encrypted, 0, encrypted.length);
+                assertArrayEquals(expected, encrypted, engine.name());
+                cipher.decryptBlocks(encrypted, 0, encrypted, 0, encrypted.length);
+                assertArrayEquals(data, encrypted, engine.name());
+
+                // Tryb CTR na dowolnej implementacji daje ten sam strumień klucza
+                byte[] iv = new byte[16];
+                random.nextBytes(iv);
+                assertArrayEquals(new CTRMode(jce, iv).encrypt(data), new CTRMode(cipher, iv).encrypt(data), engine.name());
+            }
+        }
+    }
+
+    @Test
+    public void testDirectBufferBlocks() {
+        Random random = new Random(20);
+        BigInteger key = new BigInteger(128, random);
+        byte[] data = new byte[16 * 300];
+        random.nextBytes(data);
+
+        for (Engine engine : Engine.values()) {
+            AESCipher cipher = AESCipher.of(key, engine);
+            byte[] expected = new byte[data.length];
+            cipher.encryptBlocks(data, 0, expected, 0, data.length);
+
+            // Bufor poza stertą z kolejnością little-endian i przesunięciem danych
+            ByteBuffer in = ByteBuffer.allocateDirect(data.length + 32).order(ByteOrder.LITTLE_ENDIAN);
+            in.put(32, data);
+            ByteBuffer out = ByteBuffer.allocateDirect(data.length + 48);
+            cipher.encryptBlocks(in, 32, out, 48, data.length);
+            byte[] actual = new byte[data.length];
+            out.get(48, actual);
+            assertArrayEquals(expected, actual, engine.name());
+
+            // Odszyfrowanie w miejscu, API względne przesuwa pozycje
+            out.position(48);
+            assertEquals(data.length, cipher.decrypt(out, out.duplicate().position(48)));
+            assertEquals(out.limit(), out.position());
+            out.get(48, actual);
+            assertArrayEquals(data, actual, engine.name());
+        }
+
+        AESCipher cipher = AESCipher.of(key);
+        ByteBuffer small = ByteBuffer.allocateDirect(32);
+        assertThrows(IndexOutOfBoundsException.class, () -> cipher.encryptBlocks(small, 16, small, 0, 32));
+        assertThrows(IllegalArgumentException.class, () -> cipher.encryptBlocks(small, 0, small, 0, 20));
+        assertThrows(ReadOnlyBufferException.class,
+                () -> cipher.encryptBlocks(small, 0, small.asReadOnlyBuffer(), 0, 32));
+    }
+
+    @Test
+    public void testIndependentOfDestroyedSchedule() {
+        BigInteger key = new BigInteger("000102030405060708090a0b0c0d0e0f", 16);
+        KeySchedule schedule = AES.expandKey(key);
+        AESCipher cipher = AESCipher.of(schedule);
+        schedule.destroy();
+
+        AES aes = new AES();
+        byte[] plain = aes.hexToBytes("00112233445566778899AABBCCDDEEFF");
+        byte[] block = new byte[16];
+        cipher.encryptBlock(plain, 0, block, 0);
+        assertEquals("69C4E0D86A7B0430D8CDB78070B4C55A", aes.bytesToHex(block));
+
+        assertTrue(schedule.isDestroyed());
+        assertThrows(IllegalStateException.class, () -> AESCipher.of(schedule));
+    }
+
+    @Test
+    public void testSharedAcrossThreads() throws Exception {
+        Random random = new Random(7);
+        BigInteger key = new BigInteger(128, random);
+        AESCipher cipher = AESCipher.of(key);
+        byte[] data = new byte[4096];
+        random.nextBytes(data);
+        byte[] expected = cipher.encrypt(data);
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<byte[]>> results = new ArrayList<>();
+            for (int i = 0; i < 64; i++) {
+                results.add(executor.submit(() -> cipher.decrypt(cipher.encrypt(data))));
+            }
+            for (Future<byte[]> result : results) {
+                assertArrayEquals(cipher.decrypt(expected), result.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testEncryptBlocksInPlace() {
+        Random random = new Random(9);
+        AESCipher cipher = AESCipher.of(new BigInteger(128, random));
+        byte[] data = new byte[1000];
+        random.nextBytes(data);
+
+        byte[] buffer = new byte[8 + 992 + 8];
+        System.arraycopy(data, 0, buffer, 8, 992);
+        cipher.encryptBlocks(buffer, 8, buffer, 8, 992);
+        assertArrayEquals(cipher.encrypt(Arrays.copyOf(data, 992)),
+                Arrays.copyOfRange(buffer, 8, 1000));
+        cipher.decryptBlocks(buffer, 8, buffer, 8, 992);
+        assertArrayEquals(Arrays.copyOf(data, 992), Arrays.copyOfRange(buffer, 8, 1000));
+
+        assertThrows(IllegalArgumentException.class, () -> cipher.encryptBlocks(buffer, 0, buffer, 0, 15));
+        assertThrows(IndexOutOfBoundsException.class, () -> cipher.encryptBlocks(buffer, 1000, buffer, 0, 16));
+    }
+
+    @Test
+    public void testEncryptBlocksDoesNotAllocate() {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assumeTrue(threads.isThreadAllocatedMemorySupported());
+        threads.setThreadAllocatedMemoryEnabled(true);
+
+        // Implementacja ustalona jawnie - domyślna zależy od maszyny wirtualnej, a JCE może alokować
+        AESCipher cipher = AESCipher.of(new BigInteger(128, new Random(10)), Engine.T_TABLE);
+        byte[] buffer = new byte[1024 * 1024];
+        byte[] out = new byte[buffer.length];
+        long threadId = Thread.currentThread().threadId();
+
+        // Rozgrzewka, aby pomiar nie obejmował ładowania klas i kompilacji
+        for (int i = 0; i < 20; i++) {
+            cipher.encryptBlocks(buffer, 0, out, 0, buffer.length);
+            cipher.decryptBlocks(out, 0, out, 0, out.length);
+        }
+
+        // Koszt samego pomiaru
+        long before = threads.getThreadAllocatedBytes(threadId);
+        long overhead = threads.getThreadAllocatedBytes(threadId) - before;
+
+        before = threads.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < 10; i++) {
+            cipher.encryptBlocks(buffer, 0, out, 0, buffer.length);
+            cipher.decryptBlocks(out, 0, out, 0, out.length);
+        }
+        long allocated = threads.getThreadAllocatedBytes(threadId) - before - overhead;
+
+        // 10 MiB w 655360 blokach - nawet jeden obiekt na blok dałby kilka MB
+        assertTrue(allocated < 1024, "Allocated " + allocated + " bytes");
+    }
+}
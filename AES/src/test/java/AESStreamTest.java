@@ -0,0 +1,128 @@
+import org.junit.jupiter.api.Test;
+import org.zespol6.aes.AES;
+import org.zespol6.aes.AESCipher;
+import org.zespol6.aes.AESInputStream;
+import org.zespol6.aes.AESOutputStream;
+import org.zespol6.aes.CTRMode;
+import org.zespol6.aes.Padding;
+
+import javax.crypto.BadPaddingException;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AESStreamTest {
+    Random random = new Random(17);
+    BigInteger key = new BigInteger(128, random);
+    AESCipher cipher = AESCipher.of(key);
+    AES aes = new AES();
+
+    // Zapis porcjami o losowych długościach
+    private byte[] writeThrough(OutputStream target, ByteArrayOutputStream sink, byte[] data) throws IOException {
+        int off = 0;
+        while (off < data.length) {
+            int n = Math.min(1 + random.nextInt(300), data.length - off);
+            if (n == 1) {
+                target.write(data[off]);
+            } else {
+                target.write(data, off, n);
+            }
+            off += n;
+        }
+        target.close();
+        return sink.toByteArray();
+    }
+
+    // Odczyt porcjami o losowych długościach
+    private byte[] readThrough(InputStream source) throws IOException {
+        ByteArrayOutputStream result = new ByteArrayOutputStream();
+        byte[] chunk = new byte[301];
+        while (true) {
+            int n = source.read(chunk, 0, 1 + random.nextInt(chunk.length));
+            if (n < 0) {
+                break;
+            }
+            result.write(chunk, 0, n);
+        }
+        source.close();
+        return result.toByteArray();
+    }
+
+    @Test
+    public void testBlockStreamsMatchAES() throws IOException {
+        for (int length : new int[]{0, 1, 15, 16, 17, 64, 1000, 5000}) {
+            byte[] data = new byte[length];
+            random.nextBytes(data);
+            if (length > 20) {
+                // Zera na końcu danych są usuwane tak samo jak przez AES.decrypt
+                data[length - 1] = 0;
+                data[length - 2] = 0;
+            }
+            byte[] expected = aes.encrypt(data, key);
+
+            ByteArrayOutputStream sink = new ByteArrayOutputStream();
+            byte[] encrypted = writeThrough(AESOutputStream.encrypting(sink, cipher, 64), sink, data);
+            assertArrayEquals(expected, encrypted);
+            assertArrayEquals(expected, readThrough(AESInputStream.encrypting(new ByteArrayInputStream(data), cipher, 64)));
+
+            byte[] decrypted = aes.decrypt(expected, key);
+            sink = new ByteArrayOutputStream();
+            assertArrayEquals(decrypted, writeThrough(AESOutputStream.decrypting(sink, cipher, 64), sink, expected));
+            assertArrayEquals(decrypted, readThrough(AESInputStream.decrypting(new ByteArrayInputStream(expected), cipher, 64)));
+        }
+    }
+
+    @Test
+    public void testPkcs7StreamsKeepTrailingZeros() throws IOException {
+        for (int length : new int[]{0, 1, 15, 16, 17, 64, 1000, 5000}) {
+            byte[] data = new byte[length];
+            random.nextBytes(data);
+            Arrays.fill(data, length / 2, length, (byte) 0);
+            byte[] expected = cipher.encrypt(data, Padding.PKCS7);
+
+            ByteArrayOutputStream sink = new ByteArrayOutputStream();
+            assertArrayEquals(expected, writeThrough(AESOutputStream.encrypting(sink, cipher, Padding.PKCS7, 64), sink, data));
+            assertArrayEquals(expected, readThrough(AESInputStream.encrypting(new ByteArrayInputStream(data), cipher, Padding.PKCS7, 64)));
+
+            sink = new ByteArrayOutputStream();
+            assertArrayEquals(data, writeThrough(AESOutputStream.decrypting(sink, cipher, Padding.PKCS7, 64), sink, expected));
+            assertArrayEquals(data, readThrough(AESInputStream.decrypting(new ByteArrayInputStream(expected), cipher, Padding.PKCS7)));
+        }
+
+        // Szyfrogram bez dopełnienia PKCS#7
+        byte[] invalid = cipher.encrypt(new byte[32], Padding.NONE);
+        IOException e = assertThrows(IOException.class,
+                () -> readThrough(AESInputStream.decrypting(new ByteArrayInputStream(invalid), cipher, Padding.PKCS7)));
+        assertTrue(e.getCause() instanceof BadPaddingException);
+    }
+
+    @Test
+    public void testCounterStreamsMatchCTRMode() throws IOException {
+        byte[] counter = new byte[16];
+        random.nextBytes(counter);
+        CTRMode ctr = new CTRMode(cipher, counter);
+        byte[] data = new byte[100_003];
+        random.nextBytes(data);
+        byte[] expected = ctr.encrypt(data);
+
+        ByteArrayOutputStream sink = new ByteArrayOutputStream();
+        assertArrayEquals(expected, writeThrough(AESOutputStream.counter(sink, ctr, 4096), sink, data));
+        assertArrayEquals(data, readThrough(AESInputStream.counter(new ByteArrayInputStream(expected), ctr, 4096)));
+    }
+
+    @Test
+    public void testWriteAfterClose() throws IOException {
+        AESOutputStream stream = AESOutputStream.encrypting(new ByteArrayOutputStream(), cipher);
+        stream.close();
+        assertThrows(IOException.class, () -> stream.write(1));
+        assertThrows(IllegalArgumentException.class,
+                () -> AESOutputStream.encrypting(new ByteArrayOutputStream(), cipher, 100));
+    }
+}
@@ -1,6 +1,20 @@
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.zespol6.aes.AES;
+import org.zespol6.aes.AESCipher;
+import org.zespol6.aes.Engine;
+import org.zespol6.aes.Hex;
+import org.zespol6.aes.KeySchedule;
+
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class AESTest {
     AES aes;
@@ -10,14 +24,6 @@ public class AESTest {
         aes = new AES();
     }
 
-    private String bytesToHex(byte[] bytes) {
-        StringBuilder sb = new StringBuilder();
-        for (byte b : bytes) {
-            sb.append(String.format("%02X ", b));
-        }
-        return sb.toString().trim();
-    }
-
     @Test
     public void testEncrypt() {
         aes.generateMainKey(256);
@@ -25,13 +31,166 @@ public class AESTest {
         System.out.println("Generated key (hex): " + aes.getMainKey().toString(16).toUpperCase());
         aes.keyExpansion(aes.getMainKey());
         byte[] bigKlucz = aes.getExpandedKey();
-        System.out.println("Key expansion:" + bytesToHex(bigKlucz));
+        System.out.println("Key expansion:" + Hex.encode(bigKlucz));
         String data = "Hello World!";
-        System.out.println("Data (hex): " + bytesToHex(data.getBytes()));
+        System.out.println("Data (hex): " + Hex.encode(data.getBytes()));
         byte[] expectedData= aes.encrypt(data.getBytes(), aes.getMainKey());
-        System.out.println("Encrypted data: " + bytesToHex(expectedData));
+        System.out.println("Encrypted data: " + Hex.encode(expectedData));
         byte[] decryptedData = aes.decrypt(expectedData, aes.getMainKey());
         System.out.println("Decrypted data: " + aes.bytesToString(decryptedData));
     }
 
+    @Test
+    public void testKnownAnswerFips197() {
+        // Wektor testowy z FIPS-197, dodatek C.1
+        BigInteger key = new BigInteger("000102030405060708090a0b0c0d0e0f", 16);
+        byte[] plain = aes.hexToBytes("00112233445566778899AABBCCDDEEFF");
+        byte[] expected = aes.hexToBytes("69C4E0D86A7B0430D8CDB78070B4C55A");
+
+        for (Engine engine : Engine.values()) {
+            aes.setEngine(engine);
+            assertArrayEquals(expected, aes.encrypt(plain, key), engine.name());
+            assertArrayEquals(plain, aes.decrypt(expected, key), engine.name());
+        }
+    }
+
+    @Test
+    public void testExpandedKeySurvivesCacheEviction() {
+        // Harmonogram z FIPS-197, dodatek A.1 - ostatni klucz rundy 13111d7fe3944a17f307a78b4d2b30c5
+        BigInteger key = new BigInteger("000102030405060708090a0b0c0d0e0f", 16);
+        aes.keyExpansion(key);
+        aes.encrypt(new byte[32], key);
+
+        // Wypełnienie pamięci podręcznej (64 wpisy) innymi kluczami usuwa i zeruje harmonogram klucza
+        for (int i = 1; i <= 2 * 64; i++) {
+            aes.encrypt(new byte[16], BigInteger.valueOf(i));
+        }
+
+        byte[] expanded = aes.getExpandedKey();
+        assertArrayEquals(AES.expandKey(key).encryptionSchedule(), expanded);
+        assertArrayEquals(aes.hexToBytes("13111D7FE3944A17F307A78B4D2B30C5"),
+                Arrays.copyOfRange(expanded, expanded.length - 16, expanded.length));
+    }
+
+    @Test
+    public void testKnownAnswerFips197LongKeys() {
+        // Wektory testowe z FIPS-197, dodatek C.2 (192 bity) i C.3 (256 bitów)
+        byte[] plain = aes.hexToBytes("00112233445566778899AABBCCDDEEFF");
+        String[][] vectors = {
+                {"000102030405060708090a0b0c0d0e0f1011121314151617", "DDA97CA4864CDFE06EAF70A0EC0D7191", "12"},
+                {"000102030405060708090a0b0c0d0e0f101112131415161718191a1b1c1d1e1f", "8EA2B7CA516745BFEAFC49904B496089", "14"}
+        };
+
+        for (String[] vector : vectors) {
+            byte[] key = aes.hexToBytes(vector[0]);
+            byte[] expected = aes.hexToBytes(vector[1]);
+            for (Engine engine : Engine.values()) {
+                AESCipher cipher = AESCipher.of(key, engine);
+                assertEquals(Integer.parseInt(vector[2]), cipher.rounds(), engine.name());
+                byte[] block = new byte[16];
+                cipher.encryptBlock(plain, 0, block, 0);
+                assertArrayEquals(expected, block, engine.name());
+                cipher.decryptBlock(block, 0, block, 0);
+                assertArrayEquals(plain, block, engine.name());
+            }
+        }
+    }
+
+    @Test
+    public void testWordKeyScheduleMatchesReference() {
+        Random random = new Random(2001);
+
+        for (int size : new int[]{16, 24, 32}) {
+            for (int i = 0; i < 20; i++) {
+                byte[] key = new byte[size];
+                random.nextBytes(key);
+                KeySchedule reference = AES.referenceKeyExpansion(key);
+                KeySchedule words = KeySchedule.of(key);
+                assertEquals(size / 4 + 6, words.rounds());
+                assertArrayEquals(reference.encryptionSchedule(), words.encryptionSchedule(), "size " + size);
+                assertArrayEquals(reference.decryptionSchedule(), words.decryptionSchedule(), "size " + size);
+
+                // Klucz w buforze (od pozycji do limitu), pozycja bez zmian
+                ByteBuffer buffer = ByteBuffer.allocateDirect(size + 3).position(3);
+                buffer.put(3, key);
+                assertArrayEquals(reference.encryptionSchedule(), KeySchedule.of(buffer).encryptionSchedule());
+                assertEquals(3, buffer.position());
+            }
+        }
+
+        // Klucz BigInteger to nadal klucz 128-bitowy
+        BigInteger key = new BigInteger(256, random);
+        assertArrayEquals(KeySchedule.of(AES.toByteKey(key)).encryptionSchedule(),
+                AES.expandKey(key).encryptionSchedule());
+        assertEquals(32, AES.toByteKey(key, 32).length);
+        assertThrows(IllegalArgumentException.class, () -> KeySchedule.of(new byte[20]));
+        assertThrows(IllegalArgumentException.class, () -> AES.toByteKey(key, 20));
+    }
+
+    @Test
+    public void testEnginesProduceIdenticalBlocks() {
+        Random random = new Random(1234);
+        AES reference = new AES();
+        reference.setEngine(Engine.REFERENCE);
+
+        for (Engine engine : Engine.values()) {
+            AES other = new AES();
+            other.setEngine(engine);
+
+            for (int i = 0; i < 50; i++) {
+                byte[] keyBytes = new byte[16];
+                random.nextBytes(keyBytes);
+                BigInteger key = new BigInteger(1, keyBytes);
+                // Także liczby bloków niebędące wielokrotnością 8 (niepełna grupa silnika bitsliced)
+                byte[] data = new byte[16 * (1 + random.nextInt(40))];
+                random.nextBytes(data);
+
+                byte[] encrypted = reference.encrypt(data, key);
+                assertArrayEquals(encrypted, other.encrypt(data, key), engine.name());
+                assertArrayEquals(reference.decrypt(encrypted, key), other.decrypt(encrypted, key), engine.name());
+            }
+        }
+    }
+
+    @Test
+    public void testVectorEngineAvailableWithIncubatorModule() {
+        // Testy uruchamiane są z --add-modules jdk.incubator.vector (konfiguracja surefire)
+        assertTrue(Engine.VECTOR.isAvailable());
+        assertTrue(Engine.T_TABLE.isAvailable());
+    }
+
+    @Test
+    public void testDecryptionScheduleIsEquivalentInverse() {
+        KeySchedule schedule = AES.expandKey(new BigInteger("000102030405060708090a0b0c0d0e0f", 16));
+        byte[] ek = schedule.encryptionSchedule();
+        byte[] dk = schedule.decryptionSchedule();
+        int rounds = schedule.rounds();
+
+        for (int round = 0; round <= rounds; round++) {
+            byte[] expected = Arrays.copyOfRange(ek, (rounds - round) * 16, (rounds - round + 1) * 16);
+            byte[] actual = Arrays.copyOfRange(dk, round * 16, round * 16 + 16);
+            if (round > 0 && round < rounds) {
+                // MixColumns odwraca InvMixColumns zastosowane przy przygotowaniu klucza
+                for (int c = 0; c < 16; c += 4) {
+                    mixColumn(actual, c);
+                }
+            }
+            assertArrayEquals(expected, actual, "round " + round);
+        }
+
+        schedule.destroy();
+        assertThrows(IllegalStateException.class, schedule::decryptionSchedule);
+    }
+
+    private static void mixColumn(byte[] b, int c) {
+        int a0 = b[c] & 0xFF, a1 = b[c + 1] & 0xFF, a2 = b[c + 2] & 0xFF, a3 = b[c + 3] & 0xFF;
+        b[c] = (byte) (xtime(a0) ^ xtime(a1) ^ a1 ^ a2 ^ a3);
+        b[c + 1] = (byte) (a0 ^ xtime(a1) ^ xtime(a2) ^ a2 ^ a3);
+        b[c + 2] = (byte) (a0 ^ a1 ^ xtime(a2) ^ xtime(a3) ^ a3);
+        b[c + 3] = (byte) (xtime(a0) ^ a0 ^ a1 ^ a2 ^ xtime(a3));
+    }
+
+    private static int xtime(int a) {
+        return ((a << 1) ^ ((a & 0x80) != 0 ? 0x1B : 0)) & 0xFF;
+    }
 }
@@ -0,0 +1,82 @@
+import org.junit.jupiter.api.Test;
+import org.zespol6.aes.AESCipher;
+import org.zespol6.aes.BatchCipher;
+import org.zespol6.aes.Padding;
+import org.zespol6.aes.RecordBatch;
+
+import javax.crypto.BadPaddingException;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BatchCipherTest {
+
+    @Test
+    public void testMatchesPerRecordEncryption() throws BadPaddingException {
+        Random random = new Random(19);
+        AESCipher cipher = AESCipher.of(new BigInteger(128, random));
+        List<byte[]> records = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            byte[] record = new byte[32 + random.nextInt(225)];
+            random.nextBytes(record);
+            records.add(record);
+        }
+
+        BatchCipher sequential = new BatchCipher(cipher, Padding.PKCS7);
+        sequential.setParallelThreshold(Integer.MAX_VALUE);
+        BatchCipher parallel = new BatchCipher(cipher, Padding.PKCS7);
+        parallel.setParallelThreshold(0);
+        parallel.setChunkSize(4096);
+
+        for (BatchCipher batch : new BatchCipher[]{sequential, parallel}) {
+            RecordBatch encrypted = batch.encrypt(records);
+            assertEquals(records.size(), encrypted.size());
+            int expectedOffset = 0;
+            for (int i = 0; i < records.size(); i++) {
+                assertEquals(expectedOffset, encrypted.offset(i));
+                assertArrayEquals(cipher.encrypt(records.get(i), Padding.PKCS7), encrypted.record(i));
+                expectedOffset += encrypted.length(i);
+            }
+            assertEquals(expectedOffset, encrypted.buffer().length);
+
+            RecordBatch decrypted = batch.decrypt(encrypted);
+            for (int i = 0; i < records.size(); i++) {
+                assertArrayEquals(records.get(i), decrypted.record(i));
+            }
+        }
+    }
+
+    @Test
+    public void testSharedBufferIndex() {
+        Random random = new Random(91);
+        AESCipher cipher = AESCipher.of(new BigInteger(128, random));
+        byte[] buffer = new byte[1000];
+        random.nextBytes(buffer);
+        int[] offsets = {0, 100, 100, 517};
+        int[] lengths = {64, 0, 33, 200};
+        RecordBatch records = new RecordBatch(buffer, offsets, lengths, offsets.length);
+
+        RecordBatch encrypted = new BatchCipher(cipher, Padding.ZERO).encrypt(records);
+        assertArrayEquals(new int[]{64, 0, 48, 208},
+                new int[]{encrypted.length(0), encrypted.length(1), encrypted.length(2), encrypted.length(3)});
+        for (int i = 0; i < offsets.length; i++) {
+            assertArrayEquals(cipher.encrypt(records.record(i)), encrypted.record(i));
+        }
+        assertThrows(IndexOutOfBoundsException.class,
+                () -> new RecordBatch(buffer, new int[]{990}, new int[]{20}, 1));
+    }
+
+    @Test
+    public void testReportsInvalidPadding() {
+        AESCipher cipher = AESCipher.of(BigInteger.TEN);
+        BatchCipher batch = new BatchCipher(cipher, Padding.PKCS7);
+        RecordBatch encrypted = batch.encrypt(List.of(new byte[5], new byte[40]));
+        encrypted.buffer()[encrypted.offset(1) + 40] ^= 1; // uszkodzenie ostatniego bloku rekordu 1
+
+        BadPaddingException e = assertThrows(BadPaddingException.class, () -> batch.decrypt(encrypted));
+        assertTrue(e.getMessage().contains("record 1"));
+    }
+}
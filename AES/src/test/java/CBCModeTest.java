@@ -0,0 +1,64 @@
+import org.junit.jupiter.api.Test;
+import org.zespol6.aes.AES;
+import org.zespol6.aes.AESCipher;
+import org.zespol6.aes.CBCMode;
+
+import java.math.BigInteger;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CBCModeTest {
+    AES aes = new AES();
+
+    @Test
+    public void testKnownAnswerSP800_38A() {
+        // Wektor testowy F.2.1 z NIST SP 800-38A (CBC-AES128.Encrypt)
+        AESCipher cipher = AESCipher.of(new BigInteger("2b7e151628aed2a6abf7158809cf4f3c", 16));
+        CBCMode cbc = new CBCMode(cipher, aes.hexToBytes("000102030405060708090A0B0C0D0E0F"));
+        byte[] plain = aes.hexToBytes("6BC1BEE22E409F96E93D7E117393172A"
+                + "AE2D8A571E03AC9C9EB76FAC45AF8E51"
+                + "30C81C46A35CE411E5FBC1191A0A52EF"
+                + "F69F2445DF4F9B17AD2B417BE66C3710");
+        String expected = "7649ABAC8119B246CEE98E9B12E9197D"
+                + "5086CB9B507219EE95DB113A917678B2"
+                + "73BED6B8E3C1743B7116E69E22229516"
+                + "3FF1CAA1681FAC09120ECA307586E1A7";
+
+        byte[] encrypted = cbc.encrypt(plain);
+        assertEquals(expected, aes.bytesToHex(encrypted));
+        assertArrayEquals(plain, cbc.decrypt(encrypted));
+    }
+
+    @Test
+    public void testParallelDecryptionMatchesSequential() {
+        Random random = new Random(21);
+        AESCipher cipher = AESCipher.of(new BigInteger(128, random));
+        byte[] iv = new byte[16];
+        random.nextBytes(iv);
+        byte[] data = new byte[16 * 70_001];
+        random.nextBytes(data);
+
+        CBCMode sequential = new CBCMode(cipher, iv);
+        sequential.setParallelThreshold(Integer.MAX_VALUE);
+        CBCMode parallel = new CBCMode(cipher, iv);
+        parallel.setParallelThreshold(0);
+        parallel.setChunkSize(1024);
+
+        byte[] encrypted = sequential.encrypt(data);
+        assertArrayEquals(sequential.decrypt(encrypted), parallel.decrypt(encrypted));
+        assertArrayEquals(data, parallel.decrypt(encrypted));
+
+        // Deszyfrowanie równoległe w miejscu
+        parallel.decrypt(encrypted, 0, encrypted, 0, encrypted.length);
+        assertArrayEquals(data, encrypted);
+    }
+
+    @Test
+    public void testRejectsPartialBlocks() {
+        CBCMode cbc = new CBCMode(AESCipher.of(BigInteger.ONE), new byte[16]);
+        assertThrows(IllegalArgumentException.class, () -> cbc.encrypt(new byte[17]));
+        assertThrows(IllegalArgumentException.class, () -> cbc.decrypt(new byte[15]));
+        assertThrows(IllegalArgumentException.class, () -> new CBCMode(AESCipher.of(BigInteger.ONE), new byte[12]));
+    }
+}
@@ -0,0 +1,147 @@
+import org.junit.jupiter.api.Test;
+import org.zespol6.aes.AES;
+import org.zespol6.aes.AESCipher;
+import org.zespol6.aes.CTRMode;
+import org.zespol6.aes.Engine;
+
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CTRModeTest {
+    AES aes = new AES();
+
+    @Test
+    public void testKnownAnswerSP800_38A() {
+        // Wektor testowy F.5.1 z NIST SP 800-38A (CTR-AES128.Encrypt)
+        AESCipher cipher = AESCipher.of(new BigInteger("2b7e151628aed2a6abf7158809cf4f3c", 16));
+        CTRMode ctr = new CTRMode(cipher, aes.hexToBytes("F0F1F2F3F4F5F6F7F8F9FAFBFCFDFEFF"));
+        byte[] plain = aes.hexToBytes("6BC1BEE22E409F96E93D7E117393172A"
+                + "AE2D8A571E03AC9C9EB76FAC45AF8E51"
+                + "30C81C46A35CE411E5FBC1191A0A52EF"
+                + "F69F2445DF4F9B17AD2B417BE66C3710");
+        String expected = "874D6191B620E3261BEF6864990DB6CE"
+                + "9806F66B7970FDFF8617187BB9FFFDFF"
+                + "5AE4DF3EDBD5D35E5B4F09020DB03EAB"
+                + "1E031DDA2FBE03D1792170A0F3009CEE";
+
+        byte[] encrypted = ctr.encrypt(plain);
+        assertEquals(expected, aes.bytesToHex(encrypted));
+        assertArrayEquals(plain, ctr.decrypt(encrypted));
+    }
+
+    @Test
+    public void testParallelMatchesSequential() {
+        Random random = new Random(99);
+        AESCipher cipher = AESCipher.of(new BigInteger(128, random));
+        byte[] counter = new byte[16];
+        random.nextBytes(counter);
+        // Licznik blisko przepełnienia niższych bajtów, aby przeniesienia wypadały wewnątrz fragmentów
+        counter[15] = (byte) 0xF0;
+        counter[14] = (byte) 0xFF;
+
+        // Długość niebędąca wielokrotnością rozmiaru bloku ani fragmentu
+        byte[] data = new byte[1_000_003];
+        random.nextBytes(data);
+
+        CTRMode sequential = new CTRMode(cipher, counter);
+        sequential.setParallelThreshold(Integer.MAX_VALUE);
+        CTRMode parallel = new CTRMode(cipher, counter);
+        parallel.setParallelThreshold(0);
+        parallel.setChunkSize(4096);
+
+        byte[] expected = sequential.encrypt(data);
+        assertArrayEquals(expected, parallel.encrypt(data));
+        assertArrayEquals(data, parallel.decrypt(expected));
+    }
+
+    @Test
+    public void testInPlace() {
+        AESCipher cipher = AESCipher.of(BigInteger.TEN);
+        CTRMode ctr = new CTRMode(cipher, new byte[16]);
+        ctr.setParallelThreshold(0);
+        ctr.setChunkSize(32);
+        byte[] data = new byte[1000];
+        new Random(3).nextBytes(data);
+        byte[] expected = ctr.encrypt(data);
+
+        ctr.process(data, 0, data, 0, data.length);
+        assertArrayEquals(expected, data);
+    }
+
+    @Test
+    public void testByteBufferMatchesArray() {
+        byte[] data = new byte[5000 + 7];
+        new Random(4).nextBytes(data);
+        byte[] iv = new byte[16];
+        iv[15] = (byte) 0xF0;   // Przeniesienie licznika w trakcie porcji strumienia klucza
+
+        for (Engine engine : new Engine[]{Engine.T_TABLE, Engine.BITSLICED, Engine.JCE}) {
+            CTRMode ctr = new CTRMode(AESCipher.of(new byte[16], engine), iv);
+            byte[] expected = new byte[data.length - 16];
+            ctr.process(data, 16, expected, 0, expected.length, 1);
+
+            for (ByteOrder order : new ByteOrder[]{ByteOrder.BIG_ENDIAN, ByteOrder.LITTLE_ENDIAN}) {
+                ByteBuffer in = ByteBuffer.allocateDirect(data.length).order(order).put(data).position(16);
+                ByteBuffer out = ByteBuffer.allocate(expected.length + 3).order(order).position(3);
+                ctr.process(in, out, 1);
+                assertFalse(in.hasRemaining(), engine.name());
+                assertEquals(out.capacity(), out.position(), engine.name());
+                byte[] actual = new byte[expected.length];
+                out.get(3, actual);
+                assertArrayEquals(expected, actual, engine + " " + order);
+            }
+        }
+    }
+
+    @Test
+    public void testStaticProcessInPlace() {
+        byte[] data = new byte[1000 + 5];
+        new Random(24).nextBytes(data);
+        byte[] iv = new byte[16];
+        iv[15] = (byte) 0xFE;
+        AESCipher cipher = AESCipher.of(new byte[16]);
+        byte[] expected = new byte[data.length];
+        new CTRMode(cipher, iv).process(data, 0, expected, 0, data.length);
+
+        // Licznik przesuwany w miejscu - dwie porcje dają ten sam wynik co jedna
+        ByteBuffer buffer = ByteBuffer.allocateDirect(data.length + 7).put(7, data);
+        byte[] counter = iv.clone();
+        byte[] keyStream = new byte[48];
+        CTRMode.process(cipher, counter, keyStream, buffer, 7, buffer, 7, 512);
+        CTRMode.process(cipher, counter, keyStream, buffer, 7 + 512, buffer, 7 + 512, data.length - 512);
+        byte[] actual = new byte[data.length];
+        buffer.get(7, actual);
+        assertArrayEquals(expected, actual);
+        assertEquals(0, buffer.position());
+
+        assertThrows(IllegalArgumentException.class,
+                () -> CTRMode.process(cipher, new byte[8], keyStream, buffer, 0, buffer, 0, 16));
+        assertThrows(IllegalArgumentException.class,
+                () -> CTRMode.process(cipher, counter, new byte[20], buffer, 0, buffer, 0, 16));
+        assertThrows(IndexOutOfBoundsException.class,
+                () -> CTRMode.process(cipher, counter, keyStream, buffer, 8, buffer, 0, data.length));
+    }
+
+    @Test
+    public void testInvalidArguments() {
+        AESCipher cipher = AESCipher.of(BigInteger.ONE);
+        assertThrows(IllegalArgumentException.class, () -> new CTRMode(cipher, new byte[8]));
+        CTRMode ctr = new CTRMode(cipher, new byte[16]);
+        assertThrows(IllegalArgumentException.class, () -> ctr.setChunkSize(100));
+        assertThrows(IllegalArgumentException.class, () -> ctr.setPool(null));
+
+        byte[] data = new byte[32];
+        assertThrows(IllegalArgumentException.class, () -> ctr.process(data, 0, data, 0, 16, -1));
+        assertThrows(IndexOutOfBoundsException.class, () -> ctr.process(data, 20, data, 0, 16, 0));
+        assertThrows(IndexOutOfBoundsException.class, () -> ctr.process(data, 0, new byte[8], 0, 16, 0));
+        assertThrows(IndexOutOfBoundsException.class, () -> ctr.process(data, -1, data, 0, 16));
+        assertThrows(IllegalArgumentException.class,
+                () -> ctr.process(ByteBuffer.wrap(data), ByteBuffer.allocate(32), -1));
+        assertThrows(IndexOutOfBoundsException.class,
+                () -> ctr.process(ByteBuffer.wrap(data), ByteBuffer.allocate(16), 0));
+    }
+}
@@ -0,0 +1,101 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.zespol6.aes.AESCipher;
+import org.zespol6.aes.CBCMode;
+import org.zespol6.aes.CTRMode;
+import org.zespol6.aes.CipherMetrics;
+import org.zespol6.aes.CipherOperation;
+import org.zespol6.aes.GCMMode;
+import org.zespol6.aes.LatencyHistogram;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CipherMetricsTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    public void testCountsOperationsPerModeAndKeySize() {
+        // Testy uruchamiane są z -Dorg.zespol6.aes.metrics=true (konfiguracja surefire)
+        assertTrue(CipherMetrics.isEnabled());
+        CipherMetrics metrics = CipherMetrics.global();
+        long expansions = metrics.calls(CipherOperation.KEY_EXPANSION, 192);
+        long ecbCalls = metrics.calls(CipherOperation.ECB_ENCRYPT, 192);
+        long ecbBytes = metrics.bytes(CipherOperation.ECB_ENCRYPT, 192);
+        long ctrBlocks = metrics.blocks(CipherOperation.CTR, 192);
+        long cbcCalls = metrics.calls(CipherOperation.CBC_DECRYPT, 192);
+        long gcmBytes = metrics.bytes(CipherOperation.GCM_ENCRYPT, 192);
+
+        AESCipher cipher = AESCipher.of(new byte[24]);
+        byte[] data = new byte[1000];
+        cipher.encrypt(data);
+        // Strumień klucza CTR nie jest liczony jako osobna operacja ECB
+        new CTRMode(cipher, new byte[16]).encrypt(data);
+        CBCMode cbc = new CBCMode(cipher, new byte[16]);
+        cbc.decrypt(cbc.encrypt(new byte[64]));
+        new GCMMode(cipher).encrypt(new byte[12], null, data);
+
+        assertEquals(expansions + 1, metrics.calls(CipherOperation.KEY_EXPANSION, 192));
+        assertEquals(ecbCalls + 1, metrics.calls(CipherOperation.ECB_ENCRYPT, 192));
+        assertEquals(ecbBytes + 1008, metrics.bytes(CipherOperation.ECB_ENCRYPT, 192));
+        assertEquals(ctrBlocks + 63, metrics.blocks(CipherOperation.CTR, 192));
+        assertEquals(cbcCalls + 1, metrics.calls(CipherOperation.CBC_DECRYPT, 192));
+        assertEquals(gcmBytes + 1000, metrics.bytes(CipherOperation.GCM_ENCRYPT, 192));
+        assertTrue(metrics.latency(CipherOperation.ECB_ENCRYPT, 192).count() >= ecbCalls + 1);
+        assertTrue(metrics.toString().contains("CTR"));
+        assertThrows(IllegalArgumentException.class, () -> metrics.calls(CipherOperation.CTR, 100));
+    }
+
+    @Test
+    public void testHistogramPercentiles() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        assertEquals(0, histogram.percentile(50));
+        for (int i = 0; i < 98; i++) {
+            histogram.record(100);          // przedział 7: 64 - 127 ns
+        }
+        histogram.record(5_000);            // przedział 13: 4096 - 8191 ns
+        histogram.record(1_000_000);        // przedział 20
+
+        assertEquals(100, histogram.count());
+        assertEquals(7, LatencyHistogram.bucket(100));
+        assertEquals(0, LatencyHistogram.bucket(0));
+        assertEquals(127, histogram.percentile(50));
+        assertEquals(8191, histogram.percentile(99));
+        assertEquals((1L << 20) - 1, histogram.percentile(100));
+        assertEquals(98 * 100 + 5_000 + 1_000_000, histogram.totalNanos());
+        assertThrows(IllegalArgumentException.class, () -> histogram.percentile(101));
+
+        histogram.reset();
+        assertEquals(0, histogram.count());
+    }
+
+    @Test
+    public void testFlightRecorderEvents() throws IOException {
+        Path file = dir.resolve("aes.jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable("org.zespol6.aes.CipherOperation");
+            recording.enable("org.zespol6.aes.KeyExpansion");
+            recording.start();
+            AESCipher cipher = AESCipher.of(new byte[32]);
+            cipher.encrypt(new byte[4096]);
+            recording.stop();
+            recording.dump(file);
+        }
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+        assertTrue(events.stream().anyMatch(e -> e.getEventType().getName().equals("org.zespol6.aes.KeyExpansion")
+                && e.getInt("keySize") == 256 && !e.getDuration().isZero()));
+        assertTrue(events.stream().anyMatch(e -> e.getEventType().getName().equals("org.zespol6.aes.CipherOperation")
+                && e.getString("operation").equals("ECB_ENCRYPT") && e.getLong("bytes") == 4096
+                && !e.getDuration().isZero()));
+    }
+}
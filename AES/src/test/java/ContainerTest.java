@@ -0,0 +1,159 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.zespol6.aes.AESCipher;
+import org.zespol6.aes.ContainerMode;
+import org.zespol6.aes.ContainerReader;
+import org.zespol6.aes.ContainerWriter;
+import org.zespol6.aes.GCMMode;
+
+import javax.crypto.AEADBadTagException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ContainerTest {
+
+    private static final int CHUNK = 1024;
+    private static final int HEADER = 24 + 28 * 50; // Nagłówek kontenera 50 000 bajtów z fragmentami 1024 B
+
+    @TempDir
+    Path dir;
+
+    private final Random random = new Random(25);
+    private final AESCipher cipher = AESCipher.of(keyBytes(32));
+
+    private byte[] keyBytes(int len) {
+        byte[] key = new byte[len];
+        random.nextBytes(key);
+        return key;
+    }
+
+    private ContainerWriter writer(ContainerMode mode) {
+        ContainerWriter writer = new ContainerWriter(cipher);
+        writer.setMode(mode);
+        writer.setChunkSize(CHUNK);
+        return writer;
+    }
+
+    @Test
+    public void testRoundTripInMemoryAndFile() throws Exception {
+        for (ContainerMode mode : ContainerMode.values()) {
+            for (int size : new int[]{0, 1, 16, CHUNK - 1, CHUNK, CHUNK + 1, 50_000}) {
+                byte[] data = new byte[size];
+                random.nextBytes(data);
+
+                byte[] container = writer(mode).encrypt(data);
+                assertTrue(ContainerReader.isContainer(container));
+                try (ContainerReader reader = ContainerReader.of(container, cipher)) {
+                    assertEquals(mode, reader.mode());
+                    assertEquals(256, reader.keySize());
+                    assertEquals(size, reader.length());
+                    assertEquals((size + CHUNK - 1) / CHUNK, reader.chunkCount());
+                    assertArrayEquals(data, reader.readAll(), mode + " " + size);
+                }
+
+                Path plain = Files.write(dir.resolve("plain"), data);
+                Path packed = dir.resolve("packed");
+                Path unpacked = dir.resolve("unpacked");
+                writer(mode).encrypt(plain, packed);
+                assertEquals(container.length, Files.size(packed));
+                try (ContainerReader reader = ContainerReader.open(packed, cipher)) {
+                    reader.decrypt(unpacked);
+                }
+                assertArrayEquals(data, Files.readAllBytes(unpacked));
+            }
+        }
+    }
+
+    @Test
+    public void testGcmChunksMatchGcmMode() throws Exception {
+        byte[] data = new byte[3000];
+        random.nextBytes(data);
+        byte[] container = writer(ContainerMode.GCM).encrypt(data);
+
+        // Fragment 1: nonce i znacznik z indeksu, AAD = stała część nagłówka i numer fragmentu
+        int header = 24 + 28 * 3;
+        byte[] nonce = Arrays.copyOfRange(container, 24 + 28, 24 + 28 + 12);
+        byte[] tag = Arrays.copyOfRange(container, 24 + 28 + 12, 24 + 56);
+        byte[] aad = Arrays.copyOf(container, 28);
+        aad[27] = 1;
+        aad[24] = aad[25] = aad[26] = 0;
+        byte[] expected = new GCMMode(cipher).encrypt(nonce, aad, Arrays.copyOfRange(data, CHUNK, 2 * CHUNK));
+        assertArrayEquals(Arrays.copyOf(expected, CHUNK), Arrays.copyOfRange(container, header + CHUNK, header + 2 * CHUNK));
+        assertArrayEquals(Arrays.copyOfRange(expected, CHUNK, CHUNK + 16), tag);
+    }
+
+    @Test
+    public void testRangeReadTouchesOnlyNeededChunks() throws Exception {
+        byte[] data = new byte[50_000];
+        random.nextBytes(data);
+        for (ContainerMode mode : ContainerMode.values()) {
+            Path packed = dir.resolve("packed-" + mode);
+            Files.write(packed, writer(mode).encrypt(data));
+            try (ContainerReader reader = ContainerReader.open(packed, cipher)) {
+                assertArrayEquals(Arrays.copyOfRange(data, 5000, 5100), reader.read(5000, 100));
+                assertEquals(1, reader.chunksDecrypted());
+
+                // Zakres od końca fragmentu 1 do początku fragmentu 4 - fragmenty 1, 2, 3 i 4
+                assertArrayEquals(Arrays.copyOfRange(data, 2 * CHUNK - 7, 4 * CHUNK + 3),
+                        reader.read(2 * CHUNK - 7, 2 * CHUNK + 10));
+                assertEquals(5, reader.chunksDecrypted());
+
+                // Koniec danych i odczyt za końcem
+                assertArrayEquals(Arrays.copyOfRange(data, 49_990, 50_000), reader.read(49_990, 100));
+                assertEquals(0, reader.read(50_000, 10).length);
+                assertEquals(6, reader.chunksDecrypted());
+
+                byte[] out = new byte[300];
+                assertEquals(200, reader.read(17, out, 100, 200));
+                assertArrayEquals(Arrays.copyOfRange(data, 17, 217), Arrays.copyOfRange(out, 100, 300));
+            }
+        }
+    }
+
+    @Test
+    public void testTamperingIsDetected() throws Exception {
+        byte[] data = new byte[50_000];
+        random.nextBytes(data);
+        byte[] container = writer(ContainerMode.GCM).encrypt(data);
+
+        // Zmieniony bajt fragmentu 10 - pozostałe fragmenty nadal można odczytać
+        byte[] modified = container.clone();
+        modified[HEADER + 10 * CHUNK + 5] ^= 1;
+        try (ContainerReader reader = ContainerReader.of(modified, cipher)) {
+            assertArrayEquals(Arrays.copyOfRange(data, 0, CHUNK), reader.read(0, CHUNK));
+            assertThrows(AEADBadTagException.class, () -> reader.read(10 * CHUNK, 10));
+            assertThrows(AEADBadTagException.class, reader::readAll);
+            Path target = dir.resolve("out");
+            assertThrows(AEADBadTagException.class, () -> reader.decrypt(target));
+            assertFalse(Files.exists(target));
+        }
+
+        // Zamienione fragmenty 1 i 2 razem z wpisami indeksu
+        byte[] swapped = container.clone();
+        System.arraycopy(container, 24 + 28, swapped, 24 + 56, 28);
+        System.arraycopy(container, 24 + 56, swapped, 24 + 28, 28);
+        System.arraycopy(container, HEADER + CHUNK, swapped, HEADER + 2 * CHUNK, CHUNK);
+        System.arraycopy(container, HEADER + 2 * CHUNK, swapped, HEADER + CHUNK, CHUNK);
+        try (ContainerReader reader = ContainerReader.of(swapped, cipher)) {
+            assertThrows(AEADBadTagException.class, () -> reader.read(CHUNK, 10));
+        }
+    }
+
+    @Test
+    public void testInvalidContainers() throws IOException {
+        byte[] container = writer(ContainerMode.CTR).encrypt(new byte[5000]);
+        assertThrows(IOException.class, () -> ContainerReader.of(new byte[10], cipher));
+        assertThrows(IOException.class, () -> ContainerReader.of(Arrays.copyOf(container, container.length - 1), cipher));
+        byte[] version = container.clone();
+        version[4] = 9;
+        assertThrows(IOException.class, () -> ContainerReader.of(version, cipher));
+        assertFalse(ContainerReader.isContainer(new byte[100]));
+        assertThrows(IllegalArgumentException.class, () -> ContainerReader.of(container, AESCipher.of(new byte[16])));
+        assertThrows(IllegalArgumentException.class, () -> writer(ContainerMode.GCM).setChunkSize(100));
+    }
+}
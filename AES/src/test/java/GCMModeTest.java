@@ -0,0 +1,104 @@
+import org.junit.jupiter.api.Test;
+import org.zespol6.aes.AES;
+import org.zespol6.aes.AESCipher;
+import org.zespol6.aes.GCMMode;
+
+import javax.crypto.AEADBadTagException;
+import javax.crypto.Cipher;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import java.math.BigInteger;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GCMModeTest {
+    AES aes = new AES();
+
+    @Test
+    public void testKnownAnswers() throws Exception {
+        // Przypadki testowe 2 i 4 ze specyfikacji GCM (McGrew, Viega)
+        GCMMode zeroKey = new GCMMode(AESCipher.of(BigInteger.ZERO));
+        byte[] result = zeroKey.encrypt(new byte[12], null, new byte[16]);
+        assertEquals("0388DACE60B6A392F328C2B971B2FE78" + "AB6E47D42CEC13BDF53A67B21257BDDF", aes.bytesToHex(result));
+
+        GCMMode gcm = new GCMMode(AESCipher.of(new BigInteger("feffe9928665731c6d6a8f9467308308", 16)));
+        byte[] iv = aes.hexToBytes("CAFEBABEFACEDBADDECAF888");
+        byte[] aad = aes.hexToBytes("FEEDFACEDEADBEEFFEEDFACEDEADBEEFABADDAD2");
+        byte[] plain = aes.hexToBytes("D9313225F88406E5A55909C5AFF5269A86A7A9531534F7DA2E4C303D8A318A72"
+                + "1C3C0C95956809532FCF0E2449A6B525B16AEDF5AA0DE657BA637B39");
+        String expected = "42831EC2217774244B7221B784D0D49CE3AA212F2C02A4E035C17E2329ACA12E"
+                + "21D514B25466931C7D8F6A5AAC84AA051BA30B396A0AAC973D58E091"
+                + "5BC94FBC3221A5DB94FAE95AE7121A47";
+
+        byte[] encrypted = gcm.encrypt(iv, aad, plain);
+        assertEquals(expected, aes.bytesToHex(encrypted));
+        assertArrayEquals(plain, gcm.decrypt(iv, aad, encrypted));
+    }
+
+    @Test
+    public void testMatchesJdkImplementation() throws Exception {
+        Random random = new Random(5);
+        for (int i = 0; i < 50; i++) {
+            byte[] key = new byte[16];
+            random.nextBytes(key);
+            // IV o długości innej niż 12 bajtów wymaga wyznaczenia J0 przez GHASH
+            byte[] iv = new byte[i % 5 == 0 ? 1 + random.nextInt(40) : 12];
+            random.nextBytes(iv);
+            byte[] aad = new byte[random.nextInt(40)];
+            random.nextBytes(aad);
+            byte[] plain = new byte[random.nextInt(2000)];
+            random.nextBytes(plain);
+
+            Cipher jdk = Cipher.getInstance("AES/GCM/NoPadding");
+            jdk.init(Cipher.ENCRYPT_MODE, new SecretKeySpec(key, "AES"), new GCMParameterSpec(128, iv));
+            jdk.updateAAD(aad);
+            byte[] expected = jdk.doFinal(plain);
+
+            GCMMode gcm = new GCMMode(AESCipher.of(new BigInteger(1, key)));
+            assertArrayEquals(expected, gcm.encrypt(iv, aad, plain));
+        }
+    }
+
+    @Test
+    public void testStreamingUpdates() throws Exception {
+        Random random = new Random(11);
+        GCMMode gcm = new GCMMode(AESCipher.of(new BigInteger(128, random)));
+        byte[] iv = new byte[12];
+        random.nextBytes(iv);
+        byte[] aad = new byte[45];
+        random.nextBytes(aad);
+        byte[] plain = new byte[5000];
+        random.nextBytes(plain);
+        byte[] expected = gcm.encrypt(iv, aad, plain);
+
+        // Te same dane przekazywane porcjami o nieregularnych długościach
+        GCMMode.Operation operation = gcm.startEncryption(iv);
+        operation.updateAAD(aad, 0, 7);
+        operation.updateAAD(aad, 7, aad.length - 7);
+        byte[] out = new byte[plain.length + 16];
+        int off = 0;
+        while (off < plain.length) {
+            // Porcje krótsze i dłuższe od porcji strumienia klucza wyznaczanej jednym wywołaniem
+            int n = Math.min(1 + random.nextInt(random.nextBoolean() ? 37 : 1200), plain.length - off);
+            operation.update(plain, off, n, out, off);
+            off += n;
+        }
+        operation.finish(out, plain.length);
+        assertArrayEquals(expected, out);
+        assertThrows(IllegalStateException.class, () -> operation.updateAAD(aad, 0, 1));
+    }
+
+    @Test
+    public void testTamperingIsDetected() throws Exception {
+        GCMMode gcm = new GCMMode(AESCipher.of(BigInteger.TWO));
+        byte[] iv = new byte[12];
+        byte[] encrypted = gcm.encrypt(iv, "header".getBytes(), "Hello World!".getBytes());
+
+        encrypted[3] ^= 1;
+        assertThrows(AEADBadTagException.class, () -> gcm.decrypt(iv, "header".getBytes(), encrypted));
+        encrypted[3] ^= 1;
+        assertThrows(AEADBadTagException.class, () -> gcm.decrypt(iv, "Header".getBytes(), encrypted));
+        assertArrayEquals("Hello World!".getBytes(), gcm.decrypt(iv, "header".getBytes(), encrypted));
+    }
+}
@@ -0,0 +1,74 @@
+import org.junit.jupiter.api.Test;
+import org.zespol6.aes.Hex;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.HexFormat;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class HexTest {
+
+    @Test
+    public void testMatchesHexFormat() {
+        Random random = new Random(13);
+        byte[] data = new byte[1000];
+        random.nextBytes(data);
+        String expected = HexFormat.of().withUpperCase().formatHex(data);
+
+        assertEquals(expected, Hex.encode(data));
+        assertArrayEquals(data, Hex.decode(expected));
+        assertArrayEquals(data, Hex.decode(expected.toLowerCase()));
+
+        // Kodowanie do buforów przekazanych przez wywołującego
+        char[] chars = new char[2 * data.length + 4];
+        Hex.encode(data, 0, data.length, chars, 2);
+        assertEquals(expected, new String(chars, 2, 2 * data.length));
+        byte[] decoded = new byte[data.length];
+        Hex.decode(chars, 2, 2 * data.length, decoded, 0);
+        assertArrayEquals(data, decoded);
+
+        ByteBuffer ascii = ByteBuffer.allocateDirect(2 * data.length);
+        Hex.encode(ByteBuffer.wrap(data), ascii);
+        ascii.flip();
+        ByteBuffer back = ByteBuffer.allocate(data.length);
+        Hex.decode(ascii, back);
+        assertArrayEquals(data, back.array());
+    }
+
+    @Test
+    public void testRejectsInvalidInput() {
+        assertThrows(IllegalArgumentException.class, () -> Hex.decode("ABC"));
+        assertThrows(IllegalArgumentException.class, () -> Hex.decode("0G"));
+        assertThrows(IllegalArgumentException.class, () -> Hex.decode("١٢"));
+    }
+
+    @Test
+    public void testStreaming() throws IOException {
+        Random random = new Random(14);
+        byte[] data = new byte[200_001];
+        random.nextBytes(data);
+
+        ByteArrayOutputStream hex = new ByteArrayOutputStream();
+        assertEquals(data.length, Hex.encode(new ByteArrayInputStream(data), hex));
+        String encoded = hex.toString(StandardCharsets.US_ASCII);
+        assertEquals(Hex.encode(data), encoded);
+
+        // Podział na wiersze o nieparzystej długości - bajty rozdzielone między porcjami
+        StringBuilder lines = new StringBuilder();
+        for (int i = 0; i < encoded.length(); i += 77) {
+            lines.append(encoded, i, Math.min(encoded.length(), i + 77)).append("\r\n");
+        }
+        ByteArrayOutputStream decoded = new ByteArrayOutputStream();
+        byte[] input = lines.toString().getBytes(StandardCharsets.US_ASCII);
+        assertEquals(data.length, Hex.decode(new ByteArrayInputStream(input), decoded));
+        assertArrayEquals(data, decoded.toByteArray());
+
+        assertThrows(IllegalArgumentException.class,
+                () -> Hex.decode(new ByteArrayInputStream("ABC".getBytes()), new ByteArrayOutputStream()));
+    }
+}
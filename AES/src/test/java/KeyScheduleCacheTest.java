@@ -0,0 +1,108 @@
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.zespol6.aes.AES;
+import org.zespol6.aes.Engine;
+import org.zespol6.aes.KeySchedule;
+import org.zespol6.aes.KeyScheduleCache;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.math.BigInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class KeyScheduleCacheTest {
+    KeyScheduleCache cache;
+
+    @BeforeEach
+    public void setUp() {
+        cache = new KeyScheduleCache(2);
+    }
+
+    @Test
+    public void testHitsAndMisses() {
+        BigInteger key = BigInteger.valueOf(1);
+
+        KeySchedule first = cache.acquire(key, AES::expandKey);
+        cache.release(first);
+        KeySchedule second = cache.acquire(key, AES::expandKey);
+        cache.release(second);
+
+        assertSame(first, second);
+        assertEquals(1, cache.missCount());
+        assertEquals(1, cache.hitCount());
+    }
+
+    @Test
+    public void testLeastRecentlyUsedIsEvictedAndZeroed() {
+        KeySchedule s1 = cache.acquire(BigInteger.valueOf(1), AES::expandKey);
+        cache.release(s1);
+        KeySchedule s2 = cache.acquire(BigInteger.valueOf(2), AES::expandKey);
+        cache.release(s2);
+        // Odświeżenie klucza 1 - najdawniej używany jest teraz klucz 2
+        cache.release(cache.acquire(BigInteger.valueOf(1), AES::expandKey));
+        KeySchedule s3 = cache.acquire(BigInteger.valueOf(3), AES::expandKey);
+        cache.release(s3);
+
+        assertEquals(2, cache.size());
+        assertEquals(1, cache.evictionCount());
+        assertTrue(s2.isDestroyed());
+        assertFalse(s1.isDestroyed());
+    }
+
+    @Test
+    public void testEvictionDropsJceKey() throws ReflectiveOperationException {
+        // Transformacja JCE trzyma klucz w SecretKeySpec, poza tablicami zerowanymi przez harmonogram
+        KeySchedule s1 = cache.acquire(BigInteger.valueOf(1), AES::expandKey);
+        Method blockEngine = KeySchedule.class.getDeclaredMethod("blockEngine", Engine.class);
+        blockEngine.setAccessible(true);
+        Object engine = blockEngine.invoke(s1, Engine.JCE);
+        assertSame(engine, blockEngine.invoke(s1, Engine.JCE));
+        Method isDestroyed = engine.getClass().getDeclaredMethod("isDestroyed");
+        isDestroyed.setAccessible(true);
+        Method encryptBlocks = engine.getClass().getDeclaredMethod("encryptBlocks",
+                byte[].class, int.class, byte[].class, int.class, int.class);
+        encryptBlocks.setAccessible(true);
+        byte[] block = new byte[16];
+        encryptBlocks.invoke(engine, block, 0, block, 0, 16);
+        cache.release(s1);
+
+        cache.release(cache.acquire(BigInteger.valueOf(2), AES::expandKey));
+        cache.release(cache.acquire(BigInteger.valueOf(3), AES::expandKey));
+
+        assertTrue(s1.isDestroyed());
+        assertEquals(true, isDestroyed.invoke(engine));
+        InvocationTargetException e = assertThrows(InvocationTargetException.class,
+                () -> encryptBlocks.invoke(engine, block, 0, block, 0, 16));
+        assertTrue(e.getCause() instanceof IllegalStateException);
+        e = assertThrows(InvocationTargetException.class, () -> blockEngine.invoke(s1, Engine.JCE));
+        assertTrue(e.getCause() instanceof IllegalStateException);
+    }
+
+    @Test
+    public void testInvalidationWaitsForActiveUsers() {
+        BigInteger key = BigInteger.valueOf(7);
+        KeySchedule schedule = cache.acquire(key, AES::expandKey);
+
+        cache.invalidate(key);
+        assertFalse(schedule.isDestroyed());
+        assertEquals(0, cache.size());
+
+        cache.release(schedule);
+        assertTrue(schedule.isDestroyed());
+    }
+
+    @Test
+    public void testEncryptUsesSharedCache() {
+        BigInteger key = new BigInteger("2b7e151628aed2a6abf7158809cf4f3c", 16);
+        KeyScheduleCache shared = AES.keyScheduleCache();
+        byte[] data = "Hello World!".getBytes();
+        AES aes = new AES();
+
+        byte[] encrypted = aes.encrypt(data, key);
+        long hits = shared.hitCount();
+        assertArrayEquals(encrypted, aes.encrypt(data, key));
+        assertArrayEquals(data, aes.decrypt(encrypted, key));
+        assertEquals(hits + 2, shared.hitCount());
+    }
+}
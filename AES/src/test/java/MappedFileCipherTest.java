@@ -0,0 +1,102 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.zespol6.aes.AES;
+import org.zespol6.aes.AESCipher;
+import org.zespol6.aes.CTRMode;
+import org.zespol6.aes.MappedFileCipher;
+import org.zespol6.aes.Padding;
+
+import javax.crypto.BadPaddingException;
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MappedFileCipherTest {
+    AES aes = new AES();
+
+    @TempDir
+    Path dir;
+
+    @Test
+    public void testMatchesInMemoryEncryption() throws IOException {
+        Random random = new Random(8);
+        BigInteger key = new BigInteger(128, random);
+        AESCipher cipher = AESCipher.of(key);
+
+        MappedFileCipher sequential = new MappedFileCipher(cipher);
+        sequential.setParallel(false);
+        MappedFileCipher parallel = new MappedFileCipher(cipher);
+        parallel.setWindowSize(4096);
+
+        for (int size : new int[]{0, 1, 15, 16, 4095, 4096, 4097, 50_003}) {
+            byte[] data = new byte[size];
+            random.nextBytes(data);
+            if (size > 0) {
+                data[size - 1] = 1; // bez końcowych zer, które zostałyby usunięte razem z dopełnieniem
+            }
+            Path plain = Files.write(dir.resolve("plain"), data);
+            Path encrypted = dir.resolve("encrypted");
+            Path decrypted = dir.resolve("decrypted");
+
+            for (MappedFileCipher mapped : new MappedFileCipher[]{sequential, parallel}) {
+                mapped.encrypt(plain, encrypted);
+                assertArrayEquals(aes.encrypt(data, key), Files.readAllBytes(encrypted));
+                mapped.decrypt(encrypted, decrypted);
+                assertArrayEquals(data, Files.readAllBytes(decrypted));
+            }
+        }
+    }
+
+    @Test
+    public void testPkcs7MatchesInMemoryEncryption() throws IOException, BadPaddingException {
+        Random random = new Random(18);
+        AESCipher cipher = AESCipher.of(new BigInteger(128, random));
+        MappedFileCipher mapped = new MappedFileCipher(cipher);
+        mapped.setWindowSize(4096);
+
+        for (int size : new int[]{0, 1, 15, 16, 4096, 4097, 50_003}) {
+            byte[] data = new byte[size];
+            random.nextBytes(data);
+            Arrays.fill(data, size / 2, size, (byte) 0); // końcowe zera zachowywane przez PKCS#7
+            Path plain = Files.write(dir.resolve("plain"), data);
+            Path encrypted = dir.resolve("encrypted");
+            Path decrypted = dir.resolve("decrypted");
+
+            mapped.encrypt(plain, encrypted, Padding.PKCS7);
+            assertArrayEquals(cipher.encrypt(data, Padding.PKCS7), Files.readAllBytes(encrypted));
+            mapped.decrypt(encrypted, decrypted, Padding.PKCS7);
+            assertArrayEquals(data, Files.readAllBytes(decrypted));
+        }
+
+        Path invalid = Files.write(dir.resolve("invalid"), cipher.encrypt(new byte[32], Padding.NONE));
+        assertThrows(BadPaddingException.class, () -> mapped.decrypt(invalid, dir.resolve("out"), Padding.PKCS7));
+        Path odd = Files.write(dir.resolve("odd"), new byte[17]);
+        assertThrows(IllegalArgumentException.class, () -> mapped.encrypt(odd, dir.resolve("out"), Padding.NONE));
+    }
+
+    @Test
+    public void testCounterModeMatchesCTRMode() throws IOException {
+        Random random = new Random(80);
+        AESCipher cipher = AESCipher.of(new BigInteger(128, random));
+        byte[] iv = new byte[16];
+        random.nextBytes(iv);
+        byte[] data = new byte[100_007];
+        random.nextBytes(data);
+
+        MappedFileCipher mapped = new MappedFileCipher(cipher);
+        mapped.setWindowSize(1024);
+        Path plain = Files.write(dir.resolve("plain"), data);
+        Path encrypted = dir.resolve("encrypted");
+        Path decrypted = dir.resolve("decrypted");
+
+        mapped.counter(plain, encrypted, iv);
+        assertArrayEquals(new CTRMode(cipher, iv).encrypt(data), Files.readAllBytes(encrypted));
+        mapped.counter(encrypted, decrypted, iv);
+        assertArrayEquals(data, Files.readAllBytes(decrypted));
+    }
+}
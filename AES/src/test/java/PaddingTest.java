@@ -0,0 +1,122 @@
+import org.junit.jupiter.api.Test;
+import org.zespol6.aes.AES;
+import org.zespol6.aes.AESCipher;
+import org.zespol6.aes.CBCMode;
+import org.zespol6.aes.Padding;
+
+import javax.crypto.BadPaddingException;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PaddingTest {
+
+    @Test
+    public void testPkcs7KeepsTrailingZeros() throws BadPaddingException {
+        Random random = new Random(18);
+        BigInteger key = new BigInteger(128, random);
+        AES aes = new AES();
+        AESCipher cipher = AESCipher.of(key);
+
+        for (int size = 0; size <= 40; size++) {
+            byte[] data = new byte[size];
+            random.nextBytes(data);
+            Arrays.fill(data, size / 2, size, (byte) 0); // dane kończące się zerami (np. pliki binarne)
+
+            byte[] encrypted = cipher.encrypt(data, Padding.PKCS7);
+            assertEquals((size / 16 + 1) * 16, encrypted.length);
+            assertArrayEquals(encrypted, aes.encrypt(data, key, Padding.PKCS7));
+            assertArrayEquals(data, cipher.decrypt(encrypted, Padding.PKCS7));
+            assertArrayEquals(data, aes.decrypt(encrypted, key, Padding.PKCS7));
+        }
+    }
+
+    @Test
+    public void testZeroPaddingMatchesLegacyApi() throws BadPaddingException {
+        Random random = new Random(81);
+        BigInteger key = new BigInteger(128, random);
+        AES aes = new AES();
+        byte[] data = new byte[37];
+        random.nextBytes(data);
+        data[36] = 1;
+
+        byte[] encrypted = aes.encrypt(data, key, Padding.ZERO);
+        assertArrayEquals(aes.encrypt(data, key), encrypted);
+        assertArrayEquals(aes.decrypt(encrypted, key), aes.decrypt(encrypted, key, Padding.ZERO));
+        assertThrows(IllegalArgumentException.class, () -> aes.encrypt(data, key, Padding.NONE));
+    }
+
+    @Test
+    public void testUnpadInPlaceReturnsLength() throws BadPaddingException {
+        AESCipher cipher = AESCipher.of(new BigInteger("000102030405060708090a0b0c0d0e0f", 16));
+        byte[] buf = new byte[48];
+        Arrays.fill(buf, 0, 20, (byte) 7);
+
+        int written = cipher.encrypt(buf, 0, 20, buf, 0, Padding.PKCS7);
+        assertEquals(32, written);
+        int length = cipher.decrypt(buf, 0, written, buf, 0, Padding.PKCS7);
+        assertEquals(20, length);
+        for (int i = 0; i < 20; i++) {
+            assertEquals(7, buf[i]);
+        }
+        assertEquals(12, buf[20]); // bajty dopełnienia pozostają za danymi
+    }
+
+    @Test
+    public void testInvalidPkcs7Padding() {
+        byte[] block = new byte[16];
+        block[15] = 0;
+        assertThrows(BadPaddingException.class, () -> Padding.PKCS7.unpaddedLength(block, 0, 16));
+        block[15] = 17;
+        assertThrows(BadPaddingException.class, () -> Padding.PKCS7.unpaddedLength(block, 0, 16));
+        block[15] = 3;
+        block[14] = 3;
+        block[13] = 2;
+        assertThrows(BadPaddingException.class, () -> Padding.PKCS7.unpaddedLength(block, 0, 16));
+        assertThrows(BadPaddingException.class, () -> Padding.PKCS7.unpaddedLength(block, 0, 15));
+        block[13] = 3;
+        assertDoesNotThrow(() -> assertEquals(13, Padding.PKCS7.unpaddedLength(block, 0, 16)));
+    }
+
+    @Test
+    public void testByteBufferMatchesArray() throws BadPaddingException {
+        for (Padding padding : new Padding[]{Padding.ZERO, Padding.PKCS7}) {
+            for (int length = 0; length <= 33; length++) {
+                byte[] array = new byte[5 + 48];
+                Arrays.fill(array, 5, 5 + length, (byte) 9);
+                ByteBuffer buffer = ByteBuffer.allocateDirect(array.length).put(0, array).position(2);
+
+                int padded = padding.pad(array, 5, length);
+                assertEquals(padded, padding.pad(buffer, 5, length));
+                for (int i = 0; i < array.length; i++) {
+                    assertEquals(array[i], buffer.get(i), padding + " " + length);
+                }
+                assertEquals(padding.unpaddedLength(array, 5, padded), padding.unpaddedLength(buffer, 5, padded));
+                assertEquals(2, buffer.position());
+            }
+        }
+
+        ByteBuffer block = ByteBuffer.allocate(16);
+        block.put(15, (byte) 3).put(14, (byte) 3).put(13, (byte) 2);
+        assertThrows(BadPaddingException.class, () -> Padding.PKCS7.unpaddedLength(block, 0, 16));
+        assertThrows(IndexOutOfBoundsException.class, () -> Padding.PKCS7.pad(block, 8, 8));
+    }
+
+    @Test
+    public void testCbcWithPkcs7() throws BadPaddingException {
+        Random random = new Random(180);
+        AESCipher cipher = AESCipher.of(new BigInteger(128, random));
+        byte[] iv = new byte[16];
+        random.nextBytes(iv);
+        CBCMode cbc = new CBCMode(cipher, iv);
+
+        byte[] data = new byte[1000];
+        random.nextBytes(data);
+        byte[] encrypted = cbc.encrypt(data, Padding.PKCS7);
+        assertEquals(1008, encrypted.length);
+        assertArrayEquals(data, cbc.decrypt(encrypted, Padding.PKCS7));
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * Nazwa programu: AES-cipher
+ * Copyright (C) 2025  Mateusz Kosowski Nikodem Nowak
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package org.zespol6.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.zespol6.aes.AES;
+import org.zespol6.aes.Engine;
+
+import java.math.BigInteger;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Przepustowość pierwotnego API {@link AES#encrypt(byte[], BigInteger)} dla poszczególnych silników
+ * (każde wywołanie pobiera harmonogram klucza z pamięci podręcznej).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector") // Dla silnika VECTOR
+public class AESBenchmark {
+
+    @Param({"REFERENCE", "T_TABLE", "BITSLICED", "VECTOR", "JCE"})
+    public Engine engine;
+
+    @Param({"128"})
+    public int keySize;
+
+    @Param({"16", "1024", "65536", "1048576", "67108864"})
+    public int size;
+
+    private AES aes;
+    private BigInteger key;
+    private byte[] plain;
+    private byte[] encrypted;
+
+    @Setup
+    public void setup() {
+        aes = new AES();
+        aes.setEngine(engine);
+        key = Keys.key(keySize);
+        plain = Keys.data(size);
+        encrypted = aes.encrypt(plain, key);
+    }
+
+    @Benchmark
+    public byte[] encrypt(ByteCounter counter) {
+        counter.bytes += size;
+        return aes.encrypt(plain, key);
+    }
+
+    @Benchmark
+    public byte[] decrypt(ByteCounter counter) {
+        counter.bytes += size;
+        return aes.decrypt(encrypted, key);
+    }
+}
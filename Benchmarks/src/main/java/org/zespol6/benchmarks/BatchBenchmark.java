@@ -0,0 +1,122 @@
+/*
+ * Nazwa programu: AES-cipher
+ * Copyright (C) 2025  Mateusz Kosowski Nikodem Nowak
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package org.zespol6.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.zespol6.aes.AES;
+import org.zespol6.aes.AESCipher;
+import org.zespol6.aes.BatchCipher;
+import org.zespol6.aes.Engine;
+import org.zespol6.aes.Padding;
+import org.zespol6.aes.RecordBatch;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Szyfrowanie wielu małych rekordów: osobne wywołania {@link AES#encrypt(byte[], BigInteger)} dla każdego
+ * rekordu oraz jedno wywołanie {@link BatchCipher} (sekwencyjnie i równolegle).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BatchBenchmark {
+
+    @Param({"T_TABLE", "JCE"})
+    public Engine engine;
+
+    @Param({"32", "256"})
+    public int recordSize;
+
+    @Param({"10000"})
+    public int records;
+
+    private AES aes;
+    private BigInteger key;
+    private List<byte[]> data;
+    private RecordBatch shared;
+    private BatchCipher sequential;
+    private BatchCipher parallel;
+
+    @Setup
+    public void setup() {
+        aes = new AES();
+        aes.setEngine(engine);
+        key = Keys.key(128);
+        data = new ArrayList<>();
+        byte[] buffer = Keys.data(records * recordSize);
+        int[] offsets = new int[records];
+        int[] lengths = new int[records];
+        for (int i = 0; i < records; i++) {
+            offsets[i] = i * recordSize;
+            lengths[i] = recordSize;
+            data.add(Keys.data(recordSize));
+        }
+        shared = new RecordBatch(buffer, offsets, lengths, records);
+
+        AESCipher cipher = AESCipher.of(key, engine);
+        sequential = new BatchCipher(cipher, Padding.PKCS7);
+        sequential.setParallelThreshold(Integer.MAX_VALUE);
+        parallel = new BatchCipher(cipher, Padding.PKCS7);
+        parallel.setParallelThreshold(0);
+    }
+
+    @Benchmark
+    public int perRecord(ByteCounter counter) {
+        int total = 0;
+        for (byte[] record : data) {
+            total += aes.encrypt(record, key).length;
+        }
+        counter.bytes += (long) records * recordSize;
+        return total;
+    }
+
+    @Benchmark
+    public RecordBatch batchList(ByteCounter counter) {
+        counter.bytes += (long) records * recordSize;
+        return sequential.encrypt(data);
+    }
+
+    @Benchmark
+    public RecordBatch batchShared(ByteCounter counter) {
+        counter.bytes += (long) records * recordSize;
+        return sequential.encrypt(shared);
+    }
+
+    @Benchmark
+    public RecordBatch batchParallel(ByteCounter counter) {
+        counter.bytes += (long) records * recordSize;
+        return parallel.encrypt(shared);
+    }
+}
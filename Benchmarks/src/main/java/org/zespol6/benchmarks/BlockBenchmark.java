@@ -0,0 +1,70 @@
+/*
+ * Nazwa programu: AES-cipher
+ * Copyright (C) 2025  Mateusz Kosowski Nikodem Nowak
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package org.zespol6.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.zespol6.aes.AESCipher;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Szyfrowanie i deszyfrowanie pojedynczego bloku 16 bajtów.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BlockBenchmark {
+
+    @Param({"128", "192", "256"})
+    public int keySize;
+
+    private AESCipher cipher;
+    private final byte[] in = Keys.data(16);
+    private final byte[] out = new byte[16];
+
+    @Setup
+    public void setup() {
+        cipher = AESCipher.of(Keys.keyBytes(keySize));
+    }
+
+    @Benchmark
+    public byte[] encryptBlock() {
+        cipher.encryptBlock(in, 0, out, 0);
+        return out;
+    }
+
+    @Benchmark
+    public byte[] decryptBlock() {
+        cipher.decryptBlock(in, 0, out, 0);
+        return out;
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * Nazwa programu: AES-cipher
+ * Copyright (C) 2025  Mateusz Kosowski Nikodem Nowak
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package org.zespol6.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.zespol6.aes.AESCipher;
+import org.zespol6.aes.Engine;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Przepustowość szyfrowania i deszyfrowania danych różnej wielkości: ścieżka bez alokacji
+ * ({@link AESCipher#encryptBlocks}) na tablicach i buforach bezpośrednich oraz API zwracające nową tablicę ({@link AESCipher#encrypt}).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BulkBenchmark {
+
+    @Param({"T_TABLE", "JCE"})
+    public Engine engine;
+
+    @Param({"128", "192", "256"})
+    public int keySize;
+
+    @Param({"16", "1024", "65536", "1048576", "67108864"})
+    public int size;
+
+    private AESCipher cipher;
+    private byte[] plain;
+    private byte[] encrypted;
+    private byte[] out;
+    private ByteBuffer directIn;
+    private ByteBuffer directOut;
+
+    @Setup
+    public void setup() {
+        cipher = AESCipher.of(Keys.keyBytes(keySize), engine);
+        plain = Keys.data(size);
+        encrypted = cipher.encrypt(plain);
+        out = new byte[size];
+        directIn = ByteBuffer.allocateDirect(size).put(0, plain);
+        directOut = ByteBuffer.allocateDirect(size);
+    }
+
+    @Benchmark
+    public byte[] encryptBlocks(ByteCounter counter) {
+        cipher.encryptBlocks(plain, 0, out, 0, size);
+        counter.bytes += size;
+        return out;
+    }
+
+    @Benchmark
+    public byte[] decryptBlocks(ByteCounter counter) {
+        cipher.decryptBlocks(encrypted, 0, out, 0, size);
+        counter.bytes += size;
+        return out;
+    }
+
+    @Benchmark
+    public ByteBuffer encryptDirect(ByteCounter counter) {
+        cipher.encryptBlocks(directIn, 0, directOut, 0, size);
+        counter.bytes += size;
+        return directOut;
+    }
+
+    @Benchmark
+    public byte[] encrypt(ByteCounter counter) {
+        counter.bytes += size;
+        return cipher.encrypt(plain);
+    }
+
+    @Benchmark
+    public byte[] decrypt(ByteCounter counter) {
+        counter.bytes += size;
+        return cipher.decrypt(encrypted);
+    }
+}
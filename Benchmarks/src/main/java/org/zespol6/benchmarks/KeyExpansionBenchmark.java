@@ -0,0 +1,90 @@
+/*
+ * Nazwa programu: AES-cipher
+ * Copyright (C) 2025  Mateusz Kosowski Nikodem Nowak
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package org.zespol6.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.zespol6.aes.AES;
+import org.zespol6.aes.AESCipher;
+import org.zespol6.aes.KeySchedule;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Koszt rozszerzania klucza: harmonogram bajtowy (referencyjny) i słowny, harmonogram w obiekcie {@link AES}
+ * oraz utworzenie {@link AESCipher} - dla kluczy 128, 192 i 256 bitów.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class KeyExpansionBenchmark {
+
+    @Param({"128", "192", "256"})
+    public int keySize;
+
+    private byte[] key;
+    private ByteBuffer directKey;
+    private AES aes;
+
+    @Setup
+    public void setup() {
+        key = Keys.keyBytes(keySize);
+        directKey = ByteBuffer.allocateDirect(key.length).put(0, key);
+        aes = new AES();
+    }
+
+    @Benchmark
+    public KeySchedule referenceKeyExpansion() {
+        return AES.referenceKeyExpansion(key);
+    }
+
+    @Benchmark
+    public KeySchedule keySchedule() {
+        return KeySchedule.of(key);
+    }
+
+    @Benchmark
+    public KeySchedule keyScheduleDirect() {
+        return KeySchedule.of(directKey);
+    }
+
+    @Benchmark
+    public AES keyExpansion() {
+        aes.keyExpansion(key);
+        return aes;
+    }
+
+    @Benchmark
+    public AESCipher cipherOf() {
+        return AESCipher.of(key);
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ * Nazwa programu: AES-cipher
+ * Copyright (C) 2025  Mateusz Kosowski Nikodem Nowak
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package org.zespol6.benchmarks;
+
+import java.math.BigInteger;
+import java.util.Random;
+
+/**
+ * Powtarzalne klucze i dane dla benchmarków.
+ */
+final class Keys {
+
+    private Keys() {
+    }
+
+    /**
+     * Zwraca klucz o podanej długości wyznaczony ze stałego ziarna.
+     *
+     * @param bits Długość klucza w bitach
+     * @return Klucz
+     */
+    static BigInteger key(int bits) {
+        return new BigInteger(bits, new Random(bits)).setBit(bits - 1);
+    }
+
+    /**
+     * Zwraca surowy klucz o podanej długości wyznaczony ze stałego ziarna.
+     *
+     * @param bits Długość klucza w bitach (128, 192 lub 256)
+     * @return Klucz (bits / 8 bajtów)
+     */
+    static byte[] keyBytes(int bits) {
+        byte[] key = new byte[bits / 8];
+        new Random(bits).nextBytes(key);
+        return key;
+    }
+
+    /**
+     * Zwraca tablicę pseudolosowych bajtów bez zer na końcu (dopełnienie zerami nie zmienia ich długości).
+     *
+     * @param size Rozmiar w bajtach
+     * @return Dane
+     */
+    static byte[] data(int size) {
+        byte[] data = new byte[size];
+        new Random(size).nextBytes(data);
+        if (size > 0) {
+            data[size - 1] = 1;
+        }
+        return data;
+    }
+}
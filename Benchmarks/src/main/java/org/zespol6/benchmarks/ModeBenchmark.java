@@ -0,0 +1,116 @@
+/*
+ * Nazwa programu: AES-cipher
+ * Copyright (C) 2025  Mateusz Kosowski Nikodem Nowak
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package org.zespol6.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.zespol6.aes.AESCipher;
+import org.zespol6.aes.Engine;
+import org.zespol6.aes.CBCMode;
+import org.zespol6.aes.CTRMode;
+import org.zespol6.aes.GCMMode;
+
+import javax.crypto.AEADBadTagException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Przepustowość trybów pracy: CTR, CBC i GCM (z uwierzytelnianiem GHASH).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ModeBenchmark {
+
+    @Param({"T_TABLE", "JCE"})
+    public Engine engine;
+
+    @Param({"128", "192", "256"})
+    public int keySize;
+
+    @Param({"1024", "65536", "1048576", "67108864"})
+    public int size;
+
+    private CTRMode ctr;
+    private CBCMode cbc;
+    private GCMMode gcm;
+    private byte[] iv;
+    private byte[] plain;
+    private byte[] cbcEncrypted;
+    private byte[] gcmEncrypted;
+    private byte[] out;
+
+    @Setup
+    public void setup() {
+        AESCipher cipher = AESCipher.of(Keys.keyBytes(keySize), engine);
+        byte[] counter = Keys.data(16);
+        iv = Keys.data(12);
+        ctr = new CTRMode(cipher, counter);
+        cbc = new CBCMode(cipher, counter);
+        gcm = new GCMMode(cipher);
+        plain = Keys.data(size);
+        cbcEncrypted = cbc.encrypt(plain);
+        gcmEncrypted = gcm.encrypt(iv, null, plain);
+        out = new byte[size];
+    }
+
+    @Benchmark
+    public byte[] ctr(ByteCounter counter) {
+        ctr.process(plain, 0, out, 0, size);
+        counter.bytes += size;
+        return out;
+    }
+
+    @Benchmark
+    public byte[] cbcEncrypt(ByteCounter counter) {
+        cbc.encrypt(plain, 0, out, 0, size);
+        counter.bytes += size;
+        return out;
+    }
+
+    @Benchmark
+    public byte[] cbcDecrypt(ByteCounter counter) {
+        cbc.decrypt(cbcEncrypted, 0, out, 0, size);
+        counter.bytes += size;
+        return out;
+    }
+
+    @Benchmark
+    public byte[] gcmEncrypt(ByteCounter counter) {
+        counter.bytes += size;
+        return gcm.encrypt(iv, null, plain);
+    }
+
+    @Benchmark
+    public byte[] gcmDecrypt(ByteCounter counter) throws AEADBadTagException {
+        counter.bytes += size;
+        return gcm.decrypt(iv, null, gcmEncrypted);
+    }
+}
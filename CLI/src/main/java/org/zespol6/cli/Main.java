@@ -0,0 +1,199 @@
+/*
+ * Nazwa programu: AES-cipher
+ * Copyright (C) 2025  Mateusz Kosowski Nikodem Nowak
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package org.zespol6.cli;
+
+import org.zespol6.aes.AES;
+import org.zespol6.aes.AESCipher;
+import org.zespol6.aes.CipherMetrics;
+import org.zespol6.aes.Engine;
+import org.zespol6.aes.Hex;
+import org.zespol6.aes.Padding;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.math.BigInteger;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+
+/**
+ * Program wiersza poleceń szyfrujący lub deszyfrujący całe drzewo katalogów (bez interfejsu graficznego).
+ *
+ * <pre>
+ * java -jar aes-cli.jar encrypt dane/ zaszyfrowane/ --key-file klucz.key
+ * java -jar aes-cli.jar decrypt zaszyfrowane/ dane/ --key 000102030405060708090a0b0c0d0e0f --cpu 4
+ * </pre>
+ *
+ * <p>Kod wyjścia: 0 - wszystkie pliki przetworzone, 1 - część plików nie została przetworzona,
+ * 2 - błędne argumenty lub błąd przeglądania katalogu.</p>
+ */
+public final class Main {
+
+    private static final String USAGE = """
+            Usage: aes-cli (encrypt|decrypt) <source-dir> <target-dir> (--key <hex> | --key-file <file>) [options]
+              --key-size 128|192|256  key length in bits (default: from the key length)
+              --padding pkcs7|zero    padding of the last block of every file (default: pkcs7)
+              --engine NAME           block cipher implementation (default: T_TABLE)
+              --io N                  files processed concurrently (default: 64)
+              --cpu N                 cipher threads (default: number of processors)
+              --chunk BYTES           bytes handed to a cipher thread at once, multiple of 16 (default: 262144)
+            """;
+
+    private Main() {
+    }
+
+    public static void main(String[] args) {
+        System.exit(run(args, System.out, System.err));
+    }
+
+    /**
+     * Wykonuje polecenie i zwraca kod wyjścia (bez wywołania {@link System#exit}).
+     *
+     * @param args Argumenty wiersza poleceń
+     * @param out  Strumień podsumowania
+     * @param err  Strumień komunikatów o błędach
+     * @return Kod wyjścia
+     */
+    static int run(String[] args, PrintStream out, PrintStream err) {
+        try {
+            if (args.length < 3) {
+                throw new IllegalArgumentException("Missing command or directories");
+            }
+            boolean encrypt = switch (args[0]) {
+                case "encrypt" -> true;
+                case "decrypt" -> false;
+                default -> throw new IllegalArgumentException("Unknown command: " + args[0]);
+            };
+            Path source = Path.of(args[1]);
+            Path target = Path.of(args[2]);
+
+            byte[] rawKey = null;
+            int keySize = 0;
+            Padding padding = Padding.PKCS7;
+            Engine engine = Engine.defaultEngine();
+            Integer io = null;
+            Integer cpu = null;
+            Integer chunk = null;
+
+            for (int i = 3; i < args.length; i++) {
+                String option = args[i];
+                if (i + 1 == args.length) {
+                    throw new IllegalArgumentException("Missing value for " + option);
+                }
+                String value = args[++i];
+                switch (option) {
+                    case "--key" -> rawKey = Hex.decode(value);
+                    case "--key-file" -> rawKey = Files.readAllBytes(Path.of(value));
+                    case "--key-size" -> keySize = parseInt(option, value);
+                    case "--padding" -> padding = switch (value.toLowerCase(Locale.ROOT)) {
+                        case "pkcs7" -> Padding.PKCS7;
+                        case "zero" -> Padding.ZERO;
+                        default -> throw new IllegalArgumentException("Unknown padding: " + value);
+                    };
+                    case "--engine" -> engine = parseEngine(value);
+                    case "--io" -> io = parseInt(option, value);
+                    case "--cpu" -> cpu = parseInt(option, value);
+                    case "--chunk" -> chunk = parseInt(option, value);
+                    default -> throw new IllegalArgumentException("Unknown option: " + option);
+                }
+            }
+            if (rawKey == null) {
+                throw new IllegalArgumentException("Missing --key or --key-file");
+            }
+
+            AESCipher cipher = AESCipher.of(toKey(rawKey, keySize), engine);
+            TreeCipher tree = new TreeCipher(cipher, padding);
+            if (io != null) {
+                tree.setIoConcurrency(io);
+            }
+            if (cpu != null) {
+                tree.setCpuThreads(cpu);
+            }
+            if (chunk != null) {
+                tree.setChunkSize(chunk);
+            }
+
+            TreeSummary summary = encrypt ? tree.encrypt(source, target) : tree.decrypt(source, target);
+            out.print(summary);
+            for (String failure : summary.failures()) {
+                err.println("failed: " + failure);
+            }
+            if (CipherMetrics.isEnabled()) {
+                out.println();
+                out.print(CipherMetrics.global());
+            }
+            return summary.failures().isEmpty() ? 0 : 1;
+        } catch (IllegalArgumentException e) {
+            err.println("Error: " + e.getMessage());
+            err.print(USAGE);
+            return 2;
+        } catch (IOException e) {
+            err.println("Error: " + e);
+            return 2;
+        }
+    }
+
+    /**
+     * Zamienia klucz zapisany przez aplikację okienkową (liczba big-endian, np. z {@link BigInteger#toByteArray})
+     * lub podany szesnastkowo na klucz o zadanej długości.
+     *
+     * @param raw  Bajty klucza
+     * @param bits Długość klucza w bitach, 0 - długość bajtów klucza, jeśli wynosi 16, 24 lub 32 bajty,
+     *             w przeciwnym razie najmniejsza z 128, 192 i 256 mieszcząca klucz
+     */
+    static byte[] toKey(byte[] raw, int bits) {
+        BigInteger value = new BigInteger(1, raw);
+        int size = bits;
+        if (size == 0) {
+            int needed = value.bitLength();
+            size = switch (raw.length) {
+                case 16, 24, 32 -> raw.length * 8;
+                default -> needed <= 128 ? 128 : needed <= 192 ? 192 : 256;
+            };
+        }
+        if (size != 128 && size != 192 && size != 256) {
+            throw new IllegalArgumentException("Key size must be 128, 192 or 256 bits");
+        }
+        if (value.bitLength() > size) {
+            throw new IllegalArgumentException("Key does not fit in " + size + " bits");
+        }
+        return AES.toByteKey(value, size / 8);
+    }
+
+    private static Engine parseEngine(String name) {
+        Engine engine;
+        try {
+            engine = Engine.valueOf(name.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown engine: " + name);
+        }
+        if (!engine.isAvailable()) {
+            throw new IllegalArgumentException("Engine not available in this VM: " + name);
+        }
+        return engine;
+    }
+
+    private static int parseInt(String option, String value) {
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid number for " + option + ": " + value);
+        }
+    }
+}
@@ -0,0 +1,330 @@
+/*
+ * Nazwa programu: AES-cipher
+ * Copyright (C) 2025  Mateusz Kosowski Nikodem Nowak
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package org.zespol6.cli;
+
+import org.zespol6.aes.AESCipher;
+import org.zespol6.aes.LatencyHistogram;
+import org.zespol6.aes.Padding;
+
+import javax.crypto.BadPaddingException;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+/**
+ * Szyfrowanie i deszyfrowanie wszystkich plików drzewa katalogów do drzewa lustrzanego
+ * (ta sama struktura katalogów i nazwy plików).
+ *
+ * <p>Każdy plik obsługiwany jest przez osobny wątek wirtualny, który wykonuje odczyt i zapis; liczbę
+ * jednocześnie otwartych plików ogranicza semafor. Samo szyfrowanie wykonywane jest w puli wątków
+ * platformowych o rozmiarze równym liczbie procesorów, do której wątek wirtualny przekazuje kolejne
+ * fragmenty pliku. Plik przetwarzany jest fragmentami, więc zużycie pamięci nie zależy od rozmiaru plików.</p>
+ *
+ * <p>Szyfrowanie odbywa się blok po bloku z dopełnieniem ostatniego bloku (domyślnie PKCS#7, jak
+ * w aplikacji okienkowej), więc wynik jest zgodny z {@link AESCipher#encrypt(byte[], Padding)}.</p>
+ */
+public final class TreeCipher {
+
+    private static final int BLOCK_SIZE = 16;   // Rozmiar bloku w bajtach (128 bitów)
+
+    private final AESCipher cipher;             // Szyfr blokowy
+    private final Padding padding;              // Dopełnienie ostatniego bloku pliku
+    private int ioConcurrency = 64;             // Maksymalna liczba jednocześnie przetwarzanych plików
+    private int cpuThreads = Runtime.getRuntime().availableProcessors(); // Rozmiar puli szyfrowania
+    private int chunkSize = 256 * 1024;         // Rozmiar fragmentu pliku przekazywanego do szyfrowania
+
+    /**
+     * @param cipher  Szyfr blokowy
+     * @param padding Dopełnienie ostatniego bloku pliku
+     */
+    public TreeCipher(AESCipher cipher, Padding padding) {
+        if (cipher == null || padding == null) {
+            throw new IllegalArgumentException("Cipher and padding must not be null");
+        }
+        if (padding == Padding.NONE) {
+            throw new IllegalArgumentException("Files of any length require a padding");
+        }
+        this.cipher = cipher;
+        this.padding = padding;
+    }
+
+    /**
+     * Ustawia maksymalną liczbę plików przetwarzanych jednocześnie (wątków wirtualnych wykonujących I/O).
+     *
+     * @param ioConcurrency Liczba plików (dodatnia)
+     */
+    public void setIoConcurrency(int ioConcurrency) {
+        if (ioConcurrency <= 0) {
+            throw new IllegalArgumentException("I/O concurrency must be positive");
+        }
+        this.ioConcurrency = ioConcurrency;
+    }
+
+    /**
+     * Zwraca maksymalną liczbę plików przetwarzanych jednocześnie.
+     *
+     * @return Liczba plików
+     */
+    public int getIoConcurrency() {
+        return ioConcurrency;
+    }
+
+    /**
+     * Ustawia liczbę wątków wykonujących szyfrowanie.
+     *
+     * @param cpuThreads Liczba wątków (dodatnia)
+     */
+    public void setCpuThreads(int cpuThreads) {
+        if (cpuThreads <= 0) {
+            throw new IllegalArgumentException("CPU thread count must be positive");
+        }
+        this.cpuThreads = cpuThreads;
+    }
+
+    /**
+     * Zwraca liczbę wątków wykonujących szyfrowanie.
+     *
+     * @return Liczba wątków
+     */
+    public int getCpuThreads() {
+        return cpuThreads;
+    }
+
+    /**
+     * Ustawia rozmiar fragmentu pliku przekazywanego jednorazowo do szyfrowania.
+     *
+     * @param chunkSize Rozmiar w bajtach (dodatnia wielokrotność 16)
+     */
+    public void setChunkSize(int chunkSize) {
+        if (chunkSize <= 0 || chunkSize % BLOCK_SIZE != 0) {
+            throw new IllegalArgumentException("Chunk size must be a positive multiple of 16");
+        }
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Zwraca rozmiar fragmentu pliku przekazywanego jednorazowo do szyfrowania.
+     *
+     * @return Rozmiar w bajtach
+     */
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    /**
+     * Szyfruje wszystkie zwykłe pliki katalogu źródłowego (rekurencyjnie) do katalogu docelowego.
+     *
+     * @param source Katalog źródłowy
+     * @param target Katalog docelowy (tworzony w razie potrzeby, istniejące pliki są nadpisywane)
+     * @return Podsumowanie przetwarzania
+     * @throws IOException Błąd przeglądania katalogu źródłowego
+     */
+    public TreeSummary encrypt(Path source, Path target) throws IOException {
+        return run(source, target, true);
+    }
+
+    /**
+     * Deszyfruje wszystkie zwykłe pliki katalogu źródłowego (rekurencyjnie) do katalogu docelowego.
+     * Pliki, których nie udało się odszyfrować (np. z błędnym dopełnieniem), są pomijane i wymienione
+     * w podsumowaniu.
+     *
+     * @param source Katalog źródłowy
+     * @param target Katalog docelowy (tworzony w razie potrzeby, istniejące pliki są nadpisywane)
+     * @return Podsumowanie przetwarzania
+     * @throws IOException Błąd przeglądania katalogu źródłowego
+     */
+    public TreeSummary decrypt(Path source, Path target) throws IOException {
+        return run(source, target, false);
+    }
+
+    private TreeSummary run(Path source, Path target, boolean encrypt) throws IOException {
+        Path from = source.toAbsolutePath().normalize();
+        Path to = target.toAbsolutePath().normalize();
+        if (!Files.isDirectory(from)) {
+            throw new IllegalArgumentException("Source is not a directory: " + source);
+        }
+        if (to.startsWith(from)) {
+            throw new IllegalArgumentException("Target directory must not be inside the source directory");
+        }
+
+        LongAdder files = new LongAdder();
+        LongAdder bytesRead = new LongAdder();
+        LongAdder bytesWritten = new LongAdder();
+        LatencyHistogram latency = new LatencyHistogram();
+        Queue<String> failures = new ConcurrentLinkedQueue<>();
+        Semaphore permits = new Semaphore(ioConcurrency);
+
+        AtomicInteger cpuThreadNumber = new AtomicInteger();
+        ExecutorService cpu = Executors.newFixedThreadPool(cpuThreads, r -> {
+            Thread thread = new Thread(r, "aes-cpu-" + cpuThreadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        long start = System.nanoTime();
+        try (ExecutorService io = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("aes-io-", 0).factory());
+             Stream<Path> walk = Files.walk(from)) {
+            Iterator<Path> paths = walk.iterator();
+            while (paths.hasNext()) {
+                Path file = paths.next();
+                if (!Files.isRegularFile(file)) {
+                    continue;
+                }
+                // Drzewo lustrzane - ścieżka względna przeniesiona do katalogu docelowego
+                Path out = to.resolve(from.relativize(file).toString());
+                permits.acquireUninterruptibly();
+                io.execute(() -> {
+                    long fileStart = System.nanoTime();
+                    try {
+                        long[] sizes = transformFile(file, out, encrypt, cpu);
+                        bytesRead.add(sizes[0]);
+                        bytesWritten.add(sizes[1]);
+                        files.increment();
+                        latency.record(System.nanoTime() - fileStart);
+                    } catch (IOException | BadPaddingException | RuntimeException e) {
+                        failures.add(from.relativize(file) + ": " + e.getMessage());
+                        deleteQuietly(out);
+                    } finally {
+                        permits.release();
+                    }
+                });
+            }
+        } catch (UncheckedIOException e) {
+            // Błąd przeglądania katalogu zgłoszony przez iterator strumienia
+            throw e.getCause();
+        } finally {
+            cpu.shutdown();
+        }
+        long elapsed = System.nanoTime() - start;
+
+        return new TreeSummary(files.sum(), failures.stream().sorted().toList(), bytesRead.sum(),
+                bytesWritten.sum(), elapsed, latency);
+    }
+
+    /**
+     * Przetwarza jeden plik fragmentami: odczyt i zapis w bieżącym (wirtualnym) wątku,
+     * szyfrowanie w puli cpu.
+     *
+     * @return Liczba bajtów odczytanych i zapisanych
+     */
+    private long[] transformFile(Path source, Path target, boolean encrypt, ExecutorService cpu)
+            throws IOException, BadPaddingException {
+        Files.createDirectories(target.getParent());
+        try (FileChannel in = FileChannel.open(source, StandardOpenOption.READ);
+             FileChannel out = FileChannel.open(target, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                     StandardOpenOption.TRUNCATE_EXISTING)) {
+            long size = in.size();
+            if (!encrypt && size % BLOCK_SIZE != 0) {
+                throw new IOException("Encrypted file length is not a multiple of 16");
+            }
+
+            // Miejsce na blok dopełnienia za ostatnim fragmentem
+            byte[] buf = new byte[(int) Math.min(chunkSize, size) + BLOCK_SIZE];
+            ByteBuffer view = ByteBuffer.wrap(buf);
+            long position = 0;
+            long written = 0;
+            do {
+                int n = (int) Math.min(chunkSize, size - position);
+                view.clear().limit(n);
+                while (view.hasRemaining()) {
+                    if (in.read(view) < 0) {
+                        throw new EOFException("File was truncated during processing");
+                    }
+                }
+                position += n;
+                boolean last = position == size;
+
+                int len = onCpu(cpu, () -> transformChunk(buf, n, last, encrypt));
+
+                view.clear().limit(len);
+                while (view.hasRemaining()) {
+                    out.write(view);
+                }
+                written += len;
+            } while (position < size);
+            return new long[]{size, written};
+        }
+    }
+
+    /**
+     * Szyfruje lub deszyfruje fragment w miejscu. Dopełnienie dodawane i usuwane jest tylko w ostatnim fragmencie.
+     *
+     * @return Liczba bajtów wyniku
+     */
+    private int transformChunk(byte[] buf, int len, boolean last, boolean encrypt) throws BadPaddingException {
+        if (encrypt) {
+            if (last) {
+                return cipher.encrypt(buf, 0, len, buf, 0, padding);
+            }
+            cipher.encryptBlocks(buf, 0, buf, 0, len);
+            return len;
+        }
+        if (last) {
+            return cipher.decrypt(buf, 0, len, buf, 0, padding);
+        }
+        cipher.decryptBlocks(buf, 0, buf, 0, len);
+        return len;
+    }
+
+    /**
+     * Wykonuje zadanie w puli cpu i czeka na wynik (wątek wirtualny zwalnia przy tym swój wątek nośny).
+     */
+    private static int onCpu(ExecutorService cpu, Callable<Integer> task) throws IOException, BadPaddingException {
+        try {
+            return cpu.submit(task).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for the cipher");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof BadPaddingException bad) {
+                throw bad;
+            }
+            if (cause instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException(cause);
+        }
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException ignored) {
+            // Niepełny plik docelowy zostaje - błąd i tak jest zgłoszony w podsumowaniu
+        }
+    }
+}
@@ -0,0 +1,146 @@
+/*
+ * Nazwa programu: AES-cipher
+ * Copyright (C) 2025  Mateusz Kosowski Nikodem Nowak
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package org.zespol6.cli;
+
+import org.zespol6.aes.LatencyHistogram;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Podsumowanie przetworzenia drzewa katalogów: liczba plików i bajtów, czas, przepustowość
+ * oraz rozkład czasu przetwarzania pojedynczego pliku.
+ */
+public final class TreeSummary {
+
+    private final long files;               // Liczba poprawnie przetworzonych plików
+    private final List<String> failures;    // Opisy błędów (ścieżka: komunikat)
+    private final long bytesRead;           // Bajty odczytane z plików źródłowych
+    private final long bytesWritten;        // Bajty zapisane do plików docelowych
+    private final long elapsedNanos;        // Czas całego przetwarzania
+    private final LatencyHistogram latency; // Czasy przetwarzania pojedynczych plików
+
+    TreeSummary(long files, List<String> failures, long bytesRead, long bytesWritten, long elapsedNanos,
+                LatencyHistogram latency) {
+        this.files = files;
+        this.failures = List.copyOf(failures);
+        this.bytesRead = bytesRead;
+        this.bytesWritten = bytesWritten;
+        this.elapsedNanos = elapsedNanos;
+        this.latency = latency;
+    }
+
+    /**
+     * Zwraca liczbę poprawnie przetworzonych plików.
+     *
+     * @return Liczba plików
+     */
+    public long files() {
+        return files;
+    }
+
+    /**
+     * Zwraca opisy błędów w postaci "ścieżka: komunikat".
+     *
+     * @return Niemodyfikowalna lista opisów (pusta, jeśli nie było błędów)
+     */
+    public List<String> failures() {
+        return failures;
+    }
+
+    /**
+     * Zwraca liczbę bajtów odczytanych z plików źródłowych.
+     *
+     * @return Liczba bajtów
+     */
+    public long bytesRead() {
+        return bytesRead;
+    }
+
+    /**
+     * Zwraca liczbę bajtów zapisanych do plików docelowych.
+     *
+     * @return Liczba bajtów
+     */
+    public long bytesWritten() {
+        return bytesWritten;
+    }
+
+    /**
+     * Zwraca czas całego przetwarzania.
+     *
+     * @return Czas w nanosekundach
+     */
+    public long elapsedNanos() {
+        return elapsedNanos;
+    }
+
+    /**
+     * Zwraca histogram czasów przetwarzania pojedynczych plików (od otwarcia do zapisu ostatniego bajtu).
+     *
+     * @return Histogram czasów w nanosekundach
+     */
+    public LatencyHistogram latency() {
+        return latency;
+    }
+
+    /**
+     * Zwraca liczbę plików przetworzonych na sekundę.
+     *
+     * @return Pliki na sekundę
+     */
+    public double filesPerSecond() {
+        return elapsedNanos == 0 ? 0 : files * 1e9 / elapsedNanos;
+    }
+
+    /**
+     * Zwraca przepustowość liczoną w bajtach odczytanych (1 MB = 10^6 bajtów).
+     *
+     * @return Megabajty na sekundę
+     */
+    public double megabytesPerSecond() {
+        return elapsedNanos == 0 ? 0 : bytesRead * 1e3 / elapsedNanos;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(Locale.ROOT,
+                "files:      %d processed, %d failed%n"
+                        + "data:       %.1f MB read, %.1f MB written in %.3f s%n"
+                        + "throughput: %.1f files/s, %.1f MB/s%n"
+                        + "per file:   p50 %s, p90 %s, p99 %s, max %s%n",
+                files, failures.size(), bytesRead / 1e6, bytesWritten / 1e6, elapsedNanos / 1e9,
+                filesPerSecond(), megabytesPerSecond(),
+                duration(latency.percentile(50)), duration(latency.percentile(90)),
+                duration(latency.percentile(99)), duration(latency.percentile(100)));
+    }
+
+    /**
+     * Formatuje górną granicę przedziału histogramu w czytelnej jednostce.
+     */
+    private static String duration(long nanos) {
+        if (nanos < 1_000_000) {
+            return String.format(Locale.ROOT, "<%.0f us", (nanos + 1) / 1e3);
+        }
+        if (nanos < 1_000_000_000) {
+            return String.format(Locale.ROOT, "<%.1f ms", (nanos + 1) / 1e6);
+        }
+        return String.format(Locale.ROOT, "<%.2f s", (nanos + 1) / 1e9);
+    }
+}
@@ -0,0 +1,121 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.zespol6.aes.AESCipher;
+import org.zespol6.aes.Padding;
+import org.zespol6.cli.TreeCipher;
+import org.zespol6.cli.TreeSummary;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TreeCipherTest {
+
+    private static final int[] SIZES = {0, 15, 16, 64, 100, 128, 1000, 4096 + 7};
+
+    @TempDir
+    Path dir;
+
+    private final AESCipher cipher = AESCipher.of(new byte[]{
+            0, 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15, 16, 17, 18, 19, 20, 21, 22, 23});
+
+    private TreeCipher treeCipher() {
+        TreeCipher tree = new TreeCipher(cipher, Padding.PKCS7);
+        // Mały fragment - pliki dłuższe od niego przetwarzane są w kilku częściach
+        tree.setChunkSize(64);
+        tree.setIoConcurrency(3);
+        tree.setCpuThreads(2);
+        return tree;
+    }
+
+    /**
+     * Tworzy zagnieżdżone drzewo plików o różnych długościach.
+     */
+    private Path createTree() throws IOException {
+        Path source = dir.resolve("source");
+        Random random = new Random(42);
+        for (int i = 0; i < SIZES.length; i++) {
+            byte[] data = new byte[SIZES[i]];
+            random.nextBytes(data);
+            Path file = source.resolve("level" + (i % 3)).resolve("sub" + (i % 2)).resolve("file" + i + ".bin");
+            Files.createDirectories(file.getParent());
+            Files.write(file, data);
+        }
+        Files.createDirectories(source.resolve("empty-dir"));
+        return source;
+    }
+
+    @Test
+    public void testEncryptTreeMatchesWholeFileEncryption() throws Exception {
+        Path source = createTree();
+        Path encrypted = dir.resolve("encrypted");
+        Path decrypted = dir.resolve("decrypted");
+
+        TreeSummary summary = treeCipher().encrypt(source, encrypted);
+        assertEquals(SIZES.length, summary.files());
+        assertTrue(summary.failures().isEmpty());
+        assertEquals(SIZES.length, summary.latency().count());
+
+        long read = 0;
+        long written = 0;
+        try (var files = Files.walk(source)) {
+            for (Path file : files.filter(Files::isRegularFile).toList()) {
+                byte[] data = Files.readAllBytes(file);
+                byte[] actual = Files.readAllBytes(encrypted.resolve(source.relativize(file).toString()));
+                assertArrayEquals(cipher.encrypt(data, Padding.PKCS7), actual, file.toString());
+                read += data.length;
+                written += actual.length;
+            }
+        }
+        assertEquals(read, summary.bytesRead());
+        assertEquals(written, summary.bytesWritten());
+
+        TreeSummary back = treeCipher().decrypt(encrypted, decrypted);
+        assertEquals(SIZES.length, back.files());
+        assertEquals(written, back.bytesRead());
+        assertEquals(read, back.bytesWritten());
+        try (var files = Files.walk(source)) {
+            for (Path file : files.filter(Files::isRegularFile).toList()) {
+                assertArrayEquals(Files.readAllBytes(file),
+                        Files.readAllBytes(decrypted.resolve(source.relativize(file).toString())), file.toString());
+            }
+        }
+        assertTrue(back.toString().contains("files/s"));
+    }
+
+    @Test
+    public void testCorruptedFilesAreReportedAndRemoved() throws Exception {
+        Path source = createTree();
+        Path encrypted = dir.resolve("encrypted");
+        treeCipher().encrypt(source, encrypted);
+
+        // Długość niebędąca wielokrotnością 16 oraz błędne dopełnienie w ostatnim bloku
+        Path truncated = encrypted.resolve("level0").resolve("sub0").resolve("file0.bin");
+        Files.write(truncated, new byte[15]);
+        Path badPadding = encrypted.resolve("level1").resolve("sub1").resolve("file1.bin");
+        Files.write(badPadding, cipher.encrypt(new byte[32], Padding.NONE));
+
+        Path decrypted = dir.resolve("decrypted");
+        TreeSummary summary = treeCipher().decrypt(encrypted, decrypted);
+        assertEquals(SIZES.length - 2, summary.files());
+        assertEquals(2, summary.failures().size());
+        assertFalse(Files.exists(decrypted.resolve("level0").resolve("sub0").resolve("file0.bin")));
+        assertFalse(Files.exists(decrypted.resolve("level1").resolve("sub1").resolve("file1.bin")));
+        assertTrue(Files.exists(decrypted.resolve("level2").resolve("sub0").resolve("file2.bin")));
+    }
+
+    @Test
+    public void testInvalidArguments() throws IOException {
+        TreeCipher tree = treeCipher();
+        Path source = createTree();
+        assertThrows(IllegalArgumentException.class, () -> tree.setChunkSize(100));
+        assertThrows(IllegalArgumentException.class, () -> tree.setIoConcurrency(0));
+        assertThrows(IllegalArgumentException.class, () -> tree.setCpuThreads(-1));
+        assertThrows(IllegalArgumentException.class, () -> new TreeCipher(cipher, Padding.NONE));
+        assertThrows(IllegalArgumentException.class, () -> tree.encrypt(source.resolve("missing"), dir));
+        assertThrows(IllegalArgumentException.class, () -> tree.encrypt(source, source.resolve("out")));
+    }
+}
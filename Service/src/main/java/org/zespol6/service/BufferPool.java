@@ -0,0 +1,74 @@
+/*
+ * Nazwa programu: AES-cipher
+ * Copyright (C) 2025  Mateusz Kosowski Nikodem Nowak
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package org.zespol6.service;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Stała pula buforów bezpośrednich ({@link ByteBuffer#allocateDirect}) przydzielanych na czas obsługi
+ * jednego żądania. Bufory tworzone są raz, przy starcie serwera, więc obsługa żądania nie alokuje pamięci
+ * proporcjonalnej do rozmiaru danych. Gdy wszystkie bufory są zajęte, wątek czeka na zwolnienie
+ * (wątek wirtualny zwalnia przy tym swój wątek nośny).
+ */
+final class BufferPool {
+
+    private final BlockingQueue<ByteBuffer> free;   // Wolne bufory
+    private final int capacity;                     // Pojemność każdego bufora
+
+    /**
+     * @param count    Liczba buforów
+     * @param capacity Pojemność bufora w bajtach
+     */
+    BufferPool(int count, int capacity) {
+        this.free = new ArrayBlockingQueue<>(count);
+        this.capacity = capacity;
+        for (int i = 0; i < count; i++) {
+            free.add(ByteBuffer.allocateDirect(capacity));
+        }
+    }
+
+    /**
+     * Pobiera wolny bufor (wyczyszczony), czekając w razie potrzeby na jego zwolnienie.
+     *
+     * @return Bufor, który należy oddać wywołaniem {@link #release(ByteBuffer)}
+     * @throws InterruptedException gdy wątek został przerwany w trakcie oczekiwania
+     */
+    ByteBuffer acquire() throws InterruptedException {
+        return free.take().clear();
+    }
+
+    /**
+     * Zwraca bufor do puli.
+     *
+     * @param buffer Bufor pobrany przez {@link #acquire()}
+     */
+    void release(ByteBuffer buffer) {
+        free.add(buffer);
+    }
+
+    int capacity() {
+        return capacity;
+    }
+
+    int available() {
+        return free.size();
+    }
+}
@@ -0,0 +1,148 @@
+/*
+ * Nazwa programu: AES-cipher
+ * Copyright (C) 2025  Mateusz Kosowski Nikodem Nowak
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package org.zespol6.service;
+
+import java.io.IOException;
+import java.net.SocketAddress;
+import java.net.StandardProtocolFamily;
+import java.net.StandardSocketOptions;
+import java.net.UnixDomainSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Klient usługi szyfrowania. Jedno połączenie wysyła żądania kolejno; do współbieżnych żądań
+ * należy użyć kilku klientów. Obiekt nie jest bezpieczny wątkowo.
+ */
+public final class EncryptionClient implements AutoCloseable {
+
+    private final SocketChannel channel;
+    private ByteBuffer buffer = ByteBuffer.allocateDirect(64 * 1024); // Bufor ramek (powiększany w razie potrzeby)
+
+    private EncryptionClient(SocketChannel channel) {
+        this.channel = channel;
+    }
+
+    /**
+     * Łączy się z usługą.
+     *
+     * @param address Adres TCP albo {@link UnixDomainSocketAddress}
+     * @return Klient
+     * @throws IOException Błąd połączenia
+     */
+    public static EncryptionClient connect(SocketAddress address) throws IOException {
+        SocketChannel channel;
+        if (address instanceof UnixDomainSocketAddress) {
+            channel = SocketChannel.open(StandardProtocolFamily.UNIX);
+        } else {
+            channel = SocketChannel.open();
+            channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+        }
+        try {
+            channel.connect(address);
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+        return new EncryptionClient(channel);
+    }
+
+    /**
+     * Wysyła żądanie i zwraca wynik.
+     *
+     * @param keyId Identyfikator klucza
+     * @param mode  Tryb
+     * @param data  Dane (dla {@link Mode#CTR} poprzedzone 16-bajtowym licznikiem początkowym)
+     * @return Wynik operacji
+     * @throws ServiceException gdy serwer odpowiedział statusem błędu
+     * @throws IOException      Błąd połączenia
+     */
+    public byte[] call(int keyId, Mode mode, byte[] data) throws IOException {
+        int n = call(keyId, mode, data, 0, data.length);
+        byte[] result = new byte[n];
+        buffer.get(result);
+        return result;
+    }
+
+    /**
+     * Wysyła żądanie i odbiera odpowiedź do wewnętrznego bufora klienta, bez alokacji przy kolejnych
+     * żądaniach tej samej wielkości. Wynik dostępny jest w buforze {@link #result()} do następnego wywołania.
+     *
+     * @param keyId Identyfikator klucza
+     * @param mode  Tryb
+     * @param data  Tablica z danymi
+     * @param off   Przesunięcie danych w tablicy
+     * @param len   Długość danych
+     * @return Długość wyniku
+     * @throws ServiceException gdy serwer odpowiedział statusem błędu
+     * @throws IOException      Błąd połączenia
+     */
+    public int call(int keyId, Mode mode, byte[] data, int off, int len) throws IOException {
+        ensureCapacity(Protocol.LENGTH_FIELD + Protocol.REQUEST_HEADER + len);
+        buffer.clear()
+                .putInt(Protocol.REQUEST_HEADER + len)
+                .putInt(keyId)
+                .put(mode.code())
+                .put(data, off, len)
+                .flip();
+        EncryptionServer.writeFully(channel, buffer);
+
+        buffer.clear().limit(Protocol.LENGTH_FIELD);
+        if (!EncryptionServer.readFully(channel, buffer)) {
+            throw new IOException("Connection closed by the server");
+        }
+        int frame = buffer.getInt(0);
+        if (frame < Protocol.RESPONSE_HEADER) {
+            throw new IOException("Invalid response frame length: " + frame);
+        }
+        ensureCapacity(frame);
+        buffer.clear().limit(frame);
+        EncryptionServer.readFully(channel, buffer);
+        buffer.flip();
+
+        byte status = buffer.get();
+        if (status != Protocol.STATUS_OK) {
+            byte[] text = new byte[buffer.remaining()];
+            buffer.get(text);
+            throw new ServiceException(status, new String(text, StandardCharsets.UTF_8));
+        }
+        return buffer.remaining();
+    }
+
+    /**
+     * Zwraca bufor z wynikiem ostatniego żądania (między pozycją a limitem).
+     *
+     * @return Bufor wyniku
+     */
+    public ByteBuffer result() {
+        return buffer;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (buffer.capacity() < capacity) {
+            buffer = ByteBuffer.allocateDirect(Math.max(capacity, buffer.capacity() * 2));
+        }
+    }
+}
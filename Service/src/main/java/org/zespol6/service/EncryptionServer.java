@@ -0,0 +1,340 @@
+/*
+ * Nazwa programu: AES-cipher
+ * Copyright (C) 2025  Mateusz Kosowski Nikodem Nowak
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package org.zespol6.service;
+
+import org.zespol6.aes.AESCipher;
+import org.zespol6.aes.CTRMode;
+import org.zespol6.aes.Padding;
+
+import javax.crypto.BadPaddingException;
+import java.io.IOException;
+import java.net.SocketAddress;
+import java.net.StandardProtocolFamily;
+import java.net.StandardSocketOptions;
+import java.net.UnixDomainSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lokalna usługa szyfrowania: serwer gniazda TCP lub gniazda domeny Unix obsługujący ramki opisane
+ * w {@link Protocol}.
+ *
+ * <p>Każde połączenie obsługuje osobny wątek wirtualny z blokującymi operacjami na kanale. Na czas obsługi
+ * żądania wątek pobiera bufor bezpośredni z puli o stałym rozmiarze; dane są odczytywane do bufora,
+ * przetwarzane w miejscu i wysyłane z tego samego bufora (nagłówek odpowiedzi zapisywany jest tuż przed
+ * wynikiem), więc obsługa żądania nie kopiuje danych ani nie alokuje buforów. Połączenie oczekujące na
+ * kolejne żądanie nie zajmuje bufora z puli.</p>
+ */
+public final class EncryptionServer implements AutoCloseable {
+
+    private static final int BLOCK_SIZE = 16;   // Rozmiar bloku w bajtach (128 bitów)
+    private static final int KEY_STREAM_SIZE = 32 * BLOCK_SIZE; // Strumień klucza CTR wyznaczany jednym wywołaniem
+
+    private final KeyRing keys;                 // Klucze z przygotowanymi harmonogramami
+    private int bufferCount = 64;               // Liczba buforów puli (jednocześnie obsługiwanych żądań)
+    private int maxPayload = Protocol.DEFAULT_MAX_PAYLOAD; // Maksymalna długość danych żądania
+
+    private final Set<SocketChannel> connections = ConcurrentHashMap.newKeySet();
+    private final LongAdder requests = new LongAdder();
+    private ServerSocketChannel server;
+    private SocketAddress address;
+    private BufferPool pool;
+    private Thread acceptor;
+
+    /**
+     * @param keys Klucze udostępniane przez usługę
+     */
+    public EncryptionServer(KeyRing keys) {
+        if (keys == null) {
+            throw new IllegalArgumentException("Key ring must not be null");
+        }
+        this.keys = keys;
+    }
+
+    /**
+     * Ustawia liczbę buforów puli, czyli liczbę żądań przetwarzanych jednocześnie.
+     *
+     * @param bufferCount Liczba buforów (dodatnia)
+     */
+    public void setBufferCount(int bufferCount) {
+        if (bufferCount <= 0) {
+            throw new IllegalArgumentException("Buffer count must be positive");
+        }
+        this.bufferCount = bufferCount;
+    }
+
+    /**
+     * Zwraca liczbę buforów puli.
+     *
+     * @return Liczba buforów
+     */
+    public int getBufferCount() {
+        return bufferCount;
+    }
+
+    /**
+     * Ustawia maksymalną długość danych żądania (rozmiar buforów puli).
+     *
+     * @param maxPayload Długość w bajtach (dodatnia)
+     */
+    public void setMaxPayload(int maxPayload) {
+        if (maxPayload <= 0 || maxPayload > Integer.MAX_VALUE - 64) {
+            throw new IllegalArgumentException("Maximum payload must be positive");
+        }
+        this.maxPayload = maxPayload;
+    }
+
+    /**
+     * Zwraca maksymalną długość danych żądania.
+     *
+     * @return Długość w bajtach
+     */
+    public int getMaxPayload() {
+        return maxPayload;
+    }
+
+    /**
+     * Uruchamia serwer. Adres {@link UnixDomainSocketAddress} tworzy gniazdo domeny Unix, pozostałe - gniazdo TCP
+     * (port 0 oznacza dowolny wolny port).
+     *
+     * @param address Adres nasłuchiwania
+     * @return Rzeczywisty adres serwera
+     * @throws IOException Błąd utworzenia gniazda
+     */
+    public synchronized SocketAddress start(SocketAddress address) throws IOException {
+        if (server != null) {
+            throw new IllegalStateException("Server already started");
+        }
+        pool = new BufferPool(bufferCount, Protocol.LENGTH_FIELD + Protocol.REQUEST_HEADER + maxPayload + BLOCK_SIZE);
+        server = address instanceof UnixDomainSocketAddress
+                ? ServerSocketChannel.open(StandardProtocolFamily.UNIX)
+                : ServerSocketChannel.open();
+        server.bind(address);
+        this.address = server.getLocalAddress();
+        acceptor = Thread.ofPlatform().name("aes-service-acceptor").daemon().start(this::acceptLoop);
+        return this.address;
+    }
+
+    /**
+     * Zwraca adres serwera.
+     *
+     * @return Adres lub null przed uruchomieniem
+     */
+    public synchronized SocketAddress address() {
+        return address;
+    }
+
+    /**
+     * Zwraca liczbę obsłużonych żądań (łącznie z żądaniami zakończonymi statusem błędu).
+     *
+     * @return Liczba żądań
+     */
+    public long requests() {
+        return requests.sum();
+    }
+
+    /**
+     * Zatrzymuje serwer i zamyka wszystkie połączenia. Plik gniazda domeny Unix jest usuwany.
+     *
+     * @throws IOException Błąd zamknięcia gniazda
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        if (server == null || !server.isOpen()) {
+            return;
+        }
+        server.close();
+        for (SocketChannel channel : connections) {
+            channel.close();
+        }
+        try {
+            acceptor.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (address instanceof UnixDomainSocketAddress unix) {
+            Files.deleteIfExists(unix.getPath());
+        }
+    }
+
+    private void acceptLoop() {
+        boolean tcp = !(address instanceof UnixDomainSocketAddress);
+        while (server.isOpen()) {
+            try {
+                SocketChannel channel = server.accept();
+                if (tcp) {
+                    // Małe ramki wysyłane od razu, bez oczekiwania na potwierdzenie poprzednich
+                    channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+                }
+                connections.add(channel);
+                Thread.ofVirtual().name("aes-service-connection").start(() -> serve(channel));
+            } catch (ClosedChannelException e) {
+                return;
+            } catch (IOException e) {
+                // Błąd pojedynczego połączenia - serwer przyjmuje kolejne
+            }
+        }
+    }
+
+    /**
+     * Obsługuje kolejne żądania jednego połączenia aż do jego zamknięcia.
+     */
+    private void serve(SocketChannel channel) {
+        ByteBuffer length = ByteBuffer.allocate(Protocol.LENGTH_FIELD);
+        byte[] counter = new byte[BLOCK_SIZE];
+        byte[] keyStream = new byte[KEY_STREAM_SIZE];
+        try (channel) {
+            while (readFully(channel, length.clear())) {
+                int frame = length.getInt(0);
+                ByteBuffer buffer = pool.acquire();
+                try {
+                    if (frame < Protocol.REQUEST_HEADER || frame - Protocol.REQUEST_HEADER > maxPayload) {
+                        // Pozostałych bajtów ramki nie da się bezpiecznie pominąć - połączenie jest zamykane
+                        error(buffer, Protocol.STATUS_TOO_LARGE, "Frame length " + frame + " outside " + Protocol.REQUEST_HEADER + ".."
+                                + (Protocol.REQUEST_HEADER + maxPayload));
+                        writeFully(channel, buffer);
+                        return;
+                    }
+                    buffer.limit(frame);
+                    if (!readFully(channel, buffer)) {
+                        return;
+                    }
+                    handle(buffer, frame - Protocol.REQUEST_HEADER, counter, keyStream);
+                    requests.increment();
+                    writeFully(channel, buffer);
+                } finally {
+                    pool.release(buffer);
+                }
+            }
+        } catch (IOException e) {
+            // Połączenie zerwane przez klienta lub zamknięte przy zatrzymaniu serwera
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            connections.remove(channel);
+        }
+    }
+
+    /**
+     * Przetwarza żądanie zapisane od początku bufora i pozostawia w buforze (między pozycją a limitem)
+     * gotową ramkę odpowiedzi.
+     *
+     * @param buffer    Bufor z żądaniem (bez pola długości)
+     * @param len       Długość danych żądania
+     * @param counter   Bufor pomocniczy na licznik początkowy trybu CTR
+     * @param keyStream Bufor pomocniczy na strumień klucza trybu CTR
+     */
+    private void handle(ByteBuffer buffer, int len, byte[] counter, byte[] keyStream) {
+        int keyId = buffer.getInt(0);
+        Mode mode = Mode.of(buffer.get(4));
+        buffer.limit(buffer.capacity());
+        if (mode == null) {
+            error(buffer, Protocol.STATUS_BAD_REQUEST, "Unknown mode: " + buffer.get(4));
+            return;
+        }
+        AESCipher cipher = keys.get(keyId);
+        if (cipher == null) {
+            error(buffer, Protocol.STATUS_UNKNOWN_KEY, "Unknown key id: " + keyId);
+            return;
+        }
+
+        int data = Protocol.REQUEST_HEADER;
+        int resultLength;
+        switch (mode) {
+            case ECB_ENCRYPT -> {
+                // Dopełnienie PKCS#7 zapisywane za danymi w tym samym buforze
+                resultLength = Padding.PKCS7.pad(buffer, data, len);
+                cipher.encryptBlocks(buffer, data, buffer, data, resultLength);
+            }
+            case ECB_DECRYPT -> {
+                if (len == 0 || len % BLOCK_SIZE != 0) {
+                    error(buffer, Protocol.STATUS_BAD_REQUEST, "ECB data length must be a positive multiple of 16");
+                    return;
+                }
+                cipher.decryptBlocks(buffer, data, buffer, data, len);
+                try {
+                    resultLength = Padding.PKCS7.unpaddedLength(buffer, data, len);
+                } catch (BadPaddingException e) {
+                    error(buffer, Protocol.STATUS_BAD_PADDING, e.getMessage());
+                    return;
+                }
+            }
+            case CTR -> {
+                if (len < BLOCK_SIZE) {
+                    error(buffer, Protocol.STATUS_BAD_REQUEST, "CTR data must start with a 16-byte counter");
+                    return;
+                }
+                buffer.get(data, counter);
+                data += BLOCK_SIZE;
+                resultLength = len - BLOCK_SIZE;
+                // Przetwarzanie w miejscu, w buforze puli - bez obiektu trybu i widoków bufora
+                CTRMode.process(cipher, counter, keyStream, buffer, data, buffer, data, resultLength);
+            }
+            default -> throw new IllegalStateException("Unhandled mode: " + mode);
+        }
+
+        // Nagłówek odpowiedzi tuż przed wynikiem - ramka wysyłana jest bez kopiowania danych
+        int header = data - Protocol.LENGTH_FIELD - Protocol.RESPONSE_HEADER;
+        buffer.putInt(header, Protocol.RESPONSE_HEADER + resultLength);
+        buffer.put(header + Protocol.LENGTH_FIELD, Protocol.STATUS_OK);
+        buffer.limit(data + resultLength).position(header);
+    }
+
+    /**
+     * Zapisuje w buforze ramkę odpowiedzi z kodem błędu i komunikatem.
+     */
+    private static void error(ByteBuffer buffer, byte status, String message) {
+        byte[] text = message.getBytes(StandardCharsets.UTF_8);
+        buffer.clear()
+                .putInt(Protocol.RESPONSE_HEADER + text.length)
+                .put(status)
+                .put(text)
+                .flip();
+    }
+
+    /**
+     * Wczytuje bajty do zapełnienia bufora.
+     *
+     * @return false, gdy połączenie zostało zamknięte przed pierwszym bajtem
+     */
+    static boolean readFully(SocketChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer) < 0) {
+                if (buffer.position() == 0) {
+                    return false;
+                }
+                throw new IOException("Connection closed in the middle of a frame");
+            }
+        }
+        return true;
+    }
+
+    static void writeFully(SocketChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+}
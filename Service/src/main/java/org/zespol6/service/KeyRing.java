@@ -0,0 +1,122 @@
+/*
+ * Nazwa programu: AES-cipher
+ * Copyright (C) 2025  Mateusz Kosowski Nikodem Nowak
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package org.zespol6.service;
+
+import org.zespol6.aes.AESCipher;
+import org.zespol6.aes.Engine;
+import org.zespol6.aes.Hex;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Klucze udostępniane przez usługę szyfrowania, wskazywane w żądaniach identyfikatorem liczbowym.
+ * Harmonogram każdego klucza wyznaczany jest raz, przy dodaniu klucza, więc obsługa żądania
+ * nie rozszerza klucza. Klasa jest bezpieczna wątkowo.
+ */
+public final class KeyRing {
+
+    private final Map<Integer, AESCipher> ciphers = new ConcurrentHashMap<>();
+    private final Engine engine;    // Implementacja transformacji blokowej
+
+    /**
+     * Tworzy pusty zbiór kluczy używający domyślnej implementacji ({@link Engine#defaultEngine()}).
+     */
+    public KeyRing() {
+        this(Engine.defaultEngine());
+    }
+
+    /**
+     * Tworzy pusty zbiór kluczy.
+     *
+     * @param engine Implementacja transformacji blokowej
+     */
+    public KeyRing(Engine engine) {
+        if (engine == null) {
+            throw new IllegalArgumentException("Engine must not be null");
+        }
+        this.engine = engine;
+    }
+
+    /**
+     * Dodaje klucz (lub zastępuje klucz o tym samym identyfikatorze) i przygotowuje jego harmonogram.
+     *
+     * @param id  Identyfikator klucza
+     * @param key Klucz (16, 24 lub 32 bajty)
+     * @throws IllegalArgumentException gdy długość klucza jest nieprawidłowa
+     */
+    public void add(int id, byte[] key) {
+        ciphers.put(id, AESCipher.of(key, engine));
+    }
+
+    /**
+     * Wczytuje klucze z pliku tekstowego. Każdy niepusty wiersz ma postać {@code identyfikator klucz-hex};
+     * wiersze zaczynające się od {@code #} są pomijane.
+     *
+     * @param file Plik z kluczami
+     * @return Liczba wczytanych kluczy
+     * @throws IOException              Błąd odczytu pliku
+     * @throws IllegalArgumentException gdy wiersz ma nieprawidłową postać
+     */
+    public int load(Path file) throws IOException {
+        List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+        int loaded = 0;
+        for (int i = 0; i < lines.size(); i++) {
+            String line = lines.get(i).strip();
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+            String[] fields = line.split("\\s+");
+            if (fields.length != 2) {
+                throw new IllegalArgumentException("Line " + (i + 1) + ": expected <id> <hex key>");
+            }
+            try {
+                add(Integer.parseInt(fields[0]), Hex.decode(fields[1]));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Line " + (i + 1) + ": " + e.getMessage());
+            }
+            loaded++;
+        }
+        return loaded;
+    }
+
+    /**
+     * Zwraca szyfr z przygotowanym harmonogramem dla podanego identyfikatora.
+     *
+     * @param id Identyfikator klucza
+     * @return Szyfr lub null, gdy klucza nie ma
+     */
+    public AESCipher get(int id) {
+        return ciphers.get(id);
+    }
+
+    /**
+     * Zwraca liczbę zarejestrowanych kluczy.
+     *
+     * @return Liczba kluczy
+     */
+    public int size() {
+        return ciphers.size();
+    }
+}
@@ -0,0 +1,238 @@
+/*
+ * Nazwa programu: AES-cipher
+ * Copyright (C) 2025  Mateusz Kosowski Nikodem Nowak
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package org.zespol6.service;
+
+import org.zespol6.aes.LatencyHistogram;
+
+import java.io.IOException;
+import java.net.SocketAddress;
+import java.time.Duration;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Generator obciążenia usługi szyfrowania. Każde połączenie obsługuje osobny wątek wirtualny, który przez
+ * zadany czas wysyła kolejne żądania (następne po odebraniu odpowiedzi na poprzednie) i zapisuje czas
+ * odpowiedzi w histogramie.
+ */
+public final class LoadGenerator {
+
+    private static final int BLOCK_SIZE = 16;   // Rozmiar bloku w bajtach (128 bitów)
+
+    private int connections = 8;                // Liczba równoległych połączeń
+    private int payloadSize = 1024;             // Długość danych żądania
+    private Mode mode = Mode.ECB_ENCRYPT;       // Tryb żądań
+    private int keyId = 1;                      // Identyfikator klucza
+    private Duration duration = Duration.ofSeconds(10); // Czas trwania testu
+    private Duration warmup = Duration.ofSeconds(2);    // Czas rozgrzewki (nieliczony)
+
+    /**
+     * Ustawia liczbę równoległych połączeń.
+     *
+     * @param connections Liczba połączeń (dodatnia)
+     */
+    public void setConnections(int connections) {
+        if (connections <= 0) {
+            throw new IllegalArgumentException("Connection count must be positive");
+        }
+        this.connections = connections;
+    }
+
+    /**
+     * Zwraca liczbę równoległych połączeń.
+     *
+     * @return Liczba połączeń
+     */
+    public int getConnections() {
+        return connections;
+    }
+
+    /**
+     * Ustawia długość danych żądania (dla {@link Mode#CTR} bez 16-bajtowego licznika, dla
+     * {@link Mode#ECB_DECRYPT} przed dopełnieniem).
+     *
+     * @param payloadSize Długość w bajtach (nieujemna)
+     */
+    public void setPayloadSize(int payloadSize) {
+        if (payloadSize < 0) {
+            throw new IllegalArgumentException("Payload size must not be negative");
+        }
+        this.payloadSize = payloadSize;
+    }
+
+    /**
+     * Zwraca długość danych żądania.
+     *
+     * @return Długość w bajtach
+     */
+    public int getPayloadSize() {
+        return payloadSize;
+    }
+
+    /**
+     * Ustawia tryb żądań.
+     *
+     * @param mode Tryb
+     */
+    public void setMode(Mode mode) {
+        if (mode == null) {
+            throw new IllegalArgumentException("Mode must not be null");
+        }
+        this.mode = mode;
+    }
+
+    /**
+     * Zwraca tryb żądań.
+     *
+     * @return Tryb
+     */
+    public Mode getMode() {
+        return mode;
+    }
+
+    /**
+     * Ustawia identyfikator klucza używanego w żądaniach.
+     *
+     * @param keyId Identyfikator klucza
+     */
+    public void setKeyId(int keyId) {
+        this.keyId = keyId;
+    }
+
+    /**
+     * Zwraca identyfikator klucza używanego w żądaniach.
+     *
+     * @return Identyfikator klucza
+     */
+    public int getKeyId() {
+        return keyId;
+    }
+
+    /**
+     * Ustawia czas trwania pomiaru.
+     *
+     * @param duration Czas (dodatni)
+     */
+    public void setDuration(Duration duration) {
+        if (duration == null || duration.isNegative() || duration.isZero()) {
+            throw new IllegalArgumentException("Duration must be positive");
+        }
+        this.duration = duration;
+    }
+
+    /**
+     * Zwraca czas trwania pomiaru.
+     *
+     * @return Czas
+     */
+    public Duration getDuration() {
+        return duration;
+    }
+
+    /**
+     * Ustawia czas rozgrzewki poprzedzającej pomiar (żądania wysyłane, ale nieliczone).
+     *
+     * @param warmup Czas (nieujemny)
+     */
+    public void setWarmup(Duration warmup) {
+        if (warmup == null || warmup.isNegative()) {
+            throw new IllegalArgumentException("Warmup must not be negative");
+        }
+        this.warmup = warmup;
+    }
+
+    /**
+     * Zwraca czas rozgrzewki poprzedzającej pomiar.
+     *
+     * @return Czas
+     */
+    public Duration getWarmup() {
+        return warmup;
+    }
+
+    /**
+     * Wykonuje test obciążeniowy.
+     *
+     * @param address Adres usługi
+     * @return Wynik testu
+     * @throws IOException Błąd połączenia lub przygotowania danych
+     */
+    public LoadSummary run(SocketAddress address) throws IOException {
+        byte[] data = requestData(address);
+
+        LongAdder requests = new LongAdder();
+        LongAdder errors = new LongAdder();
+        LatencyHistogram latency = new LatencyHistogram();
+        long measureStart = System.nanoTime() + warmup.toNanos();
+        long end = measureStart + duration.toNanos();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < connections; i++) {
+                executor.execute(() -> {
+                    try (EncryptionClient client = EncryptionClient.connect(address)) {
+                        long now = System.nanoTime();
+                        while (now < end) {
+                            long start = now;
+                            try {
+                                client.call(keyId, mode, data, 0, data.length);
+                                now = System.nanoTime();
+                                if (start >= measureStart) {
+                                    latency.record(now - start);
+                                    requests.increment();
+                                }
+                            } catch (ServiceException e) {
+                                now = System.nanoTime();
+                                errors.increment();
+                            }
+                        }
+                    } catch (IOException e) {
+                        // Połączenie zerwane - pozostałe połączenia kontynuują test
+                        errors.increment();
+                    }
+                });
+            }
+        }
+        long elapsed = Math.max(0, Math.min(System.nanoTime(), end) - measureStart);
+        return new LoadSummary(connections, requests.sum(), errors.sum(), requests.sum() * data.length,
+                elapsed, latency);
+    }
+
+    /**
+     * Przygotowuje dane żądania; dla deszyfrowania są to dane zaszyfrowane przez usługę.
+     */
+    private byte[] requestData(SocketAddress address) throws IOException {
+        byte[] payload = new byte[payloadSize];
+        new Random(payloadSize).nextBytes(payload);
+        return switch (mode) {
+            case ECB_ENCRYPT -> payload;
+            case ECB_DECRYPT -> {
+                try (EncryptionClient client = EncryptionClient.connect(address)) {
+                    yield client.call(keyId, Mode.ECB_ENCRYPT, payload);
+                }
+            }
+            case CTR -> {
+                byte[] withCounter = new byte[BLOCK_SIZE + payloadSize];
+                System.arraycopy(payload, 0, withCounter, BLOCK_SIZE, payloadSize);
+                yield withCounter;
+            }
+        };
+    }
+}
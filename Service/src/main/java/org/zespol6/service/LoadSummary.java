@@ -0,0 +1,143 @@
+/*
+ * Nazwa programu: AES-cipher
+ * Copyright (C) 2025  Mateusz Kosowski Nikodem Nowak
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package org.zespol6.service;
+
+import org.zespol6.aes.LatencyHistogram;
+
+import java.util.Locale;
+
+/**
+ * Wynik testu obciążeniowego usługi szyfrowania: liczba żądań, przepustowość i rozkład czasu odpowiedzi.
+ */
+public final class LoadSummary {
+
+    private final int connections;          // Liczba równoległych połączeń
+    private final long requests;            // Liczba żądań zakończonych statusem OK
+    private final long errors;              // Liczba żądań zakończonych błędem
+    private final long bytes;               // Bajty danych wysłanych w poprawnych żądaniach
+    private final long elapsedNanos;        // Czas trwania testu
+    private final LatencyHistogram latency; // Czasy odpowiedzi (od wysłania żądania do odebrania odpowiedzi)
+
+    LoadSummary(int connections, long requests, long errors, long bytes, long elapsedNanos,
+                LatencyHistogram latency) {
+        this.connections = connections;
+        this.requests = requests;
+        this.errors = errors;
+        this.bytes = bytes;
+        this.elapsedNanos = elapsedNanos;
+        this.latency = latency;
+    }
+
+    /**
+     * Zwraca liczbę równoległych połączeń.
+     *
+     * @return Liczba połączeń
+     */
+    public int connections() {
+        return connections;
+    }
+
+    /**
+     * Zwraca liczbę żądań zakończonych statusem OK.
+     *
+     * @return Liczba żądań
+     */
+    public long requests() {
+        return requests;
+    }
+
+    /**
+     * Zwraca liczbę żądań zakończonych błędem.
+     *
+     * @return Liczba żądań
+     */
+    public long errors() {
+        return errors;
+    }
+
+    /**
+     * Zwraca liczbę bajtów danych wysłanych w poprawnych żądaniach.
+     *
+     * @return Liczba bajtów
+     */
+    public long bytes() {
+        return bytes;
+    }
+
+    /**
+     * Zwraca czas trwania pomiaru.
+     *
+     * @return Czas w nanosekundach
+     */
+    public long elapsedNanos() {
+        return elapsedNanos;
+    }
+
+    /**
+     * Zwraca histogram czasów odpowiedzi poprawnych żądań.
+     *
+     * @return Histogram czasów w nanosekundach
+     */
+    public LatencyHistogram latency() {
+        return latency;
+    }
+
+    /**
+     * Zwraca liczbę poprawnych żądań na sekundę.
+     *
+     * @return Żądania na sekundę
+     */
+    public double requestsPerSecond() {
+        return elapsedNanos == 0 ? 0 : requests * 1e9 / elapsedNanos;
+    }
+
+    /**
+     * Zwraca przepustowość liczoną w bajtach wysłanych danych (1 MB = 10^6 bajtów).
+     *
+     * @return Megabajty na sekundę
+     */
+    public double megabytesPerSecond() {
+        return elapsedNanos == 0 ? 0 : bytes * 1e3 / elapsedNanos;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(Locale.ROOT,
+                "requests:   %d ok, %d failed on %d connections in %.3f s%n"
+                        + "throughput: %.0f requests/s, %.1f MB/s%n"
+                        + "latency:    p50 %s, p99 %s, max %s%n",
+                requests, errors, connections, elapsedNanos / 1e9,
+                requestsPerSecond(), megabytesPerSecond(),
+                duration(latency.percentile(50)), duration(latency.percentile(99)),
+                duration(latency.percentile(100)));
+    }
+
+    /**
+     * Formatuje górną granicę przedziału histogramu w czytelnej jednostce.
+     */
+    private static String duration(long nanos) {
+        if (nanos < 1_000_000) {
+            return String.format(Locale.ROOT, "<%.0f us", (nanos + 1) / 1e3);
+        }
+        if (nanos < 1_000_000_000) {
+            return String.format(Locale.ROOT, "<%.1f ms", (nanos + 1) / 1e6);
+        }
+        return String.format(Locale.ROOT, "<%.2f s", (nanos + 1) / 1e9);
+    }
+}
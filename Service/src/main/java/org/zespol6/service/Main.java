@@ -0,0 +1,253 @@
+/*
+ * Nazwa programu: AES-cipher
+ * Copyright (C) 2025  Mateusz Kosowski Nikodem Nowak
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package org.zespol6.service;
+
+import org.zespol6.aes.CipherMetrics;
+import org.zespol6.aes.Engine;
+import org.zespol6.aes.Hex;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.net.UnixDomainSocketAddress;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * Uruchomienie usługi szyfrowania lub generatora obciążenia z wiersza poleceń.
+ *
+ * <pre>
+ * java -jar aes-service.jar server --socket /tmp/aes.sock --keys klucze.txt
+ * java -jar aes-service.jar load --socket /tmp/aes.sock --key-id 1 --connections 16 --payload 4096
+ * </pre>
+ *
+ * <p>Serwer TCP nasłuchuje wyłącznie na adresie pętli zwrotnej. Kod wyjścia: 0 - poprawne zakończenie,
+ * 1 - błędy żądań w teście obciążeniowym, 2 - błędne argumenty lub błąd gniazda.</p>
+ */
+public final class Main {
+
+    private static final String USAGE = """
+            Usage: aes-service server (--port N | --socket PATH) (--keys FILE | --key ID=HEX)... [options]
+                     --engine NAME           block cipher implementation (default: T_TABLE)
+                     --buffers N             pooled direct buffers = requests served at once (default: 64)
+                     --max-payload BYTES     largest request payload (default: 1048576)
+                   aes-service load (--port N | --socket PATH) [options]
+                     --key-id N              key used by the requests (default: 1)
+                     --mode ecb-encrypt|ecb-decrypt|ctr  request mode (default: ecb-encrypt)
+                     --connections N         concurrent connections (default: 8)
+                     --payload BYTES         request payload size (default: 1024)
+                     --seconds N             measured duration (default: 10)
+                     --warmup N              unmeasured warmup in seconds (default: 2)
+            """;
+
+    private Main() {
+    }
+
+    public static void main(String[] args) {
+        System.exit(run(args, System.out, System.err));
+    }
+
+    /**
+     * Wykonuje polecenie i zwraca kod wyjścia (bez wywołania {@link System#exit}).
+     * Polecenie server kończy się dopiero po zatrzymaniu procesu.
+     *
+     * @param args Argumenty wiersza poleceń
+     * @param out  Strumień wyników
+     * @param err  Strumień komunikatów o błędach
+     * @return Kod wyjścia
+     */
+    static int run(String[] args, PrintStream out, PrintStream err) {
+        try {
+            if (args.length == 0) {
+                throw new IllegalArgumentException("Missing command");
+            }
+            return switch (args[0]) {
+                case "server" -> server(args, out);
+                case "load" -> load(args, out);
+                default -> throw new IllegalArgumentException("Unknown command: " + args[0]);
+            };
+        } catch (IllegalArgumentException e) {
+            err.println("Error: " + e.getMessage());
+            err.print(USAGE);
+            return 2;
+        } catch (IOException e) {
+            err.println("Error: " + e);
+            return 2;
+        }
+    }
+
+    private static int server(String[] args, PrintStream out) throws IOException {
+        SocketAddress address = null;
+        Engine engine = Engine.defaultEngine();
+        String keysFile = null;
+        StringBuilder inlineKeys = new StringBuilder();
+        Integer buffers = null;
+        Integer maxPayload = null;
+
+        for (int i = 1; i < args.length; i++) {
+            String option = args[i];
+            String value = value(args, ++i, option);
+            switch (option) {
+                case "--port", "--socket" -> address = address(address, option, value);
+                case "--keys" -> keysFile = value;
+                case "--key" -> inlineKeys.append(value).append('\n');
+                case "--engine" -> engine = parseEngine(value);
+                case "--buffers" -> buffers = parseInt(option, value);
+                case "--max-payload" -> maxPayload = parseInt(option, value);
+                default -> throw new IllegalArgumentException("Unknown option: " + option);
+            }
+        }
+        if (address == null) {
+            throw new IllegalArgumentException("Missing --port or --socket");
+        }
+
+        KeyRing keys = new KeyRing(engine);
+        if (keysFile != null) {
+            keys.load(Path.of(keysFile));
+        }
+        for (String key : inlineKeys.toString().split("\n")) {
+            if (key.isEmpty()) {
+                continue;
+            }
+            int separator = key.indexOf('=');
+            if (separator < 0) {
+                throw new IllegalArgumentException("Expected --key ID=HEX");
+            }
+            keys.add(parseInt("--key", key.substring(0, separator)), Hex.decode(key.substring(separator + 1)));
+        }
+        if (keys.size() == 0) {
+            throw new IllegalArgumentException("No keys loaded");
+        }
+
+        EncryptionServer server = new EncryptionServer(keys);
+        if (buffers != null) {
+            server.setBufferCount(buffers);
+        }
+        if (maxPayload != null) {
+            server.setMaxPayload(maxPayload);
+        }
+        SocketAddress bound = server.start(address);
+        out.printf(Locale.ROOT, "listening on %s with %d keys, %d buffers of %d bytes (%s engine)%n",
+                bound, keys.size(), server.getBufferCount(), server.getMaxPayload(), engine);
+
+        // Zatrzymanie procesu (Ctrl+C) zamyka gniazdo i usuwa plik gniazda domeny Unix
+        CountDownLatch stopped = new CountDownLatch(1);
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            try {
+                server.close();
+            } catch (IOException ignored) {
+                // Proces i tak się kończy
+            }
+            out.printf(Locale.ROOT, "served %d requests%n", server.requests());
+            if (CipherMetrics.isEnabled()) {
+                out.print(CipherMetrics.global());
+            }
+            stopped.countDown();
+        }));
+        try {
+            stopped.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return 0;
+    }
+
+    private static int load(String[] args, PrintStream out) throws IOException {
+        SocketAddress address = null;
+        LoadGenerator generator = new LoadGenerator();
+
+        for (int i = 1; i < args.length; i++) {
+            String option = args[i];
+            String value = value(args, ++i, option);
+            switch (option) {
+                case "--port", "--socket" -> address = address(address, option, value);
+                case "--key-id" -> generator.setKeyId(parseInt(option, value));
+                case "--mode" -> generator.setMode(switch (value.toLowerCase(Locale.ROOT)) {
+                    case "ecb-encrypt" -> Mode.ECB_ENCRYPT;
+                    case "ecb-decrypt" -> Mode.ECB_DECRYPT;
+                    case "ctr" -> Mode.CTR;
+                    default -> throw new IllegalArgumentException("Unknown mode: " + value);
+                });
+                case "--connections" -> generator.setConnections(parseInt(option, value));
+                case "--payload" -> generator.setPayloadSize(parseInt(option, value));
+                case "--seconds" -> generator.setDuration(Duration.ofSeconds(parseInt(option, value)));
+                case "--warmup" -> generator.setWarmup(Duration.ofSeconds(parseInt(option, value)));
+                default -> throw new IllegalArgumentException("Unknown option: " + option);
+            }
+        }
+        if (address == null) {
+            throw new IllegalArgumentException("Missing --port or --socket");
+        }
+
+        LoadSummary summary = generator.run(address);
+        out.printf(Locale.ROOT, "%s, %d-byte payload, key %d%n", generator.getMode(), generator.getPayloadSize(),
+                generator.getKeyId());
+        out.print(summary);
+        return summary.errors() == 0 ? 0 : 1;
+    }
+
+    /**
+     * Zwraca adres lokalny: port TCP na adresie pętli zwrotnej albo ścieżkę gniazda domeny Unix.
+     */
+    private static SocketAddress address(SocketAddress previous, String option, String value) {
+        if (previous != null) {
+            throw new IllegalArgumentException("Use only one of --port and --socket");
+        }
+        if (option.equals("--socket")) {
+            return UnixDomainSocketAddress.of(value);
+        }
+        int port = parseInt(option, value);
+        if (port < 0 || port > 65535) {
+            throw new IllegalArgumentException("Port must be between 0 and 65535");
+        }
+        return new InetSocketAddress(InetAddress.getLoopbackAddress(), port);
+    }
+
+    private static String value(String[] args, int index, String option) {
+        if (index >= args.length) {
+            throw new IllegalArgumentException("Missing value for " + option);
+        }
+        return args[index];
+    }
+
+    private static Engine parseEngine(String name) {
+        Engine engine;
+        try {
+            engine = Engine.valueOf(name.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown engine: " + name);
+        }
+        if (!engine.isAvailable()) {
+            throw new IllegalArgumentException("Engine not available in this VM: " + name);
+        }
+        return engine;
+    }
+
+    private static int parseInt(String option, String value) {
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid number for " + option + ": " + value);
+        }
+    }
+}
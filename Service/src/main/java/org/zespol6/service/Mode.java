@@ -0,0 +1,74 @@
+/*
+ * Nazwa programu: AES-cipher
+ * Copyright (C) 2025  Mateusz Kosowski Nikodem Nowak
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package org.zespol6.service;
+
+/**
+ * Operacja wykonywana przez usługę szyfrowania na danych jednego żądania.
+ * Wszystkie tryby przetwarzane są bezpośrednio w buforze żądania, bez kopiowania danych.
+ */
+public enum Mode {
+
+    /**
+     * Szyfrowanie blok po bloku z dopełnieniem PKCS#7 (wynik zgodny z
+     * {@link org.zespol6.aes.AESCipher#encrypt(byte[], org.zespol6.aes.Padding)}).
+     */
+    ECB_ENCRYPT(1),
+
+    /**
+     * Deszyfrowanie blok po bloku i usunięcie dopełnienia PKCS#7. Dane muszą mieć długość będącą
+     * wielokrotnością 16.
+     */
+    ECB_DECRYPT(2),
+
+    /**
+     * Tryb licznika (szyfrowanie i deszyfrowanie to ta sama operacja). Dane żądania zaczynają się
+     * od 16-bajtowego licznika początkowego; odpowiedź zawiera tylko przetworzone dane.
+     */
+    CTR(3);
+
+    private final byte code;    // Kod trybu w ramce żądania
+
+    Mode(int code) {
+        this.code = (byte) code;
+    }
+
+    /**
+     * Zwraca kod trybu przesyłany w ramce żądania.
+     *
+     * @return Kod trybu
+     */
+    public byte code() {
+        return code;
+    }
+
+    /**
+     * Zwraca tryb o podanym kodzie.
+     *
+     * @param code Kod trybu z ramki żądania
+     * @return Tryb lub null dla nieznanego kodu
+     */
+    public static Mode of(byte code) {
+        return switch (code) {
+            case 1 -> ECB_ENCRYPT;
+            case 2 -> ECB_DECRYPT;
+            case 3 -> CTR;
+            default -> null;
+        };
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * Nazwa programu: AES-cipher
+ * Copyright (C) 2025  Mateusz Kosowski Nikodem Nowak
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package org.zespol6.service;
+
+/**
+ * Format ramek usługi szyfrowania. Wszystkie liczby zapisywane są w kolejności big-endian.
+ *
+ * <pre>
+ * żądanie:    int długość | int identyfikator klucza | byte tryb ({@link Mode#code()}) | dane
+ * odpowiedź:  int długość | byte status | wynik (status {@link #STATUS_OK}) albo komunikat błędu w UTF-8
+ * </pre>
+ *
+ * <p>Długość obejmuje wszystkie bajty ramki po polu długości. Na jednym połączeniu żądania obsługiwane
+ * są kolejno - odpowiedź wysyłana jest przed odczytem następnego żądania.</p>
+ */
+public final class Protocol {
+
+    /**
+     * Rozmiar pola długości ramki.
+     */
+    public static final int LENGTH_FIELD = 4;
+
+    /**
+     * Rozmiar nagłówka żądania po polu długości (identyfikator klucza i tryb).
+     */
+    public static final int REQUEST_HEADER = 5;
+
+    /**
+     * Rozmiar nagłówka odpowiedzi po polu długości (status).
+     */
+    public static final int RESPONSE_HEADER = 1;
+
+    /**
+     * Domyślna maksymalna długość danych żądania.
+     */
+    public static final int DEFAULT_MAX_PAYLOAD = 1024 * 1024;
+
+    /**
+     * Żądanie wykonane poprawnie.
+     */
+    public static final byte STATUS_OK = 0;
+
+    /**
+     * Nieprawidłowe żądanie (nieznany tryb, błędna długość danych).
+     */
+    public static final byte STATUS_BAD_REQUEST = 1;
+
+    /**
+     * Nieznany identyfikator klucza.
+     */
+    public static final byte STATUS_UNKNOWN_KEY = 2;
+
+    /**
+     * Nieprawidłowe dopełnienie odszyfrowanych danych.
+     */
+    public static final byte STATUS_BAD_PADDING = 3;
+
+    /**
+     * Dane dłuższe niż maksymalna długość ustawiona w serwerze - serwer zamyka połączenie po odpowiedzi.
+     */
+    public static final byte STATUS_TOO_LARGE = 4;
+
+    private Protocol() {
+    }
+}
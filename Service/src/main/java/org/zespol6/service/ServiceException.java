@@ -0,0 +1,51 @@
+/*
+ * Nazwa programu: AES-cipher
+ * Copyright (C) 2025  Mateusz Kosowski Nikodem Nowak
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package org.zespol6.service;
+
+import java.io.IOException;
+import java.io.Serial;
+
+/**
+ * Odpowiedź usługi szyfrowania ze statusem błędu.
+ */
+public final class ServiceException extends IOException {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    private final byte status;  // Status odpowiedzi (stałe STATUS_* klasy Protocol)
+
+    /**
+     * @param status  Status odpowiedzi
+     * @param message Komunikat przesłany przez serwer
+     */
+    public ServiceException(byte status, String message) {
+        super(message);
+        this.status = status;
+    }
+
+    /**
+     * Zwraca status odpowiedzi.
+     *
+     * @return Jedna ze stałych STATUS_* klasy {@link Protocol}
+     */
+    public byte status() {
+        return status;
+    }
+}
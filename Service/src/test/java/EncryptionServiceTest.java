@@ -0,0 +1,156 @@
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.zespol6.aes.AESCipher;
+import org.zespol6.aes.CTRMode;
+import org.zespol6.aes.Padding;
+import org.zespol6.service.EncryptionClient;
+import org.zespol6.service.EncryptionServer;
+import org.zespol6.service.KeyRing;
+import org.zespol6.service.LoadGenerator;
+import org.zespol6.service.LoadSummary;
+import org.zespol6.service.Mode;
+import org.zespol6.service.Protocol;
+import org.zespol6.service.ServiceException;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.net.UnixDomainSocketAddress;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class EncryptionServiceTest {
+
+    private static final byte[] KEY_128 = new byte[16];
+    private static final byte[] KEY_256 = new byte[32];
+
+    static {
+        for (int i = 0; i < KEY_256.length; i++) {
+            KEY_256[i] = (byte) i;
+        }
+        Arrays.fill(KEY_128, (byte) 7);
+    }
+
+    @TempDir
+    Path dir;
+
+    private EncryptionServer server;
+
+    private SocketAddress start(SocketAddress address) throws IOException {
+        KeyRing keys = new KeyRing();
+        keys.add(1, KEY_128);
+        keys.add(2, KEY_256);
+        server = new EncryptionServer(keys);
+        server.setBufferCount(4);
+        server.setMaxPayload(64 * 1024);
+        return server.start(address);
+    }
+
+    private SocketAddress startTcp() throws IOException {
+        return start(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+    }
+
+    @AfterEach
+    public void stop() throws IOException {
+        if (server != null) {
+            server.close();
+        }
+    }
+
+    @Test
+    public void testModesMatchLocalCipher() throws IOException {
+        SocketAddress address = startTcp();
+        AESCipher cipher = AESCipher.of(KEY_256);
+        Random random = new Random(1);
+        try (EncryptionClient client = EncryptionClient.connect(address)) {
+            for (int len : new int[]{0, 1, 15, 16, 17, 1000, 64 * 1024 - 16}) {
+                byte[] data = new byte[len];
+                random.nextBytes(data);
+
+                byte[] encrypted = client.call(2, Mode.ECB_ENCRYPT, data);
+                assertArrayEquals(cipher.encrypt(data, Padding.PKCS7), encrypted);
+                assertArrayEquals(data, client.call(2, Mode.ECB_DECRYPT, encrypted));
+
+                byte[] counter = new byte[16];
+                random.nextBytes(counter);
+                byte[] request = new byte[16 + len];
+                System.arraycopy(counter, 0, request, 0, 16);
+                System.arraycopy(data, 0, request, 16, len);
+                assertArrayEquals(new CTRMode(cipher, counter).encrypt(data), client.call(2, Mode.CTR, request));
+            }
+        }
+        assertEquals(21, server.requests());
+    }
+
+    @Test
+    public void testUnixDomainSocket() throws IOException {
+        Path socket = dir.resolve("aes.sock");
+        SocketAddress address = start(UnixDomainSocketAddress.of(socket));
+        byte[] data = "Hello World!".getBytes();
+        try (EncryptionClient client = EncryptionClient.connect(address)) {
+            assertArrayEquals(AESCipher.of(KEY_128).encrypt(data, Padding.PKCS7), client.call(1, Mode.ECB_ENCRYPT, data));
+        }
+        server.close();
+        assertFalse(Files.exists(socket));
+    }
+
+    @Test
+    public void testErrorsKeepConnectionUsable() throws IOException {
+        SocketAddress address = startTcp();
+        try (EncryptionClient client = EncryptionClient.connect(address)) {
+            ServiceException unknownKey = assertThrows(ServiceException.class,
+                    () -> client.call(99, Mode.ECB_ENCRYPT, new byte[16]));
+            assertEquals(Protocol.STATUS_UNKNOWN_KEY, unknownKey.status());
+
+            ServiceException badLength = assertThrows(ServiceException.class,
+                    () -> client.call(1, Mode.ECB_DECRYPT, new byte[15]));
+            assertEquals(Protocol.STATUS_BAD_REQUEST, badLength.status());
+
+            // Blok bez poprawnego dopełnienia PKCS#7
+            byte[] noPadding = AESCipher.of(KEY_128).encrypt(new byte[16], Padding.NONE);
+            ServiceException badPadding = assertThrows(ServiceException.class,
+                    () -> client.call(1, Mode.ECB_DECRYPT, noPadding));
+            assertEquals(Protocol.STATUS_BAD_PADDING, badPadding.status());
+
+            assertEquals(32, client.call(1, Mode.ECB_ENCRYPT, new byte[16]).length);
+        }
+    }
+
+    @Test
+    public void testTooLargeRequestClosesConnection() throws IOException {
+        SocketAddress address = startTcp();
+        try (EncryptionClient client = EncryptionClient.connect(address)) {
+            ServiceException tooLarge = assertThrows(ServiceException.class,
+                    () -> client.call(1, Mode.ECB_ENCRYPT, new byte[64 * 1024 + 1]));
+            assertEquals(Protocol.STATUS_TOO_LARGE, tooLarge.status());
+            assertThrows(IOException.class, () -> client.call(1, Mode.ECB_ENCRYPT, new byte[16]));
+        }
+    }
+
+    @Test
+    public void testLoadGenerator() throws IOException {
+        SocketAddress address = startTcp();
+        for (Mode mode : Mode.values()) {
+            LoadGenerator generator = new LoadGenerator();
+            generator.setConnections(6);    // Więcej połączeń niż buforów serwera
+            generator.setPayloadSize(100);
+            generator.setMode(mode);
+            generator.setKeyId(2);
+            generator.setWarmup(Duration.ZERO);
+            generator.setDuration(Duration.ofMillis(200));
+
+            LoadSummary summary = generator.run(address);
+            assertEquals(0, summary.errors(), mode.name());
+            assertTrue(summary.requests() > 0, mode.name());
+            assertEquals(summary.requests(), summary.latency().count());
+            assertTrue(summary.toString().contains("requests/s"));
+        }
+    }
+}
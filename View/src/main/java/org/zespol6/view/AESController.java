@@ -18,17 +18,22 @@
 
 package org.zespol6.view;
 
+import javafx.concurrent.Task;
 import javafx.fxml.FXML;
 import javafx.scene.control.*;
 
 import java.io.*;
 
 import org.zespol6.aes.AES;
+import org.zespol6.aes.AESCipher;
 
 import java.math.BigInteger;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
 
 /**
  * Kontroler interfejsu użytkownika dla aplikacji AES.
@@ -53,6 +58,15 @@ public class AESController {
     @FXML TextArea encryptedDataField;
     @FXML TextField keyField;
 
+    // Podgląd szesnastkowy danych z plików (zamiast pól tekstowych)
+    @FXML HexView decryptedHexView;
+    @FXML HexView encryptedHexView;
+
+    // Postęp operacji wykonywanej w tle
+    @FXML ProgressBar progressBar;
+    @FXML Label progressLabel;
+    @FXML Button cancelButton;
+
     // Przyciski radiowe do wyboru długości klucza
     @FXML RadioButton key128;
     @FXML RadioButton key192;
@@ -71,6 +85,14 @@ public class AESController {
     byte[] encryptedDataTextField; // Zaszyfrowane dane z pola tekstowego
     byte[] keyData;              // Dane klucza
 
+    // Wątek wykonujący szyfrowanie i deszyfrowanie poza wątkiem JavaFX
+    private final ExecutorService worker = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "aes-worker");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private Task<byte[]> currentTask;  // Aktualnie wykonywane zadanie (null, gdy brak)
+
     /**
      * Inicjalizuje kontroler i konfiguruje obsługę zdarzeń dla elementów interfejsu.
      * Metoda wywoływana automatycznie przez JavaFX po załadowaniu pliku FXML.
@@ -80,6 +102,14 @@ public class AESController {
         // Nasłuchuj zmiany wybranej długości klucza i wyczyść pole klucza
         key.selectedToggleProperty().addListener((observable, oldValue, newValue) -> keyField.clear());
 
+        // W trybie pola tekstowego dane wyświetlane są w polach tekstowych zamiast podglądu szesnastkowego
+        fieldOrFile.selectedToggleProperty().addListener((observable, oldValue, newValue) -> {
+            if (field.isSelected()) {
+                showText(decryptedDataField, decryptedHexView, decryptedDataField.getText());
+                showText(encryptedDataField, encryptedHexView, encryptedDataField.getText());
+            }
+        });
+
         AES aes = new AES();
         final javafx.scene.input.Clipboard clipboard = javafx.scene.input.Clipboard.getSystemClipboard();
         final javafx.scene.input.ClipboardContent content = new javafx.scene.input.ClipboardContent();
@@ -120,22 +150,27 @@ public class AESController {
                 String keyHex = aes.bytesToHex(keyData);
                 BigInteger keyBigInt = new BigInteger(keyHex, 16);
                 aes.setMainKey(keyBigInt);
-                byte[] expectedData;
+                AESCipher cipher = AESCipher.of(AES.toByteKey(aes.getMainKey(), getKeySize() / 8));
 
                 // Szyfruj dane z pola tekstowego lub pliku
                 if (field.isSelected()) {
                     originalDataTextField = decryptedDataField.getText().getBytes(StandardCharsets.UTF_8);
-                    expectedData = aes.encrypt(originalDataTextField, aes.getMainKey());
-                    encryptedDataTextField = Arrays.copyOf(expectedData, expectedData.length);
+                    runTask(new CipherTask(cipher, originalDataTextField, true), encryptedDataField, encryptedHexView,
+                            result -> {
+                                encryptedDataTextField = result;
+                                showText(encryptedDataField, encryptedHexView, aes.bytesToHex(result));
+                            });
                 } else {
-                    expectedData = aes.encrypt(originalDataFile, aes.getMainKey());
-                    encryptedDataFile = Arrays.copyOf(expectedData, expectedData.length);
+                    runTask(new CipherTask(cipher, originalDataFile, true), encryptedDataField, encryptedHexView,
+                            result -> {
+                                encryptedDataFile = result;
+                                showBytes(encryptedDataField, encryptedHexView, result);
+                            });
                 }
-                encryptedDataField.setText(aes.bytesToHex(expectedData));
             } catch (NumberFormatException ex) {
-                encryptedDataField.setText("Error: Invalid key format");
+                showText(encryptedDataField, encryptedHexView, "Error: Invalid key format");
             } catch (Exception ex) {
-                encryptedDataField.setText("Error: " + ex.getMessage());
+                showText(encryptedDataField, encryptedHexView, "Error: " + ex.getMessage());
             }
         });
 
@@ -151,37 +186,52 @@ public class AESController {
                 String keyHex = aes.bytesToHex(keyData);
                 BigInteger keyBigInt = new BigInteger(keyHex, 16);
                 aes.setMainKey(keyBigInt);
+                AESCipher cipher = AESCipher.of(AES.toByteKey(aes.getMainKey(), getKeySize() / 8));
 
-                byte[] expectedData;
                 if (field.isSelected()) {
                     // Konwersja ciągu znaków hex na bajty i deszyfrowanie
                     byte[] encryptedBytes = aes.hexToBytes(encryptedDataField.getText());
-                    expectedData = aes.decrypt(encryptedBytes, aes.getMainKey());
-                    originalDataTextField = Arrays.copyOf(expectedData, expectedData.length);
-                    decryptedDataField.setText(new String(expectedData, StandardCharsets.UTF_8));
+                    runTask(new CipherTask(cipher, encryptedBytes, false), decryptedDataField, decryptedHexView,
+                            result -> {
+                                originalDataTextField = result;
+                                showText(decryptedDataField, decryptedHexView,
+                                        new String(result, StandardCharsets.UTF_8));
+                            });
                 } else {
                     // Deszyfrowanie danych z pliku
-                    expectedData = aes.decrypt(encryptedDataFile, aes.getMainKey());
-                    originalDataFile = Arrays.copyOf(expectedData, expectedData.length);
-                    decryptedDataField.setText(aes.bytesToHex(expectedData));
+                    runTask(new CipherTask(cipher, encryptedDataFile, false), decryptedDataField, decryptedHexView,
+                            result -> {
+                                originalDataFile = result;
+                                showBytes(decryptedDataField, decryptedHexView, result);
+                            });
                 }
 
             } catch (NumberFormatException ex) {
-                decryptedDataField.setText("Error: Invalid key format, key: " + new String(keyData).toLowerCase());
+                showText(decryptedDataField, decryptedHexView,
+                        "Error: Invalid key format, key: " + new String(keyData).toLowerCase());
             } catch (Exception ex) {
-                decryptedDataField.setText("Error: " + ex.getMessage());
+                showText(decryptedDataField, decryptedHexView, "Error: " + ex.getMessage());
+            }
+        });
+
+        // Obsługa przerwania operacji wykonywanej w tle
+        cancelButton.setOnAction(e -> {
+            if (currentTask != null) {
+                currentTask.cancel();
             }
         });
 
         // Obsługa kopiowania zaszyfrowanych danych do schowka
         copyEncryptedDataButton.setOnAction(e -> {
-            content.putString(encryptedDataField.getText());
+            content.putString(encryptedHexView.isVisible()
+                    ? aes.bytesToHex(encryptedDataFile) : encryptedDataField.getText());
             clipboard.setContent(content);
         });
 
         // Obsługa kopiowania odszyfrowanych danych do schowka
         copyDecryptedDataButton.setOnAction(e -> {
-            content.putString(decryptedDataField.getText());
+            content.putString(decryptedHexView.isVisible()
+                    ? aes.bytesToHex(originalDataFile) : decryptedDataField.getText());
             clipboard.setContent(content);
         });
 
@@ -190,6 +240,103 @@ public class AESController {
         saveDecryptedButton.setOnAction(e -> saveButtonAction(null, decryptedDataField, 3));
     }
 
+    /**
+     * Uruchamia zadanie szyfrowania lub deszyfrowania w tle. Na czas jego trwania przyciski operacji
+     * są zablokowane, a pasek postępu pokazuje liczbę przetworzonych bajtów i przepustowość.
+     *
+     * @param task      Zadanie do wykonania
+     * @param target    Pole, w którym wyświetlany jest błąd
+     * @param hexView   Podgląd szesnastkowy ukrywany przy wyświetlaniu błędu
+     * @param onSuccess Obsługa wyniku (wywoływana w wątku JavaFX)
+     */
+    private void runTask(Task<byte[]> task, TextArea target, HexView hexView, Consumer<byte[]> onSuccess) {
+        if (currentTask != null) {
+            return;
+        }
+        currentTask = task;
+        setBusy(true);
+        progressBar.progressProperty().bind(task.progressProperty());
+        progressLabel.textProperty().bind(task.messageProperty());
+
+        task.setOnSucceeded(e -> {
+            finishTask();
+            onSuccess.accept(task.getValue());
+        });
+        task.setOnCancelled(e -> {
+            finishTask();
+            progressLabel.setText("Przerwano");
+        });
+        task.setOnFailed(e -> {
+            finishTask();
+            showText(target, hexView, "Error: " + task.getException().getMessage());
+        });
+        worker.execute(task);
+    }
+
+    /**
+     * Wyświetla dane binarne w podglądzie szesnastkowym, który zastępuje pole tekstowe.
+     * Formatowane są tylko widoczne wiersze, więc czas wyświetlenia nie zależy od rozmiaru danych.
+     *
+     * @param textArea Pole tekstowe do ukrycia (jego treść jest czyszczona)
+     * @param hexView  Podgląd szesnastkowy
+     * @param data     Dane do wyświetlenia
+     */
+    private void showBytes(TextArea textArea, HexView hexView, byte[] data) {
+        textArea.clear();
+        textArea.setVisible(false);
+        hexView.setData(data);
+        hexView.setVisible(true);
+    }
+
+    /**
+     * Wyświetla tekst w polu tekstowym, ukrywając podgląd szesnastkowy.
+     *
+     * @param textArea Pole tekstowe
+     * @param hexView  Podgląd szesnastkowy do ukrycia
+     * @param text     Tekst do wyświetlenia
+     */
+    private void showText(TextArea textArea, HexView hexView, String text) {
+        hexView.setVisible(false);
+        hexView.clear();
+        textArea.setVisible(true);
+        textArea.setText(text);
+    }
+
+    /**
+     * Zwraca podgląd szesnastkowy umieszczony w miejscu danego pola tekstowego.
+     *
+     * @param textArea Pole tekstowe danych zaszyfrowanych lub odszyfrowanych
+     * @return Odpowiadający mu podgląd szesnastkowy
+     */
+    private HexView hexViewFor(TextArea textArea) {
+        return textArea == encryptedDataField ? encryptedHexView : decryptedHexView;
+    }
+
+    /**
+     * Odłącza pasek postępu od zakończonego zadania i odblokowuje przyciski.
+     */
+    private void finishTask() {
+        progressBar.progressProperty().unbind();
+        progressLabel.textProperty().unbind();
+        currentTask = null;
+        setBusy(false);
+    }
+
+    /**
+     * Blokuje lub odblokowuje przyciski, których nie wolno używać w trakcie operacji w tle.
+     *
+     * @param busy Czy trwa operacja
+     */
+    private void setBusy(boolean busy) {
+        encryptButton.setDisable(busy);
+        decryptButton.setDisable(busy);
+        loadEncryptedButton.setDisable(busy);
+        loadDecryptedButton.setDisable(busy);
+        keyGenButton.setDisable(busy);
+        keyLoadButton.setDisable(busy);
+        cancelButton.setDisable(!busy);
+    }
+
     /**
      * Obsługuje wczytywanie danych z pliku.
      *
@@ -247,13 +394,13 @@ public class AESController {
                 AES aes = new AES();
                 // Wyświetl dane w odpowiednim polu
                 if (textArea != null) {
-                    textArea.setText(aes.bytesToHex(data));
+                    showBytes(textArea, hexViewFor(textArea), data);
                 } else {
                     textField.setText(aes.bytesToHex(data));
                 }
             } catch (IOException ex) {
                 if (textArea != null) {
-                    textArea.setText("Error: " + ex.getMessage());
+                    showText(textArea, hexViewFor(textArea), "Error: " + ex.getMessage());
                 } else {
                     textField.setText("Error: " + ex.getMessage());
                 }
@@ -331,7 +478,7 @@ public class AESController {
             } catch (IOException ex) {
                 // Obsługa błędu zapisu
                 if (textArea != null) {
-                    textArea.setText("Error: " + ex.getMessage());
+                    showText(textArea, hexViewFor(textArea), "Error: " + ex.getMessage());
                 } else if (textField != null) {
                     textField.setText("Error: " + ex.getMessage());
                 }
@@ -0,0 +1,117 @@
+/*
+ * Nazwa programu: AES-cipher
+ * Copyright (C) 2025  Mateusz Kosowski Nikodem Nowak
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package org.zespol6.view;
+
+import javafx.concurrent.Task;
+import org.zespol6.aes.AESCipher;
+import org.zespol6.aes.ContainerReader;
+import org.zespol6.aes.Padding;
+
+import java.io.IOException;
+import java.security.GeneralSecurityException;
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Zadanie wykonywane w tle, szyfrujące lub deszyfrujące dane fragmentami.
+ * Po każdym fragmencie raportuje postęp (liczbę przetworzonych bajtów) i przepustowość,
+ * a przed kolejnym sprawdza, czy zadanie nie zostało przerwane.
+ * Dane dopełniane są według PKCS#7 ({@link Padding#PKCS7}), więc pliki binarne kończące się bajtami 0x00
+ * odtwarzane są bez zmian. Przy deszyfrowaniu rozpoznawane są też pliki kontenera ({@link ContainerReader}),
+ * odszyfrowywane równolegle fragmentami.
+ */
+final class CipherTask extends Task<byte[]> {
+
+    private static final int BLOCK_SIZE = 16;               // Rozmiar bloku w bajtach (128 bitów)
+    private static final int CHUNK_SIZE = 1024 * 1024;      // Rozmiar fragmentu między raportami postępu
+    private static final Padding PADDING = Padding.PKCS7;   // Dopełnienie ostatniego bloku
+
+    private final AESCipher cipher;
+    private final byte[] data;
+    private final boolean encrypt;
+
+    /**
+     * @param cipher  Szyfr blokowy
+     * @param data    Dane wejściowe
+     * @param encrypt true - szyfrowanie, false - deszyfrowanie
+     */
+    CipherTask(AESCipher cipher, byte[] data, boolean encrypt) {
+        this.cipher = cipher;
+        this.data = data;
+        this.encrypt = encrypt;
+    }
+
+    @Override
+    protected byte[] call() throws GeneralSecurityException {
+        if (!encrypt && ContainerReader.isContainer(data)) {
+            // Nagłówek kontenera; przy niepoprawnym nagłówku dane traktowane są jak zwykły szyfrogram
+            try (ContainerReader reader = ContainerReader.of(data, cipher)) {
+                updateProgress(0, data.length);
+                byte[] out = reader.readAll();
+                updateProgress(data.length, data.length);
+                return out;
+            } catch (IOException e) {
+                // dalej jak dla zwykłego szyfrogramu
+            }
+        }
+
+        // Wynik trafia do jednej tablicy o długości znanej z góry. Pełne bloki przetwarzane są fragmentami,
+        // a dopełnienie PKCS#7 dodawane jest tylko do ostatniego bloku (przy deszyfrowaniu - odczytywane z niego).
+        if (!encrypt && data.length % BLOCK_SIZE != 0) {
+            throw new IllegalArgumentException("Encrypted data length must be a multiple of 16");
+        }
+        int bulk = encrypt ? data.length / BLOCK_SIZE * BLOCK_SIZE : data.length;
+        byte[] out = new byte[encrypt ? PADDING.paddedLength(data.length) : data.length];
+        long start = System.nanoTime();
+        updateProgress(0, data.length);
+
+        for (int off = 0; off < bulk; off += CHUNK_SIZE) {
+            if (isCancelled()) {
+                return null;
+            }
+            int len = Math.min(CHUNK_SIZE, bulk - off);
+            if (encrypt) {
+                cipher.encryptBlocks(data, off, out, off, len);
+            } else {
+                cipher.decryptBlocks(data, off, out, off, len);
+            }
+            report(off + len, start);
+        }
+
+        int length = out.length;
+        if (encrypt) {
+            cipher.encrypt(data, bulk, data.length - bulk, out, bulk, PADDING);
+        } else {
+            length = PADDING.unpaddedLength(out, 0, out.length);
+        }
+        report(data.length, start);
+        return length == out.length ? out : Arrays.copyOf(out, length);
+    }
+
+    /**
+     * Aktualizuje postęp oraz komunikat z liczbą przetworzonych megabajtów i przepustowością.
+     */
+    private void report(long done, long start) {
+        double seconds = Math.max(System.nanoTime() - start, 1) / 1e9;
+        double megabytes = done / (1024.0 * 1024.0);
+        updateProgress(done, data.length);
+        updateMessage(String.format(Locale.ROOT, "%.1f / %.1f MB (%.1f MB/s)",
+                megabytes, data.length / (1024.0 * 1024.0), megabytes / seconds));
+    }
+}
@@ -0,0 +1,131 @@
+/*
+ * Nazwa programu: AES-cipher
+ * Copyright (C) 2025  Mateusz Kosowski Nikodem Nowak
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package org.zespol6.view;
+
+import javafx.collections.ObservableListBase;
+import javafx.scene.control.ListCell;
+import javafx.scene.control.ListView;
+import javafx.scene.text.Font;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Wirtualizowany podgląd danych binarnych w postaci szesnastkowej.
+ * Każdy wiersz pokazuje przesunięcie, 16 bajtów szesnastkowo i ich znaki ASCII. Formatowane są
+ * tylko wiersze widoczne na ekranie, a dane pozostają w tablicy bajtów lub buforze (np. odwzorowanym
+ * w pamięci), więc rozmiar podglądu nie zależy od rozmiaru danych.
+ */
+public class HexView extends ListView<Integer> {
+
+    private static final int ROW_SIZE = 16;     // Liczba bajtów w wierszu
+    private static final char[] HEX_DIGITS = "0123456789ABCDEF".toCharArray();
+
+    private ByteBuffer data = ByteBuffer.allocate(0);
+
+    /**
+     * Lista numerów wierszy - elementy nie są przechowywane, tylko wyznaczane z liczby wierszy.
+     */
+    private static final class Rows extends ObservableListBase<Integer> {
+        private final int size;
+
+        Rows(int size) {
+            this.size = size;
+        }
+
+        @Override
+        public Integer get(int index) {
+            return Objects.checkIndex(index, size);
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+
+    public HexView() {
+        setItems(new Rows(0));
+        setFixedCellSize(20);
+        setCellFactory(list -> new ListCell<>() {
+            {
+                setFont(Font.font("Monospaced", 14));
+            }
+
+            @Override
+            protected void updateItem(Integer row, boolean empty) {
+                super.updateItem(row, empty);
+                setText(empty || row == null ? null : formatRow(row));
+            }
+        });
+    }
+
+    /**
+     * Ustawia wyświetlane dane.
+     *
+     * @param data Dane (tablica nie jest kopiowana)
+     */
+    public void setData(byte[] data) {
+        setData(ByteBuffer.wrap(data));
+    }
+
+    /**
+     * Ustawia wyświetlane dane z bufora (np. pliku odwzorowanego w pamięci).
+     * Wyświetlane są bajty od pozycji do limitu bufora.
+     *
+     * @param data Bufor z danymi (nie jest kopiowany)
+     */
+    public void setData(ByteBuffer data) {
+        this.data = data.slice();
+        setItems(new Rows((int) ((this.data.remaining() + (long) ROW_SIZE - 1) / ROW_SIZE)));
+        scrollTo(0);
+    }
+
+    /**
+     * Usuwa wyświetlane dane.
+     */
+    public void clear() {
+        setData(new byte[0]);
+    }
+
+    /**
+     * Formatuje jeden wiersz: przesunięcie, bajty szesnastkowo i znaki ASCII (niedrukowalne jako '.').
+     *
+     * @param row Numer wiersza
+     * @return Tekst wiersza
+     */
+    String formatRow(int row) {
+        int offset = row * ROW_SIZE;
+        int count = Math.min(ROW_SIZE, data.limit() - offset);
+        char[] line = new char[10 + ROW_SIZE * 3 + 1 + ROW_SIZE];
+        Arrays.fill(line, ' ');
+
+        for (int i = 0; i < 8; i++) {
+            line[i] = HEX_DIGITS[(offset >>> (28 - 4 * i)) & 0xF];
+        }
+        for (int i = 0; i < count; i++) {
+            int b = data.get(offset + i) & 0xFF;
+            line[10 + i * 3] = HEX_DIGITS[b >>> 4];
+            line[11 + i * 3] = HEX_DIGITS[b & 0xF];
+            line[11 + ROW_SIZE * 3 + i] = b >= 0x20 && b < 0x7F ? (char) b : '.';
+        }
+        return new String(line, 0, 11 + ROW_SIZE * 3 + count);
+    }
+}